@@ -0,0 +1,91 @@
+package com.youtube.fetcher.benchmark;
+
+import com.youtube.fetcher.model.VideoData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 基于 {@link VideoData#equals(Object)} / {@link VideoData#hashCode()} 的去重基准
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class DeduplicationBenchmark {
+    
+    @Param({"10000", "1000000"})
+    public int size;
+    
+    @Param({"0.0", "0.2", "0.5"})
+    public double duplicateRatio;
+    
+    private List<VideoData> videos;
+    
+    @Setup
+    public void setUp() {
+        videos = SyntheticData.videosWithDuplicates(size, duplicateRatio, SyntheticData.DEFAULT_SEED);
+    }
+    
+    @Benchmark
+    public int hashCodes() {
+        int hash = 0;
+        for (VideoData video : videos) {
+            hash += video.hashCode();
+        }
+        return hash;
+    }
+    
+    @Benchmark
+    public Set<VideoData> hashSet() {
+        return new HashSet<>(videos);
+    }
+    
+    /**
+     * 保留首次出现顺序的去重
+     */
+    @Benchmark
+    public List<VideoData> linkedHashSet() {
+        return new ArrayList<>(new LinkedHashSet<>(videos));
+    }
+    
+    @Benchmark
+    public List<VideoData> streamDistinct() {
+        return videos.stream().distinct().collect(Collectors.toList());
+    }
+    
+    /**
+     * 以视频ID字符串为键去重，绕过VideoData.hashCode的可变参数装箱
+     */
+    @Benchmark
+    public List<VideoData> mapByVideoId() {
+        Map<String, VideoData> unique = new LinkedHashMap<>(videos.size() * 4 / 3 + 1);
+        for (VideoData video : videos) {
+            unique.putIfAbsent(video.getVideoId(), video);
+        }
+        return new ArrayList<>(unique.values());
+    }
+}
\ No newline at end of file
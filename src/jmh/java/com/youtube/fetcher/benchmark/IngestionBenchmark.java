@@ -0,0 +1,139 @@
+package com.youtube.fetcher.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.youtube.fetcher.json.YouTubeResponseReader;
+import com.youtube.fetcher.mock.MockYouTubeServer;
+import com.youtube.fetcher.model.ApiResponse;
+import com.youtube.fetcher.model.VideoData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * API响应体到VideoData的映射基准
+ * 响应体取自本地模拟服务器的真实输出（playlistItems.list和videos.list各一页50条），
+ * 对比先构建JsonNode树再逐字段拷贝的方式与 {@link YouTubeResponseReader} 的流式读取。
+ * 配合 {@code -prof gc} 可以看到每页的分配量。
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class IngestionBenchmark {
+    
+    private static final int PAGE_SIZE = 50;
+    
+    private ObjectMapper mapper;
+    private YouTubeResponseReader reader;
+    private byte[] playlistPage;
+    private byte[] videosPage;
+    
+    @Setup
+    public void setUp() throws Exception {
+        mapper = new ObjectMapper();
+        reader = new YouTubeResponseReader();
+        try (MockYouTubeServer server = new MockYouTubeServer(new MockYouTubeServer.Config()
+                .channelCount(1).videosPerChannel(PAGE_SIZE * 2).seed(SyntheticData.DEFAULT_SEED))) {
+            HttpClient client = HttpClient.newHttpClient();
+            String uploads = "UU" + server.getChannelIds().get(0).substring(2);
+            playlistPage = fetch(client, server.getBaseUri().resolve(
+                    "playlistItems?part=snippet,contentDetails&maxResults=" + PAGE_SIZE + "&playlistId=" + uploads + "&key=bench"));
+            List<String> ids = new ArrayList<>();
+            for (VideoData video : reader.readPlaylistItems(playlistPage).getData()) {
+                ids.add(video.getVideoId());
+            }
+            videosPage = fetch(client, server.getBaseUri().resolve(
+                    "videos?part=snippet,contentDetails,statistics&id=" + String.join(",", ids) + "&key=bench"));
+        }
+    }
+    
+    @Benchmark
+    public ApiResponse<VideoData> playlistPageTree() throws Exception {
+        JsonNode root = mapper.readTree(playlistPage);
+        List<VideoData> videos = new ArrayList<>();
+        for (JsonNode item : root.path("items")) {
+            JsonNode snippet = item.path("snippet");
+            JsonNode contentDetails = item.path("contentDetails");
+            VideoData video = new VideoData(text(contentDetails, "videoId"), text(snippet, "title"),
+                    timestamp(contentDetails, "videoPublishedAt"));
+            video.setDescription(text(snippet, "description"));
+            video.setThumbnailUrl(text(snippet.path("thumbnails").path("high"), "url"));
+            video.setChannelId(text(snippet, "videoOwnerChannelId"));
+            videos.add(video);
+        }
+        return ApiResponse.success(videos, text(root, "nextPageToken"),
+                root.path("pageInfo").path("totalResults").asInt());
+    }
+    
+    @Benchmark
+    public ApiResponse<VideoData> playlistPageStreaming() throws Exception {
+        return reader.readPlaylistItems(playlistPage);
+    }
+    
+    @Benchmark
+    public List<VideoData> videosPageTree() throws Exception {
+        List<VideoData> videos = new ArrayList<>();
+        for (JsonNode item : mapper.readTree(videosPage).path("items")) {
+            JsonNode snippet = item.path("snippet");
+            JsonNode statistics = item.path("statistics");
+            VideoData video = new VideoData(text(item, "id"), text(snippet, "title"), timestamp(snippet, "publishedAt"));
+            video.setDescription(text(snippet, "description"));
+            video.setThumbnailUrl(text(snippet.path("thumbnails").path("high"), "url"));
+            video.setChannelId(text(snippet, "channelId"));
+            video.setDuration(text(item.path("contentDetails"), "duration"));
+            video.setViewCount(Long.parseLong(text(statistics, "viewCount")));
+            video.setLikeCount(Long.parseLong(text(statistics, "likeCount")));
+            video.setCommentCount(Long.parseLong(text(statistics, "commentCount")));
+            videos.add(video);
+        }
+        return videos;
+    }
+    
+    @Benchmark
+    public List<VideoData> videosPageStreaming() throws Exception {
+        return reader.readVideos(videosPage);
+    }
+    
+    private static byte[] fetch(HttpClient client, URI uri) throws Exception {
+        HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(uri).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("HTTP " + response.statusCode() + " from " + uri);
+        }
+        return response.body();
+    }
+    
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value != null && !value.isNull() ? value.asText() : null;
+    }
+    
+    private static LocalDateTime timestamp(JsonNode node, String field) {
+        String text = text(node, field);
+        return text != null ? OffsetDateTime.parse(text).withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime() : null;
+    }
+}
\ No newline at end of file
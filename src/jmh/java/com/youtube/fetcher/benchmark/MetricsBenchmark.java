@@ -0,0 +1,81 @@
+package com.youtube.fetcher.benchmark;
+
+import com.youtube.fetcher.client.ApiOperation;
+import com.youtube.fetcher.metrics.CrawlMetrics;
+import com.youtube.fetcher.metrics.LatencyHistogram;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 指标记录开销基准
+ * 对比无锁直方图与加锁保存全部样本的记录方式（LoadGenerator原先的做法），多线程同时记录
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@Threads(4)
+@State(Scope.Benchmark)
+public class MetricsBenchmark {
+    
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final CrawlMetrics metrics = new CrawlMetrics();
+    private final SynchronizedSamples samples = new SynchronizedSamples();
+    
+    @Benchmark
+    public void histogramRecord() {
+        histogram.record(sampleNanos());
+    }
+    
+    /**
+     * 一次完整的请求记录：延迟、字节数
+     */
+    @Benchmark
+    public void recordRequest() {
+        metrics.recordRequest(ApiOperation.PLAYLIST_ITEMS_LIST, sampleNanos(), 30_000, null);
+    }
+    
+    @Benchmark
+    public void synchronizedSamples() {
+        samples.record(sampleNanos());
+    }
+    
+    private static long sampleNanos() {
+        return 1_000_000 + ThreadLocalRandom.current().nextLong(100_000_000);
+    }
+    
+    /**
+     * 加锁追加到数组，定期清空以免内存无限增长
+     */
+    private static final class SynchronizedSamples {
+        private long[] samples = new long[1024];
+        private int size;
+        
+        synchronized void record(long nanos) {
+            if (size == samples.length) {
+                if (size >= 1 << 20) {
+                    size = 0;
+                } else {
+                    samples = Arrays.copyOf(samples, size * 2);
+                }
+            }
+            samples[size++] = nanos;
+        }
+    }
+}
\ No newline at end of file
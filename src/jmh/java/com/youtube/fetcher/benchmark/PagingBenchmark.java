@@ -0,0 +1,111 @@
+package com.youtube.fetcher.benchmark;
+
+import com.youtube.fetcher.client.PageFetcher;
+import com.youtube.fetcher.client.PageIterator;
+import com.youtube.fetcher.model.ApiResponse;
+import com.youtube.fetcher.model.VideoData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * ApiResponse分页累积基准
+ * 比较逐页addAll、预分配容量以及经由 {@link PageIterator} 同步/预取遍历的开销，
+ * 页面获取本身不含网络延迟
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class PagingBenchmark {
+    
+    @Param({"10000", "100000"})
+    public int totalVideos;
+    
+    @Param({"50"})
+    public int pageSize;
+    
+    private List<ApiResponse<VideoData>> pages;
+    private PageFetcher<VideoData> fetcher;
+    
+    @Setup
+    public void setUp() {
+        pages = SyntheticData.pages(SyntheticData.videos(totalVideos, SyntheticData.DEFAULT_SEED), pageSize);
+        Map<String, ApiResponse<VideoData>> byToken = new HashMap<>();
+        String token = null;
+        for (ApiResponse<VideoData> page : pages) {
+            byToken.put(token, page);
+            token = page.getNextPageToken();
+        }
+        fetcher = byToken::get;
+    }
+    
+    @Benchmark
+    public List<VideoData> addAll() {
+        List<VideoData> all = new ArrayList<>();
+        for (ApiResponse<VideoData> page : pages) {
+            all.addAll(page.getData());
+        }
+        return all;
+    }
+    
+    /**
+     * 按首页的totalResults预分配容量
+     */
+    @Benchmark
+    public List<VideoData> addAllPresized() {
+        Integer total = pages.get(0).getTotalResults();
+        List<VideoData> all = new ArrayList<>(total != null ? total : 16);
+        for (ApiResponse<VideoData> page : pages) {
+            all.addAll(page.getData());
+        }
+        return all;
+    }
+    
+    @Benchmark
+    public List<VideoData> streamFlatMap() {
+        return pages.stream()
+                .flatMap(page -> page.getData().stream())
+                .collect(Collectors.toList());
+    }
+    
+    @Benchmark
+    public List<VideoData> pageIteratorSync() {
+        return drain(new PageIterator<>(fetcher, 0));
+    }
+    
+    @Benchmark
+    public List<VideoData> pageIteratorPrefetch() {
+        return drain(new PageIterator<>(fetcher, 2));
+    }
+    
+    private static List<VideoData> drain(PageIterator<VideoData> iterator) {
+        List<VideoData> all = new ArrayList<>();
+        try (PageIterator<VideoData> pages = iterator) {
+            while (pages.hasNext()) {
+                all.addAll(pages.next().getData());
+            }
+        }
+        return all;
+    }
+}
\ No newline at end of file
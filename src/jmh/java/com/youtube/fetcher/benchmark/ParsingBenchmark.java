@@ -0,0 +1,165 @@
+package com.youtube.fetcher.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
+import com.youtube.fetcher.model.VideoData;
+import com.youtube.fetcher.util.DurationUtil;
+import com.youtube.fetcher.util.TimestampUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ISO-8601时长与RFC 3339时间戳解析基准
+ * 对比java.time解析与 {@link DurationUtil}、{@link TimestampUtil} 的手写解析，
+ * 以及VideoData整页反序列化时两种时间戳反序列化器的差异。
+ * 每次调用处理一页50条记录。
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ParsingBenchmark {
+    
+    private static final int PAGE_SIZE = 50;
+    
+    private static final TypeReference<List<VideoData>> VIDEO_LIST = new TypeReference<List<VideoData>>() {
+    };
+    
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'");
+    
+    /**
+     * 恢复JavaTimeModule按@JsonFormat模式反序列化时间戳的基线行为
+     */
+    abstract static class JavaTimePublishedAt {
+        @JsonProperty("published_at")
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+        @JsonDeserialize(using = LocalDateTimeDeserializer.class)
+        private LocalDateTime publishedAt;
+    }
+    
+    private String[] durations;
+    private String[] timestamps;
+    private String[] offsetTimestamps;
+    private ObjectMapper fastMapper;
+    private ObjectMapper javaTimeMapper;
+    private byte[] pageJson;
+    
+    @Setup
+    public void setUp() throws Exception {
+        List<VideoData> page = SyntheticData.videos(PAGE_SIZE, SyntheticData.DEFAULT_SEED);
+        durations = new String[PAGE_SIZE];
+        timestamps = new String[PAGE_SIZE];
+        offsetTimestamps = new String[PAGE_SIZE];
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            VideoData video = page.get(i);
+            durations[i] = video.getDuration();
+            timestamps[i] = TIMESTAMP_FORMAT.format(video.getPublishedAt());
+            offsetTimestamps[i] = video.getPublishedAt().atOffset(ZoneOffset.UTC)
+                    .withOffsetSameInstant(ZoneOffset.ofHours(-8)).toString();
+        }
+        fastMapper = mapper();
+        javaTimeMapper = mapper();
+        javaTimeMapper.addMixIn(VideoData.class, JavaTimePublishedAt.class);
+        pageJson = fastMapper.writeValueAsBytes(page);
+    }
+    
+    @Benchmark
+    public long durationJavaTime() {
+        long total = 0;
+        for (String duration : durations) {
+            total += Duration.parse(duration).getSeconds();
+        }
+        return total;
+    }
+    
+    @Benchmark
+    public long durationFastPath() {
+        long total = 0;
+        for (String duration : durations) {
+            total += DurationUtil.parseSeconds(duration);
+        }
+        return total;
+    }
+    
+    @Benchmark
+    public long timestampPattern() {
+        long total = 0;
+        for (String timestamp : timestamps) {
+            total += LocalDateTime.parse(timestamp, TIMESTAMP_FORMAT).toEpochSecond(ZoneOffset.UTC);
+        }
+        return total;
+    }
+    
+    @Benchmark
+    public long timestampOffsetJavaTime() {
+        long total = 0;
+        for (String timestamp : offsetTimestamps) {
+            total += OffsetDateTime.parse(timestamp).toEpochSecond();
+        }
+        return total;
+    }
+    
+    @Benchmark
+    public long timestampFastPath() {
+        long total = 0;
+        for (String timestamp : timestamps) {
+            total += TimestampUtil.parseEpochSecond(timestamp);
+        }
+        return total;
+    }
+    
+    @Benchmark
+    public long timestampOffsetFastPath() {
+        long total = 0;
+        for (String timestamp : offsetTimestamps) {
+            total += TimestampUtil.parseEpochSecond(timestamp);
+        }
+        return total;
+    }
+    
+    @Benchmark
+    public List<VideoData> deserializePageJavaTime() throws Exception {
+        return javaTimeMapper.readValue(pageJson, VIDEO_LIST);
+    }
+    
+    @Benchmark
+    public List<VideoData> deserializePageFastPath() throws Exception {
+        return fastMapper.readValue(pageJson, VIDEO_LIST);
+    }
+    
+    private static ObjectMapper mapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        return mapper;
+    }
+}
\ No newline at end of file
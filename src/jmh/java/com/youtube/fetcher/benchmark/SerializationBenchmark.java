@@ -0,0 +1,96 @@
+package com.youtube.fetcher.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.youtube.fetcher.model.ChannelInfo;
+import com.youtube.fetcher.model.VideoData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * VideoData与ChannelInfo的Jackson序列化/反序列化基准
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+    
+    private static final TypeReference<List<VideoData>> VIDEO_LIST = new TypeReference<List<VideoData>>() {
+    };
+    
+    private ObjectMapper mapper;
+    private VideoData video;
+    private ChannelInfo channel;
+    private List<VideoData> page;
+    private byte[] videoJson;
+    private byte[] channelJson;
+    private byte[] pageJson;
+    
+    @Setup
+    public void setUp() throws Exception {
+        mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        // 模型的派生getter（videoUrl、valid等）会被序列化但没有对应的setter
+        mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        page = SyntheticData.videos(50, SyntheticData.DEFAULT_SEED);
+        video = page.get(0);
+        channel = SyntheticData.channel(SyntheticData.DEFAULT_SEED);
+        videoJson = mapper.writeValueAsBytes(video);
+        channelJson = mapper.writeValueAsBytes(channel);
+        pageJson = mapper.writeValueAsBytes(page);
+    }
+    
+    @Benchmark
+    public byte[] serializeVideo() throws Exception {
+        return mapper.writeValueAsBytes(video);
+    }
+    
+    @Benchmark
+    public VideoData deserializeVideo() throws Exception {
+        return mapper.readValue(videoJson, VideoData.class);
+    }
+    
+    @Benchmark
+    public byte[] serializeChannel() throws Exception {
+        return mapper.writeValueAsBytes(channel);
+    }
+    
+    @Benchmark
+    public ChannelInfo deserializeChannel() throws Exception {
+        return mapper.readValue(channelJson, ChannelInfo.class);
+    }
+    
+    /**
+     * 一页50个视频，与playlistItems.list的maxResults上限一致
+     */
+    @Benchmark
+    public byte[] serializeVideoPage() throws Exception {
+        return mapper.writeValueAsBytes(page);
+    }
+    
+    @Benchmark
+    public List<VideoData> deserializeVideoPage() throws Exception {
+        return mapper.readValue(pageJson, VIDEO_LIST);
+    }
+}
\ No newline at end of file
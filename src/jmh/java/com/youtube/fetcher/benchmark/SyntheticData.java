@@ -0,0 +1,169 @@
+package com.youtube.fetcher.benchmark;
+
+import com.youtube.fetcher.model.ApiResponse;
+import com.youtube.fetcher.model.ChannelInfo;
+import com.youtube.fetcher.model.VideoData;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 基准测试用的合成数据生成器
+ * 相同的种子总是生成相同的数据，保证不同版本之间的结果可比较
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public final class SyntheticData {
+    
+    /**
+     * 默认随机种子
+     */
+    public static final long DEFAULT_SEED = 20250524L;
+    
+    private static final char[] ID_ALPHABET =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".toCharArray();
+    
+    private static final String[] TITLE_WORDS = {
+            "Java", "教程", "性能", "优化", "Spring", "并发", "入门", "实战", "Review", "Live",
+            "直播", "回放", "Tips", "面试", "架构", "设计模式", "JVM", "GC", "Benchmark", "2025"
+    };
+    
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2015, 1, 1, 0, 0);
+    
+    private SyntheticData() {
+    }
+    
+    /**
+     * 生成视频列表
+     * @param count 视频数
+     * @param seed 随机种子
+     * @return 视频列表
+     */
+    public static List<VideoData> videos(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        String[] channelIds = new String[Math.max(1, count / 500)];
+        for (int i = 0; i < channelIds.length; i++) {
+            channelIds[i] = "UC" + randomId(random, 22);
+        }
+        List<VideoData> videos = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            videos.add(video(random, channelIds[random.nextInt(channelIds.length)]));
+        }
+        return videos;
+    }
+    
+    /**
+     * 生成带重复项的视频列表，重复项是已有视频ID的新对象
+     * @param count 视频数
+     * @param duplicateRatio 重复项比例，0到1之间
+     * @param seed 随机种子
+     * @return 视频列表
+     */
+    public static List<VideoData> videosWithDuplicates(int count, double duplicateRatio, long seed) {
+        int unique = Math.max(1, (int) Math.round(count * (1 - duplicateRatio)));
+        List<VideoData> videos = videos(unique, seed);
+        SplittableRandom random = new SplittableRandom(seed ^ 0x5DEECE66DL);
+        while (videos.size() < count) {
+            VideoData original = videos.get(random.nextInt(unique));
+            VideoData copy = new VideoData(original.getVideoId(), original.getTitle(), original.getPublishedAt());
+            copy.setChannelId(original.getChannelId());
+            videos.add(copy);
+        }
+        for (int i = videos.size() - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            videos.set(j, videos.set(i, videos.get(j)));
+        }
+        return videos;
+    }
+    
+    /**
+     * 生成频道信息
+     * @param seed 随机种子
+     * @return 频道信息
+     */
+    public static ChannelInfo channel(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        String channelId = "UC" + randomId(random, 22);
+        ChannelInfo channel = new ChannelInfo(channelId, title(random, 3));
+        channel.setDescription(title(random, 40));
+        channel.setCreatedAt(EPOCH.plusSeconds(random.nextLong(300_000_000L)));
+        channel.setSubscriberCount(random.nextLong(50_000_000L));
+        channel.setVideoCount(random.nextLong(20_000L));
+        channel.setViewCount(random.nextLong(10_000_000_000L));
+        channel.setUploadsPlaylistId("UU" + channelId.substring(2));
+        channel.setCustomUrl("@" + randomId(random, 12));
+        channel.setCountry("CN");
+        channel.setDefaultLanguage("zh-CN");
+        channel.setThumbnailUrl("https://yt3.ggpht.com/" + randomId(random, 40) + "=s800-c-k-c0x00ffffff-no-rj");
+        channel.setBannerUrl("https://yt3.ggpht.com/" + randomId(random, 60));
+        return channel;
+    }
+    
+    /**
+     * 将视频列表切分为带页面令牌的API响应
+     * @param videos 视频列表
+     * @param pageSize 每页视频数
+     * @return 页面列表，最后一页没有下一页令牌
+     */
+    public static List<ApiResponse<VideoData>> pages(List<VideoData> videos, int pageSize) {
+        List<ApiResponse<VideoData>> pages = new ArrayList<>();
+        for (int from = 0; from < videos.size(); from += pageSize) {
+            int to = Math.min(videos.size(), from + pageSize);
+            String nextPageToken = to < videos.size() ? "CDIQAA" + to : null;
+            pages.add(ApiResponse.success(new ArrayList<>(videos.subList(from, to)), nextPageToken, videos.size()));
+        }
+        return pages;
+    }
+    
+    private static VideoData video(SplittableRandom random, String channelId) {
+        String videoId = randomId(random, 11);
+        VideoData video = new VideoData(videoId, title(random, 2 + random.nextInt(8)),
+                EPOCH.plusSeconds(random.nextLong(330_000_000L)));
+        video.setDescription(title(random, random.nextInt(60)));
+        video.setDuration(duration(random));
+        long views = (long) Math.exp(random.nextDouble() * 18);
+        video.setViewCount(views);
+        video.setLikeCount(views / (20 + random.nextInt(80)));
+        video.setCommentCount(views / (200 + random.nextInt(800)));
+        video.setThumbnailUrl("https://i.ytimg.com/vi/" + videoId + "/hqdefault.jpg");
+        video.setChannelId(channelId);
+        return video;
+    }
+    
+    private static String duration(SplittableRandom random) {
+        int seconds = 15 + random.nextInt(3 * 3600);
+        StringBuilder builder = new StringBuilder("PT");
+        if (seconds >= 3600) {
+            builder.append(seconds / 3600).append('H');
+        }
+        if (seconds % 3600 >= 60) {
+            builder.append(seconds % 3600 / 60).append('M');
+        }
+        if (seconds % 60 != 0) {
+            builder.append(seconds % 60).append('S');
+        }
+        return builder.toString();
+    }
+    
+    private static String title(SplittableRandom random, int words) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            builder.append(TITLE_WORDS[random.nextInt(TITLE_WORDS.length)]);
+        }
+        return builder.toString();
+    }
+    
+    private static String randomId(SplittableRandom random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = ID_ALPHABET[random.nextInt(ID_ALPHABET.length)];
+        }
+        return new String(chars);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.youtube.fetcher.analytics;
+
+import com.youtube.fetcher.exception.YouTubeApiException;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 多频道分析结果
+ * 包含每个频道的结果、所有视频的跨频道聚合，以及频道级指标在频道之间的分布
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public final class AnalysisReport {
+    
+    private final List<ChannelSummary> channels;
+    private final VideoStatsAccumulator overall;
+    private final QuantileSketch channelEngagementRates;
+    private final QuantileSketch channelViewsPerSubscriber;
+    private final Map<String, YouTubeApiException> failures;
+    
+    AnalysisReport(List<ChannelSummary> channels, VideoStatsAccumulator overall,
+                   QuantileSketch channelEngagementRates, QuantileSketch channelViewsPerSubscriber,
+                   Map<String, YouTubeApiException> failures) {
+        this.channels = Collections.unmodifiableList(channels);
+        this.overall = overall;
+        this.channelEngagementRates = channelEngagementRates;
+        this.channelViewsPerSubscriber = channelViewsPerSubscriber;
+        this.failures = Collections.unmodifiableMap(failures);
+    }
+    
+    /**
+     * 获取成功分析的频道，顺序与输入一致
+     * @return 频道分析结果列表
+     */
+    public List<ChannelSummary> getChannels() {
+        return channels;
+    }
+    
+    /**
+     * 获取所有频道全部视频的聚合
+     * @return 跨频道聚合
+     */
+    public VideoStatsAccumulator getOverall() {
+        return overall;
+    }
+    
+    /**
+     * 获取频道总体互动率在各频道之间的分布
+     * @return 分位数草图
+     */
+    public QuantileSketch getChannelEngagementRates() {
+        return channelEngagementRates;
+    }
+    
+    /**
+     * 获取频道平均观看数/订阅数在各频道之间的分布
+     * @return 分位数草图
+     */
+    public QuantileSketch getChannelViewsPerSubscriber() {
+        return channelViewsPerSubscriber;
+    }
+    
+    /**
+     * 获取分析失败的频道
+     * @return 频道ID到失败原因的映射
+     */
+    public Map<String, YouTubeApiException> getFailures() {
+        return failures;
+    }
+    
+    @Override
+    public String toString() {
+        return "AnalysisReport{" +
+                "channels=" + channels.size() +
+                ", failures=" + failures.size() +
+                ", videos=" + overall.getVideoCount() +
+                ", medianViews=" + Math.round(overall.getViews().quantile(0.5)) +
+                ", p99Views=" + Math.round(overall.getViews().quantile(0.99)) +
+                ", medianChannelEngagement=" + String.format("%.4f", channelEngagementRates.quantile(0.5)) +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,259 @@
+package com.youtube.fetcher.analytics;
+
+import com.youtube.fetcher.client.PageIterator;
+import com.youtube.fetcher.client.YouTubeApiClient;
+import com.youtube.fetcher.exception.UncheckedYouTubeApiException;
+import com.youtube.fetcher.exception.YouTubeApiException;
+import com.youtube.fetcher.model.ChannelInfo;
+import com.youtube.fetcher.model.VideoData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 频道分析引擎
+ * 在fork-join池上并行分析多个频道：叶子任务逐个流式读取频道的视频，累加到
+ * {@link VideoStatsAccumulator}，固化为 {@link ChannelSummary} 后即丢弃视频；
+ * 父任务合并左右子任务的部分聚合。分位数来自可合并的 {@link QuantileSketch}，不需要对完整列表排序，
+ * 内存只与频道数有关，与视频总数无关。
+ * 
+ * <p>视频源访问远程API时叶子任务会阻塞在网络上，应传入按IO并发度设定并行度的池，而不是公共池。</p>
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public class ChannelAnalyzer {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ChannelAnalyzer.class);
+    
+    /**
+     * 频道视频源
+     */
+    @FunctionalInterface
+    public interface VideoSource {
+        
+        /**
+         * 打开频道的视频迭代器；实现了 {@link AutoCloseable} 的迭代器会在读取完毕后关闭
+         * @param channel 频道信息
+         * @return 视频迭代器
+         * @throws YouTubeApiException 无法读取时抛出
+         */
+        Iterator<VideoData> open(ChannelInfo channel) throws YouTubeApiException;
+        
+        /**
+         * 通过API客户端逐页读取频道上传播放列表的视频源
+         * @param client API客户端
+         * @param prefetchPages 预取页数
+         * @return 视频源
+         */
+        static VideoSource fromClient(YouTubeApiClient client, int prefetchPages) {
+            return channel -> {
+                String playlistId = channel.getUploadsPlaylistId();
+                if (playlistId == null || playlistId.trim().isEmpty() || channel.getSubscriberCount() == null) {
+                    ChannelInfo resolved = client.getChannelInfo(channel.getChannelId());
+                    if (resolved == null || resolved.getUploadsPlaylistId() == null) {
+                        throw new YouTubeApiException("Uploads playlist not found for channel: "
+                                + channel.getChannelId(), "playlistNotFound", 404);
+                    }
+                    playlistId = resolved.getUploadsPlaylistId();
+                    channel.setUploadsPlaylistId(playlistId);
+                    if (channel.getChannelName() == null) {
+                        channel.setChannelName(resolved.getChannelName());
+                    }
+                    channel.setSubscriberCount(resolved.getSubscriberCount());
+                }
+                return new PageItems(new PageIterator<>(client.playlistFetcher(playlistId), prefetchPages));
+            };
+        }
+    }
+    
+    /**
+     * 分页视频的元素迭代器，关闭时停止预取
+     */
+    private static final class PageItems implements Iterator<VideoData>, AutoCloseable {
+        private final PageIterator<VideoData> pages;
+        private final Iterator<VideoData> items;
+        
+        PageItems(PageIterator<VideoData> pages) {
+            this.pages = pages;
+            this.items = pages.items();
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return items.hasNext();
+        }
+        
+        @Override
+        public VideoData next() {
+            return items.next();
+        }
+        
+        @Override
+        public void close() {
+            pages.close();
+        }
+    }
+    
+    /**
+     * 每个叶子任务默认处理的频道数
+     */
+    public static final int DEFAULT_CHANNELS_PER_TASK = 4;
+    
+    private final ForkJoinPool pool;
+    private final double relativeAccuracy;
+    private final int channelsPerTask;
+    
+    /**
+     * 使用公共池和默认精度创建分析引擎，适用于本地视频源
+     */
+    public ChannelAnalyzer() {
+        this(ForkJoinPool.commonPool(), QuantileSketch.DEFAULT_RELATIVE_ACCURACY, DEFAULT_CHANNELS_PER_TASK);
+    }
+    
+    /**
+     * 完整构造函数
+     * @param pool 执行分析的fork-join池
+     * @param relativeAccuracy 分位数相对误差
+     * @param channelsPerTask 每个叶子任务处理的频道数
+     */
+    public ChannelAnalyzer(ForkJoinPool pool, double relativeAccuracy, int channelsPerTask) {
+        if (channelsPerTask <= 0) {
+            throw new IllegalArgumentException("channelsPerTask must be > 0: " + channelsPerTask);
+        }
+        this.pool = Objects.requireNonNull(pool, "pool");
+        this.relativeAccuracy = relativeAccuracy;
+        this.channelsPerTask = channelsPerTask;
+    }
+    
+    /**
+     * 分析单个频道的视频
+     * @param channel 频道信息
+     * @param videos 视频迭代器
+     * @return 频道分析结果
+     */
+    public ChannelSummary analyze(ChannelInfo channel, Iterator<VideoData> videos) {
+        VideoStatsAccumulator stats = new VideoStatsAccumulator(relativeAccuracy);
+        while (videos.hasNext()) {
+            stats.add(videos.next());
+        }
+        return new ChannelSummary(channel, stats);
+    }
+    
+    /**
+     * 并行分析多个频道
+     * 单个频道失败不影响其他频道，失败原因记录在结果中；非API异常包装为 {@link YouTubeApiException}
+     * @param channels 频道列表
+     * @param source 视频源
+     * @return 分析结果
+     */
+    public AnalysisReport analyzeAll(List<ChannelInfo> channels, VideoSource source) {
+        Partial result = pool.invoke(new AnalyzeTask(channels, 0, channels.size(), source));
+        logger.debug("Analyzed {} channels ({} failed), {} videos",
+                result.summaries.size(), result.failures.size(), result.overall.getVideoCount());
+        return new AnalysisReport(result.summaries, result.overall, result.channelEngagementRates,
+                result.channelViewsPerSubscriber, result.failures);
+    }
+    
+    /**
+     * fork-join归约中的部分结果
+     */
+    private final class Partial {
+        final List<ChannelSummary> summaries = new ArrayList<>();
+        final VideoStatsAccumulator overall = new VideoStatsAccumulator(relativeAccuracy);
+        final QuantileSketch channelEngagementRates = new QuantileSketch(relativeAccuracy);
+        final QuantileSketch channelViewsPerSubscriber = new QuantileSketch(relativeAccuracy);
+        final Map<String, YouTubeApiException> failures = new LinkedHashMap<>();
+        
+        void add(ChannelInfo channel, VideoStatsAccumulator stats) {
+            ChannelSummary summary = new ChannelSummary(channel, stats);
+            summaries.add(summary);
+            overall.merge(stats);
+            channelEngagementRates.add(summary.getOverallEngagementRate());
+            channelViewsPerSubscriber.add(summary.getViewsPerSubscriber());
+        }
+        
+        Partial merge(Partial right) {
+            summaries.addAll(right.summaries);
+            overall.merge(right.overall);
+            channelEngagementRates.merge(right.channelEngagementRates);
+            channelViewsPerSubscriber.merge(right.channelViewsPerSubscriber);
+            failures.putAll(right.failures);
+            return this;
+        }
+    }
+    
+    private final class AnalyzeTask extends RecursiveTask<Partial> {
+        private static final long serialVersionUID = 1L;
+        
+        private final List<ChannelInfo> channels;
+        private final int from;
+        private final int to;
+        private final VideoSource source;
+        
+        AnalyzeTask(List<ChannelInfo> channels, int from, int to, VideoSource source) {
+            this.channels = channels;
+            this.from = from;
+            this.to = to;
+            this.source = source;
+        }
+        
+        @Override
+        protected Partial compute() {
+            if (to - from <= channelsPerTask) {
+                Partial partial = new Partial();
+                for (int i = from; i < to; i++) {
+                    analyzeChannel(channels.get(i), partial);
+                }
+                return partial;
+            }
+            int middle = (from + to) >>> 1;
+            AnalyzeTask left = new AnalyzeTask(channels, from, middle, source);
+            AnalyzeTask right = new AnalyzeTask(channels, middle, to, source);
+            left.fork();
+            Partial rightResult = right.compute();
+            return left.join().merge(rightResult);
+        }
+        
+        private void analyzeChannel(ChannelInfo channel, Partial partial) {
+            Iterator<VideoData> videos = null;
+            try {
+                videos = source.open(channel);
+                VideoStatsAccumulator stats = new VideoStatsAccumulator(relativeAccuracy);
+                while (videos.hasNext()) {
+                    stats.add(videos.next());
+                }
+                partial.add(channel, stats);
+            } catch (YouTubeApiException e) {
+                partial.failures.put(channel.getChannelId(), e);
+            } catch (UncheckedYouTubeApiException e) {
+                partial.failures.put(channel.getChannelId(), e.getCause());
+            } catch (RuntimeException e) {
+                // 视频源或累加器的意外异常只记为该频道失败，否则会从pool.invoke抛出并中止所有频道
+                logger.error("Unexpected error while analyzing channel {}", channel.getChannelId(), e);
+                partial.failures.put(channel.getChannelId(), new YouTubeApiException(
+                        "Unexpected error while analyzing channel " + channel.getChannelId(), e));
+            } finally {
+                closeQuietly(videos);
+            }
+        }
+    }
+    
+    private static void closeQuietly(Iterator<VideoData> videos) {
+        if (videos instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) videos).close();
+            } catch (Exception e) {
+                logger.debug("Failed to close video iterator", e);
+            }
+        }
+    }
+}
\ No newline at end of file
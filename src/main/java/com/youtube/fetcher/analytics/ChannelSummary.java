@@ -0,0 +1,180 @@
+package com.youtube.fetcher.analytics;
+
+import com.youtube.fetcher.model.ChannelInfo;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 单个频道的分析结果
+ * 由 {@link VideoStatsAccumulator} 固化而来，只保留标量，便于大量频道同时驻留内存
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public final class ChannelSummary {
+    
+    private static final double SECONDS_PER_DAY = 86_400;
+    
+    private final String channelId;
+    private final String channelName;
+    private final Long subscriberCount;
+    private final long videoCount;
+    private final long totalViews;
+    private final long totalLikes;
+    private final long totalComments;
+    private final double meanViews;
+    private final double medianViews;
+    private final double p90Views;
+    private final double p99Views;
+    private final double medianDurationSeconds;
+    private final double medianEngagementRate;
+    private final double overallEngagementRate;
+    private final LocalDateTime firstUpload;
+    private final LocalDateTime lastUpload;
+    private final double averageUploadIntervalDays;
+    
+    /**
+     * 根据频道信息和该频道的视频聚合创建分析结果
+     * @param channel 频道信息
+     * @param stats 该频道所有视频的聚合
+     */
+    public ChannelSummary(ChannelInfo channel, VideoStatsAccumulator stats) {
+        this.channelId = channel.getChannelId();
+        this.channelName = channel.getChannelName();
+        this.subscriberCount = channel.getSubscriberCount();
+        this.videoCount = stats.getVideoCount();
+        this.totalViews = stats.getTotalViews();
+        this.totalLikes = stats.getTotalLikes();
+        this.totalComments = stats.getTotalComments();
+        this.meanViews = stats.getViews().getMean();
+        this.medianViews = stats.getViews().quantile(0.5);
+        this.p90Views = stats.getViews().quantile(0.9);
+        this.p99Views = stats.getViews().quantile(0.99);
+        this.medianDurationSeconds = stats.getDurationSeconds().quantile(0.5);
+        this.medianEngagementRate = stats.getEngagementRate().quantile(0.5);
+        this.overallEngagementRate = stats.getOverallEngagementRate();
+        this.firstUpload = toDateTime(stats.getFirstPublishedAt(), Long.MAX_VALUE);
+        this.lastUpload = toDateTime(stats.getLastPublishedAt(), Long.MIN_VALUE);
+        this.averageUploadIntervalDays = stats.getAverageUploadIntervalSeconds() / SECONDS_PER_DAY;
+    }
+    
+    public String getChannelId() {
+        return channelId;
+    }
+    
+    public String getChannelName() {
+        return channelName;
+    }
+    
+    public Long getSubscriberCount() {
+        return subscriberCount;
+    }
+    
+    public long getVideoCount() {
+        return videoCount;
+    }
+    
+    public long getTotalViews() {
+        return totalViews;
+    }
+    
+    public long getTotalLikes() {
+        return totalLikes;
+    }
+    
+    public long getTotalComments() {
+        return totalComments;
+    }
+    
+    public double getMeanViews() {
+        return meanViews;
+    }
+    
+    public double getMedianViews() {
+        return medianViews;
+    }
+    
+    public double getP90Views() {
+        return p90Views;
+    }
+    
+    public double getP99Views() {
+        return p99Views;
+    }
+    
+    public double getMedianDurationSeconds() {
+        return medianDurationSeconds;
+    }
+    
+    public double getMedianEngagementRate() {
+        return medianEngagementRate;
+    }
+    
+    public double getOverallEngagementRate() {
+        return overallEngagementRate;
+    }
+    
+    public LocalDateTime getFirstUpload() {
+        return firstUpload;
+    }
+    
+    public LocalDateTime getLastUpload() {
+        return lastUpload;
+    }
+    
+    /**
+     * 平均上传间隔
+     * @return 天数，少于两个视频时为NaN
+     */
+    public double getAverageUploadIntervalDays() {
+        return averageUploadIntervalDays;
+    }
+    
+    /**
+     * 每周上传数
+     * @return 每周视频数，少于两个视频时为NaN
+     */
+    public double getUploadsPerWeek() {
+        return averageUploadIntervalDays > 0 ? 7 / averageUploadIntervalDays : Double.NaN;
+    }
+    
+    /**
+     * 平均每个视频的观看数与订阅数之比，衡量视频对订阅者之外的触达
+     * @return 比值，订阅数未知或为0时为NaN
+     */
+    public double getViewsPerSubscriber() {
+        return hasSubscribers() ? meanViews / subscriberCount : Double.NaN;
+    }
+    
+    /**
+     * 平均每个视频的互动数（点赞 + 评论）与订阅数之比
+     * @return 比值，订阅数未知或为0时为NaN
+     */
+    public double getEngagementPerSubscriber() {
+        if (!hasSubscribers() || videoCount == 0) {
+            return Double.NaN;
+        }
+        return (totalLikes + totalComments) / (double) videoCount / subscriberCount;
+    }
+    
+    private boolean hasSubscribers() {
+        return subscriberCount != null && subscriberCount > 0;
+    }
+    
+    private static LocalDateTime toDateTime(long epochSecond, long missing) {
+        return epochSecond == missing ? null : LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+    
+    @Override
+    public String toString() {
+        return "ChannelSummary{" +
+                "channelId='" + channelId + '\'' +
+                ", videoCount=" + videoCount +
+                ", totalViews=" + totalViews +
+                ", medianViews=" + Math.round(medianViews) +
+                ", overallEngagementRate=" + String.format("%.4f", overallEngagementRate) +
+                ", uploadsPerWeek=" + String.format("%.2f", getUploadsPerWeek()) +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,199 @@
+package com.youtube.fetcher.analytics;
+
+/**
+ * 可合并的流式分位数草图
+ * 按对数间隔分桶（DDSketch思路）：值v落入下标为 ceil(log_γ v) 的桶，γ = (1+α)/(1-α)，
+ * 任意分位数的相对误差不超过α。内存只与数值跨度的对数有关，与样本数无关；
+ * 相同精度的两个草图逐桶相加即可合并，适合fork-join归约。
+ * 
+ * <p>只接受非负值，0单独计数。非线程安全。</p>
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public final class QuantileSketch {
+    
+    /**
+     * 默认相对误差
+     */
+    public static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+    
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+    
+    private long[] counts = new long[0];
+    private int offset;
+    private long zeroCount;
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    private double sum;
+    
+    /**
+     * 使用默认精度创建草图
+     */
+    public QuantileSketch() {
+        this(DEFAULT_RELATIVE_ACCURACY);
+    }
+    
+    /**
+     * 构造函数
+     * @param relativeAccuracy 相对误差，0到1之间
+     */
+    public QuantileSketch(double relativeAccuracy) {
+        if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+            throw new IllegalArgumentException("relativeAccuracy must be in (0, 1): " + relativeAccuracy);
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+    
+    /**
+     * 记录一个值，负数、NaN和无穷大被忽略
+     * @param value 值
+     */
+    public void add(double value) {
+        if (!(value >= 0) || Double.isInfinite(value)) {
+            return;
+        }
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        if (value == 0) {
+            zeroCount++;
+            return;
+        }
+        int index = (int) Math.ceil(Math.log(value) / logGamma);
+        ensureCapacity(index, index);
+        counts[index - offset]++;
+    }
+    
+    /**
+     * 合并另一个相同精度的草图
+     * @param other 另一个草图
+     */
+    public void merge(QuantileSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Cannot merge sketches with different accuracy: "
+                    + relativeAccuracy + " vs " + other.relativeAccuracy);
+        }
+        if (other.count == 0) {
+            return;
+        }
+        if (other.counts.length > 0) {
+            ensureCapacity(other.offset, other.offset + other.counts.length - 1);
+            int shift = other.offset - offset;
+            for (int i = 0; i < other.counts.length; i++) {
+                counts[i + shift] += other.counts[i];
+            }
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+    
+    /**
+     * 估算分位数
+     * @param quantile 分位点，0到1之间
+     * @return 分位数估计值，没有样本时返回NaN
+     */
+    public double quantile(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("quantile must be in [0, 1]: " + quantile);
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = (long) Math.floor(quantile * (count - 1));
+        if (rank < zeroCount) {
+            return 0;
+        }
+        long seen = zeroCount;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen > rank) {
+                double estimate = 2 * Math.pow(gamma, i + offset) / (gamma + 1);
+                return Math.max(min, Math.min(max, estimate));
+            }
+        }
+        return max;
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    public double getSum() {
+        return sum;
+    }
+    
+    /**
+     * 获取平均值
+     * @return 平均值，没有样本时返回NaN
+     */
+    public double getMean() {
+        return count > 0 ? sum / count : Double.NaN;
+    }
+    
+    public double getMin() {
+        return count > 0 ? min : Double.NaN;
+    }
+    
+    public double getMax() {
+        return count > 0 ? max : Double.NaN;
+    }
+    
+    public double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+    
+    /**
+     * 获取已分配的桶数，用于估算内存
+     * @return 桶数
+     */
+    public int getBucketCount() {
+        return counts.length;
+    }
+    
+    private void ensureCapacity(int minIndex, int maxIndex) {
+        if (counts.length == 0) {
+            counts = new long[maxIndex - minIndex + 1];
+            offset = minIndex;
+            return;
+        }
+        int currentMax = offset + counts.length - 1;
+        if (minIndex >= offset && maxIndex <= currentMax) {
+            return;
+        }
+        int newMin = Math.min(minIndex, offset);
+        int newMax = Math.max(maxIndex, currentMax);
+        // 预留额外空间，避免逐个扩展
+        int slack = Math.max(8, (newMax - newMin + 1) / 4);
+        if (minIndex < offset) {
+            newMin -= slack;
+        }
+        if (maxIndex > currentMax) {
+            newMax += slack;
+        }
+        long[] grown = new long[newMax - newMin + 1];
+        System.arraycopy(counts, 0, grown, offset - newMin, counts.length);
+        counts = grown;
+        offset = newMin;
+    }
+    
+    @Override
+    public String toString() {
+        return "QuantileSketch{" +
+                "count=" + count +
+                ", min=" + getMin() +
+                ", p50=" + quantile(0.5) +
+                ", p99=" + quantile(0.99) +
+                ", max=" + getMax() +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,188 @@
+package com.youtube.fetcher.analytics;
+
+import com.youtube.fetcher.model.VideoData;
+import com.youtube.fetcher.util.DurationUtil;
+import com.youtube.fetcher.util.TimestampUtil;
+
+/**
+ * 可合并的视频统计部分聚合
+ * 逐个接收视频，只保留计数、总和、发布时间范围和各指标的 {@link QuantileSketch}，
+ * 不保留视频本身；两个部分聚合可以合并，结果与顺序无关。非线程安全。
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public final class VideoStatsAccumulator {
+    
+    private final QuantileSketch views;
+    private final QuantileSketch likes;
+    private final QuantileSketch comments;
+    private final QuantileSketch durationSeconds;
+    private final QuantileSketch engagementRate;
+    
+    private long videoCount;
+    private long totalViews;
+    private long totalLikes;
+    private long totalComments;
+    /**
+     * 观看数已知的视频的点赞与评论之和，用于计算总体互动率
+     */
+    private long engagedInteractions;
+    private long engagedViews;
+    private long publishedCount;
+    private long firstPublishedAt = Long.MAX_VALUE;
+    private long lastPublishedAt = Long.MIN_VALUE;
+    
+    /**
+     * 使用默认精度创建聚合
+     */
+    public VideoStatsAccumulator() {
+        this(QuantileSketch.DEFAULT_RELATIVE_ACCURACY);
+    }
+    
+    /**
+     * 构造函数
+     * @param relativeAccuracy 分位数草图的相对误差
+     */
+    public VideoStatsAccumulator(double relativeAccuracy) {
+        this.views = new QuantileSketch(relativeAccuracy);
+        this.likes = new QuantileSketch(relativeAccuracy);
+        this.comments = new QuantileSketch(relativeAccuracy);
+        this.durationSeconds = new QuantileSketch(relativeAccuracy);
+        this.engagementRate = new QuantileSketch(relativeAccuracy);
+    }
+    
+    /**
+     * 记录一个视频
+     * @param video 视频数据
+     */
+    public void add(VideoData video) {
+        videoCount++;
+        Long viewCount = video.getViewCount();
+        Long likeCount = video.getLikeCount();
+        Long commentCount = video.getCommentCount();
+        if (viewCount != null) {
+            views.add(viewCount);
+            totalViews += viewCount;
+        }
+        if (likeCount != null) {
+            likes.add(likeCount);
+            totalLikes += likeCount;
+        }
+        if (commentCount != null) {
+            comments.add(commentCount);
+            totalComments += commentCount;
+        }
+        if (viewCount != null && viewCount > 0) {
+            long interactions = (likeCount != null ? likeCount : 0) + (commentCount != null ? commentCount : 0);
+            engagementRate.add(interactions / (double) viewCount);
+            engagedInteractions += interactions;
+            engagedViews += viewCount;
+        }
+        int duration = video.getDurationSeconds();
+        if (duration != DurationUtil.INVALID) {
+            durationSeconds.add(duration);
+        }
+        long epochSecond = video.getPublishedAtEpochSecond();
+        if (epochSecond != TimestampUtil.INVALID) {
+            publishedCount++;
+            firstPublishedAt = Math.min(firstPublishedAt, epochSecond);
+            lastPublishedAt = Math.max(lastPublishedAt, epochSecond);
+        }
+    }
+    
+    /**
+     * 合并另一个部分聚合
+     * @param other 另一个部分聚合
+     * @return 当前聚合
+     */
+    public VideoStatsAccumulator merge(VideoStatsAccumulator other) {
+        views.merge(other.views);
+        likes.merge(other.likes);
+        comments.merge(other.comments);
+        durationSeconds.merge(other.durationSeconds);
+        engagementRate.merge(other.engagementRate);
+        videoCount += other.videoCount;
+        totalViews += other.totalViews;
+        totalLikes += other.totalLikes;
+        totalComments += other.totalComments;
+        engagedInteractions += other.engagedInteractions;
+        engagedViews += other.engagedViews;
+        publishedCount += other.publishedCount;
+        firstPublishedAt = Math.min(firstPublishedAt, other.firstPublishedAt);
+        lastPublishedAt = Math.max(lastPublishedAt, other.lastPublishedAt);
+        return this;
+    }
+    
+    public long getVideoCount() {
+        return videoCount;
+    }
+    
+    public long getTotalViews() {
+        return totalViews;
+    }
+    
+    public long getTotalLikes() {
+        return totalLikes;
+    }
+    
+    public long getTotalComments() {
+        return totalComments;
+    }
+    
+    public QuantileSketch getViews() {
+        return views;
+    }
+    
+    public QuantileSketch getLikes() {
+        return likes;
+    }
+    
+    public QuantileSketch getComments() {
+        return comments;
+    }
+    
+    public QuantileSketch getDurationSeconds() {
+        return durationSeconds;
+    }
+    
+    /**
+     * 获取单个视频互动率 (点赞 + 评论) / 观看 的分布
+     * @return 互动率草图
+     */
+    public QuantileSketch getEngagementRate() {
+        return engagementRate;
+    }
+    
+    /**
+     * 总体互动率：观看数已知的视频的 (点赞 + 评论) 之和 / 观看之和
+     * @return 互动率，没有观看数据时返回NaN
+     */
+    public double getOverallEngagementRate() {
+        return engagedViews > 0 ? engagedInteractions / (double) engagedViews : Double.NaN;
+    }
+    
+    /**
+     * 获取最早的发布时间
+     * @return UTC纪元秒，没有发布时间时返回 {@link Long#MAX_VALUE}
+     */
+    public long getFirstPublishedAt() {
+        return firstPublishedAt;
+    }
+    
+    /**
+     * 获取最晚的发布时间
+     * @return UTC纪元秒，没有发布时间时返回 {@link Long#MIN_VALUE}
+     */
+    public long getLastPublishedAt() {
+        return lastPublishedAt;
+    }
+    
+    /**
+     * 平均上传间隔，由首末发布时间跨度除以间隔数得到，与视频到达顺序无关
+     * @return 平均间隔秒数，少于两个带发布时间的视频时返回NaN
+     */
+    public double getAverageUploadIntervalSeconds() {
+        return publishedCount > 1 ? (lastPublishedAt - firstPublishedAt) / (double) (publishedCount - 1) : Double.NaN;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,501 @@
+package com.youtube.fetcher.analytics;
+
+import com.youtube.fetcher.model.VideoData;
+import com.youtube.fetcher.util.DurationUtil;
+import com.youtube.fetcher.util.TimestampUtil;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * 列式存储的视频统计表
+ * 每一列是一个基本类型数组，不保留 {@link VideoData} 对象和装箱的统计值：
+ * 
+ * <ul>
+ *   <li>观看/点赞/评论数：long[]，缺失值为 {@link #NULL_VALUE}</li>
+ *   <li>发布时间：UTC纪元秒 long[]，缺失值为 {@link Long#MIN_VALUE}</li>
+ *   <li>时长：秒数 int[]，缺失或无法解析时为 {@link DurationUtil#INVALID}</li>
+ *   <li>频道：字典编码的 int[] 索引，频道ID只存一份</li>
+ *   <li>视频ID：连续的UTF-8字节数组加偏移量</li>
+ * </ul>
+ * 
+ * <p>每行约55字节，1000万视频约550MB，聚合都是对数组的顺序扫描。表构建后不可变，可安全地被多线程读取。</p>
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public final class VideoStatsTable {
+    
+    /**
+     * 统计值缺失
+     */
+    public static final long NULL_VALUE = -1;
+    
+    /**
+     * 发布时间缺失，与 {@link TimestampUtil#INVALID} 相同，构建时可直接使用 {@link VideoData} 的纪元秒
+     */
+    public static final long NULL_TIMESTAMP = TimestampUtil.INVALID;
+    
+    /**
+     * 可聚合的指标列
+     */
+    public enum Metric {
+        VIEWS,
+        LIKES,
+        COMMENTS,
+        DURATION_SECONDS
+    }
+    
+    private final int size;
+    private final byte[] videoIdBytes;
+    private final int[] videoIdOffsets;
+    private final long[] views;
+    private final long[] likes;
+    private final long[] comments;
+    private final long[] publishedAt;
+    private final int[] durationSeconds;
+    private final int[] channelIndex;
+    private final String[] channelIds;
+    
+    private VideoStatsTable(Builder builder) {
+        this.size = builder.size;
+        this.videoIdBytes = Arrays.copyOf(builder.videoIdBytes, builder.videoIdLength);
+        this.videoIdOffsets = Arrays.copyOf(builder.videoIdOffsets, size + 1);
+        this.views = Arrays.copyOf(builder.views, size);
+        this.likes = Arrays.copyOf(builder.likes, size);
+        this.comments = Arrays.copyOf(builder.comments, size);
+        this.publishedAt = Arrays.copyOf(builder.publishedAt, size);
+        this.durationSeconds = Arrays.copyOf(builder.durationSeconds, size);
+        this.channelIndex = Arrays.copyOf(builder.channelIndex, size);
+        this.channelIds = Arrays.copyOf(builder.channelIds, builder.channelCount);
+    }
+    
+    /**
+     * 从视频集合构建统计表
+     * @param videos 视频集合
+     * @return 统计表
+     */
+    public static VideoStatsTable from(Iterable<VideoData> videos) {
+        return from(videos.iterator());
+    }
+    
+    /**
+     * 从视频迭代器构建统计表，迭代过程中不保留视频对象
+     * @param videos 视频迭代器
+     * @return 统计表
+     */
+    public static VideoStatsTable from(Iterator<VideoData> videos) {
+        Builder builder = new Builder();
+        while (videos.hasNext()) {
+            builder.add(videos.next());
+        }
+        return builder.build();
+    }
+    
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * 获取不同频道的数量
+     * @return 频道数
+     */
+    public int channelCount() {
+        return channelIds.length;
+    }
+    
+    /**
+     * 获取频道字典中的频道ID
+     * @param channel 频道索引
+     * @return 频道ID，视频没有频道ID时为null
+     */
+    public String getChannelId(int channel) {
+        return channelIds[channel];
+    }
+    
+    /**
+     * 查找频道ID对应的频道索引
+     * @param channelId 频道ID
+     * @return 频道索引，不存在时返回-1
+     */
+    public int indexOfChannel(String channelId) {
+        for (int i = 0; i < channelIds.length; i++) {
+            if (channelId == null ? channelIds[i] == null : channelId.equals(channelIds[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    public String getVideoId(int row) {
+        int start = videoIdOffsets[row];
+        return new String(videoIdBytes, start, videoIdOffsets[row + 1] - start, StandardCharsets.UTF_8);
+    }
+    
+    public int getChannelIndex(int row) {
+        return channelIndex[row];
+    }
+    
+    public long getViewCount(int row) {
+        return views[row];
+    }
+    
+    public long getLikeCount(int row) {
+        return likes[row];
+    }
+    
+    public long getCommentCount(int row) {
+        return comments[row];
+    }
+    
+    /**
+     * 获取发布时间
+     * @param row 行号
+     * @return UTC纪元秒，缺失时为 {@link #NULL_TIMESTAMP}
+     */
+    public long getPublishedAtEpochSecond(int row) {
+        return publishedAt[row];
+    }
+    
+    public int getDurationSeconds(int row) {
+        return durationSeconds[row];
+    }
+    
+    /**
+     * 获取指标值
+     * @param metric 指标
+     * @param row 行号
+     * @return 指标值，缺失时为负数
+     */
+    public long get(Metric metric, int row) {
+        return metric == Metric.DURATION_SECONDS ? durationSeconds[row] : column(metric)[row];
+    }
+    
+    /**
+     * 指标总和，忽略缺失值
+     * @param metric 指标
+     * @return 总和
+     */
+    public long sum(Metric metric) {
+        long total = 0;
+        if (metric == Metric.DURATION_SECONDS) {
+            for (int value : durationSeconds) {
+                total += Math.max(value, 0);
+            }
+        } else {
+            for (long value : column(metric)) {
+                total += Math.max(value, 0);
+            }
+        }
+        return total;
+    }
+    
+    /**
+     * 按指标取前N行，缺失值不参与排名
+     * 使用大小为N的最小堆，复杂度O(rows·log N)
+     * @param metric 指标
+     * @param n 数量
+     * @return 行号数组，按指标降序排列
+     */
+    public int[] topN(Metric metric, int n) {
+        if (n <= 0) {
+            return new int[0];
+        }
+        int[] heap = new int[Math.min(n, size)];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            long value = get(metric, row);
+            if (value < 0) {
+                continue;
+            }
+            if (count < heap.length) {
+                heap[count] = row;
+                siftUp(metric, heap, count++);
+            } else if (value > get(metric, heap[0])) {
+                heap[0] = row;
+                siftDown(metric, heap, count, 0);
+            }
+        }
+        int[] result = new int[count];
+        for (int i = count - 1; i >= 0; i--) {
+            result[i] = heap[0];
+            heap[0] = heap[i];
+            siftDown(metric, heap, i, 0);
+        }
+        return result;
+    }
+    
+    /**
+     * 按观看数取前N行
+     * @param n 数量
+     * @return 行号数组，按观看数降序排列
+     */
+    public int[] topByViews(int n) {
+        return topN(Metric.VIEWS, n);
+    }
+    
+    /**
+     * 每个频道的视频数
+     * @return 按频道索引排列的视频数
+     */
+    public int[] countByChannel() {
+        int[] counts = new int[channelIds.length];
+        for (int row = 0; row < size; row++) {
+            counts[channelIndex[row]]++;
+        }
+        return counts;
+    }
+    
+    /**
+     * 每个频道的指标总和，忽略缺失值
+     * @param metric 指标
+     * @return 按频道索引排列的总和
+     */
+    public long[] sumByChannel(Metric metric) {
+        long[] sums = new long[channelIds.length];
+        if (metric == Metric.DURATION_SECONDS) {
+            for (int row = 0; row < size; row++) {
+                sums[channelIndex[row]] += Math.max(durationSeconds[row], 0);
+            }
+        } else {
+            long[] values = column(metric);
+            for (int row = 0; row < size; row++) {
+                sums[channelIndex[row]] += Math.max(values[row], 0);
+            }
+        }
+        return sums;
+    }
+    
+    /**
+     * 单个视频的互动率：(点赞 + 评论) / 观看
+     * @param row 行号
+     * @return 互动率，观看数缺失或为0时返回NaN
+     */
+    public double engagementRate(int row) {
+        long viewCount = views[row];
+        if (viewCount <= 0) {
+            return Double.NaN;
+        }
+        return (Math.max(likes[row], 0) + Math.max(comments[row], 0)) / (double) viewCount;
+    }
+    
+    /**
+     * 每个频道的总体互动率：频道内 (点赞 + 评论) 之和 / 观看之和
+     * 只统计观看数已知的视频
+     * @return 按频道索引排列的互动率，没有观看数据的频道为NaN
+     */
+    public double[] engagementRateByChannel() {
+        long[] interactions = new long[channelIds.length];
+        long[] viewSums = new long[channelIds.length];
+        for (int row = 0; row < size; row++) {
+            long viewCount = views[row];
+            if (viewCount > 0) {
+                int channel = channelIndex[row];
+                viewSums[channel] += viewCount;
+                interactions[channel] += Math.max(likes[row], 0) + Math.max(comments[row], 0);
+            }
+        }
+        double[] rates = new double[channelIds.length];
+        for (int i = 0; i < rates.length; i++) {
+            rates[i] = viewSums[i] > 0 ? interactions[i] / (double) viewSums[i] : Double.NaN;
+        }
+        return rates;
+    }
+    
+    /**
+     * 按发布时间分桶统计上传数
+     * @param fromEpochSecond 第一个桶的起始时间（UTC纪元秒）
+     * @param bucketSeconds 每个桶的秒数
+     * @param buckets 桶数
+     * @return 每个桶的视频数，范围外和发布时间缺失的视频不计入
+     */
+    public long[] uploadHistogram(long fromEpochSecond, long bucketSeconds, int buckets) {
+        return timeHistogram(null, fromEpochSecond, bucketSeconds, buckets);
+    }
+    
+    /**
+     * 按发布时间分桶对指标求和
+     * @param metric 指标，为null时统计视频数
+     * @param fromEpochSecond 第一个桶的起始时间（UTC纪元秒）
+     * @param bucketSeconds 每个桶的秒数
+     * @param buckets 桶数
+     * @return 每个桶的指标总和；桶的范围超出long时截止到 {@link Long#MAX_VALUE}
+     */
+    public long[] timeHistogram(Metric metric, long fromEpochSecond, long bucketSeconds, int buckets) {
+        if (bucketSeconds <= 0) {
+            throw new IllegalArgumentException("bucketSeconds must be > 0: " + bucketSeconds);
+        }
+        if (buckets < 0) {
+            throw new IllegalArgumentException("buckets must be >= 0: " + buckets);
+        }
+        long[] histogram = new long[buckets];
+        long end;
+        try {
+            end = Math.addExact(fromEpochSecond, Math.multiplyExact(bucketSeconds, (long) buckets));
+        } catch (ArithmeticException e) {
+            end = Long.MAX_VALUE;
+        }
+        for (int row = 0; row < size; row++) {
+            long time = publishedAt[row];
+            if (time == NULL_TIMESTAMP || time < fromEpochSecond || time >= end) {
+                continue;
+            }
+            // 起止跨度可能超出long，差值按无符号数处理
+            int bucket = (int) Long.divideUnsigned(time - fromEpochSecond, bucketSeconds);
+            histogram[bucket] += metric == null ? 1 : Math.max(get(metric, row), 0);
+        }
+        return histogram;
+    }
+    
+    /**
+     * 估算列数组占用的堆内存
+     * @return 字节数
+     */
+    public long estimatedMemoryBytes() {
+        long bytes = videoIdBytes.length + 4L * videoIdOffsets.length;
+        bytes += 8L * (views.length + likes.length + comments.length + publishedAt.length);
+        bytes += 4L * (durationSeconds.length + channelIndex.length);
+        for (String channelId : channelIds) {
+            bytes += channelId != null ? 40 + channelId.length() : 0;
+        }
+        return bytes;
+    }
+    
+    private long[] column(Metric metric) {
+        switch (metric) {
+            case VIEWS:
+                return views;
+            case LIKES:
+                return likes;
+            case COMMENTS:
+                return comments;
+            default:
+                throw new IllegalArgumentException("Not a long column: " + metric);
+        }
+    }
+    
+    private void siftUp(Metric metric, int[] heap, int index) {
+        int row = heap[index];
+        long value = get(metric, row);
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (get(metric, heap[parent]) <= value) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = row;
+    }
+    
+    private void siftDown(Metric metric, int[] heap, int count, int index) {
+        int row = heap[index];
+        long value = get(metric, row);
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= count) {
+                break;
+            }
+            if (child + 1 < count && get(metric, heap[child + 1]) < get(metric, heap[child])) {
+                child++;
+            }
+            if (get(metric, heap[child]) >= value) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = row;
+    }
+    
+    /**
+     * 统计表构建器，按行追加，非线程安全
+     */
+    public static final class Builder {
+        private int size;
+        private byte[] videoIdBytes = new byte[1024 * 11];
+        private int videoIdLength;
+        private int[] videoIdOffsets = new int[1025];
+        private long[] views = new long[1024];
+        private long[] likes = new long[1024];
+        private long[] comments = new long[1024];
+        private long[] publishedAt = new long[1024];
+        private int[] durationSeconds = new int[1024];
+        private int[] channelIndex = new int[1024];
+        private String[] channelIds = new String[16];
+        private int channelCount;
+        private final Map<String, Integer> channelLookup = new HashMap<>();
+        
+        private Builder() {
+        }
+        
+        /**
+         * 追加一个视频
+         * @param video 视频数据
+         * @return 构建器
+         */
+        public Builder add(VideoData video) {
+            if (size == views.length) {
+                grow();
+            }
+            appendVideoId(video.getVideoId());
+            views[size] = orNull(video.getViewCount());
+            likes[size] = orNull(video.getLikeCount());
+            comments[size] = orNull(video.getCommentCount());
+            publishedAt[size] = video.getPublishedAtEpochSecond();
+            durationSeconds[size] = video.getDurationSeconds();
+            channelIndex[size] = internChannel(video.getChannelId());
+            size++;
+            return this;
+        }
+        
+        public VideoStatsTable build() {
+            return new VideoStatsTable(this);
+        }
+        
+        private void appendVideoId(String videoId) {
+            byte[] bytes = videoId != null ? videoId.getBytes(StandardCharsets.UTF_8) : new byte[0];
+            if (videoIdLength + bytes.length > videoIdBytes.length) {
+                videoIdBytes = Arrays.copyOf(videoIdBytes, Math.max(videoIdBytes.length * 3 / 2, videoIdLength + bytes.length));
+            }
+            System.arraycopy(bytes, 0, videoIdBytes, videoIdLength, bytes.length);
+            videoIdLength += bytes.length;
+            videoIdOffsets[size + 1] = videoIdLength;
+        }
+        
+        private int internChannel(String channelId) {
+            Integer index = channelLookup.get(channelId);
+            if (index != null) {
+                return index;
+            }
+            if (channelCount == channelIds.length) {
+                channelIds = Arrays.copyOf(channelIds, channelCount * 2);
+            }
+            channelIds[channelCount] = channelId;
+            channelLookup.put(channelId, channelCount);
+            return channelCount++;
+        }
+        
+        private void grow() {
+            int capacity = views.length + (views.length >> 1);
+            videoIdOffsets = Arrays.copyOf(videoIdOffsets, capacity + 1);
+            views = Arrays.copyOf(views, capacity);
+            likes = Arrays.copyOf(likes, capacity);
+            comments = Arrays.copyOf(comments, capacity);
+            publishedAt = Arrays.copyOf(publishedAt, capacity);
+            durationSeconds = Arrays.copyOf(durationSeconds, capacity);
+            channelIndex = Arrays.copyOf(channelIndex, capacity);
+        }
+        
+        private static long orNull(Long value) {
+            return value != null && value >= 0 ? value : NULL_VALUE;
+        }
+    }
+}
\ No newline at end of file
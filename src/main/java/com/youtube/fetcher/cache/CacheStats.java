@@ -0,0 +1,111 @@
+package com.youtube.fetcher.cache;
+
+/**
+ * 缓存统计快照
+ * 用于评估命中率并据此调整缓存容量和过期时间
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public class CacheStats {
+    
+    private final long hitCount;
+    private final long missCount;
+    private final long loadSuccessCount;
+    private final long loadFailureCount;
+    private final long coalescedLoadCount;
+    private final long evictionCount;
+    private final long expirationCount;
+    private final int size;
+    
+    /**
+     * 完整构造函数
+     */
+    public CacheStats(long hitCount, long missCount, long loadSuccessCount, long loadFailureCount,
+                      long coalescedLoadCount, long evictionCount, long expirationCount, int size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.loadSuccessCount = loadSuccessCount;
+        this.loadFailureCount = loadFailureCount;
+        this.coalescedLoadCount = coalescedLoadCount;
+        this.evictionCount = evictionCount;
+        this.expirationCount = expirationCount;
+        this.size = size;
+    }
+    
+    public long getHitCount() {
+        return hitCount;
+    }
+    
+    public long getMissCount() {
+        return missCount;
+    }
+    
+    public long getLoadSuccessCount() {
+        return loadSuccessCount;
+    }
+    
+    public long getLoadFailureCount() {
+        return loadFailureCount;
+    }
+    
+    /**
+     * 获取因合并到其他线程的加载而省下的请求数
+     * @return 合并的加载次数
+     */
+    public long getCoalescedLoadCount() {
+        return coalescedLoadCount;
+    }
+    
+    /**
+     * 获取因容量不足被淘汰的条目数
+     * @return 淘汰数
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+    
+    /**
+     * 获取因过期被移除的条目数
+     * @return 过期数
+     */
+    public long getExpirationCount() {
+        return expirationCount;
+    }
+    
+    public int getSize() {
+        return size;
+    }
+    
+    /**
+     * 获取请求总数
+     * @return 命中数与未命中数之和
+     */
+    public long getRequestCount() {
+        return hitCount + missCount;
+    }
+    
+    /**
+     * 获取命中率
+     * @return 0到1之间的命中率，没有请求时返回1
+     */
+    public double getHitRate() {
+        long requests = getRequestCount();
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+    
+    @Override
+    public String toString() {
+        return "CacheStats{" +
+                "hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", hitRate=" + String.format("%.3f", getHitRate()) +
+                ", loadSuccessCount=" + loadSuccessCount +
+                ", loadFailureCount=" + loadFailureCount +
+                ", coalescedLoadCount=" + coalescedLoadCount +
+                ", evictionCount=" + evictionCount +
+                ", expirationCount=" + expirationCount +
+                ", size=" + size +
+                '}';
+    }
+}
\ No newline at end of file
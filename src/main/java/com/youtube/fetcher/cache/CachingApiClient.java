@@ -0,0 +1,163 @@
+package com.youtube.fetcher.cache;
+
+import com.youtube.fetcher.client.YouTubeApiClient;
+import com.youtube.fetcher.exception.YouTubeApiException;
+import com.youtube.fetcher.model.ApiResponse;
+import com.youtube.fetcher.model.ChannelInfo;
+import com.youtube.fetcher.model.VideoData;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 带缓存的API客户端装饰器
+ * 频道信息和播放列表分页分别缓存，使用各自的过期时间：频道元数据变化很慢，
+ * 分页（尤其是首页）会随新视频上传而变化，应使用较短的TTL。
+ * 
+ * <p>分页按 播放列表ID + 页面令牌 作为键，状态为ERROR的响应不会被缓存。
+ * 视频详情包含实时统计数据，直接透传给被装饰的客户端。</p>
+ * 
+ * <p>缓存中的对象不会交给调用方：每次返回的频道信息和分页（包括其中的视频）都是副本，
+ * 调用方可以自由修改，例如补全统计数据或写入请求计数，不会影响缓存和其他调用方。</p>
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public class CachingApiClient implements YouTubeApiClient {
+    
+    /**
+     * 默认频道信息缓存条目数
+     */
+    public static final int DEFAULT_CHANNEL_CACHE_SIZE = 10_000;
+    
+    /**
+     * 默认分页缓存条目数
+     */
+    public static final int DEFAULT_PAGE_CACHE_SIZE = 50_000;
+    
+    /**
+     * 默认频道信息过期时间
+     */
+    public static final Duration DEFAULT_CHANNEL_TTL = Duration.ofHours(6);
+    
+    /**
+     * 默认分页过期时间
+     */
+    public static final Duration DEFAULT_PAGE_TTL = Duration.ofMinutes(10);
+    
+    private final YouTubeApiClient delegate;
+    private final ExpiringLruCache<String, ChannelInfo> channelCache;
+    private final ExpiringLruCache<PageKey, ApiResponse<VideoData>> pageCache;
+    
+    /**
+     * 使用默认容量和过期时间创建缓存客户端
+     * @param delegate 实际执行请求的客户端
+     */
+    public CachingApiClient(YouTubeApiClient delegate) {
+        this(delegate, DEFAULT_CHANNEL_CACHE_SIZE, DEFAULT_CHANNEL_TTL,
+                DEFAULT_PAGE_CACHE_SIZE, DEFAULT_PAGE_TTL, Clock.systemUTC());
+    }
+    
+    /**
+     * 完整构造函数
+     * @param delegate 实际执行请求的客户端
+     * @param channelCacheSize 频道信息缓存条目数
+     * @param channelTtl 频道信息过期时间
+     * @param pageCacheSize 分页缓存条目数
+     * @param pageTtl 分页过期时间
+     * @param clock 时钟
+     */
+    public CachingApiClient(YouTubeApiClient delegate, int channelCacheSize, Duration channelTtl,
+                            int pageCacheSize, Duration pageTtl, Clock clock) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.channelCache = new ExpiringLruCache<>(channelCacheSize, channelTtl, clock);
+        this.pageCache = new ExpiringLruCache<>(pageCacheSize, pageTtl, clock);
+    }
+    
+    @Override
+    public ChannelInfo getChannelInfo(String channelId) throws YouTubeApiException {
+        ChannelInfo channel = channelCache.get(channelId, () -> delegate.getChannelInfo(channelId));
+        return channel != null ? new ChannelInfo(channel) : null;
+    }
+    
+    @Override
+    public ApiResponse<VideoData> getPlaylistVideos(String playlistId, String pageToken) throws YouTubeApiException {
+        ApiResponse<VideoData> page = pageCache.get(new PageKey(playlistId, pageToken),
+                () -> delegate.getPlaylistVideos(playlistId, pageToken),
+                response -> response.getStatus() != ApiResponse.Status.ERROR);
+        return page != null ? copyPage(page) : null;
+    }
+    
+    @Override
+    public List<VideoData> getVideoDetails(List<String> videoIds) throws YouTubeApiException {
+        return delegate.getVideoDetails(videoIds);
+    }
+    
+    /**
+     * 使频道信息及其上传播放列表的所有分页失效
+     * 上传播放列表的分页无法按前缀定位，因此清空整个分页缓存
+     * @param channelId 频道ID
+     */
+    public void invalidateChannel(String channelId) {
+        channelCache.invalidate(channelId);
+        pageCache.invalidateAll();
+    }
+    
+    /**
+     * 使播放列表首页失效，新视频上传后首页最先变化
+     * @param playlistId 播放列表ID
+     */
+    public void invalidateFirstPage(String playlistId) {
+        pageCache.invalidate(new PageKey(playlistId, null));
+    }
+    
+    public CacheStats getChannelCacheStats() {
+        return channelCache.stats();
+    }
+    
+    public CacheStats getPageCacheStats() {
+        return pageCache.stats();
+    }
+    
+    private static ApiResponse<VideoData> copyPage(ApiResponse<VideoData> page) {
+        List<VideoData> videos = page.getData();
+        if (videos == null) {
+            return new ApiResponse<>(page, null);
+        }
+        List<VideoData> copies = new ArrayList<>(videos.size());
+        for (VideoData video : videos) {
+            copies.add(video != null ? new VideoData(video) : null);
+        }
+        return new ApiResponse<>(page, copies);
+    }
+    
+    /**
+     * 分页缓存键，首页令牌为null
+     */
+    private static final class PageKey {
+        private final String playlistId;
+        private final String pageToken;
+        
+        PageKey(String playlistId, String pageToken) {
+            this.playlistId = playlistId;
+            this.pageToken = pageToken;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            PageKey pageKey = (PageKey) o;
+            return Objects.equals(playlistId, pageKey.playlistId) &&
+                    Objects.equals(pageToken, pageKey.pageToken);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(playlistId, pageToken);
+        }
+    }
+}
\ No newline at end of file
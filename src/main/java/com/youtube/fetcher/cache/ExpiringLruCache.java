@@ -0,0 +1,283 @@
+package com.youtube.fetcher.cache;
+
+import com.youtube.fetcher.exception.YouTubeApiException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * 带过期时间的有界LRU缓存
+ * 
+ * <ul>
+ *   <li>按访问顺序淘汰，条目数超过上限时移除最久未使用的条目</li>
+ *   <li>条目写入后经过TTL即过期，过期条目在访问时惰性移除</li>
+ *   <li>同一个键的并发未命中只触发一次加载，其余线程等待同一结果（single-flight）</li>
+ *   <li>加载失败不缓存，异常原样传给所有等待的线程</li>
+ * </ul>
+ * 
+ * @param <K> 键类型
+ * @param <V> 值类型
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public class ExpiringLruCache<K, V> {
+    
+    /**
+     * 未命中时的加载函数
+     * @param <V> 值类型
+     */
+    @FunctionalInterface
+    public interface Loader<V> {
+        V load() throws YouTubeApiException;
+    }
+    
+    private static final class CacheEntry<V> {
+        final V value;
+        final long expiresAtMillis;
+        
+        CacheEntry(V value, long expiresAtMillis) {
+            this.value = value;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+    
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Clock clock;
+    private final LinkedHashMap<K, CacheEntry<V>> entries;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+    
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong loadSuccessCount = new AtomicLong();
+    private final AtomicLong loadFailureCount = new AtomicLong();
+    private final AtomicLong coalescedLoadCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+    private final AtomicLong expirationCount = new AtomicLong();
+    
+    /**
+     * 使用系统时钟创建缓存
+     * @param maxSize 最大条目数
+     * @param ttl 条目存活时间
+     */
+    public ExpiringLruCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, Clock.systemUTC());
+    }
+    
+    /**
+     * 完整构造函数
+     * @param maxSize 最大条目数
+     * @param ttl 条目存活时间
+     * @param clock 时钟，用于计算过期
+     */
+    public ExpiringLruCache(int maxSize, Duration ttl, Clock clock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be > 0: " + maxSize);
+        }
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl must be positive: " + ttl);
+        }
+        this.maxSize = maxSize;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = Objects.requireNonNull(clock, "clock");
+        this.entries = new LinkedHashMap<K, CacheEntry<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CacheEntry<V>> eldest) {
+                if (size() > ExpiringLruCache.this.maxSize) {
+                    evictionCount.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+    
+    /**
+     * 获取缓存值，未命中或已过期时调用加载函数
+     * @param key 键
+     * @param loader 加载函数，返回null时不缓存
+     * @return 缓存值或新加载的值
+     * @throws YouTubeApiException 加载失败时抛出
+     */
+    public V get(K key, Loader<V> loader) throws YouTubeApiException {
+        return get(key, loader, value -> true);
+    }
+    
+    /**
+     * 获取缓存值，加载结果只有满足条件时才写入缓存
+     * 不满足条件的结果仍会返回给本次合并等待的所有线程
+     * @param key 键
+     * @param loader 加载函数，返回null时不缓存
+     * @param cacheable 判断加载结果是否可缓存
+     * @return 缓存值或新加载的值
+     * @throws YouTubeApiException 加载失败时抛出
+     */
+    public V get(K key, Loader<V> loader, Predicate<? super V> cacheable) throws YouTubeApiException {
+        V cached = getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = loading.putIfAbsent(key, created);
+        if (existing != null) {
+            coalescedLoadCount.incrementAndGet();
+            return await(existing);
+        }
+        
+        try {
+            // 上一次加载可能在本线程未命中之后、注册加载之前写入缓存并注销，
+            // 此时直接使用其结果
+            V raced = peek(key);
+            if (raced != null) {
+                coalescedLoadCount.incrementAndGet();
+                created.complete(raced);
+                return raced;
+            }
+            
+            V value = loader.load();
+            if (value != null && cacheable.test(value)) {
+                put(key, value);
+            }
+            loadSuccessCount.incrementAndGet();
+            created.complete(value);
+            return value;
+        } catch (YouTubeApiException | RuntimeException e) {
+            loadFailureCount.incrementAndGet();
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, created);
+        }
+    }
+    
+    /**
+     * 获取未过期的缓存值，不触发加载
+     * @param key 键
+     * @return 缓存值，不存在或已过期时返回null
+     */
+    public V getIfPresent(K key) {
+        long now = clock.millis();
+        synchronized (entries) {
+            CacheEntry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAtMillis > now) {
+                    hitCount.incrementAndGet();
+                    return entry.value;
+                }
+                entries.remove(key);
+                expirationCount.incrementAndGet();
+            }
+        }
+        missCount.incrementAndGet();
+        return null;
+    }
+    
+    /**
+     * 读取未过期的缓存值，不计入命中和未命中统计
+     */
+    private V peek(K key) {
+        long now = clock.millis();
+        synchronized (entries) {
+            CacheEntry<V> entry = entries.get(key);
+            return entry != null && entry.expiresAtMillis > now ? entry.value : null;
+        }
+    }
+    
+    /**
+     * 写入缓存值
+     * @param key 键
+     * @param value 值
+     */
+    public void put(K key, V value) {
+        CacheEntry<V> entry = new CacheEntry<>(Objects.requireNonNull(value, "value"), clock.millis() + ttlMillis);
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+    }
+    
+    /**
+     * 使指定键失效
+     * @param key 键
+     */
+    public void invalidate(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+    
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+    
+    /**
+     * 主动移除所有已过期的条目
+     * @return 移除的条目数
+     */
+    public int cleanUp() {
+        long now = clock.millis();
+        int removed = 0;
+        synchronized (entries) {
+            Iterator<CacheEntry<V>> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().expiresAtMillis <= now) {
+                    iterator.remove();
+                    removed++;
+                }
+            }
+        }
+        expirationCount.addAndGet(removed);
+        return removed;
+    }
+    
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+    
+    public int getMaxSize() {
+        return maxSize;
+    }
+    
+    /**
+     * 获取统计快照
+     * @return 缓存统计
+     */
+    public CacheStats stats() {
+        return new CacheStats(hitCount.get(), missCount.get(), loadSuccessCount.get(), loadFailureCount.get(),
+                coalescedLoadCount.get(), evictionCount.get(), expirationCount.get(), size());
+    }
+    
+    private static <V> V await(CompletableFuture<V> future) throws YouTubeApiException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new YouTubeApiException("Interrupted while waiting for cache load", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof YouTubeApiException) {
+                throw (YouTubeApiException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new YouTubeApiException("Cache load failed: " + cause.getMessage(), cause);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.youtube.fetcher.client;
+
+/**
+ * API操作类型枚举
+ * 记录每种YouTube Data API v3调用消耗的配额单位
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public enum ApiOperation {
+    CHANNELS_LIST("channels.list", "channels", 1),
+    PLAYLIST_ITEMS_LIST("playlistItems.list", "playlistItems", 1),
+    VIDEOS_LIST("videos.list", "videos", 1),
+    SEARCH_LIST("search.list", "search", 100);
+    
+    private final String endpoint;
+    private final String path;
+    private final int quotaCost;
+    
+    ApiOperation(String endpoint, String path, int quotaCost) {
+        this.endpoint = endpoint;
+        this.path = path;
+        this.quotaCost = quotaCost;
+    }
+    
+    public String getEndpoint() {
+        return endpoint;
+    }
+    
+    /**
+     * 获取相对于API基础地址的资源路径
+     * @return 资源路径，如playlistItems
+     */
+    public String getPath() {
+        return path;
+    }
+    
+    public int getQuotaCost() {
+        return quotaCost;
+    }
+}
\ No newline at end of file
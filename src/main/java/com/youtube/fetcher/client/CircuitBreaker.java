@@ -0,0 +1,146 @@
+package com.youtube.fetcher.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 单个端点的熔断器
+ * 连续失败达到阈值后打开，打开期间直接拒绝请求；冷却时间过后进入半开状态，只放行一个探测请求，
+ * 探测成功则关闭，失败则重新打开。只有瞬时和限流错误计为失败，永久错误说明端点本身可用，视为成功。
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public class CircuitBreaker {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+    
+    /**
+     * 熔断器状态
+     */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+    
+    private final String name;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+    
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+    private long rejectedCount;
+    private long openCount;
+    
+    /**
+     * 构造函数
+     * @param name 名称，用于日志
+     * @param failureThreshold 连续失败阈值，0表示从不打开
+     * @param openNanos 打开后的冷却时间（纳秒）
+     */
+    public CircuitBreaker(String name, int failureThreshold, long openNanos) {
+        this(name, failureThreshold, openNanos, System::nanoTime);
+    }
+    
+    /**
+     * 指定时钟的构造函数，测试中用于推进冷却时间
+     * @param name 名称，用于日志
+     * @param failureThreshold 连续失败阈值，0表示从不打开
+     * @param openNanos 打开后的冷却时间（纳秒）
+     * @param nanoClock 单调时钟，语义同 {@link System#nanoTime()}
+     */
+    CircuitBreaker(String name, int failureThreshold, long openNanos, LongSupplier nanoClock) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openNanos;
+        this.nanoClock = nanoClock;
+    }
+    
+    /**
+     * 请求放行
+     * @return 可以发出请求时返回0，否则返回距离下次允许探测的纳秒数（至少为1）
+     */
+    public synchronized long tryAcquire() {
+        if (state == State.CLOSED) {
+            return 0;
+        }
+        long now = nanoClock.getAsLong();
+        if (state == State.OPEN) {
+            long remaining = openedAt + openNanos - now;
+            if (remaining > 0) {
+                rejectedCount++;
+                return remaining;
+            }
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+        }
+        if (probeInFlight) {
+            rejectedCount++;
+            return Math.max(1, openNanos / 10);
+        }
+        probeInFlight = true;
+        return 0;
+    }
+    
+    /**
+     * 记录端点可用（成功或永久错误）
+     */
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        if (state != State.CLOSED) {
+            logger.info("Circuit for {} closed", name);
+            state = State.CLOSED;
+            probeInFlight = false;
+        }
+    }
+    
+    /**
+     * 记录瞬时或限流失败
+     */
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && failureThreshold > 0
+                && consecutiveFailures >= failureThreshold)) {
+            if (state == State.CLOSED) {
+                logger.warn("Circuit for {} opened after {} consecutive failures", name, consecutiveFailures);
+            }
+            state = State.OPEN;
+            openedAt = nanoClock.getAsLong();
+            probeInFlight = false;
+            openCount++;
+        }
+    }
+    
+    /**
+     * 请求的结果不反映端点健康状况（如配额耗尽），只释放半开状态的探测名额
+     */
+    public synchronized void onIgnored() {
+        probeInFlight = false;
+    }
+    
+    public synchronized State getState() {
+        return state;
+    }
+    
+    /**
+     * 获取因熔断被拒绝的请求数
+     * @return 拒绝次数
+     */
+    public synchronized long getRejectedCount() {
+        return rejectedCount;
+    }
+    
+    /**
+     * 获取熔断器打开（含半开探测失败后重新打开）的次数
+     * @return 打开次数
+     */
+    public synchronized long getOpenCount() {
+        return openCount;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,214 @@
+package com.youtube.fetcher.client;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * YouTube Data API的部分响应字段掩码（fields参数）
+ * 语法与API一致：逗号分隔字段，斜杠选择子字段，括号选择同一对象下的多个子字段，
+ * 如 {@code nextPageToken,items(id,snippet(title,thumbnails/high/url))}。
+ * 
+ * <p>掩码是一棵不可变的字段树，叶子节点表示包含该字段的全部内容。
+ * 输出时同一对象下只有一个子字段的路径用斜杠连接，多个子字段用括号分组。</p>
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public final class FieldMask {
+    
+    private final Map<String, FieldMask> children;
+    
+    private FieldMask(Map<String, FieldMask> children) {
+        this.children = children;
+    }
+    
+    /**
+     * 解析fields参数
+     * @param expression 掩码表达式
+     * @return 字段掩码
+     * @throws IllegalArgumentException 表达式语法错误时抛出
+     */
+    public static FieldMask parse(String expression) {
+        Node root = new Node();
+        Parser parser = new Parser(expression);
+        parser.parseList(root);
+        if (parser.position != expression.length()) {
+            throw parser.error("unexpected '" + expression.charAt(parser.position) + "'");
+        }
+        if (root.children.isEmpty()) {
+            throw new IllegalArgumentException("Empty field mask");
+        }
+        return root.freeze();
+    }
+    
+    /**
+     * 由多个掩码表达式合并出一个掩码，如 of("items/id", "items/snippet/title")
+     * @param expressions 掩码表达式
+     * @return 字段掩码
+     */
+    public static FieldMask of(String... expressions) {
+        return parse(String.join(",", expressions));
+    }
+    
+    /**
+     * 获取子字段的掩码
+     * @param name 字段名
+     * @return 子字段掩码；字段未被选择时返回null，字段被整体选择时返回的掩码 {@link #isLeaf()} 为true
+     */
+    public FieldMask child(String name) {
+        return children.get(name);
+    }
+    
+    /**
+     * 检查是否包含该字段的全部内容
+     * @return 没有进一步选择子字段时返回true
+     */
+    public boolean isLeaf() {
+        return children.isEmpty();
+    }
+    
+    /**
+     * 检查是否选择了指定路径（或其祖先被整体选择）
+     * @param path 斜杠分隔的字段路径，如 items/snippet/title
+     * @return 如果该路径会出现在响应中则返回true
+     */
+    public boolean includes(String path) {
+        FieldMask mask = this;
+        for (String name : path.split("/")) {
+            if (mask.isLeaf()) {
+                return true;
+            }
+            mask = mask.children.get(name);
+            if (mask == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof FieldMask && children.equals(((FieldMask) o).children));
+    }
+    
+    @Override
+    public int hashCode() {
+        return children.hashCode();
+    }
+    
+    /**
+     * 输出API可接受的fields参数
+     * @return 掩码表达式
+     */
+    @Override
+    public String toString() {
+        StringBuilder expression = new StringBuilder();
+        appendChildren(expression);
+        return expression.toString();
+    }
+    
+    private void appendChildren(StringBuilder expression) {
+        Iterator<Map.Entry<String, FieldMask>> entries = children.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<String, FieldMask> entry = entries.next();
+            expression.append(entry.getKey());
+            FieldMask child = entry.getValue();
+            while (child.children.size() == 1) {
+                Map.Entry<String, FieldMask> only = child.children.entrySet().iterator().next();
+                expression.append('/').append(only.getKey());
+                child = only.getValue();
+            }
+            if (!child.isLeaf()) {
+                expression.append('(');
+                child.appendChildren(expression);
+                expression.append(')');
+            }
+            if (entries.hasNext()) {
+                expression.append(',');
+            }
+        }
+    }
+    
+    /**
+     * 解析时使用的可变节点，selectAll表示该字段被整体选择，此时忽略更深的子路径
+     */
+    private static final class Node {
+        final Map<String, Node> children = new LinkedHashMap<>();
+        boolean selectAll;
+        
+        Node child(String name) {
+            return children.computeIfAbsent(name, key -> new Node());
+        }
+        
+        FieldMask freeze() {
+            if (selectAll || children.isEmpty()) {
+                return new FieldMask(Collections.emptyMap());
+            }
+            Map<String, FieldMask> frozen = new LinkedHashMap<>();
+            for (Map.Entry<String, Node> entry : children.entrySet()) {
+                frozen.put(entry.getKey(), entry.getValue().freeze());
+            }
+            return new FieldMask(Collections.unmodifiableMap(frozen));
+        }
+    }
+    
+    /**
+     * 递归下降解析器：list := item (',' item)*；item := name ('/' name)* ['(' list ')']
+     */
+    private static final class Parser {
+        private final String expression;
+        private int position;
+        
+        Parser(String expression) {
+            this.expression = expression;
+        }
+        
+        void parseList(Node parent) {
+            parseItem(parent);
+            while (position < expression.length() && expression.charAt(position) == ',') {
+                position++;
+                parseItem(parent);
+            }
+        }
+        
+        private void parseItem(Node parent) {
+            Node node = parent.child(parseName());
+            while (position < expression.length() && expression.charAt(position) == '/') {
+                position++;
+                node = node.child(parseName());
+            }
+            if (position < expression.length() && expression.charAt(position) == '(') {
+                position++;
+                parseList(node);
+                if (position >= expression.length() || expression.charAt(position) != ')') {
+                    throw error("missing ')'");
+                }
+                position++;
+            } else {
+                node.selectAll = true;
+            }
+        }
+        
+        private String parseName() {
+            int start = position;
+            while (position < expression.length()) {
+                char c = expression.charAt(position);
+                if (c == ',' || c == '/' || c == '(' || c == ')') {
+                    break;
+                }
+                position++;
+            }
+            if (position == start) {
+                throw error("field name expected");
+            }
+            return expression.substring(start, position).trim();
+        }
+        
+        IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("Invalid field mask at " + position + ": " + message
+                    + " in \"" + expression + "\"");
+        }
+    }
+}
\ No newline at end of file
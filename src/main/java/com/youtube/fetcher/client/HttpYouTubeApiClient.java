@@ -0,0 +1,482 @@
+package com.youtube.fetcher.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.JsonEOFException;
+import com.youtube.fetcher.exception.YouTubeApiException;
+import com.youtube.fetcher.json.YouTubeResponseReader;
+import com.youtube.fetcher.metrics.CrawlMetrics;
+import com.youtube.fetcher.model.ApiResponse;
+import com.youtube.fetcher.model.ChannelInfo;
+import com.youtube.fetcher.model.VideoData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 基于java.net.http的YouTube Data API v3客户端
+ * 直接请求REST接口，响应体以流的形式交给 {@link YouTubeResponseReader}
+ * 映射为 {@link ChannelInfo} / {@link VideoData}，不缓存完整响应也不构建JSON树。
+ * 基础地址可替换，便于指向本地模拟服务器。
+ * 
+ * <p>构造时传入 {@link CrawlMetrics} 可记录每次请求的延迟、接收字节数和错误代码；
+ * 播放列表分页的 {@link ApiResponse#getRequestCount()} 为产生该页的HTTP请求数（此处恒为1，
+ * 重试由上层装饰器累加）。</p>
+ * 
+ * <p>请求只取 {@link ResponseFields} 选择的属性：part参数和fields掩码按端点生成，
+ * 默认为 {@link YouTubeResponseReader} 能解析的全部属性。响应默认以gzip压缩传输，
+ * 未显式传入 {@link HttpClient} 时所有实例共享同一个HTTP/2客户端，
+ * 并发请求在同一连接上多路复用。</p>
+ * 
+ * <p>非2xx响应会转换为 {@link YouTubeApiException}，错误代码取自响应体中
+ * {@code error.errors[0].reason}（如quotaExceeded、backendError），HTTP状态码原样保留。</p>
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public class HttpYouTubeApiClient implements YouTubeApiClient {
+    
+    private static final Logger logger = LoggerFactory.getLogger(HttpYouTubeApiClient.class);
+    
+    /**
+     * YouTube Data API v3的默认基础地址
+     */
+    public static final URI DEFAULT_BASE_URI = URI.create("https://www.googleapis.com/youtube/v3/");
+    
+    /**
+     * 默认请求超时
+     */
+    public static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    
+    /**
+     * playlistItems.list单页最大条数
+     */
+    public static final int MAX_RESULTS_PER_PAGE = 50;
+    
+    /**
+     * 默认连接超时
+     */
+    public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    
+    /**
+     * Google API只在User-Agent包含gzip时压缩响应
+     */
+    private static final String USER_AGENT = "youtube-fetcher/1.0.0 (gzip)";
+    
+    private static final YouTubeResponseReader RESPONSE_READER = new YouTubeResponseReader();
+    
+    private static volatile HttpClient sharedHttpClient;
+    
+    private final String apiKey;
+    private final URI baseUri;
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+    private final CrawlMetrics metrics;
+    private final ResponseFields responseFields;
+    private final boolean compression;
+    private final Map<ApiOperation, String> fieldsParams = new EnumMap<>(ApiOperation.class);
+    
+    /**
+     * 使用默认地址和超时创建客户端
+     * @param apiKey API密钥
+     */
+    public HttpYouTubeApiClient(String apiKey) {
+        this(builder(apiKey));
+    }
+    
+    /**
+     * 完整构造函数
+     * @param apiKey API密钥
+     * @param baseUri 基础地址，以/结尾，如 https://www.googleapis.com/youtube/v3/
+     * @param httpClient HTTP客户端
+     * @param requestTimeout 单次请求超时
+     */
+    public HttpYouTubeApiClient(String apiKey, URI baseUri, HttpClient httpClient, Duration requestTimeout) {
+        this(apiKey, baseUri, httpClient, requestTimeout, null);
+    }
+    
+    /**
+     * 记录请求指标的完整构造函数
+     * @param apiKey API密钥
+     * @param baseUri 基础地址，以/结尾，如 https://www.googleapis.com/youtube/v3/
+     * @param httpClient HTTP客户端
+     * @param requestTimeout 单次请求超时
+     * @param metrics 指标注册表，每次HTTP请求记录延迟、接收字节数和错误代码；为null时不记录
+     */
+    public HttpYouTubeApiClient(String apiKey, URI baseUri, HttpClient httpClient, Duration requestTimeout,
+                                CrawlMetrics metrics) {
+        this(builder(apiKey).baseUri(baseUri)
+                .httpClient(Objects.requireNonNull(httpClient, "httpClient"))
+                .requestTimeout(requestTimeout)
+                .metrics(metrics));
+    }
+    
+    private HttpYouTubeApiClient(Builder builder) {
+        this.apiKey = Objects.requireNonNull(builder.apiKey, "apiKey");
+        this.baseUri = Objects.requireNonNull(builder.baseUri, "baseUri");
+        this.httpClient = builder.httpClient != null ? builder.httpClient : sharedHttpClient();
+        this.requestTimeout = Objects.requireNonNull(builder.requestTimeout, "requestTimeout");
+        this.metrics = builder.metrics;
+        this.responseFields = builder.responseFields != null ? builder.responseFields : ResponseFields.all();
+        this.compression = builder.compression;
+        if (builder.responseFields != null) {
+            for (ApiOperation operation : ApiOperation.values()) {
+                FieldMask mask = responseFields.getMask(operation);
+                if (mask != null) {
+                    fieldsParams.put(operation, mask.toString());
+                }
+            }
+        }
+    }
+    
+    /**
+     * 创建客户端构建器
+     * @param apiKey API密钥
+     * @return 构建器，默认使用共享的HTTP/2客户端、全部属性和gzip压缩
+     */
+    public static Builder builder(String apiKey) {
+        return new Builder(apiKey);
+    }
+    
+    /**
+     * 获取进程内共享的HTTP客户端
+     * 优先使用HTTP/2（不支持时自动回退到HTTP/1.1），同一主机的并发请求复用连接池中的连接
+     * @return 共享的HTTP客户端
+     */
+    public static HttpClient sharedHttpClient() {
+        HttpClient client = sharedHttpClient;
+        if (client == null) {
+            synchronized (HttpYouTubeApiClient.class) {
+                client = sharedHttpClient;
+                if (client == null) {
+                    client = newHttpClient(DEFAULT_CONNECT_TIMEOUT);
+                    sharedHttpClient = client;
+                }
+            }
+        }
+        return client;
+    }
+    
+    /**
+     * 创建优先使用HTTP/2的HTTP客户端
+     * @param connectTimeout 连接超时
+     * @return HTTP客户端
+     */
+    public static HttpClient newHttpClient(Duration connectTimeout) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+    
+    @Override
+    public ChannelInfo getChannelInfo(String channelId) throws YouTubeApiException {
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("part", responseFields.getParts(ApiOperation.CHANNELS_LIST));
+        params.put("id", channelId);
+        List<ChannelInfo> channels = get(ApiOperation.CHANNELS_LIST, params, RESPONSE_READER::readChannels);
+        if (channels.isEmpty()) {
+            throw new YouTubeApiException("Channel not found: " + channelId, "channelNotFound", 404);
+        }
+        return channels.get(0);
+    }
+    
+    @Override
+    public ApiResponse<VideoData> getPlaylistVideos(String playlistId, String pageToken) throws YouTubeApiException {
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("part", responseFields.getParts(ApiOperation.PLAYLIST_ITEMS_LIST));
+        params.put("playlistId", playlistId);
+        params.put("maxResults", String.valueOf(MAX_RESULTS_PER_PAGE));
+        if (pageToken != null) {
+            params.put("pageToken", pageToken);
+        }
+        ApiResponse<VideoData> page = get(ApiOperation.PLAYLIST_ITEMS_LIST, params, RESPONSE_READER::readPlaylistItems);
+        page.setRequestCount(1L);
+        return page;
+    }
+    
+    @Override
+    public List<VideoData> getVideoDetails(List<String> videoIds) throws YouTubeApiException {
+        if (videoIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (videoIds.size() > MAX_VIDEO_IDS_PER_REQUEST) {
+            throw new IllegalArgumentException("At most " + MAX_VIDEO_IDS_PER_REQUEST
+                    + " video IDs per request: " + videoIds.size());
+        }
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("part", responseFields.getParts(ApiOperation.VIDEOS_LIST));
+        params.put("id", String.join(",", videoIds));
+        params.put("maxResults", String.valueOf(MAX_VIDEO_IDS_PER_REQUEST));
+        return get(ApiOperation.VIDEOS_LIST, params, RESPONSE_READER::readVideos);
+    }
+    
+    public URI getBaseUri() {
+        return baseUri;
+    }
+    
+    public ResponseFields getResponseFields() {
+        return responseFields;
+    }
+    
+    public boolean isCompression() {
+        return compression;
+    }
+    
+    /**
+     * @return 指标注册表，未启用时为null
+     */
+    public CrawlMetrics getMetrics() {
+        return metrics;
+    }
+    
+    private <T> T get(ApiOperation operation, Map<String, String> params, BodyReader<T> bodyReader)
+            throws YouTubeApiException {
+        StringBuilder query = new StringBuilder();
+        for (Map.Entry<String, String> param : params.entrySet()) {
+            query.append(param.getKey()).append('=')
+                    .append(URLEncoder.encode(param.getValue(), StandardCharsets.UTF_8)).append('&');
+        }
+        String fields = fieldsParams.get(operation);
+        if (fields != null) {
+            query.append("fields=").append(URLEncoder.encode(fields, StandardCharsets.UTF_8)).append('&');
+        }
+        query.append("key=").append(URLEncoder.encode(apiKey, StandardCharsets.UTF_8));
+        URI uri = baseUri.resolve(operation.getPath() + "?" + query);
+        HttpRequest.Builder requestBuilder = HttpRequest.newBuilder(uri)
+                .timeout(requestTimeout)
+                .header("Accept", "application/json");
+        if (compression) {
+            requestBuilder.header("Accept-Encoding", "gzip").header("User-Agent", USER_AGENT);
+        }
+        HttpRequest request = requestBuilder.GET().build();
+        
+        long start = System.nanoTime();
+        CountingInputStream received = null;
+        String errorCode = null;
+        try {
+            HttpResponse<InputStream> response;
+            try {
+                response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            } catch (IOException e) {
+                throw new YouTubeApiException("Request to " + operation.getEndpoint() + " failed: " + e.getMessage(), e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new YouTubeApiException("Interrupted during request to " + operation.getEndpoint(), e);
+            }
+            
+            int statusCode = response.statusCode();
+            received = new CountingInputStream(response.body());
+            try (InputStream body = decode(response, received)) {
+                if (statusCode / 100 != 2) {
+                    throw toException(operation, response, RESPONSE_READER.readError(body));
+                }
+                return bodyReader.read(body);
+            } catch (JsonEOFException e) {
+                // 连接中途断开导致的截断响应，重试通常可以成功，与格式错误区分开
+                throw new YouTubeApiException("Truncated response from " + operation.getEndpoint() + ": "
+                        + e.getOriginalMessage(), "truncatedResponse", statusCode, e);
+            } catch (JsonProcessingException e) {
+                throw new YouTubeApiException("Malformed response from " + operation.getEndpoint() + ": "
+                        + e.getOriginalMessage(), "parseError", statusCode, e);
+            } catch (EOFException e) {
+                throw new YouTubeApiException("Truncated response from " + operation.getEndpoint() + ": "
+                        + e.getMessage(), "truncatedResponse", statusCode, e);
+            } catch (IOException e) {
+                throw new YouTubeApiException("Reading response from " + operation.getEndpoint() + " failed: "
+                        + e.getMessage(), e);
+            }
+        } catch (YouTubeApiException e) {
+            errorCode = e.getErrorCode() != null ? e.getErrorCode() : "ioError";
+            throw e;
+        } finally {
+            if (metrics != null) {
+                metrics.recordRequest(operation, System.nanoTime() - start,
+                        received != null ? received.getCount() : 0, errorCode);
+            }
+        }
+    }
+    
+    /**
+     * 按Content-Encoding解压响应体；received统计的是压缩后的传输字节数
+     */
+    private static InputStream decode(HttpResponse<?> response, InputStream received) throws IOException {
+        String encoding = response.headers().firstValue("Content-Encoding").orElse("identity");
+        if ("gzip".equalsIgnoreCase(encoding)) {
+            return new GZIPInputStream(received, 8192);
+        }
+        if (!"identity".equalsIgnoreCase(encoding)) {
+            received.close();
+            throw new IOException("Unsupported Content-Encoding: " + encoding);
+        }
+        return received;
+    }
+    
+    private static YouTubeApiException toException(ApiOperation operation, HttpResponse<?> response,
+                                                   YouTubeResponseReader.ErrorBody error) {
+        int statusCode = response.statusCode();
+        String reason = error.getReason();
+        String message = error.getMessage() != null ? error.getMessage() : "HTTP " + statusCode;
+        logger.debug("{} failed with HTTP {} ({})", operation.getEndpoint(), statusCode, reason);
+        return new YouTubeApiException(operation.getEndpoint() + ": " + message,
+                reason != null ? reason : "http" + statusCode, statusCode,
+                response.headers().firstValue("Retry-After").map(HttpYouTubeApiClient::parseRetryAfter).orElse(null));
+    }
+    
+    /**
+     * 解析Retry-After响应头，支持秒数和HTTP日期两种格式
+     * @return 等待时长，无法解析时返回null
+     */
+    static Duration parseRetryAfter(String value) {
+        String trimmed = value.trim();
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(trimmed)));
+        } catch (NumberFormatException e) {
+            // 不是秒数，按HTTP日期解析
+        }
+        try {
+            Instant until = ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            Duration delay = Duration.between(Instant.now(), until);
+            return delay.isNegative() ? Duration.ZERO : delay;
+        } catch (DateTimeParseException e) {
+            logger.debug("Ignoring unparseable Retry-After: {}", value);
+            return null;
+        }
+    }
+    
+    /**
+     * {@link HttpYouTubeApiClient} 构建器
+     */
+    public static final class Builder {
+        private final String apiKey;
+        private URI baseUri = DEFAULT_BASE_URI;
+        private HttpClient httpClient;
+        private Duration requestTimeout = DEFAULT_REQUEST_TIMEOUT;
+        private CrawlMetrics metrics;
+        private ResponseFields responseFields = ResponseFields.all();
+        private boolean compression = true;
+        
+        private Builder(String apiKey) {
+            this.apiKey = apiKey;
+        }
+        
+        /**
+         * 基础地址，以/结尾，如 https://www.googleapis.com/youtube/v3/
+         */
+        public Builder baseUri(URI baseUri) {
+            this.baseUri = baseUri;
+            return this;
+        }
+        
+        /**
+         * HTTP客户端，为null时使用 {@link #sharedHttpClient()}
+         */
+        public Builder httpClient(HttpClient httpClient) {
+            this.httpClient = httpClient;
+            return this;
+        }
+        
+        public Builder requestTimeout(Duration requestTimeout) {
+            this.requestTimeout = requestTimeout;
+            return this;
+        }
+        
+        /**
+         * 指标注册表，为null时不记录
+         */
+        public Builder metrics(CrawlMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+        
+        /**
+         * 需要的属性，决定part参数和fields掩码；为null时请求全部属性且不发送fields掩码
+         */
+        public Builder responseFields(ResponseFields responseFields) {
+            this.responseFields = responseFields;
+            return this;
+        }
+        
+        /**
+         * 是否请求gzip压缩的响应
+         */
+        public Builder compression(boolean compression) {
+            this.compression = compression;
+            return this;
+        }
+        
+        public HttpYouTubeApiClient build() {
+            return new HttpYouTubeApiClient(this);
+        }
+    }
+    
+    /**
+     * 统计读取字节数的输入流，用于记录接收的响应体大小
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+        
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+        
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+        
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+        
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(n);
+            count += skipped;
+            return skipped;
+        }
+        
+        long getCount() {
+            return count;
+        }
+    }
+    
+    /**
+     * 从响应体流中读取结果
+     */
+    @FunctionalInterface
+    private interface BodyReader<T> {
+        T read(InputStream body) throws IOException;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.youtube.fetcher.client;
+
+import com.youtube.fetcher.exception.YouTubeApiException;
+import com.youtube.fetcher.model.ApiResponse;
+
+/**
+ * 分页获取接口
+ * 根据页面令牌获取单页数据，是所有分页数据源的最小抽象
+ * 
+ * @param <T> 页面数据类型
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+@FunctionalInterface
+public interface PageFetcher<T> {
+    
+    /**
+     * 获取一页数据
+     * @param pageToken 页面令牌，首页为null
+     * @return 该页的API响应，通过 {@link ApiResponse#hasNextPage()} 判断是否还有下一页
+     * @throws YouTubeApiException API调用失败时抛出
+     */
+    ApiResponse<T> fetchPage(String pageToken) throws YouTubeApiException;
+}
\ No newline at end of file
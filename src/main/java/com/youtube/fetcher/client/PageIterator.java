@@ -0,0 +1,283 @@
+package com.youtube.fetcher.client;
+
+import com.youtube.fetcher.exception.UncheckedYouTubeApiException;
+import com.youtube.fetcher.exception.YouTubeApiException;
+import com.youtube.fetcher.model.ApiResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 惰性分页迭代器
+ * 基于 {@link ApiResponse#hasNextPage()} 按需拉取页面，只有在消费时才请求下一页，
+ * 因此内存占用与频道大小无关，首条记录只需一次往返。
+ * 
+ * <p>当 {@code prefetchPages > 0} 时，由后台任务按顺序预取最多N页放入有界缓冲区，
+ * 消费速度慢时预取任务会阻塞，不会无限制地占用内存。</p>
+ * 
+ * <p>API调用失败时，{@link #next()} 抛出包装了 {@link YouTubeApiException} 的
+ * {@link UncheckedYouTubeApiException}，获取器抛出的其他运行时异常和错误原样抛出。
+ * 预取任务被外部中断（如执行器被 {@code shutdownNow}）时，消费者同样收到 {@link UncheckedYouTubeApiException}。
+ * 使用完毕（包括提前退出）应调用 {@link #close()}。</p>
+ * 
+ * @param <T> 页面数据类型
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public class PageIterator<T> implements Iterator<ApiResponse<T>>, AutoCloseable {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PageIterator.class);
+    
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    
+    /**
+     * 预取线程写入缓冲区的结束标记
+     */
+    private static final Object END = new Object();
+    
+    private final PageFetcher<T> fetcher;
+    private final Executor executor;
+    private final BlockingQueue<Object> buffer;
+    
+    // 同步模式状态
+    private String nextPageToken;
+    private boolean exhausted;
+    
+    // 预取模式状态
+    private boolean producerStarted;
+    private Object pending;
+    private volatile boolean closed;
+    private volatile Thread producerThread;
+    
+    /**
+     * 创建不预取的惰性迭代器
+     * @param fetcher 页面获取器
+     */
+    public PageIterator(PageFetcher<T> fetcher) {
+        this(fetcher, 0, null);
+    }
+    
+    /**
+     * 创建带预取的迭代器，预取任务运行在独立的守护线程上
+     * @param fetcher 页面获取器
+     * @param prefetchPages 最多预取的页数，0表示不预取
+     */
+    public PageIterator(PageFetcher<T> fetcher, int prefetchPages) {
+        this(fetcher, prefetchPages, null);
+    }
+    
+    /**
+     * 完整构造函数
+     * @param fetcher 页面获取器
+     * @param prefetchPages 最多预取的页数，0表示不预取
+     * @param executor 运行预取任务的执行器，为null时使用独立的守护线程
+     */
+    public PageIterator(PageFetcher<T> fetcher, int prefetchPages, Executor executor) {
+        if (prefetchPages < 0) {
+            throw new IllegalArgumentException("prefetchPages must be >= 0: " + prefetchPages);
+        }
+        this.fetcher = Objects.requireNonNull(fetcher, "fetcher");
+        this.executor = executor != null ? executor : PageIterator::startDaemon;
+        this.buffer = prefetchPages > 0 ? new ArrayBlockingQueue<>(prefetchPages) : null;
+    }
+    
+    /**
+     * 将页面流展开为元素流的便捷方法
+     * @param fetcher 页面获取器
+     * @param prefetchPages 最多预取的页数
+     * @param <T> 元素类型
+     * @return 惰性元素流，关闭流时会停止预取
+     */
+    public static <T> Stream<T> stream(PageFetcher<T> fetcher, int prefetchPages) {
+        return new PageIterator<>(fetcher, prefetchPages).stream();
+    }
+    
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        if (buffer == null) {
+            return !exhausted;
+        }
+        if (pending == null) {
+            startProducerIfNeeded();
+            try {
+                pending = buffer.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new UncheckedYouTubeApiException(
+                        new YouTubeApiException("Interrupted while waiting for next page", e));
+            }
+            if (closed) {
+                // 等待期间被其他线程关闭
+                pending = null;
+                return false;
+            }
+        }
+        return pending != END;
+    }
+    
+    @Override
+    public ApiResponse<T> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        if (buffer == null) {
+            try {
+                ApiResponse<T> page = fetchChecked(nextPageToken);
+                nextPageToken = page.getNextPageToken();
+                exhausted = !page.hasNextPage();
+                return page;
+            } catch (YouTubeApiException e) {
+                exhausted = true;
+                throw new UncheckedYouTubeApiException(e);
+            }
+        }
+        Object item = pending;
+        pending = null;
+        if (item instanceof Throwable) {
+            pending = END;
+            if (item instanceof YouTubeApiException) {
+                throw new UncheckedYouTubeApiException((YouTubeApiException) item);
+            }
+            if (item instanceof RuntimeException) {
+                throw (RuntimeException) item;
+            }
+            throw (Error) item;
+        }
+        @SuppressWarnings("unchecked")
+        ApiResponse<T> page = (ApiResponse<T>) item;
+        return page;
+    }
+    
+    /**
+     * 获取按元素展开的迭代器，页面在元素耗尽时才继续拉取
+     * @return 元素迭代器
+     */
+    public Iterator<T> items() {
+        return new Iterator<T>() {
+            private Iterator<T> current = Collections.emptyIterator();
+            
+            @Override
+            public boolean hasNext() {
+                while (!current.hasNext()) {
+                    if (!PageIterator.this.hasNext()) {
+                        return false;
+                    }
+                    ApiResponse<T> page = PageIterator.this.next();
+                    current = page.getData() != null
+                            ? page.getData().iterator() : Collections.emptyIterator();
+                }
+                return true;
+            }
+            
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.next();
+            }
+        };
+    }
+    
+    /**
+     * 获取惰性元素流
+     * @return 顺序元素流，关闭流时会关闭本迭代器
+     */
+    public Stream<T> stream() {
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(items(), Spliterator.ORDERED);
+        return StreamSupport.stream(spliterator, false).onClose(this::close);
+    }
+    
+    /**
+     * 停止预取并释放缓冲的页面，阻塞在 {@link #hasNext()} 上的消费者随之返回false
+     */
+    @Override
+    public void close() {
+        closed = true;
+        Thread producer = producerThread;
+        if (producer != null) {
+            producer.interrupt();
+        }
+        if (buffer != null) {
+            buffer.clear();
+            buffer.offer(END);
+        }
+        pending = null;
+    }
+    
+    private void startProducerIfNeeded() {
+        if (!producerStarted) {
+            producerStarted = true;
+            executor.execute(this::produce);
+        }
+    }
+    
+    private void produce() {
+        producerThread = Thread.currentThread();
+        String token = null;
+        try {
+            while (!closed) {
+                ApiResponse<T> page;
+                try {
+                    page = fetchChecked(token);
+                } catch (YouTubeApiException | RuntimeException | Error e) {
+                    // 任何失败都交给消费者重新抛出，否则消费者会一直等待
+                    buffer.put(e);
+                    return;
+                }
+                buffer.put(page);
+                if (!page.hasNextPage()) {
+                    break;
+                }
+                token = page.getNextPageToken();
+            }
+            buffer.put(END);
+        } catch (InterruptedException e) {
+            if (!closed) {
+                // 执行器被shutdownNow等外部中断：丢弃未消费的页面并放入异常，消费者随之失败而不是一直等待
+                logger.warn("Page prefetch interrupted unexpectedly");
+                buffer.clear();
+                buffer.offer(new YouTubeApiException("Interrupted while prefetching", e));
+            }
+            Thread.currentThread().interrupt();
+        } finally {
+            producerThread = null;
+            if (closed) {
+                buffer.clear();
+                buffer.offer(END);
+            }
+        }
+    }
+    
+    private ApiResponse<T> fetchChecked(String pageToken) throws YouTubeApiException {
+        ApiResponse<T> page = fetcher.fetchPage(pageToken);
+        if (page == null) {
+            throw new YouTubeApiException("Page fetcher returned null for token: " + pageToken);
+        }
+        if (page.getStatus() == ApiResponse.Status.ERROR) {
+            throw new YouTubeApiException(page.getMessage(), page.getErrorCode());
+        }
+        return page;
+    }
+    
+    private static void startDaemon(Runnable task) {
+        Thread thread = new Thread(task, "page-prefetch-" + THREAD_COUNTER.incrementAndGet());
+        thread.setDaemon(true);
+        thread.start();
+    }
+}
\ No newline at end of file
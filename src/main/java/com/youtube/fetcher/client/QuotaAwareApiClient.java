@@ -0,0 +1,69 @@
+package com.youtube.fetcher.client;
+
+import com.youtube.fetcher.exception.YouTubeApiException;
+import com.youtube.fetcher.model.ApiResponse;
+import com.youtube.fetcher.model.ChannelInfo;
+import com.youtube.fetcher.model.VideoData;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 配额感知的API客户端装饰器
+ * 将所有调用交给 {@link QuotaScheduler} 调度，对调用方透明；
+ * 播放列表分页的 {@link ApiResponse#getRequestCount()} 会加上调度器重试的次数
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public class QuotaAwareApiClient implements YouTubeApiClient {
+    
+    private final YouTubeApiClient delegate;
+    private final QuotaScheduler scheduler;
+    
+    /**
+     * 构造函数
+     * @param delegate 实际执行请求的客户端
+     * @param scheduler 配额调度器，可在多个客户端间共享
+     */
+    public QuotaAwareApiClient(YouTubeApiClient delegate, QuotaScheduler scheduler) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.scheduler = Objects.requireNonNull(scheduler, "scheduler");
+    }
+    
+    @Override
+    public ChannelInfo getChannelInfo(String channelId) throws YouTubeApiException {
+        return schedule(ApiOperation.CHANNELS_LIST, () -> delegate.getChannelInfo(channelId));
+    }
+    
+    @Override
+    public ApiResponse<VideoData> getPlaylistVideos(String playlistId, String pageToken) throws YouTubeApiException {
+        int[] attempts = new int[1];
+        ApiResponse<VideoData> page = schedule(ApiOperation.PLAYLIST_ITEMS_LIST, () -> {
+            attempts[0]++;
+            return delegate.getPlaylistVideos(playlistId, pageToken);
+        });
+        // 失败后重试的请求也计入该页的请求数
+        long requests = page.getRequestCount() != null ? page.getRequestCount() : 1;
+        page.setRequestCount(requests + attempts[0] - 1);
+        return page;
+    }
+    
+    @Override
+    public List<VideoData> getVideoDetails(List<String> videoIds) throws YouTubeApiException {
+        return schedule(ApiOperation.VIDEOS_LIST, () -> delegate.getVideoDetails(videoIds));
+    }
+    
+    public QuotaScheduler getScheduler() {
+        return scheduler;
+    }
+    
+    private <T> T schedule(ApiOperation operation, QuotaScheduler.ApiCall<T> call) throws YouTubeApiException {
+        try {
+            return scheduler.execute(operation, call);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new YouTubeApiException("Interrupted while waiting for quota: " + operation.getEndpoint(), e);
+        }
+    }
+}
\ No newline at end of file
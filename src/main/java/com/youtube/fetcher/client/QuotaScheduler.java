@@ -0,0 +1,307 @@
+package com.youtube.fetcher.client;
+
+import com.youtube.fetcher.exception.ErrorCategory;
+import com.youtube.fetcher.exception.YouTubeApiException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 配额感知的请求调度器
+ * 用令牌桶把每日配额均匀摊到一天中，避免短时间耗尽全天配额后长时间空闲。
+ * 
+ * <ul>
+ *   <li>每次调用按 {@link ApiOperation#getQuotaCost()} 扣除令牌，令牌按 每日配额/86400 的速率补充</li>
+ *   <li>瞬时和限流错误交给 {@link RetryExecutor} 按错误分类重试，每次重试同样扣除配额</li>
+ *   <li>{@link YouTubeApiException#isQuotaExceeded()} 时挂起所有调用直到配额重置（太平洋时间午夜），而不是直接失败</li>
+ * </ul>
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public class QuotaScheduler {
+    
+    private static final Logger logger = LoggerFactory.getLogger(QuotaScheduler.class);
+    
+    /**
+     * YouTube Data API默认每日配额
+     */
+    public static final long DEFAULT_DAILY_QUOTA = 10_000;
+    
+    /**
+     * YouTube配额重置所使用的时区
+     */
+    public static final ZoneId QUOTA_RESET_ZONE = ZoneId.of("America/Los_Angeles");
+    
+    private static final long SECONDS_PER_DAY = 86_400;
+    
+    /**
+     * 被调度的API调用
+     * @param <T> 返回值类型
+     */
+    @FunctionalInterface
+    public interface ApiCall<T> {
+        T call() throws YouTubeApiException;
+    }
+    
+    private final long dailyQuota;
+    private final double bucketCapacity;
+    private final double refillPerNano;
+    private final RetryExecutor retryExecutor;
+    private final Clock clock;
+    
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition available = lock.newCondition();
+    private double tokens;
+    private long lastRefillNanos;
+    private long usedToday;
+    private LocalDate quotaDay;
+    private Instant parkedUntil;
+    
+    private final Map<ApiOperation, AtomicLong> unitsByOperation = new EnumMap<>(ApiOperation.class);
+    
+    /**
+     * 使用默认每日配额创建调度器
+     */
+    public QuotaScheduler() {
+        this(DEFAULT_DAILY_QUOTA);
+    }
+    
+    /**
+     * 按每日配额创建调度器，桶容量为每日配额的1%
+     * @param dailyQuota 每日配额单位
+     */
+    public QuotaScheduler(long dailyQuota) {
+        this(dailyQuota, Math.max(100, dailyQuota / 100), 5, 500, 60_000, Clock.systemUTC());
+    }
+    
+    /**
+     * 完整构造函数
+     * @param dailyQuota 每日配额单位
+     * @param bucketCapacity 令牌桶容量，即允许的最大突发配额
+     * @param maxNetworkRetries 网络错误的最大重试次数
+     * @param baseBackoffMillis 退避基础时长（毫秒）
+     * @param maxBackoffMillis 退避上限（毫秒）
+     * @param clock 用于计算配额重置时间的时钟
+     */
+    public QuotaScheduler(long dailyQuota, long bucketCapacity, int maxNetworkRetries,
+                          long baseBackoffMillis, long maxBackoffMillis, Clock clock) {
+        this(dailyQuota, bucketCapacity, new RetryExecutor(new RetryPolicy()
+                .maxRetries(ErrorCategory.TRANSIENT, maxNetworkRetries)
+                .maxRetries(ErrorCategory.RATE_LIMITED, maxNetworkRetries)
+                .backoff(Duration.ofMillis(baseBackoffMillis), Duration.ofMillis(maxBackoffMillis))), clock);
+    }
+    
+    /**
+     * 使用自定义重试执行器的构造函数
+     * @param dailyQuota 每日配额单位
+     * @param bucketCapacity 令牌桶容量，即允许的最大突发配额
+     * @param retryExecutor 瞬时和限流错误的重试执行器，其配额耗尽的重试次数应为0
+     * @param clock 用于计算配额重置时间的时钟
+     */
+    public QuotaScheduler(long dailyQuota, long bucketCapacity, RetryExecutor retryExecutor, Clock clock) {
+        if (dailyQuota <= 0 || bucketCapacity <= 0) {
+            throw new IllegalArgumentException("dailyQuota and bucketCapacity must be > 0");
+        }
+        this.dailyQuota = dailyQuota;
+        this.bucketCapacity = bucketCapacity;
+        this.refillPerNano = (double) dailyQuota / TimeUnit.SECONDS.toNanos(SECONDS_PER_DAY);
+        this.retryExecutor = Objects.requireNonNull(retryExecutor, "retryExecutor");
+        this.clock = clock;
+        this.tokens = bucketCapacity;
+        this.lastRefillNanos = System.nanoTime();
+        this.quotaDay = currentQuotaDay();
+        for (ApiOperation operation : ApiOperation.values()) {
+            unitsByOperation.put(operation, new AtomicLong());
+        }
+    }
+    
+    /**
+     * 在配额约束下执行一次API调用
+     * @param operation 操作类型，决定配额消耗
+     * @param call API调用
+     * @param <T> 返回值类型
+     * @return 调用结果
+     * @throws YouTubeApiException 不可重试的错误或重试次数用尽时抛出
+     * @throws InterruptedException 等待配额或退避时被中断
+     */
+    public <T> T execute(ApiOperation operation, ApiCall<T> call) throws YouTubeApiException, InterruptedException {
+        while (true) {
+            try {
+                return retryExecutor.execute(operation, () -> {
+                    try {
+                        acquire(operation.getQuotaCost());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new YouTubeApiException("Interrupted while waiting for quota: "
+                                + operation.getEndpoint(), e);
+                    }
+                    unitsByOperation.get(operation).addAndGet(operation.getQuotaCost());
+                    return call.call();
+                });
+            } catch (YouTubeApiException e) {
+                if (e.getCause() instanceof InterruptedException) {
+                    Thread.interrupted();
+                    throw (InterruptedException) e.getCause();
+                }
+                if (e.isQuotaExceeded()) {
+                    parkUntilReset();
+                    continue;
+                }
+                throw e;
+            }
+        }
+    }
+    
+    /**
+     * 阻塞直到获得指定数量的配额令牌
+     * @param cost 配额单位
+     * @throws InterruptedException 等待被中断
+     */
+    public void acquire(int cost) throws InterruptedException {
+        if (cost > bucketCapacity) {
+            throw new IllegalArgumentException("cost " + cost + " exceeds bucket capacity " + bucketCapacity);
+        }
+        lock.lockInterruptibly();
+        try {
+            while (true) {
+                rollOverDayIfNeeded();
+                long waitNanos;
+                if (parkedUntil != null || usedToday + cost > dailyQuota) {
+                    waitNanos = nanosUntilReset();
+                } else {
+                    refill();
+                    if (tokens >= cost) {
+                        tokens -= cost;
+                        usedToday += cost;
+                        return;
+                    }
+                    waitNanos = (long) Math.ceil((cost - tokens) / refillPerNano);
+                }
+                available.awaitNanos(Math.max(waitNanos, TimeUnit.MILLISECONDS.toNanos(1)));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * 标记配额已耗尽，所有调用挂起到下一个重置时间
+     */
+    public void parkUntilReset() {
+        lock.lock();
+        try {
+            Instant reset = nextResetInstant();
+            if (parkedUntil == null) {
+                logger.warn("YouTube API quota exhausted, parking requests until {}", reset);
+            }
+            parkedUntil = reset;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * 获取今日已消耗的配额单位
+     * @return 配额单位
+     */
+    public long getUsedToday() {
+        lock.lock();
+        try {
+            rollOverDayIfNeeded();
+            return usedToday;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * 获取今日剩余配额单位
+     * @return 配额单位
+     */
+    public long getRemainingToday() {
+        return Math.max(0, dailyQuota - getUsedToday());
+    }
+    
+    /**
+     * 获取指定操作类型累计消耗的配额单位（含重试）
+     * @param operation 操作类型
+     * @return 配额单位
+     */
+    public long getUnitsConsumed(ApiOperation operation) {
+        return unitsByOperation.get(operation).get();
+    }
+    
+    /**
+     * 获取指定操作类型因瞬时或限流错误重试的次数
+     * @param operation 操作类型
+     * @return 重试次数
+     */
+    public long getRetryCount(ApiOperation operation) {
+        return retryExecutor.getRetryCount(operation);
+    }
+    
+    public RetryExecutor getRetryExecutor() {
+        return retryExecutor;
+    }
+    
+    /**
+     * 检查当前是否因配额耗尽而挂起
+     * @return 如果挂起中则返回true
+     */
+    public boolean isParked() {
+        lock.lock();
+        try {
+            rollOverDayIfNeeded();
+            return parkedUntil != null;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(bucketCapacity, tokens + (now - lastRefillNanos) * refillPerNano);
+        lastRefillNanos = now;
+    }
+    
+    private void rollOverDayIfNeeded() {
+        LocalDate today = currentQuotaDay();
+        boolean parkExpired = parkedUntil != null && !clock.instant().isBefore(parkedUntil);
+        if (!today.equals(quotaDay) || parkExpired) {
+            quotaDay = today;
+            usedToday = 0;
+            parkedUntil = null;
+            tokens = bucketCapacity;
+            lastRefillNanos = System.nanoTime();
+            available.signalAll();
+        }
+    }
+    
+    private long nanosUntilReset() {
+        Instant target = parkedUntil != null ? parkedUntil : nextResetInstant();
+        return Math.max(0, Duration.between(clock.instant(), target).toNanos());
+    }
+    
+    private LocalDate currentQuotaDay() {
+        return ZonedDateTime.ofInstant(clock.instant(), QUOTA_RESET_ZONE).toLocalDate();
+    }
+    
+    private Instant nextResetInstant() {
+        return currentQuotaDay().plusDays(1).atStartOfDay(QUOTA_RESET_ZONE).toInstant();
+    }
+    
+}
\ No newline at end of file
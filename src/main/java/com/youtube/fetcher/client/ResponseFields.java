@@ -0,0 +1,288 @@
+package com.youtube.fetcher.client;
+
+import com.youtube.fetcher.export.columnar.ColumnarFormat;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 请求时实际需要的 {@link com.youtube.fetcher.model.VideoData} / {@link com.youtube.fetcher.model.ChannelInfo} 属性
+ * 据此为每个端点生成最小的part参数和fields掩码，API只返回这些属性对应的字段，
+ * kind、etag、localized、缩略图尺寸等不读取的内容不再占用带宽。
+ * 
+ * <p>分页和后续请求依赖的字段始终包含：播放列表条目的视频ID和发布时间（增量同步按发布时间停止）、
+ * 视频和频道的ID、频道的上传播放列表ID、分页令牌和pageInfo。</p>
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public final class ResponseFields {
+    
+    /**
+     * 视频属性，与 {@link ColumnarFormat.Column} 一一对应
+     */
+    public enum VideoField {
+        VIDEO_ID,
+        TITLE,
+        PUBLISHED_AT,
+        DESCRIPTION,
+        DURATION,
+        VIEW_COUNT,
+        LIKE_COUNT,
+        COMMENT_COUNT,
+        THUMBNAIL_URL,
+        CHANNEL_ID
+    }
+    
+    /**
+     * 频道属性
+     */
+    public enum ChannelField {
+        CHANNEL_ID,
+        CHANNEL_NAME,
+        DESCRIPTION,
+        CREATED_AT,
+        SUBSCRIBER_COUNT,
+        VIDEO_COUNT,
+        VIEW_COUNT,
+        UPLOADS_PLAYLIST_ID,
+        CUSTOM_URL,
+        COUNTRY,
+        DEFAULT_LANGUAGE,
+        THUMBNAIL_URL,
+        BANNER_URL
+    }
+    
+    /**
+     * 只请求 {@link com.youtube.fetcher.json.YouTubeResponseReader} 会选用的缩略图尺寸的URL
+     */
+    private static final String THUMBNAIL_URLS = "thumbnails(high/url,medium/url,default/url)";
+    
+    private static final ResponseFields ALL = new ResponseFields(
+            EnumSet.allOf(VideoField.class), EnumSet.allOf(ChannelField.class));
+    
+    /**
+     * {@link #forColumns} 请求的频道属性：增量同步按视频数跳过未变化的频道，
+     * 频道分析和统计快照读取名称、订阅数和观看数，每个频道只请求一次，开销很小
+     */
+    private static final Set<ChannelField> SUMMARY_CHANNEL_FIELDS = EnumSet.of(ChannelField.CHANNEL_NAME,
+            ChannelField.SUBSCRIBER_COUNT, ChannelField.VIDEO_COUNT, ChannelField.VIEW_COUNT);
+    
+    private final Set<VideoField> videoFields;
+    private final Set<ChannelField> channelFields;
+    private final Map<ApiOperation, String> parts = new EnumMap<>(ApiOperation.class);
+    private final Map<ApiOperation, FieldMask> masks = new EnumMap<>(ApiOperation.class);
+    
+    private ResponseFields(Set<VideoField> videoFields, Set<ChannelField> channelFields) {
+        this.videoFields = EnumSet.copyOf(videoFields);
+        this.videoFields.add(VideoField.VIDEO_ID);
+        this.channelFields = channelFields.isEmpty() ? EnumSet.noneOf(ChannelField.class) : EnumSet.copyOf(channelFields);
+        this.channelFields.add(ChannelField.CHANNEL_ID);
+        this.channelFields.add(ChannelField.UPLOADS_PLAYLIST_ID);
+        buildPlaylistItems();
+        buildVideos();
+        buildChannels();
+    }
+    
+    /**
+     * 请求客户端能解析的全部属性
+     * @return 全部属性
+     */
+    public static ResponseFields all() {
+        return ALL;
+    }
+    
+    /**
+     * 只请求指定的属性，必需的ID类属性会自动加入
+     * @param videoFields 需要的视频属性
+     * @param channelFields 需要的频道属性
+     * @return 字段选择
+     */
+    public static ResponseFields of(Set<VideoField> videoFields, Set<ChannelField> channelFields) {
+        return new ResponseFields(videoFields.isEmpty() ? EnumSet.of(VideoField.VIDEO_ID) : videoFields, channelFields);
+    }
+    
+    /**
+     * 只请求导出的列需要的视频属性
+     * 频道除分页必需的属性外还请求名称和statistics（订阅数、视频数、观看数），
+     * 同一客户端用于增量同步、频道分析或统计快照时这些值不会缺失
+     * @param columns 导出的列
+     * @return 字段选择
+     */
+    public static ResponseFields forColumns(Collection<ColumnarFormat.Column> columns) {
+        Set<VideoField> videoFields = EnumSet.of(VideoField.VIDEO_ID);
+        for (ColumnarFormat.Column column : columns) {
+            videoFields.add(VideoField.valueOf(column.name()));
+        }
+        return new ResponseFields(videoFields, SUMMARY_CHANNEL_FIELDS);
+    }
+    
+    public Set<VideoField> getVideoFields() {
+        return EnumSet.copyOf(videoFields);
+    }
+    
+    public Set<ChannelField> getChannelFields() {
+        return EnumSet.copyOf(channelFields);
+    }
+    
+    /**
+     * 获取端点的part参数
+     * @param operation 操作类型
+     * @return 逗号分隔的part列表
+     */
+    public String getParts(ApiOperation operation) {
+        return parts.get(operation);
+    }
+    
+    /**
+     * 获取端点的fields掩码
+     * @param operation 操作类型
+     * @return 字段掩码，不支持的端点返回null
+     */
+    public FieldMask getMask(ApiOperation operation) {
+        return masks.get(operation);
+    }
+    
+    private void buildPlaylistItems() {
+        List<String> snippet = new ArrayList<>();
+        if (videoFields.contains(VideoField.TITLE)) {
+            snippet.add("title");
+        }
+        if (videoFields.contains(VideoField.DESCRIPTION)) {
+            snippet.add("description");
+        }
+        if (videoFields.contains(VideoField.THUMBNAIL_URL)) {
+            snippet.add(THUMBNAIL_URLS);
+        }
+        if (videoFields.contains(VideoField.CHANNEL_ID)) {
+            snippet.add("videoOwnerChannelId");
+            snippet.add("channelId");
+        }
+        if (!snippet.isEmpty()) {
+            // 私有视频没有videoPublishedAt，回退到加入播放列表的时间
+            snippet.add("publishedAt");
+        }
+        Set<String> partList = new LinkedHashSet<>();
+        List<String> item = new ArrayList<>();
+        item.add("contentDetails(videoId,videoPublishedAt)");
+        partList.add("contentDetails");
+        if (!snippet.isEmpty()) {
+            item.add("snippet(" + String.join(",", snippet) + ")");
+            partList.add("snippet");
+        }
+        put(ApiOperation.PLAYLIST_ITEMS_LIST, partList,
+                "nextPageToken,pageInfo,items(" + String.join(",", item) + ")");
+    }
+    
+    private void buildVideos() {
+        List<String> snippet = new ArrayList<>();
+        if (videoFields.contains(VideoField.TITLE)) {
+            snippet.add("title");
+        }
+        if (videoFields.contains(VideoField.PUBLISHED_AT)) {
+            snippet.add("publishedAt");
+        }
+        if (videoFields.contains(VideoField.DESCRIPTION)) {
+            snippet.add("description");
+        }
+        if (videoFields.contains(VideoField.THUMBNAIL_URL)) {
+            snippet.add(THUMBNAIL_URLS);
+        }
+        if (videoFields.contains(VideoField.CHANNEL_ID)) {
+            snippet.add("channelId");
+        }
+        List<String> statistics = new ArrayList<>();
+        if (videoFields.contains(VideoField.VIEW_COUNT)) {
+            statistics.add("viewCount");
+        }
+        if (videoFields.contains(VideoField.LIKE_COUNT)) {
+            statistics.add("likeCount");
+        }
+        if (videoFields.contains(VideoField.COMMENT_COUNT)) {
+            statistics.add("commentCount");
+        }
+        Set<String> partList = new LinkedHashSet<>();
+        List<String> item = new ArrayList<>();
+        item.add("id");
+        if (!snippet.isEmpty()) {
+            item.add("snippet(" + String.join(",", snippet) + ")");
+            partList.add("snippet");
+        }
+        if (videoFields.contains(VideoField.DURATION)) {
+            item.add("contentDetails/duration");
+            partList.add("contentDetails");
+        }
+        if (!statistics.isEmpty()) {
+            item.add("statistics(" + String.join(",", statistics) + ")");
+            partList.add("statistics");
+        }
+        if (partList.isEmpty()) {
+            partList.add("id");
+        }
+        put(ApiOperation.VIDEOS_LIST, partList, "items(" + String.join(",", item) + ")");
+    }
+    
+    private void buildChannels() {
+        List<String> snippet = new ArrayList<>();
+        if (channelFields.contains(ChannelField.CHANNEL_NAME)) {
+            snippet.add("title");
+        }
+        if (channelFields.contains(ChannelField.DESCRIPTION)) {
+            snippet.add("description");
+        }
+        if (channelFields.contains(ChannelField.CREATED_AT)) {
+            snippet.add("publishedAt");
+        }
+        if (channelFields.contains(ChannelField.CUSTOM_URL)) {
+            snippet.add("customUrl");
+        }
+        if (channelFields.contains(ChannelField.COUNTRY)) {
+            snippet.add("country");
+        }
+        if (channelFields.contains(ChannelField.DEFAULT_LANGUAGE)) {
+            snippet.add("defaultLanguage");
+        }
+        if (channelFields.contains(ChannelField.THUMBNAIL_URL)) {
+            snippet.add(THUMBNAIL_URLS);
+        }
+        List<String> statistics = new ArrayList<>();
+        if (channelFields.contains(ChannelField.SUBSCRIBER_COUNT)) {
+            statistics.add("subscriberCount");
+        }
+        if (channelFields.contains(ChannelField.VIDEO_COUNT)) {
+            statistics.add("videoCount");
+        }
+        if (channelFields.contains(ChannelField.VIEW_COUNT)) {
+            statistics.add("viewCount");
+        }
+        Set<String> partList = new LinkedHashSet<>();
+        List<String> item = new ArrayList<>();
+        item.add("id");
+        if (!snippet.isEmpty()) {
+            item.add("snippet(" + String.join(",", snippet) + ")");
+            partList.add("snippet");
+        }
+        if (!statistics.isEmpty()) {
+            item.add("statistics(" + String.join(",", statistics) + ")");
+            partList.add("statistics");
+        }
+        item.add("contentDetails/relatedPlaylists/uploads");
+        partList.add("contentDetails");
+        if (channelFields.contains(ChannelField.BANNER_URL)) {
+            item.add("brandingSettings/image/bannerExternalUrl");
+            partList.add("brandingSettings");
+        }
+        put(ApiOperation.CHANNELS_LIST, partList, "items(" + String.join(",", item) + ")");
+    }
+    
+    private void put(ApiOperation operation, Set<String> partList, String mask) {
+        parts.put(operation, String.join(",", partList));
+        masks.put(operation, FieldMask.parse(mask));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,255 @@
+package com.youtube.fetcher.client;
+
+import com.youtube.fetcher.exception.ErrorCategory;
+import com.youtube.fetcher.exception.YouTubeApiException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 按错误分类重试的执行器
+ * 根据 {@link YouTubeApiException#getCategory()} 决定是否重试及等待多久，每个端点一个 {@link CircuitBreaker}：
+ * 
+ * <ul>
+ *   <li>{@link ErrorCategory#PERMANENT}：立即失败，不浪费请求</li>
+ *   <li>{@link ErrorCategory#TRANSIENT}：带抖动的指数退避</li>
+ *   <li>{@link ErrorCategory#RATE_LIMITED}：优先遵守Retry-After，否则使用更长的退避；
+ *       Retry-After超过 {@link RetryPolicy#getMaxRetryAfter()} 时直接失败</li>
+ *   <li>{@link ErrorCategory#QUOTA_EXHAUSTED}：默认不重试，由 {@link QuotaScheduler} 挂起到配额重置后再调用；
+ *       配置了重试次数时按退避上限等待</li>
+ * </ul>
+ * 
+ * <p>瞬时和限流错误的重试还受各自的重试预算限制；端点熔断时请求直接以错误代码circuitOpen失败，
+ * 其 {@link YouTubeApiException#getRetryAfter()} 为剩余的冷却时间。</p>
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public class RetryExecutor {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RetryExecutor.class);
+    
+    /**
+     * 熔断时抛出的错误代码
+     */
+    public static final String CIRCUIT_OPEN = "circuitOpen";
+    
+    private static final long MILLI_TOKENS = 1000;
+    
+    private final RetryPolicy policy;
+    private final int[] maxRetries;
+    private final long baseBackoffNanos;
+    private final long rateLimitBackoffNanos;
+    private final long maxBackoffNanos;
+    private final long maxRetryAfterNanos;
+    private final long depositMilliTokens;
+    private final long budgetCapacityMilliTokens;
+    
+    private final Map<ApiOperation, CircuitBreaker> breakers = new EnumMap<>(ApiOperation.class);
+    private final Map<ApiOperation, AtomicLong> retriesByOperation = new EnumMap<>(ApiOperation.class);
+    private final Map<ErrorCategory, AtomicLong> budgets = new EnumMap<>(ErrorCategory.class);
+    private final Map<ErrorCategory, AtomicLong> retriesByCategory = new EnumMap<>(ErrorCategory.class);
+    private final AtomicLong budgetExhaustedCount = new AtomicLong();
+    
+    /**
+     * 使用默认策略创建执行器
+     */
+    public RetryExecutor() {
+        this(new RetryPolicy());
+    }
+    
+    /**
+     * 构造函数
+     * @param policy 重试策略，构造时读取
+     */
+    public RetryExecutor(RetryPolicy policy) {
+        this(policy, System::nanoTime);
+    }
+    
+    /**
+     * 指定熔断器时钟的构造函数，测试中用于推进冷却时间
+     * @param policy 重试策略，构造时读取
+     * @param nanoClock 熔断器使用的单调时钟，语义同 {@link System#nanoTime()}
+     */
+    RetryExecutor(RetryPolicy policy, LongSupplier nanoClock) {
+        this.policy = policy;
+        ErrorCategory[] categories = ErrorCategory.values();
+        this.maxRetries = new int[categories.length];
+        for (ErrorCategory category : categories) {
+            maxRetries[category.ordinal()] = policy.getMaxRetries(category);
+            retriesByCategory.put(category, new AtomicLong());
+        }
+        budgets.put(ErrorCategory.TRANSIENT, new AtomicLong(policy.getRetryBudgetCapacity() * MILLI_TOKENS));
+        budgets.put(ErrorCategory.RATE_LIMITED, new AtomicLong(policy.getRetryBudgetCapacity() * MILLI_TOKENS));
+        this.baseBackoffNanos = policy.getBaseBackoff().toNanos();
+        this.rateLimitBackoffNanos = policy.getRateLimitBackoff().toNanos();
+        this.maxBackoffNanos = policy.getMaxBackoff().toNanos();
+        this.maxRetryAfterNanos = policy.getMaxRetryAfter().toNanos();
+        this.depositMilliTokens = Math.round(policy.getRetryBudgetRatio() * MILLI_TOKENS);
+        this.budgetCapacityMilliTokens = policy.getRetryBudgetCapacity() * MILLI_TOKENS;
+        for (ApiOperation operation : ApiOperation.values()) {
+            breakers.put(operation, new CircuitBreaker(operation.getEndpoint(),
+                    policy.getCircuitFailureThreshold(), policy.getCircuitOpenDuration().toNanos(), nanoClock));
+            retriesByOperation.put(operation, new AtomicLong());
+        }
+    }
+    
+    /**
+     * 执行一次API调用，按错误分类重试
+     * @param operation 操作类型，决定使用的熔断器
+     * @param call API调用，每次尝试调用一次
+     * @param <T> 返回值类型
+     * @return 调用结果
+     * @throws YouTubeApiException 不可重试、重试次数或预算用尽、或端点熔断时抛出
+     * @throws InterruptedException 退避等待被中断
+     */
+    public <T> T execute(ApiOperation operation, QuotaScheduler.ApiCall<T> call)
+            throws YouTubeApiException, InterruptedException {
+        CircuitBreaker breaker = breakers.get(operation);
+        int[] attempts = new int[maxRetries.length];
+        while (true) {
+            long openRemaining = breaker.tryAcquire();
+            if (openRemaining > 0) {
+                throw new YouTubeApiException(operation.getEndpoint() + ": circuit open after repeated failures",
+                        CIRCUIT_OPEN, 0, Duration.ofNanos(openRemaining));
+            }
+            deposit();
+            YouTubeApiException failure;
+            try {
+                T result = call.call();
+                breaker.onSuccess();
+                return result;
+            } catch (YouTubeApiException e) {
+                failure = e;
+            } catch (RuntimeException | Error e) {
+                // 不属于API错误，不计入熔断统计，但必须释放半开状态下的探测名额
+                breaker.onIgnored();
+                throw e;
+            }
+            
+            ErrorCategory category = failure.getCategory();
+            switch (category) {
+                case TRANSIENT:
+                case RATE_LIMITED:
+                    breaker.onFailure();
+                    break;
+                case QUOTA_EXHAUSTED:
+                    breaker.onIgnored();
+                    break;
+                default:
+                    breaker.onSuccess();
+                    throw failure;
+            }
+            int attempt = attempts[category.ordinal()];
+            if (attempt >= maxRetries[category.ordinal()]) {
+                throw failure;
+            }
+            long delayNanos = delayNanos(category, attempt, failure.getRetryAfter());
+            if (delayNanos < 0) {
+                logger.debug("{} asked to retry after {}, giving up", operation.getEndpoint(), failure.getRetryAfter());
+                throw failure;
+            }
+            if (budgets.containsKey(category) && !withdraw(category)) {
+                budgetExhaustedCount.incrementAndGet();
+                logger.debug("{} retry budget for {} exhausted", operation.getEndpoint(), category);
+                throw failure;
+            }
+            attempts[category.ordinal()]++;
+            retriesByOperation.get(operation).incrementAndGet();
+            retriesByCategory.get(category).incrementAndGet();
+            logger.debug("{} failed ({}, {}), retry {} in {} ms", operation.getEndpoint(), category,
+                    failure.getErrorCode(), attempt + 1, TimeUnit.NANOSECONDS.toMillis(delayNanos));
+            if (delayNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(delayNanos);
+            }
+        }
+    }
+    
+    public RetryPolicy getPolicy() {
+        return policy;
+    }
+    
+    /**
+     * 获取指定操作类型的重试次数
+     * @param operation 操作类型
+     * @return 重试次数
+     */
+    public long getRetryCount(ApiOperation operation) {
+        return retriesByOperation.get(operation).get();
+    }
+    
+    /**
+     * 获取指定错误分类引发的重试次数
+     * @param category 错误分类
+     * @return 重试次数
+     */
+    public long getRetryCount(ErrorCategory category) {
+        return retriesByCategory.get(category).get();
+    }
+    
+    /**
+     * 获取因重试预算用尽而放弃重试的次数
+     * @return 放弃次数
+     */
+    public long getBudgetExhaustedCount() {
+        return budgetExhaustedCount.get();
+    }
+    
+    /**
+     * 获取端点的熔断器
+     * @param operation 操作类型
+     * @return 熔断器
+     */
+    public CircuitBreaker getCircuitBreaker(ApiOperation operation) {
+        return breakers.get(operation);
+    }
+    
+    /**
+     * 计算重试前的等待时间
+     * @return 等待纳秒数，Retry-After超过上限时返回-1
+     */
+    private long delayNanos(ErrorCategory category, int attempt, Duration retryAfter) {
+        if (category == ErrorCategory.QUOTA_EXHAUSTED) {
+            return maxBackoffNanos;
+        }
+        if (category == ErrorCategory.RATE_LIMITED && retryAfter != null) {
+            long nanos = retryAfter.toNanos();
+            return nanos > maxRetryAfterNanos ? -1 : nanos;
+        }
+        long base = category == ErrorCategory.RATE_LIMITED ? rateLimitBackoffNanos : baseBackoffNanos;
+        long ceiling = Math.min(maxBackoffNanos, base << Math.min(attempt, 20));
+        // 在[ceiling/2, ceiling]内随机抖动，避免并发调用同时重试
+        return ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1);
+    }
+    
+    private void deposit() {
+        if (depositMilliTokens == 0) {
+            return;
+        }
+        for (AtomicLong budget : budgets.values()) {
+            if (budget.get() < budgetCapacityMilliTokens) {
+                budget.accumulateAndGet(depositMilliTokens, (current, add) ->
+                        Math.min(budgetCapacityMilliTokens, current + add));
+            }
+        }
+    }
+    
+    private boolean withdraw(ErrorCategory category) {
+        AtomicLong budget = budgets.get(category);
+        long current = budget.get();
+        while (current >= MILLI_TOKENS) {
+            if (budget.compareAndSet(current, current - MILLI_TOKENS)) {
+                return true;
+            }
+            current = budget.get();
+        }
+        return false;
+    }
+}
\ No newline at end of file
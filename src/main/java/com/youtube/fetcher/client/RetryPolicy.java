@@ -0,0 +1,141 @@
+package com.youtube.fetcher.client;
+
+import com.youtube.fetcher.exception.ErrorCategory;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 重试策略配置
+ * 按 {@link ErrorCategory} 分别设置单次调用的最大重试次数和重试预算，并配置每个端点的熔断阈值。
+ * 在创建 {@link RetryExecutor} 时读取，之后的修改不会生效。
+ * 
+ * <ul>
+ *   <li>单次调用：每类错误各自计数，如瞬时错误重试4次、限流重试6次，永久错误从不重试</li>
+ *   <li>重试预算：每类错误一个令牌桶，每次请求存入 {@link #retryBudgetRatio} 个令牌，每次重试取出1个，
+ *       持续故障时重试最多只占请求量的这一比例，避免重试放大故障</li>
+ *   <li>熔断：端点连续失败达到阈值后在一段时间内直接拒绝请求，之后放行一个探测请求</li>
+ * </ul>
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public class RetryPolicy {
+    
+    private final Map<ErrorCategory, Integer> maxRetries = new EnumMap<>(ErrorCategory.class);
+    private Duration baseBackoff = Duration.ofMillis(500);
+    private Duration rateLimitBackoff = Duration.ofSeconds(2);
+    private Duration maxBackoff = Duration.ofSeconds(60);
+    private Duration maxRetryAfter = Duration.ofMinutes(5);
+    private double retryBudgetRatio = 0.1;
+    private int retryBudgetCapacity = 50;
+    private int circuitFailureThreshold = 10;
+    private Duration circuitOpenDuration = Duration.ofSeconds(30);
+    
+    /**
+     * 默认策略：瞬时错误重试4次，限流重试6次，配额耗尽和永久错误不重试
+     */
+    public RetryPolicy() {
+        maxRetries.put(ErrorCategory.TRANSIENT, 4);
+        maxRetries.put(ErrorCategory.RATE_LIMITED, 6);
+        maxRetries.put(ErrorCategory.QUOTA_EXHAUSTED, 0);
+        maxRetries.put(ErrorCategory.PERMANENT, 0);
+    }
+    
+    /**
+     * 单次调用中某类错误的最大重试次数，永久错误始终不重试
+     */
+    public RetryPolicy maxRetries(ErrorCategory category, int retries) {
+        if (retries < 0) {
+            throw new IllegalArgumentException("retries must be >= 0: " + retries);
+        }
+        maxRetries.put(category, category.isRetryable() ? retries : 0);
+        return this;
+    }
+    
+    /**
+     * 瞬时错误的退避基础时长和所有退避的上限，第n次重试等待 min(上限, 基础时长 * 2^n) 并加抖动
+     */
+    public RetryPolicy backoff(Duration base, Duration max) {
+        this.baseBackoff = base;
+        this.maxBackoff = max;
+        return this;
+    }
+    
+    /**
+     * 限流错误没有Retry-After时的退避基础时长
+     */
+    public RetryPolicy rateLimitBackoff(Duration rateLimitBackoff) {
+        this.rateLimitBackoff = rateLimitBackoff;
+        return this;
+    }
+    
+    /**
+     * 可接受的最长Retry-After，超过时不再重试而是直接失败
+     */
+    public RetryPolicy maxRetryAfter(Duration maxRetryAfter) {
+        this.maxRetryAfter = maxRetryAfter;
+        return this;
+    }
+    
+    /**
+     * 每类错误的重试预算：每次请求存入ratio个令牌，最多累积capacity个
+     */
+    public RetryPolicy retryBudget(double ratio, int capacity) {
+        if (ratio < 0 || capacity < 0) {
+            throw new IllegalArgumentException("ratio and capacity must be >= 0");
+        }
+        this.retryBudgetRatio = ratio;
+        this.retryBudgetCapacity = capacity;
+        return this;
+    }
+    
+    /**
+     * 端点连续失败（瞬时或限流）达到threshold次后熔断openDuration，threshold为0时不熔断
+     */
+    public RetryPolicy circuitBreaker(int threshold, Duration openDuration) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("threshold must be >= 0: " + threshold);
+        }
+        this.circuitFailureThreshold = threshold;
+        this.circuitOpenDuration = openDuration;
+        return this;
+    }
+    
+    public int getMaxRetries(ErrorCategory category) {
+        return maxRetries.get(category);
+    }
+    
+    public Duration getBaseBackoff() {
+        return baseBackoff;
+    }
+    
+    public Duration getRateLimitBackoff() {
+        return rateLimitBackoff;
+    }
+    
+    public Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+    
+    public Duration getMaxRetryAfter() {
+        return maxRetryAfter;
+    }
+    
+    public double getRetryBudgetRatio() {
+        return retryBudgetRatio;
+    }
+    
+    public int getRetryBudgetCapacity() {
+        return retryBudgetCapacity;
+    }
+    
+    public int getCircuitFailureThreshold() {
+        return circuitFailureThreshold;
+    }
+    
+    public Duration getCircuitOpenDuration() {
+        return circuitOpenDuration;
+    }
+}
\ No newline at end of file
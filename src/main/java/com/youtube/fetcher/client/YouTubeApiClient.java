@@ -0,0 +1,59 @@
+package com.youtube.fetcher.client;
+
+import com.youtube.fetcher.exception.YouTubeApiException;
+import com.youtube.fetcher.model.ApiResponse;
+import com.youtube.fetcher.model.ChannelInfo;
+import com.youtube.fetcher.model.VideoData;
+
+import java.util.List;
+
+/**
+ * YouTube API客户端接口
+ * 定义获取频道信息和播放列表分页数据的基本操作
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public interface YouTubeApiClient {
+    
+    /**
+     * videos.list单次请求允许的最大视频ID数
+     */
+    int MAX_VIDEO_IDS_PER_REQUEST = 50;
+    
+    /**
+     * 获取频道信息
+     * @param channelId 频道ID
+     * @return 频道信息，包含上传播放列表ID
+     * @throws YouTubeApiException API调用失败时抛出
+     */
+    ChannelInfo getChannelInfo(String channelId) throws YouTubeApiException;
+    
+    /**
+     * 获取播放列表中的一页视频
+     * @param playlistId 播放列表ID
+     * @param pageToken 页面令牌，首页为null
+     * @return 该页视频的API响应
+     * @throws YouTubeApiException API调用失败时抛出
+     */
+    ApiResponse<VideoData> getPlaylistVideos(String playlistId, String pageToken) throws YouTubeApiException;
+    
+    /**
+     * 批量获取视频详情（时长与统计数据）
+     * 对应videos.list接口，单次调用最多 {@link #MAX_VIDEO_IDS_PER_REQUEST} 个ID，
+     * 已删除或私有的视频不会出现在结果中
+     * @param videoIds 视频ID列表
+     * @return 视频详情列表
+     * @throws YouTubeApiException API调用失败时抛出
+     */
+    List<VideoData> getVideoDetails(List<String> videoIds) throws YouTubeApiException;
+    
+    /**
+     * 获取指定播放列表的分页获取器
+     * @param playlistId 播放列表ID
+     * @return 页面获取器
+     */
+    default PageFetcher<VideoData> playlistFetcher(String playlistId) {
+        return pageToken -> getPlaylistVideos(playlistId, pageToken);
+    }
+}
\ No newline at end of file
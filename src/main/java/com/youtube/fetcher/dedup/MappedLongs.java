@@ -0,0 +1,68 @@
+package com.youtube.fetcher.dedup;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * 可读写的内存映射long数组
+ * 按1GB分段映射以突破单个MappedByteBuffer的2GB上限；分段大小是8的倍数，单个long不会跨段
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+final class MappedLongs {
+    
+    private static final int SEGMENT_BITS = 30;
+    private static final long SEGMENT_SIZE = 1L << SEGMENT_BITS;
+    private static final long SEGMENT_MASK = SEGMENT_SIZE - 1;
+    
+    private final MappedByteBuffer[] segments;
+    private final long length;
+    
+    private MappedLongs(MappedByteBuffer[] segments, long length) {
+        this.segments = segments;
+        this.length = length;
+    }
+    
+    /**
+     * 映射文件区域，文件不够长时由映射自动扩展
+     * @param channel 以读写方式打开的文件通道
+     * @param offset 起始偏移，必须是8的倍数
+     * @param longs long的个数
+     */
+    static MappedLongs map(FileChannel channel, long offset, long longs) throws IOException {
+        long length = longs * Long.BYTES;
+        int count = (int) ((length + SEGMENT_SIZE - 1) >>> SEGMENT_BITS);
+        MappedByteBuffer[] segments = new MappedByteBuffer[Math.max(count, 1)];
+        for (int i = 0; i < segments.length; i++) {
+            long start = (long) i << SEGMENT_BITS;
+            long size = Math.max(0, Math.min(SEGMENT_SIZE, length - start));
+            segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, offset + start, size);
+        }
+        return new MappedLongs(segments, length);
+    }
+    
+    long size() {
+        return length / Long.BYTES;
+    }
+    
+    long get(long index) {
+        long pos = index << 3;
+        return segments[(int) (pos >>> SEGMENT_BITS)].getLong((int) (pos & SEGMENT_MASK));
+    }
+    
+    void put(long index, long value) {
+        long pos = index << 3;
+        segments[(int) (pos >>> SEGMENT_BITS)].putLong((int) (pos & SEGMENT_MASK), value);
+    }
+    
+    /**
+     * 将修改刷到磁盘
+     */
+    void force() {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,461 @@
+package com.youtube.fetcher.dedup;
+
+import com.youtube.fetcher.exception.FileExportException;
+import com.youtube.fetcher.model.VideoData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 基于内存映射文件的视频ID去重索引
+ * 11位的YouTube视频ID（base64url字符）每字符6位，打包为两个long存入堆外的开放寻址哈希表，
+ * 表前附一个布隆过滤器，绝大多数未见过的ID无需探测哈希表即可判定。
+ * 
+ * <ul>
+ *   <li>数据直接位于映射文件中，重启后打开即可使用，无需加载</li>
+ *   <li>{@link #contains(CharSequence)} 和 {@link #add(CharSequence)} 不分配对象（扩容时除外）</li>
+ *   <li>装载因子超过0.7时以双倍容量重建到临时文件后原子替换</li>
+ *   <li>写入位于操作系统页缓存，{@link #force()} 或 {@link #close()} 时落盘</li>
+ * </ul>
+ * 
+ * <p>文件布局：64字节文件头（魔数、版本、槽数、条目数、布隆位数、哈希函数数），
+ * 随后是布隆过滤器位图和 槽数×16字节 的哈希表，空槽为两个0。所有方法线程安全。</p>
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public final class VideoIdIndex implements AutoCloseable {
+    
+    private static final Logger logger = LoggerFactory.getLogger(VideoIdIndex.class);
+    
+    /**
+     * 视频ID长度
+     */
+    public static final int VIDEO_ID_LENGTH = 11;
+    
+    /**
+     * 默认初始容量（条目数）
+     */
+    public static final long DEFAULT_EXPECTED_ENTRIES = 1 << 20;
+    
+    private static final String FORMAT = "ytvi";
+    private static final int MAGIC = 0x59545649; // "YTVI"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final int HEADER_SIZE_OFFSET = 16;
+    private static final double MAX_LOAD_FACTOR = 0.7;
+    private static final int BLOOM_BITS_PER_SLOT = 8;
+    private static final int BLOOM_HASHES = 5;
+    private static final long OCCUPIED = 1L << 63;
+    
+    private final Path file;
+    private FileChannel channel;
+    private MappedByteBuffer header;
+    private MappedLongs bloom;
+    private MappedLongs table;
+    private long capacity;
+    private long bloomMask;
+    private long size;
+    private long bloomRejections;
+    
+    private VideoIdIndex(Path file) {
+        this.file = file;
+    }
+    
+    /**
+     * 打开索引文件，不存在时以默认容量创建
+     * @param file 索引文件路径
+     * @return 索引
+     * @throws FileExportException 文件无法创建或格式不正确时抛出
+     */
+    public static VideoIdIndex open(Path file) throws FileExportException {
+        return open(file, DEFAULT_EXPECTED_ENTRIES);
+    }
+    
+    /**
+     * 打开索引文件，不存在时按预期条目数创建
+     * @param file 索引文件路径
+     * @param expectedEntries 预期条目数，用于确定初始容量
+     * @return 索引
+     * @throws FileExportException 文件无法创建或格式不正确时抛出
+     */
+    public static VideoIdIndex open(Path file, long expectedEntries) throws FileExportException {
+        VideoIdIndex index = new VideoIdIndex(file);
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            if (Files.exists(file) && Files.size(file) > 0) {
+                index.mapExisting();
+            } else {
+                create(file, slotsFor(expectedEntries)).close();
+                index.mapExisting();
+            }
+            return index;
+        } catch (IOException e) {
+            index.closeQuietly();
+            throw new FileExportException("Failed to open video ID index: " + e.getMessage(),
+                    file.toString(), FORMAT, e);
+        }
+    }
+    
+    /**
+     * 检查视频ID是否已在索引中
+     * @param videoId 视频ID
+     * @return 存在时返回true；不是11位base64url字符的ID总是返回false
+     */
+    public synchronized boolean contains(CharSequence videoId) {
+        long hi = packHigh(videoId);
+        if (hi == 0) {
+            return false;
+        }
+        long lo = packLow(videoId);
+        long hash = hash(hi, lo);
+        if (!bloomMightContain(hash)) {
+            bloomRejections++;
+            return false;
+        }
+        return findSlot(hi, lo, hash) < 0;
+    }
+    
+    /**
+     * 加入视频ID
+     * @param videoId 视频ID
+     * @return 之前不存在时返回true
+     * @throws IllegalArgumentException ID不是11位base64url字符时抛出
+     * @throws FileExportException 扩容失败时抛出
+     */
+    public synchronized boolean add(CharSequence videoId) throws FileExportException {
+        long hi = packHigh(videoId);
+        if (hi == 0) {
+            throw new IllegalArgumentException("Not a video ID: " + videoId);
+        }
+        long lo = packLow(videoId);
+        long hash = hash(hi, lo);
+        if (!bloomMightContain(hash)) {
+            bloomRejections++;
+        } else if (findSlot(hi, lo, hash) < 0) {
+            return false;
+        }
+        if (size + 1 > capacity * MAX_LOAD_FACTOR) {
+            rehash(capacity * 2);
+        }
+        if (!insert(hi, lo, hash)) {
+            return false;
+        }
+        size++;
+        header.putLong(HEADER_SIZE_OFFSET, size);
+        return true;
+    }
+    
+    /**
+     * 加入视频，ID无效的视频视为已存在
+     * @param video 视频数据
+     * @return 视频ID之前不存在时返回true
+     * @throws FileExportException 扩容失败时抛出
+     */
+    public boolean add(VideoData video) throws FileExportException {
+        String videoId = video.getVideoId();
+        if (videoId == null || packHigh(videoId) == 0) {
+            return false;
+        }
+        return add((CharSequence) videoId);
+    }
+    
+    /**
+     * 检查字符串是否是可以存入索引的视频ID
+     * @param videoId 视频ID
+     * @return 是11位base64url字符时返回true
+     */
+    public static boolean isVideoId(CharSequence videoId) {
+        return packHigh(videoId) != 0;
+    }
+    
+    public synchronized long size() {
+        return size;
+    }
+    
+    public synchronized long capacity() {
+        return capacity;
+    }
+    
+    /**
+     * 获取由布隆过滤器直接判定为不存在的查询次数（本次打开以来）
+     * @return 次数
+     */
+    public synchronized long getBloomRejections() {
+        return bloomRejections;
+    }
+    
+    public Path getFile() {
+        return file;
+    }
+    
+    /**
+     * 将所有修改刷到磁盘
+     */
+    public synchronized void force() {
+        if (channel != null) {
+            bloom.force();
+            table.force();
+            header.force();
+        }
+    }
+    
+    @Override
+    public synchronized void close() {
+        if (channel != null) {
+            force();
+            closeQuietly();
+        }
+    }
+    
+    /**
+     * 探测视频ID所在的槽
+     * @return 已存在时返回 -(槽号 + 1)，不存在时返回可插入的空槽号
+     */
+    private long findSlot(long hi, long lo, long hash) {
+        long mask = capacity - 1;
+        long slot = hash & mask;
+        while (true) {
+            long storedHi = table.get(slot << 1);
+            if (storedHi == 0) {
+                return slot;
+            }
+            if (storedHi == hi && table.get((slot << 1) + 1) == lo) {
+                return -slot - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+    
+    /**
+     * 写入槽并置布隆过滤器的位
+     * 非正常关闭后布隆过滤器页和槽表页可能只有一个落盘，布隆过滤器判定不存在的ID仍可能已在槽表中，
+     * 此时只补上布隆过滤器的位
+     * @return 视频ID之前不在槽表中时返回true
+     */
+    private boolean insert(long hi, long lo, long hash) {
+        long slot = findSlot(hi, lo, hash);
+        if (slot >= 0) {
+            table.put(slot << 1, hi);
+            table.put((slot << 1) + 1, lo);
+        }
+        long h1 = Long.rotateLeft(hash, 21);
+        long h2 = secondaryHash(hash);
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            long bit = (h1 + i * h2) & bloomMask;
+            long word = bit >>> 6;
+            bloom.put(word, bloom.get(word) | (1L << bit));
+        }
+        return slot >= 0;
+    }
+    
+    private boolean bloomMightContain(long hash) {
+        long h1 = Long.rotateLeft(hash, 21);
+        long h2 = secondaryHash(hash);
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            long bit = (h1 + i * h2) & bloomMask;
+            if ((bloom.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * 把所有条目写入新容量的临时文件后原子替换原文件
+     * 失败时删除临时文件，原文件和映射保持不变
+     */
+    private void rehash(long newCapacity) throws FileExportException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        long started = System.nanoTime();
+        VideoIdIndex grown = new VideoIdIndex(temp);
+        try {
+            create(temp, newCapacity).close();
+            grown.mapExisting();
+            for (long slot = 0; slot < capacity; slot++) {
+                long hi = table.get(slot << 1);
+                if (hi != 0) {
+                    long lo = table.get((slot << 1) + 1);
+                    grown.insert(hi, lo, hash(hi, lo));
+                }
+            }
+            grown.header.putLong(HEADER_SIZE_OFFSET, size);
+            grown.close();
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            grown.closeQuietly();
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            if (e instanceof RuntimeException) {
+                throw (RuntimeException) e;
+            }
+            throw new FileExportException("Failed to grow video ID index: " + e.getMessage(),
+                    file.toString(), FORMAT, e);
+        }
+        remap();
+        logger.info("Video ID index grown to {} slots ({} entries) in {} ms",
+                newCapacity, size, (System.nanoTime() - started) / 1_000_000);
+    }
+    
+    /**
+     * 映射替换后的文件，成功后才释放原映射
+     */
+    private void remap() throws FileExportException {
+        FileChannel oldChannel = channel;
+        MappedByteBuffer oldHeader = header;
+        MappedLongs oldBloom = bloom;
+        MappedLongs oldTable = table;
+        long oldCapacity = capacity;
+        long oldBloomMask = bloomMask;
+        try {
+            mapExisting();
+        } catch (IOException e) {
+            closeQuietly();
+            channel = oldChannel;
+            header = oldHeader;
+            bloom = oldBloom;
+            table = oldTable;
+            capacity = oldCapacity;
+            bloomMask = oldBloomMask;
+            throw new FileExportException("Failed to map grown video ID index: " + e.getMessage(),
+                    file.toString(), FORMAT, e);
+        }
+        try {
+            oldChannel.close();
+        } catch (IOException e) {
+            logger.debug("Failed to close replaced video ID index {}", file, e);
+        }
+    }
+    
+    private static FileChannel create(Path path, long slots) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putInt(VERSION).putLong(slots).putLong(0).putLong(slots * BLOOM_BITS_PER_SLOT)
+                .putInt(BLOOM_HASHES);
+        header.clear();
+        channel.write(header, 0);
+        long bloomLongs = slots * BLOOM_BITS_PER_SLOT / Long.SIZE;
+        long fileLength = HEADER_BYTES + (bloomLongs + slots * 2) * Long.BYTES;
+        channel.write(ByteBuffer.allocate(1), fileLength - 1);
+        return channel;
+    }
+    
+    private void mapExisting() throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException("Not a video ID index file: " + file);
+        }
+        if (header.getInt(4) != VERSION) {
+            throw new IOException("Unsupported video ID index version: " + header.getInt(4));
+        }
+        capacity = header.getLong(8);
+        size = header.getLong(HEADER_SIZE_OFFSET);
+        long bloomBits = header.getLong(24);
+        if (Long.bitCount(capacity) != 1 || Long.bitCount(bloomBits) != 1 || header.getInt(32) != BLOOM_HASHES) {
+            throw new IOException("Corrupt video ID index header: " + file);
+        }
+        long bloomLongs = bloomBits / Long.SIZE;
+        long expectedLength = HEADER_BYTES + (bloomLongs + capacity * 2) * Long.BYTES;
+        if (channel.size() < expectedLength) {
+            throw new IOException("Truncated video ID index: " + channel.size() + " < " + expectedLength);
+        }
+        bloomMask = bloomBits - 1;
+        bloom = MappedLongs.map(channel, HEADER_BYTES, bloomLongs);
+        table = MappedLongs.map(channel, HEADER_BYTES + bloomLongs * Long.BYTES, capacity * 2);
+    }
+    
+    private void closeQuietly() {
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            logger.debug("Failed to close video ID index {}", file, e);
+        }
+        channel = null;
+        header = null;
+        bloom = null;
+        table = null;
+    }
+    
+    private static long slotsFor(long expectedEntries) {
+        long slots = Long.highestOneBit(Math.max(1024, (long) (expectedEntries / MAX_LOAD_FACTOR)) - 1) << 1;
+        return Math.max(1024, slots);
+    }
+    
+    /**
+     * 前6个字符（36位）加占用标志位，无效ID返回0
+     */
+    private static long packHigh(CharSequence videoId) {
+        if (videoId == null || videoId.length() != VIDEO_ID_LENGTH) {
+            return 0;
+        }
+        long packed = 0;
+        for (int i = 0; i < 6; i++) {
+            int digit = base64Digit(videoId.charAt(i));
+            if (digit < 0) {
+                return 0;
+            }
+            packed = (packed << 6) | digit;
+        }
+        for (int i = 6; i < VIDEO_ID_LENGTH; i++) {
+            if (base64Digit(videoId.charAt(i)) < 0) {
+                return 0;
+            }
+        }
+        return packed | OCCUPIED;
+    }
+    
+    /**
+     * 后5个字符（30位），调用前须已通过 {@link #packHigh(CharSequence)} 校验
+     */
+    private static long packLow(CharSequence videoId) {
+        long packed = 0;
+        for (int i = 6; i < VIDEO_ID_LENGTH; i++) {
+            packed = (packed << 6) | base64Digit(videoId.charAt(i));
+        }
+        return packed;
+    }
+    
+    private static int base64Digit(char c) {
+        if (c >= 'A' && c <= 'Z') return c - 'A';
+        if (c >= 'a' && c <= 'z') return c - 'a' + 26;
+        if (c >= '0' && c <= '9') return c - '0' + 52;
+        if (c == '-') return 62;
+        if (c == '_') return 63;
+        return -1;
+    }
+    
+    /**
+     * splitmix64终结函数
+     */
+    private static long hash(long hi, long lo) {
+        long h = (hi * 0x9E3779B97F4A7C15L) ^ lo;
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+    
+    /**
+     * 布隆过滤器双重哈希的步长，取哈希高位并保证为奇数；首个探测位使用旋转后的哈希，与哈希表槽位错开
+     */
+    private static long secondaryHash(long hash) {
+        return (hash >>> 32) | 1;
+    }
+}
\ No newline at end of file
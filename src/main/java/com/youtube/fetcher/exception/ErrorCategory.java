@@ -0,0 +1,104 @@
+package com.youtube.fetcher.exception;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * API错误分类
+ * 由HTTP状态码和响应体中的 {@code error.errors[0].reason} 共同决定，决定一次失败是否值得重试、以及如何重试。
+ * 同为403，quotaExceeded要等到配额重置，rateLimitExceeded稍后即可重试，forbidden则重试多少次都不会成功。
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public enum ErrorCategory {
+    
+    /**
+     * 瞬时错误：连接失败、超时、响应被截断、5xx，按指数退避重试
+     */
+    TRANSIENT(true),
+    
+    /**
+     * 请求过快：429或rateLimitExceeded，按Retry-After或较长的退避重试
+     */
+    RATE_LIMITED(true),
+    
+    /**
+     * 每日配额耗尽：只有等到配额重置（太平洋时间午夜）后重试才有意义
+     */
+    QUOTA_EXHAUSTED(true),
+    
+    /**
+     * 永久错误：参数错误、资源不存在、无权限、密钥无效等，不应重试
+     */
+    PERMANENT(false);
+    
+    private static final Set<String> QUOTA_REASONS = lowerCase(
+            "quotaExceeded", "dailyLimitExceeded", "dailyLimitExceeded402");
+    
+    private static final Set<String> RATE_LIMIT_REASONS = lowerCase(
+            "rateLimitExceeded", "userRateLimitExceeded", "servingLimitExceeded", "RATE_LIMIT_EXCEEDED");
+    
+    private static final Set<String> TRANSIENT_REASONS = lowerCase(
+            "backendError", "internalError", "serviceUnavailable", "truncatedResponse", "circuitOpen");
+    
+    private final boolean retryable;
+    
+    ErrorCategory(boolean retryable) {
+        this.retryable = retryable;
+    }
+    
+    /**
+     * 检查该类错误是否可能在重试后成功
+     * @return 除PERMANENT外均返回true
+     */
+    public boolean isRetryable() {
+        return retryable;
+    }
+    
+    /**
+     * 对一次失败分类
+     * 错误原因优先于状态码；没有HTTP响应时（状态码为0），I/O异常视为瞬时错误，中断视为永久错误
+     * @param httpStatusCode HTTP状态码，没有响应时为0
+     * @param reason API返回的错误原因或内部错误代码，可为null
+     * @param cause 原始异常，可为null
+     * @return 错误分类
+     */
+    public static ErrorCategory classify(int httpStatusCode, String reason, Throwable cause) {
+        if (reason != null) {
+            String key = reason.toLowerCase(Locale.ROOT);
+            if (QUOTA_REASONS.contains(key)) {
+                return QUOTA_EXHAUSTED;
+            }
+            if (RATE_LIMIT_REASONS.contains(key)) {
+                return RATE_LIMITED;
+            }
+            if (TRANSIENT_REASONS.contains(key)) {
+                return TRANSIENT;
+            }
+        }
+        if (httpStatusCode == 429) {
+            return RATE_LIMITED;
+        }
+        if (httpStatusCode == 408 || httpStatusCode == 500 || httpStatusCode == 502
+                || httpStatusCode == 503 || httpStatusCode == 504) {
+            return TRANSIENT;
+        }
+        if (httpStatusCode != 0) {
+            return PERMANENT;
+        }
+        if (reason != null && reason.toLowerCase(Locale.ROOT).contains("quota")) {
+            return QUOTA_EXHAUSTED;
+        }
+        return cause instanceof IOException ? TRANSIENT : PERMANENT;
+    }
+    
+    private static Set<String> lowerCase(String... reasons) {
+        Set<String> set = new HashSet<>();
+        Arrays.stream(reasons).forEach(reason -> set.add(reason.toLowerCase(Locale.ROOT)));
+        return set;
+    }
+}
\ No newline at end of file
@@ -1,5 +1,13 @@
 package com.youtube.fetcher.exception;
 
+import java.io.IOException;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 /**
  * 文件导出异常
  * 封装文件导出过程中发生的各种异常情况
@@ -9,6 +17,23 @@ package com.youtube.fetcher.exception;
  */
 public class FileExportException extends Exception {
     
+    /**
+     * 可用空间低于该值时，导出过程中的I/O错误视为磁盘空间不足
+     */
+    public static final long LOW_DISK_SPACE_BYTES = 1024 * 1024;
+    
+    /**
+     * ENOSPC、EDQUOT及Windows ERROR_DISK_FULL的系统错误描述
+     */
+    private static final String[] DISK_SPACE_ERRORS = {
+            "No space left on device", "Disk quota exceeded", "There is not enough space on the disk"
+    };
+    
+    /**
+     * EACCES、EPERM的系统错误描述
+     */
+    private static final String[] PERMISSION_ERRORS = {"Permission denied", "Operation not permitted"};
+    
     private final String filePath;
     private final String exportFormat;
     
@@ -79,20 +104,67 @@ public class FileExportException extends Exception {
     
     /**
      * 检查是否为文件权限错误
+     * 依据原因链中的 {@link AccessDeniedException}、{@link SecurityException}，
+     * 或java.io流报告的EACCES/EPERM错误
      * @return 如果是权限相关异常则返回true
      */
     public boolean isPermissionError() {
-        return getCause() instanceof java.security.AccessControlException ||
-               (getMessage() != null && getMessage().toLowerCase().contains("permission"));
+        for (Throwable t = getCause(); t != null; t = t.getCause()) {
+            if (t instanceof AccessDeniedException || t instanceof SecurityException) {
+                return true;
+            }
+            if (t instanceof IOException && matchesOsError(t, PERMISSION_ERRORS)) {
+                return true;
+            }
+        }
+        return false;
     }
     
     /**
      * 检查是否为磁盘空间不足错误
+     * 只检查原因链中的I/O异常：其错误描述是ENOSPC/EDQUOT等系统错误，
+     * 或导出文件所在的文件存储可用空间已低于 {@link #LOW_DISK_SPACE_BYTES}。
+     * 不再匹配包装后的消息文本，避免视频标题等内容被误判
      * @return 如果是磁盘空间相关异常则返回true
      */
     public boolean isDiskSpaceError() {
-        return getMessage() != null && 
-               (getMessage().toLowerCase().contains("no space") ||
-                getMessage().toLowerCase().contains("disk full"));
+        IOException ioError = null;
+        for (Throwable t = getCause(); t != null; t = t.getCause()) {
+            if (t instanceof IOException) {
+                if (matchesOsError(t, DISK_SPACE_ERRORS)) {
+                    return true;
+                }
+                ioError = (IOException) t;
+            }
+        }
+        return ioError != null && filePath != null && isLowOnSpace(filePath);
+    }
+    
+    /**
+     * 比较I/O异常的系统错误描述，{@link FileSystemException} 取其reason，其他异常取消息本身
+     */
+    private static boolean matchesOsError(Throwable t, String[] errors) {
+        String reason = t instanceof FileSystemException ? ((FileSystemException) t).getReason() : t.getMessage();
+        if (reason == null) {
+            return false;
+        }
+        for (String error : errors) {
+            if (reason.regionMatches(true, 0, error, 0, error.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static boolean isLowOnSpace(String filePath) {
+        try {
+            Path existing = Paths.get(filePath).toAbsolutePath();
+            while (existing != null && !Files.exists(existing)) {
+                existing = existing.getParent();
+            }
+            return existing != null && Files.getFileStore(existing).getUsableSpace() < LOW_DISK_SPACE_BYTES;
+        } catch (IOException | InvalidPathException | SecurityException e) {
+            return false;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.youtube.fetcher.exception;
+
+import java.util.Objects;
+
+/**
+ * 非受检的YouTube API异常
+ * 用于在Iterator、Stream等无法声明受检异常的场景中传递 {@link YouTubeApiException}
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public class UncheckedYouTubeApiException extends RuntimeException {
+    
+    /**
+     * 构造函数
+     * @param cause 原始的YouTube API异常
+     */
+    public UncheckedYouTubeApiException(YouTubeApiException cause) {
+        super(Objects.requireNonNull(cause).getMessage(), cause);
+    }
+    
+    /**
+     * 带消息的构造函数
+     * @param message 错误消息
+     * @param cause 原始的YouTube API异常
+     */
+    public UncheckedYouTubeApiException(String message, YouTubeApiException cause) {
+        super(message, Objects.requireNonNull(cause));
+    }
+    
+    @Override
+    public YouTubeApiException getCause() {
+        return (YouTubeApiException) super.getCause();
+    }
+}
\ No newline at end of file
@@ -1,8 +1,11 @@
 package com.youtube.fetcher.exception;
 
+import java.time.Duration;
+
 /**
  * YouTube API相关异常
- * 封装YouTube API调用过程中发生的各种异常情况
+ * 封装YouTube API调用过程中发生的各种异常情况，
+ * 通过 {@link #getCategory()} 按状态码和错误原因分类以决定是否重试
  * 
  * @author YouTube Fetcher Team
  * @version 1.0.0
@@ -11,6 +14,7 @@ public class YouTubeApiException extends Exception {
     
     private final String errorCode;
     private final int httpStatusCode;
+    private final Duration retryAfter;
     
     /**
      * 默认构造函数
@@ -20,6 +24,7 @@ public class YouTubeApiException extends Exception {
         super(message);
         this.errorCode = null;
         this.httpStatusCode = 0;
+        this.retryAfter = null;
     }
     
     /**
@@ -31,6 +36,7 @@ public class YouTubeApiException extends Exception {
         super(message);
         this.errorCode = errorCode;
         this.httpStatusCode = 0;
+        this.retryAfter = null;
     }
     
     /**
@@ -43,6 +49,7 @@ public class YouTubeApiException extends Exception {
         super(message);
         this.errorCode = errorCode;
         this.httpStatusCode = httpStatusCode;
+        this.retryAfter = null;
     }
     
     /**
@@ -54,6 +61,7 @@ public class YouTubeApiException extends Exception {
         super(message, cause);
         this.errorCode = null;
         this.httpStatusCode = 0;
+        this.retryAfter = null;
     }
     
     /**
@@ -67,6 +75,21 @@ public class YouTubeApiException extends Exception {
         super(message, cause);
         this.errorCode = errorCode;
         this.httpStatusCode = httpStatusCode;
+        this.retryAfter = null;
+    }
+    
+    /**
+     * 带重试等待时间的构造函数
+     * @param message 错误消息
+     * @param errorCode 错误代码
+     * @param httpStatusCode HTTP状态码
+     * @param retryAfter 服务端要求的最短重试等待时间（Retry-After），可为null
+     */
+    public YouTubeApiException(String message, String errorCode, int httpStatusCode, Duration retryAfter) {
+        super(message);
+        this.errorCode = errorCode;
+        this.httpStatusCode = httpStatusCode;
+        this.retryAfter = retryAfter;
     }
     
     public String getErrorCode() {
@@ -77,13 +100,45 @@ public class YouTubeApiException extends Exception {
         return httpStatusCode;
     }
     
+    /**
+     * 获取服务端要求的重试等待时间
+     * @return Retry-After时长，响应未提供时为null
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+    
+    /**
+     * 获取错误分类
+     * @return 按HTTP状态码、错误代码和原始异常得出的分类
+     */
+    public ErrorCategory getCategory() {
+        return ErrorCategory.classify(httpStatusCode, errorCode, getCause());
+    }
+    
+    /**
+     * 检查重试是否可能成功
+     * @return 分类不是PERMANENT时返回true
+     */
+    public boolean isRetryable() {
+        return getCategory().isRetryable();
+    }
+    
+    /**
+     * 检查是否为请求频率超限错误
+     * @return 如果是429或rateLimitExceeded等错误则返回true
+     */
+    public boolean isRateLimited() {
+        return getCategory() == ErrorCategory.RATE_LIMITED;
+    }
+    
     /**
      * 检查是否为API配额超限错误
-     * @return 如果是403错误或错误代码包含quota则返回true
+     * 只有quotaExceeded、dailyLimitExceeded等原因才算配额耗尽，其他403（如forbidden）不算
+     * @return 如果每日配额已耗尽则返回true
      */
     public boolean isQuotaExceeded() {
-        return httpStatusCode == 403 || 
-               (errorCode != null && errorCode.toLowerCase().contains("quota"));
+        return getCategory() == ErrorCategory.QUOTA_EXHAUSTED;
     }
     
     /**
@@ -96,11 +151,10 @@ public class YouTubeApiException extends Exception {
     }
     
     /**
-     * 检查是否为网络错误
-     * @return 如果是5xx错误或网络相关异常则返回true
+     * 检查是否为网络或服务端的瞬时错误
+     * @return 如果是连接失败、超时、响应截断或500/502/503/504等瞬时错误则返回true
      */
     public boolean isNetworkError() {
-        return httpStatusCode >= 500 || 
-               (getCause() != null && getCause() instanceof java.net.ConnectException);
+        return getCategory() == ErrorCategory.TRANSIENT;
     }
 }
\ No newline at end of file
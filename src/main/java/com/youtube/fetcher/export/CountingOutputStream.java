@@ -0,0 +1,45 @@
+package com.youtube.fetcher.export;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 统计写出字节数的输出流
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+class CountingOutputStream extends FilterOutputStream {
+    
+    private volatile long count;
+    
+    CountingOutputStream(OutputStream out) {
+        this(out, 0);
+    }
+    
+    /**
+     * @param out 下层输出流
+     * @param initialCount 起始计数，续写已有文件时为续写位置
+     */
+    CountingOutputStream(OutputStream out, long initialCount) {
+        super(out);
+        this.count = initialCount;
+    }
+    
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+        count++;
+    }
+    
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+        count += len;
+    }
+    
+    long getCount() {
+        return count;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,148 @@
+package com.youtube.fetcher.export;
+
+import com.youtube.fetcher.exception.FileExportException;
+import com.youtube.fetcher.model.VideoData;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 基于commons-csv的顺序CSV导出器
+ * 逐条写入视频，列与 {@link VideoData} 的JSON字段一致。
+ * {@link ParallelCsvExporter} 使用相同的格式和行转换，两者输出逐字节一致。
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public class CsvStreamingExporter implements StreamingExporter {
+    
+    static final String FORMAT = "csv";
+    
+    static final String[] HEADERS = {
+            "video_id", "title", "published_at", "description", "duration",
+            "view_count", "like_count", "comment_count", "thumbnail_url", "channel_id"
+    };
+    
+    /**
+     * 数据行格式（不含表头）
+     */
+    static final CSVFormat ROW_FORMAT = CSVFormat.DEFAULT;
+    
+    static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'");
+    
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    private final Path filePath;
+    private final CountingOutputStream output;
+    private final CSVPrinter printer;
+    private boolean closed;
+    
+    /**
+     * 构造函数，立即写入表头
+     * @param filePath 目标文件路径
+     * @throws FileExportException 无法创建文件时抛出
+     */
+    public CsvStreamingExporter(Path filePath) throws FileExportException {
+        this(filePath, 0);
+    }
+    
+    /**
+     * 续写构造函数
+     * resumeOffset大于0时截掉该位置之后的内容并接着写入数据行，不再写表头
+     * @param filePath 目标文件路径
+     * @param resumeOffset 续写位置，通常为上次确认的 {@link #getBytesWritten()}，0表示新建文件
+     * @throws FileExportException 无法打开文件，或文件比续写位置短时抛出
+     */
+    public CsvStreamingExporter(Path filePath, long resumeOffset) throws FileExportException {
+        this.filePath = filePath;
+        try {
+            this.output = new CountingOutputStream(ExportFiles.open(filePath, resumeOffset), resumeOffset);
+            this.printer = new CSVPrinter(new BufferedWriter(
+                    new OutputStreamWriter(output, StandardCharsets.UTF_8), BUFFER_SIZE), ROW_FORMAT);
+            if (resumeOffset == 0) {
+                printer.printRecord((Object[]) HEADERS);
+            }
+        } catch (IOException e) {
+            throw new FileExportException("Failed to open CSV export file: " + e.getMessage(),
+                    filePath.toString(), FORMAT, e);
+        }
+    }
+    
+    @Override
+    public void write(VideoData video) throws FileExportException {
+        if (closed) {
+            throw new FileExportException("Exporter is closed", filePath.toString(), FORMAT);
+        }
+        try {
+            printRow(printer, video);
+        } catch (IOException e) {
+            throw new FileExportException("Failed to write video " + video.getVideoId() + ": " + e.getMessage(),
+                    filePath.toString(), FORMAT, e);
+        }
+    }
+    
+    @Override
+    public void flush() throws FileExportException {
+        try {
+            printer.flush();
+        } catch (IOException e) {
+            throw new FileExportException("Failed to flush CSV export: " + e.getMessage(),
+                    filePath.toString(), FORMAT, e);
+        }
+    }
+    
+    @Override
+    public void close() throws FileExportException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            printer.close(true);
+        } catch (IOException e) {
+            throw new FileExportException("Failed to finish CSV export: " + e.getMessage(),
+                    filePath.toString(), FORMAT, e);
+        }
+    }
+    
+    @Override
+    public String getFormat() {
+        return FORMAT;
+    }
+    
+    @Override
+    public Path getFilePath() {
+        return filePath;
+    }
+    
+    @Override
+    public long getBytesWritten() {
+        return output.getCount();
+    }
+    
+    /**
+     * 输出一行视频数据，顺序和并行导出共用
+     * @param printer CSV打印器
+     * @param video 视频数据
+     * @throws IOException 写入失败时抛出
+     */
+    static void printRow(CSVPrinter printer, VideoData video) throws IOException {
+        printer.print(video.getVideoId());
+        printer.print(video.getTitle());
+        printer.print(video.getPublishedAt() != null ? TIMESTAMP_FORMAT.format(video.getPublishedAt()) : null);
+        printer.print(video.getDescription());
+        printer.print(video.getDuration());
+        printer.print(video.getViewCount());
+        printer.print(video.getLikeCount());
+        printer.print(video.getCommentCount());
+        printer.print(video.getThumbnailUrl());
+        printer.print(video.getChannelId());
+        printer.println();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.youtube.fetcher.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 导出文件的打开方式
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+final class ExportFiles {
+    
+    private ExportFiles() {
+    }
+    
+    /**
+     * 打开导出目标文件
+     * resumeOffset为0时创建或清空文件；大于0时保留前resumeOffset字节，截掉之后的内容并从该位置续写，
+     * 用于在崩溃后丢弃最后一次确认之后写出的不完整记录
+     * @param filePath 目标文件路径
+     * @param resumeOffset 续写位置
+     * @return 定位到写入位置的输出流
+     * @throws IOException 无法打开文件，或文件比续写位置短时抛出
+     */
+    static OutputStream open(Path filePath, long resumeOffset) throws IOException {
+        if (resumeOffset < 0) {
+            throw new IllegalArgumentException("resumeOffset must be >= 0: " + resumeOffset);
+        }
+        Path parent = filePath.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        if (resumeOffset == 0) {
+            return Files.newOutputStream(filePath);
+        }
+        FileChannel channel = FileChannel.open(filePath, StandardOpenOption.WRITE);
+        try {
+            long size = channel.size();
+            if (size < resumeOffset) {
+                throw new IOException("File has " + size + " bytes, cannot resume at offset " + resumeOffset);
+            }
+            channel.truncate(resumeOffset);
+            channel.position(resumeOffset);
+            return Channels.newOutputStream(channel);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,566 @@
+package com.youtube.fetcher.export;
+
+import com.youtube.fetcher.exception.FileExportException;
+import com.youtube.fetcher.model.ApiResponse;
+import com.youtube.fetcher.model.VideoData;
+import com.youtube.fetcher.util.ConcurrencyUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 单遍多格式导出器：每个视频只交付一次，由各导出器专属的写入线程同时写出
+ * 调用线程把视频放入每个导出器各自的环形缓冲区后即返回，格式化和写盘都在写入线程上进行，
+ * 总耗时接近最慢的单一格式而不是各格式之和。缓冲区写满时调用线程等待，内存占用只与缓冲区容量有关。
+ * 
+ * <p>{@link #flush()} 等待已交付的视频全部写完并刷出；{@link #close()} 写完剩余视频后关闭所有导出器，
+ * 导出器的所有权随构造转移给本类。视频交付后会被多个线程同时读取，调用方不应再修改。
+ * 与其他导出器一样，不支持多个线程同时写入。</p>
+ * 
+ * <p>某个导出器失败后不再接受写入，下一次 {@link #write}、{@link #flush()} 或 {@link #close()}
+ * 抛出带有该导出器格式和路径的 {@link FileExportException}。失败的导出器丢弃剩余视频，
+ * 其他导出器写完已交付的视频后正常关闭，文件格式完整。其他导出器此后（包括关闭时）的失败
+ * 由 {@link #close()} 抛出，不会因为已经报告过第一个失败而被忽略。</p>
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public class FanOutExporter implements StreamingExporter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(FanOutExporter.class);
+    
+    /**
+     * 默认每个导出器的缓冲视频数
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 1024;
+    
+    private static final int MAX_BUFFER_SIZE = 1 << 20;
+    
+    /**
+     * 放弃忙等、转入park之前的自旋次数
+     */
+    private static final int SPIN_TRIES = 100;
+    
+    private static final Object FLUSH = new Object();
+    private static final Object CLOSE = new Object();
+    
+    private final List<SinkWriter> writers;
+    private final AtomicReference<SinkWriter> firstFailure = new AtomicReference<>();
+    private volatile Thread waitingProducer;
+    private long flushCount;
+    private boolean failureReported;
+    private boolean closed;
+    
+    /**
+     * 使用默认缓冲区大小创建导出器
+     * @param sinks 目标导出器
+     */
+    public FanOutExporter(List<? extends StreamingExporter> sinks) {
+        this(sinks, DEFAULT_BUFFER_SIZE);
+    }
+    
+    /**
+     * 完整构造函数
+     * @param sinks 目标导出器，每个导出器一个写入线程
+     * @param bufferSize 每个导出器的缓冲视频数，按2的幂向上取整
+     */
+    public FanOutExporter(List<? extends StreamingExporter> sinks, int bufferSize) {
+        if (sinks.isEmpty()) {
+            throw new IllegalArgumentException("At least one sink is required");
+        }
+        if (bufferSize <= 0 || bufferSize > MAX_BUFFER_SIZE) {
+            throw new IllegalArgumentException("bufferSize must be in (0, " + MAX_BUFFER_SIZE + "]: " + bufferSize);
+        }
+        int capacity = bufferSize == 1 ? 1 : Integer.highestOneBit(bufferSize - 1) << 1;
+        List<SinkWriter> created = new ArrayList<>(sinks.size());
+        for (StreamingExporter sink : sinks) {
+            created.add(new SinkWriter(sink, capacity));
+        }
+        this.writers = Collections.unmodifiableList(created);
+        for (SinkWriter writer : writers) {
+            writer.thread.start();
+        }
+    }
+    
+    /**
+     * 在同一目录下同时导出JSON、CSV和TXT
+     * @param directory 目标目录
+     * @param baseName 文件名（不含扩展名）
+     * @return 多格式导出器
+     * @throws FileExportException 任一文件无法创建时抛出，已打开的文件会被关闭
+     */
+    public static FanOutExporter open(Path directory, String baseName) throws FileExportException {
+        List<StreamingExporter> sinks = new ArrayList<>(3);
+        try {
+            sinks.add(new JsonStreamingExporter(directory.resolve(baseName + ".json")));
+            sinks.add(new CsvStreamingExporter(directory.resolve(baseName + ".csv")));
+            sinks.add(new TxtStreamingExporter(directory.resolve(baseName + ".txt")));
+        } catch (FileExportException e) {
+            for (StreamingExporter sink : sinks) {
+                try {
+                    sink.close();
+                } catch (FileExportException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+            }
+            throw e;
+        }
+        return new FanOutExporter(sinks);
+    }
+    
+    @Override
+    public void write(VideoData video) throws FileExportException {
+        checkWritable();
+        for (SinkWriter writer : writers) {
+            writer.offer(video);
+        }
+    }
+    
+    /**
+     * 逐个导出器交付整页，先交付的写入线程可以在后续导出器入队时开始写
+     */
+    @Override
+    public void writePage(ApiResponse<VideoData> page) throws FileExportException {
+        checkWritable();
+        List<VideoData> videos = page.getData();
+        if (videos == null || videos.isEmpty()) {
+            return;
+        }
+        for (SinkWriter writer : writers) {
+            for (VideoData video : videos) {
+                writer.offer(video);
+            }
+            writer.signal();
+        }
+    }
+    
+    @Override
+    public void flush() throws FileExportException {
+        checkWritable();
+        long target = ++flushCount;
+        for (SinkWriter writer : writers) {
+            writer.offer(FLUSH);
+            writer.signal();
+        }
+        for (SinkWriter writer : writers) {
+            await(() -> writer.flushed >= target || writer.done);
+        }
+        checkWritable();
+    }
+    
+    @Override
+    public void close() throws FileExportException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (SinkWriter writer : writers) {
+            writer.offer(CLOSE);
+            writer.signal();
+        }
+        for (SinkWriter writer : writers) {
+            await(() -> writer.done);
+            logger.debug("Fan-out sink finished: {}", writer.stats());
+        }
+        // 已经抛出过的第一个失败不再重复报告，但其他导出器之后的失败（包括关闭时的失败）必须抛出
+        SinkWriter failed = firstFailure.get();
+        FileExportException error = failed != null && !failureReported ? failure(failed) : null;
+        for (SinkWriter writer : writers) {
+            if (writer == failed || writer.failure == null) {
+                continue;
+            }
+            if (error == null) {
+                error = failure(writer);
+            } else {
+                error.addSuppressed(writer.failure);
+            }
+        }
+        failureReported = true;
+        if (error != null) {
+            throw error;
+        }
+    }
+    
+    /**
+     * @return 以+连接的各导出器格式，如json+csv+txt
+     */
+    @Override
+    public String getFormat() {
+        StringBuilder builder = new StringBuilder();
+        for (SinkWriter writer : writers) {
+            if (builder.length() > 0) {
+                builder.append('+');
+            }
+            builder.append(writer.format);
+        }
+        return builder.toString();
+    }
+    
+    /**
+     * @return 第一个导出器的文件路径
+     */
+    @Override
+    public Path getFilePath() {
+        return writers.get(0).sink.getFilePath();
+    }
+    
+    /**
+     * @return 所有导出器已写出的字节数之和
+     */
+    @Override
+    public long getBytesWritten() {
+        long bytes = 0;
+        for (SinkWriter writer : writers) {
+            bytes += writer.bytesWritten;
+        }
+        return bytes;
+    }
+    
+    /**
+     * 获取各导出器的吞吐量统计
+     * @return 按构造时顺序排列的统计快照
+     */
+    public List<SinkStats> getSinkStats() {
+        List<SinkStats> stats = new ArrayList<>(writers.size());
+        for (SinkWriter writer : writers) {
+            stats.add(writer.stats());
+        }
+        return stats;
+    }
+    
+    private void checkWritable() throws FileExportException {
+        if (closed) {
+            throw new FileExportException("Exporter is closed", getFilePath().toString(), getFormat());
+        }
+        SinkWriter failed = firstFailure.get();
+        if (failed != null) {
+            failureReported = true;
+            throw failure(failed);
+        }
+    }
+    
+    private static FileExportException failure(SinkWriter writer) {
+        FileExportException cause = writer.failure;
+        return new FileExportException("Export to " + writer.format + " failed: " + cause.getMessage(),
+                cause.getFilePath() != null ? cause.getFilePath() : writer.sink.getFilePath().toString(),
+                writer.format, cause);
+    }
+    
+    /**
+     * 在调用线程上等待条件成立：先短暂自旋，再park到写入线程唤醒
+     * 写入线程总会继续消费，等待时间有界，因此不响应中断，只在返回前恢复中断状态
+     */
+    private void await(BooleanSupplier ready) {
+        boolean interrupted = false;
+        int spins = 0;
+        while (!ready.getAsBoolean()) {
+            if (spins < SPIN_TRIES) {
+                spins++;
+                Thread.onSpinWait();
+                continue;
+            }
+            waitingProducer = Thread.currentThread();
+            if (!ready.getAsBoolean()) {
+                LockSupport.park(this);
+            }
+            waitingProducer = null;
+            if (Thread.interrupted()) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private void wakeProducer() {
+        Thread producer = waitingProducer;
+        if (producer != null) {
+            LockSupport.unpark(producer);
+        }
+    }
+    
+    /**
+     * 单个导出器的统计快照
+     */
+    public static final class SinkStats {
+        
+        private final String format;
+        private final Path filePath;
+        private final long records;
+        private final long bytesWritten;
+        private final long writeNanos;
+        private final long stallNanos;
+        private final long elapsedNanos;
+        private final boolean failed;
+        
+        SinkStats(String format, Path filePath, long records, long bytesWritten, long writeNanos,
+                  long stallNanos, long elapsedNanos, boolean failed) {
+            this.format = format;
+            this.filePath = filePath;
+            this.records = records;
+            this.bytesWritten = bytesWritten;
+            this.writeNanos = writeNanos;
+            this.stallNanos = stallNanos;
+            this.elapsedNanos = elapsedNanos;
+            this.failed = failed;
+        }
+        
+        public String getFormat() {
+            return format;
+        }
+        
+        public Path getFilePath() {
+            return filePath;
+        }
+        
+        public long getRecords() {
+            return records;
+        }
+        
+        public long getBytesWritten() {
+            return bytesWritten;
+        }
+        
+        /**
+         * @return 写入线程花在格式化和写出上的时间
+         */
+        public long getWriteNanos() {
+            return writeNanos;
+        }
+        
+        /**
+         * @return 调用线程因该导出器缓冲区已满而等待的时间，最长的即拖慢整体的格式
+         */
+        public long getStallNanos() {
+            return stallNanos;
+        }
+        
+        /**
+         * @return 自创建到关闭（未关闭时到现在）的时间
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+        
+        public boolean isFailed() {
+            return failed;
+        }
+        
+        /**
+         * @return 按写入时间计算的每秒视频数
+         */
+        public double getRecordsPerSecond() {
+            return writeNanos > 0 ? records * 1e9 / writeNanos : 0;
+        }
+        
+        /**
+         * @return 按写入时间计算的每秒字节数
+         */
+        public double getBytesPerSecond() {
+            return writeNanos > 0 ? bytesWritten * 1e9 / writeNanos : 0;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("SinkStats{format=%s, records=%d, bytes=%d, recordsPerSecond=%.0f, "
+                            + "MBPerSecond=%.1f, stallMs=%d, elapsedMs=%d, failed=%s}",
+                    format, records, bytesWritten, getRecordsPerSecond(), getBytesPerSecond() / (1024 * 1024),
+                    stallNanos / 1_000_000, elapsedNanos / 1_000_000, failed);
+        }
+    }
+    
+    /**
+     * 单个导出器的写入线程及其单生产者单消费者环形缓冲区
+     * 调用线程只写tail，写入线程只写head，两者通过volatile读写交接槽位，不需要锁。
+     * 双方都按半个缓冲区成批唤醒对方，避免在单核上每条记录切换一次线程
+     */
+    private final class SinkWriter implements Runnable {
+        
+        final StreamingExporter sink;
+        final String format;
+        final Thread thread;
+        private final Object[] ring;
+        private final int mask;
+        private final int batch;
+        private final long startNanos = System.nanoTime();
+        private volatile long head;
+        private volatile long tail;
+        private volatile boolean consumerWaiting;
+        volatile long flushed;
+        volatile boolean done;
+        volatile FileExportException failure;
+        private volatile long records;
+        private volatile long writeNanos;
+        private volatile long stallNanos;
+        private volatile long endNanos;
+        volatile long bytesWritten;
+        
+        SinkWriter(StreamingExporter sink, int capacity) {
+            this.sink = sink;
+            this.format = sink.getFormat();
+            this.ring = new Object[capacity];
+            this.mask = capacity - 1;
+            this.batch = Math.max(1, capacity / 2);
+            this.bytesWritten = sink.getBytesWritten();
+            this.thread = ConcurrencyUtil.daemonThreadFactory("export-" + format).newThread(this);
+        }
+        
+        /**
+         * 在调用线程上入队，积累到半个缓冲区时唤醒写入线程；缓冲区满时等待写入线程腾出半个缓冲区
+         */
+        void offer(Object item) {
+            long t = tail;
+            if (t - head == ring.length) {
+                signal();
+                long start = System.nanoTime();
+                await(() -> t - head <= ring.length - batch || done);
+                stallNanos += System.nanoTime() - start;
+            }
+            if (done) {
+                return;
+            }
+            ring[(int) t & mask] = item;
+            tail = t + 1;
+            if (t + 1 - head >= batch) {
+                signal();
+            }
+        }
+        
+        /**
+         * 唤醒等待中的写入线程，处理已入队的全部内容
+         */
+        void signal() {
+            if (consumerWaiting) {
+                LockSupport.unpark(thread);
+            }
+        }
+        
+        @Override
+        public void run() {
+            try {
+                long h = head;
+                while (true) {
+                    long t = tail;
+                    if (h == t) {
+                        bytesWritten = sink.getBytesWritten();
+                        awaitItems(h);
+                        continue;
+                    }
+                    for (; h < t; h++) {
+                        int index = (int) h & mask;
+                        Object item = ring[index];
+                        ring[index] = null;
+                        head = h + 1;
+                        if (item == CLOSE) {
+                            closeSink();
+                            return;
+                        } else if (item == FLUSH) {
+                            flushSink();
+                            flushed++;
+                            wakeProducer();
+                        } else if (failure == null) {
+                            writeVideo((VideoData) item);
+                        }
+                        if ((h + 1) % batch == 0) {
+                            wakeProducer();
+                        }
+                    }
+                    wakeProducer();
+                }
+            } catch (RuntimeException | Error e) {
+                fail(new FileExportException("Export writer died: " + e.getMessage(),
+                        sink.getFilePath().toString(), format, e));
+                throw e;
+            } finally {
+                endNanos = System.nanoTime();
+                done = true;
+                wakeProducer();
+            }
+        }
+        
+        private void awaitItems(long h) {
+            int spins = 0;
+            while (tail == h) {
+                if (spins < SPIN_TRIES) {
+                    spins++;
+                    Thread.onSpinWait();
+                    continue;
+                }
+                consumerWaiting = true;
+                if (tail == h) {
+                    LockSupport.park(this);
+                }
+                consumerWaiting = false;
+            }
+        }
+        
+        private void writeVideo(VideoData video) {
+            long start = System.nanoTime();
+            try {
+                sink.write(video);
+            } catch (FileExportException e) {
+                fail(e);
+                return;
+            } catch (RuntimeException e) {
+                fail(new FileExportException("Failed to write video " + video.getVideoId() + ": " + e.getMessage(),
+                        sink.getFilePath().toString(), format, e));
+                return;
+            }
+            writeNanos += System.nanoTime() - start;
+            records++;
+        }
+        
+        private void flushSink() {
+            if (failure != null) {
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                sink.flush();
+            } catch (FileExportException e) {
+                fail(e);
+            }
+            writeNanos += System.nanoTime() - start;
+            bytesWritten = sink.getBytesWritten();
+        }
+        
+        private void closeSink() {
+            long start = System.nanoTime();
+            try {
+                sink.close();
+            } catch (FileExportException e) {
+                if (failure == null) {
+                    fail(e);
+                } else {
+                    logger.warn("Failed to close {} after an earlier failure", sink.getFilePath(), e);
+                    failure.addSuppressed(e);
+                }
+            }
+            writeNanos += System.nanoTime() - start;
+            bytesWritten = sink.getBytesWritten();
+        }
+        
+        private void fail(FileExportException e) {
+            if (failure != null) {
+                return;
+            }
+            logger.error("Export to {} failed, discarding its remaining videos", sink.getFilePath(), e);
+            failure = e;
+            firstFailure.compareAndSet(null, this);
+        }
+        
+        SinkStats stats() {
+            long end = done ? endNanos : System.nanoTime();
+            return new SinkStats(format, sink.getFilePath(), records, bytesWritten, writeNanos, stallNanos,
+                    end - startNanos, failure != null);
+        }
+    }
+}
\ No newline at end of file
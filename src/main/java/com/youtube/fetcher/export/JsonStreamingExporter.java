@@ -0,0 +1,254 @@
+package com.youtube.fetcher.export;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.youtube.fetcher.exception.FileExportException;
+import com.youtube.fetcher.model.VideoData;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 基于 {@link JsonGenerator} 的流式JSON导出器
+ * 每个视频直接写入带缓冲的输出流，不构建完整的文档树；字段名与 {@link VideoData} 的
+ * {@code @JsonProperty} 一致，时间戳格式与 {@code @JsonFormat} 相同，但通过复用的字符缓冲区
+ * 手工格式化，避免每条记录分配格式化器和字符串。
+ * 
+ * <p>支持两种布局：标准JSON数组和每行一个对象的NDJSON。</p>
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public class JsonStreamingExporter implements StreamingExporter {
+    
+    /**
+     * 输出布局
+     */
+    public enum Layout {
+        JSON_ARRAY("json"),
+        NDJSON("ndjson");
+        
+        private final String format;
+        
+        Layout(String format) {
+            this.format = format;
+        }
+        
+        public String getFormat() {
+            return format;
+        }
+    }
+    
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    
+    private static final SerializedString VIDEO_ID = new SerializedString("video_id");
+    private static final SerializedString TITLE = new SerializedString("title");
+    private static final SerializedString PUBLISHED_AT = new SerializedString("published_at");
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+    private static final SerializedString DURATION = new SerializedString("duration");
+    private static final SerializedString VIEW_COUNT = new SerializedString("view_count");
+    private static final SerializedString LIKE_COUNT = new SerializedString("like_count");
+    private static final SerializedString COMMENT_COUNT = new SerializedString("comment_count");
+    private static final SerializedString THUMBNAIL_URL = new SerializedString("thumbnail_url");
+    private static final SerializedString CHANNEL_ID = new SerializedString("channel_id");
+    
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'");
+    
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    private final Path filePath;
+    private final Layout layout;
+    private final CountingOutputStream output;
+    private final JsonGenerator generator;
+    private final char[] timestampBuffer = new char[20];
+    private long recordCount;
+    private boolean closed;
+    
+    /**
+     * 创建JSON数组布局的导出器
+     * @param filePath 目标文件路径
+     * @throws FileExportException 无法创建文件时抛出
+     */
+    public JsonStreamingExporter(Path filePath) throws FileExportException {
+        this(filePath, Layout.JSON_ARRAY);
+    }
+    
+    /**
+     * 完整构造函数
+     * @param filePath 目标文件路径
+     * @param layout 输出布局
+     * @throws FileExportException 无法创建文件时抛出
+     */
+    public JsonStreamingExporter(Path filePath, Layout layout) throws FileExportException {
+        this(filePath, layout, 0);
+    }
+    
+    /**
+     * 续写构造函数，仅NDJSON布局支持续写
+     * @param filePath 目标文件路径
+     * @param layout 输出布局
+     * @param resumeOffset 续写位置，通常为上次确认的 {@link #getBytesWritten()}，0表示新建文件
+     * @throws FileExportException 无法打开文件，或文件比续写位置短时抛出
+     */
+    public JsonStreamingExporter(Path filePath, Layout layout, long resumeOffset) throws FileExportException {
+        if (resumeOffset > 0 && layout != Layout.NDJSON) {
+            throw new IllegalArgumentException("Only NDJSON exports can be resumed: " + layout);
+        }
+        this.filePath = filePath;
+        this.layout = layout;
+        try {
+            this.output = new CountingOutputStream(new BufferedOutputStream(
+                    ExportFiles.open(filePath, resumeOffset), BUFFER_SIZE), resumeOffset);
+            this.generator = JSON_FACTORY.createGenerator(output, JsonEncoding.UTF8);
+            if (layout == Layout.JSON_ARRAY) {
+                generator.writeStartArray();
+            } else {
+                generator.setRootValueSeparator(null);
+            }
+        } catch (IOException e) {
+            throw new FileExportException("Failed to open JSON export file: " + e.getMessage(),
+                    filePath.toString(), layout.getFormat(), e);
+        }
+    }
+    
+    @Override
+    public void write(VideoData video) throws FileExportException {
+        if (closed) {
+            throw new FileExportException("Exporter is closed", filePath.toString(), layout.getFormat());
+        }
+        try {
+            generator.writeStartObject();
+            writeString(VIDEO_ID, video.getVideoId());
+            writeString(TITLE, video.getTitle());
+            generator.writeFieldName(PUBLISHED_AT);
+            if (video.getPublishedAt() != null) {
+                int length = formatTimestamp(video.getPublishedAt());
+                if (length > 0) {
+                    generator.writeString(timestampBuffer, 0, length);
+                } else {
+                    generator.writeString(TIMESTAMP_FORMAT.format(video.getPublishedAt()));
+                }
+            } else {
+                generator.writeNull();
+            }
+            writeString(DESCRIPTION, video.getDescription());
+            writeString(DURATION, video.getDuration());
+            writeNumber(VIEW_COUNT, video.getViewCount());
+            writeNumber(LIKE_COUNT, video.getLikeCount());
+            writeNumber(COMMENT_COUNT, video.getCommentCount());
+            writeString(THUMBNAIL_URL, video.getThumbnailUrl());
+            writeString(CHANNEL_ID, video.getChannelId());
+            generator.writeEndObject();
+            if (layout == Layout.NDJSON) {
+                generator.writeRaw('\n');
+            }
+            recordCount++;
+        } catch (IOException e) {
+            throw new FileExportException("Failed to write video " + video.getVideoId() + ": " + e.getMessage(),
+                    filePath.toString(), layout.getFormat(), e);
+        }
+    }
+    
+    @Override
+    public void flush() throws FileExportException {
+        try {
+            generator.flush();
+        } catch (IOException e) {
+            throw new FileExportException("Failed to flush JSON export: " + e.getMessage(),
+                    filePath.toString(), layout.getFormat(), e);
+        }
+    }
+    
+    @Override
+    public void close() throws FileExportException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try (JsonGenerator toClose = generator) {
+            if (layout == Layout.JSON_ARRAY) {
+                toClose.writeEndArray();
+            }
+        } catch (IOException e) {
+            throw new FileExportException("Failed to finish JSON export: " + e.getMessage(),
+                    filePath.toString(), layout.getFormat(), e);
+        }
+    }
+    
+    @Override
+    public String getFormat() {
+        return layout.getFormat();
+    }
+    
+    @Override
+    public Path getFilePath() {
+        return filePath;
+    }
+    
+    @Override
+    public long getBytesWritten() {
+        return output.getCount();
+    }
+    
+    public long getRecordCount() {
+        return recordCount;
+    }
+    
+    private void writeString(SerializedString name, String value) throws IOException {
+        generator.writeFieldName(name);
+        if (value != null) {
+            generator.writeString(value);
+        } else {
+            generator.writeNull();
+        }
+    }
+    
+    private void writeNumber(SerializedString name, Long value) throws IOException {
+        generator.writeFieldName(name);
+        if (value != null) {
+            generator.writeNumber(value.longValue());
+        } else {
+            generator.writeNull();
+        }
+    }
+    
+    /**
+     * 按 yyyy-MM-dd'T'HH:mm:ss'Z' 格式写入复用的字符缓冲区
+     * @return 写入的字符数，年份超出四位数时返回-1
+     */
+    private int formatTimestamp(LocalDateTime time) {
+        char[] buf = timestampBuffer;
+        int year = time.getYear();
+        if (year < 0 || year > 9999) {
+            return -1;
+        }
+        put4(buf, 0, year);
+        buf[4] = '-';
+        put2(buf, 5, time.getMonthValue());
+        buf[7] = '-';
+        put2(buf, 8, time.getDayOfMonth());
+        buf[10] = 'T';
+        put2(buf, 11, time.getHour());
+        buf[13] = ':';
+        put2(buf, 14, time.getMinute());
+        buf[16] = ':';
+        put2(buf, 17, time.getSecond());
+        buf[19] = 'Z';
+        return 20;
+    }
+    
+    private static void put2(char[] buf, int pos, int value) {
+        buf[pos] = (char) ('0' + value / 10);
+        buf[pos + 1] = (char) ('0' + value % 10);
+    }
+    
+    private static void put4(char[] buf, int pos, int value) {
+        put2(buf, pos, value / 100);
+        put2(buf, pos + 2, value % 100);
+    }
+}
\ No newline at end of file
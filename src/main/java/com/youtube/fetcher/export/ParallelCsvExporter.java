@@ -0,0 +1,155 @@
+package com.youtube.fetcher.export;
+
+import com.youtube.fetcher.exception.FileExportException;
+import com.youtube.fetcher.model.VideoData;
+import org.apache.commons.csv.CSVPrinter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 并行分块CSV导出器
+ * 将视频按块切分，在fork-join池上并行完成CSV格式化和UTF-8编码，
+ * 再按块顺序写入目标文件。输出与 {@link CsvStreamingExporter} 逐字节一致。
+ * 
+ * <p>同时在途的块数受限于 {@code 2 × 并行度}，输入可以是任意长度的迭代器，
+ * 内存占用只与块大小有关。</p>
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public class ParallelCsvExporter {
+    
+    /**
+     * 默认每块行数
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 4096;
+    
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private final int maxInFlight;
+    
+    /**
+     * 使用公共fork-join池和默认块大小创建导出器
+     */
+    public ParallelCsvExporter() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+    
+    /**
+     * 完整构造函数
+     * @param pool 执行格式化的fork-join池
+     * @param chunkSize 每块行数
+     */
+    public ParallelCsvExporter(ForkJoinPool pool, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be > 0: " + chunkSize);
+        }
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+        this.maxInFlight = Math.max(2, pool.getParallelism() * 2);
+    }
+    
+    /**
+     * 导出视频列表
+     * @param videos 视频列表
+     * @param filePath 目标文件路径
+     * @return 写出的字节数
+     * @throws FileExportException 导出失败时抛出
+     */
+    public long export(Iterable<VideoData> videos, Path filePath) throws FileExportException {
+        return export(videos.iterator(), filePath);
+    }
+    
+    /**
+     * 导出视频迭代器中的所有视频
+     * @param videos 视频迭代器
+     * @param filePath 目标文件路径
+     * @return 写出的字节数
+     * @throws FileExportException 导出失败时抛出
+     */
+    public long export(Iterator<VideoData> videos, Path filePath) throws FileExportException {
+        Deque<CompletableFuture<ByteBuffer>> inFlight = new ArrayDeque<>();
+        try {
+            Path parent = filePath.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                long written = writeFully(channel, header());
+                while (videos.hasNext()) {
+                    List<VideoData> chunk = new ArrayList<>(chunkSize);
+                    while (chunk.size() < chunkSize && videos.hasNext()) {
+                        chunk.add(videos.next());
+                    }
+                    inFlight.addLast(CompletableFuture.supplyAsync(() -> formatChunk(chunk), pool));
+                    if (inFlight.size() >= maxInFlight) {
+                        written += writeFully(channel, inFlight.removeFirst().join());
+                    }
+                }
+                while (!inFlight.isEmpty()) {
+                    written += writeFully(channel, inFlight.removeFirst().join());
+                }
+                return written;
+            }
+        } catch (IOException e) {
+            throw failure(filePath, e);
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() instanceof UncheckedIOException ? e.getCause().getCause() : e.getCause();
+            throw new FileExportException("Failed to format CSV chunk: " + cause.getMessage(),
+                    filePath.toString(), CsvStreamingExporter.FORMAT, cause);
+        } finally {
+            for (CompletableFuture<ByteBuffer> future : inFlight) {
+                future.cancel(false);
+            }
+        }
+    }
+    
+    private static ByteBuffer header() throws IOException {
+        StringBuilder builder = new StringBuilder(128);
+        CsvStreamingExporter.ROW_FORMAT.printRecord(builder, (Object[]) CsvStreamingExporter.HEADERS);
+        return StandardCharsets.UTF_8.encode(builder.toString());
+    }
+    
+    private static ByteBuffer formatChunk(List<VideoData> chunk) {
+        StringBuilder builder = new StringBuilder(chunk.size() * 256);
+        try {
+            CSVPrinter printer = new CSVPrinter(builder, CsvStreamingExporter.ROW_FORMAT);
+            for (VideoData video : chunk) {
+                CsvStreamingExporter.printRow(printer, video);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] bytes = builder.toString().getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.wrap(bytes);
+    }
+    
+    private static long writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        long written = 0;
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer);
+        }
+        return written;
+    }
+    
+    private static FileExportException failure(Path filePath, IOException e) {
+        return new FileExportException("Failed to export CSV: " + e.getMessage(),
+                filePath.toString(), CsvStreamingExporter.FORMAT, e);
+    }
+}
\ No newline at end of file
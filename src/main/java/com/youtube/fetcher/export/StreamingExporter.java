@@ -0,0 +1,69 @@
+package com.youtube.fetcher.export;
+
+import com.youtube.fetcher.exception.FileExportException;
+import com.youtube.fetcher.model.ApiResponse;
+import com.youtube.fetcher.model.VideoData;
+
+import java.nio.file.Path;
+
+/**
+ * 流式导出器接口
+ * 逐条写入视频并直接落盘，调用方无需在内存中保留完整的视频列表
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public interface StreamingExporter extends AutoCloseable {
+    
+    /**
+     * 写入一个视频
+     * @param video 视频数据
+     * @throws FileExportException 写入失败时抛出
+     */
+    void write(VideoData video) throws FileExportException;
+    
+    /**
+     * 写入一页视频
+     * @param page 视频页面
+     * @throws FileExportException 写入失败时抛出
+     */
+    default void writePage(ApiResponse<VideoData> page) throws FileExportException {
+        if (page.getData() != null) {
+            for (VideoData video : page.getData()) {
+                write(video);
+            }
+        }
+    }
+    
+    /**
+     * 将缓冲的数据写出到文件
+     * 返回后 {@link #getBytesWritten()} 与文件中已写出的内容一致
+     * @throws FileExportException 写入失败时抛出
+     */
+    void flush() throws FileExportException;
+    
+    /**
+     * 获取导出格式名称
+     * @return 格式名称，如json、csv
+     */
+    String getFormat();
+    
+    /**
+     * 获取目标文件路径
+     * @return 文件路径
+     */
+    Path getFilePath();
+    
+    /**
+     * 获取已写出的字节数
+     * @return 字节数
+     */
+    long getBytesWritten();
+    
+    /**
+     * 完成导出并关闭文件
+     * @throws FileExportException 写入失败时抛出
+     */
+    @Override
+    void close() throws FileExportException;
+}
\ No newline at end of file
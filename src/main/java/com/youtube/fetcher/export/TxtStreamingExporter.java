@@ -0,0 +1,128 @@
+package com.youtube.fetcher.export;
+
+import com.youtube.fetcher.exception.FileExportException;
+import com.youtube.fetcher.model.VideoData;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 纯文本流式导出器
+ * 每个视频输出为一个便于阅读的文本块，块之间以空行分隔
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public class TxtStreamingExporter implements StreamingExporter {
+    
+    static final String FORMAT = "txt";
+    
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    private final Path filePath;
+    private final CountingOutputStream output;
+    private final Writer writer;
+    private long recordCount;
+    private boolean closed;
+    
+    /**
+     * 构造函数
+     * @param filePath 目标文件路径
+     * @throws FileExportException 无法创建文件时抛出
+     */
+    public TxtStreamingExporter(Path filePath) throws FileExportException {
+        this.filePath = filePath;
+        try {
+            Path parent = filePath.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            this.output = new CountingOutputStream(Files.newOutputStream(filePath));
+            this.writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), BUFFER_SIZE);
+        } catch (IOException e) {
+            throw new FileExportException("Failed to open TXT export file: " + e.getMessage(),
+                    filePath.toString(), FORMAT, e);
+        }
+    }
+    
+    @Override
+    public void write(VideoData video) throws FileExportException {
+        if (closed) {
+            throw new FileExportException("Exporter is closed", filePath.toString(), FORMAT);
+        }
+        try {
+            recordCount++;
+            writer.write("[" + recordCount + "] " + nullToEmpty(video.getTitle()) + "\n");
+            writer.write("    视频ID: " + nullToEmpty(video.getVideoId()) + "\n");
+            writer.write("    发布时间: " + (video.getPublishedAt() != null
+                    ? TIMESTAMP_FORMAT.format(video.getPublishedAt()) : "") + "\n");
+            writer.write("    时长: " + nullToEmpty(video.getDuration()) + "\n");
+            writer.write("    观看: " + formatCount(video.getViewCount())
+                    + "  点赞: " + formatCount(video.getLikeCount())
+                    + "  评论: " + formatCount(video.getCommentCount()) + "\n");
+            writer.write("    链接: " + video.getVideoUrl() + "\n\n");
+        } catch (IOException e) {
+            throw new FileExportException("Failed to write video " + video.getVideoId() + ": " + e.getMessage(),
+                    filePath.toString(), FORMAT, e);
+        }
+    }
+    
+    @Override
+    public void flush() throws FileExportException {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new FileExportException("Failed to flush TXT export: " + e.getMessage(),
+                    filePath.toString(), FORMAT, e);
+        }
+    }
+    
+    @Override
+    public void close() throws FileExportException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw new FileExportException("Failed to finish TXT export: " + e.getMessage(),
+                    filePath.toString(), FORMAT, e);
+        }
+    }
+    
+    @Override
+    public String getFormat() {
+        return FORMAT;
+    }
+    
+    @Override
+    public Path getFilePath() {
+        return filePath;
+    }
+    
+    @Override
+    public long getBytesWritten() {
+        return output.getCount();
+    }
+    
+    public long getRecordCount() {
+        return recordCount;
+    }
+    
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+    
+    private static String formatCount(Long count) {
+        return count != null ? String.format("%,d", count) : "-";
+    }
+}
\ No newline at end of file
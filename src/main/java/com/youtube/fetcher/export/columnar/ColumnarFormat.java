@@ -0,0 +1,120 @@
+package com.youtube.fetcher.export.columnar;
+
+/**
+ * VideoData列式二进制格式定义
+ * 
+ * <p>文件布局（大端序）：</p>
+ * <pre>
+ * 头部:   magic(int) | version(short) | rowCount(int) | columnCount(int)
+ * 目录:   每列 columnId(byte) | type(byte) | offset(long) | length(long)
+ * 列数据: 每列以非空位图 bitmap[(rowCount+7)/8] 开头，随后为：
+ *   STRING      offsets long[rowCount+1] | UTF-8字节堆
+ *   DICTIONARY  dictCount(int) | dictOffsets int[dictCount+1] | 字典UTF-8字节 | indices int[rowCount]
+ *   VARINT      blockCount(int) | blockOffsets long[] | blockBases long[] | 变长整数数据
+ * </pre>
+ * 
+ * <p>VARINT列每 {@link #BLOCK_SIZE} 行记录一次数据偏移，支持按行随机读取；
+ * {@link ColumnType#DELTA_VARINT} 列存储与前一个非空值之差的zigzag编码。</p>
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public final class ColumnarFormat {
+    
+    /**
+     * 文件魔数 "YTVC"
+     */
+    public static final int MAGIC = 0x59545643;
+    
+    /**
+     * 当前格式版本
+     */
+    public static final short VERSION = 1;
+    
+    /**
+     * 导出格式名称，用于异常信息
+     */
+    public static final String FORMAT_NAME = "ytvc";
+    
+    /**
+     * 变长整数列的块大小（行）
+     */
+    public static final int BLOCK_SIZE = 1024;
+    
+    static final int HEADER_SIZE = 4 + 2 + 4 + 4;
+    static final int DIRECTORY_ENTRY_SIZE = 1 + 1 + 8 + 8;
+    
+    private ColumnarFormat() {
+    }
+    
+    /**
+     * 列编码类型
+     */
+    public enum ColumnType {
+        STRING,        // 字符串堆
+        DICTIONARY,    // 字典编码字符串
+        VARINT,        // 变长无符号整数
+        DELTA_VARINT   // 差值zigzag变长整数
+    }
+    
+    /**
+     * VideoData的列定义
+     */
+    public enum Column {
+        VIDEO_ID(0, ColumnType.STRING),
+        TITLE(1, ColumnType.STRING),
+        PUBLISHED_AT(2, ColumnType.DELTA_VARINT),
+        DESCRIPTION(3, ColumnType.STRING),
+        DURATION(4, ColumnType.STRING),
+        VIEW_COUNT(5, ColumnType.VARINT),
+        LIKE_COUNT(6, ColumnType.VARINT),
+        COMMENT_COUNT(7, ColumnType.VARINT),
+        THUMBNAIL_URL(8, ColumnType.STRING),
+        CHANNEL_ID(9, ColumnType.DICTIONARY);
+        
+        private final int id;
+        private final ColumnType type;
+        
+        Column(int id, ColumnType type) {
+            this.id = id;
+            this.type = type;
+        }
+        
+        public int getId() {
+            return id;
+        }
+        
+        public ColumnType getType() {
+            return type;
+        }
+        
+        /**
+         * 检查是否为整数列
+         * @return 如果为VARINT或DELTA_VARINT则返回true
+         */
+        public boolean isNumeric() {
+            return type == ColumnType.VARINT || type == ColumnType.DELTA_VARINT;
+        }
+        
+        static Column byId(int id) {
+            for (Column column : values()) {
+                if (column.id == id) {
+                    return column;
+                }
+            }
+            return null;
+        }
+    }
+    
+    static int bitmapSize(int rowCount) {
+        return (rowCount + 7) >>> 3;
+    }
+    
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+    
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
\ No newline at end of file
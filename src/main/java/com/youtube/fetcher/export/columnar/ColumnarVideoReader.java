@@ -0,0 +1,460 @@
+package com.youtube.fetcher.export.columnar;
+
+import com.youtube.fetcher.exception.FileExportException;
+import com.youtube.fetcher.export.columnar.ColumnarFormat.Column;
+import com.youtube.fetcher.export.columnar.ColumnarFormat.ColumnType;
+import com.youtube.fetcher.model.VideoData;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * VideoData列式二进制读取器
+ * 通过内存映射的 {@link FileChannel} 直接访问各列，单列聚合只扫描该列的字节，
+ * 不会反序列化整条记录。
+ * 
+ * <p>映射区域只读，实例可以被多个线程并发读取。</p>
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public class ColumnarVideoReader implements AutoCloseable {
+    
+    /**
+     * 按行接收整数值的回调，避免装箱
+     */
+    @FunctionalInterface
+    public interface LongRowConsumer {
+        void accept(int row, long value);
+    }
+    
+    private final Path file;
+    private final FileChannel channel;
+    private final int rowCount;
+    private final Map<Column, Section> sections = new EnumMap<>(Column.class);
+    
+    private ColumnarVideoReader(Path file, FileChannel channel, int rowCount) {
+        this.file = file;
+        this.channel = channel;
+        this.rowCount = rowCount;
+    }
+    
+    /**
+     * 打开列式文件
+     * @param file 文件路径
+     * @return 读取器
+     * @throws FileExportException 文件无法读取或格式错误时抛出
+     */
+    public static ColumnarVideoReader open(Path file) throws FileExportException {
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            MappedRegion header = MappedRegion.map(channel, 0, ColumnarFormat.HEADER_SIZE);
+            if (header.getInt(0) != ColumnarFormat.MAGIC) {
+                throw new FileExportException("Not a columnar video file", file.toString(), ColumnarFormat.FORMAT_NAME);
+            }
+            short version = (short) ((header.get(4) & 0xFF) << 8 | (header.get(5) & 0xFF));
+            if (version != ColumnarFormat.VERSION) {
+                throw new FileExportException("Unsupported columnar version: " + version,
+                        file.toString(), ColumnarFormat.FORMAT_NAME);
+            }
+            int rowCount = header.getInt(6);
+            int columnCount = header.getInt(10);
+            ColumnarVideoReader reader = new ColumnarVideoReader(file, channel, rowCount);
+            MappedRegion directory = MappedRegion.map(channel, ColumnarFormat.HEADER_SIZE,
+                    (long) columnCount * ColumnarFormat.DIRECTORY_ENTRY_SIZE);
+            for (int i = 0; i < columnCount; i++) {
+                long entry = (long) i * ColumnarFormat.DIRECTORY_ENTRY_SIZE;
+                Column column = Column.byId(directory.get(entry));
+                long offset = directory.getLong(entry + 2);
+                long length = directory.getLong(entry + 10);
+                if (column != null) {
+                    reader.sections.put(column, new Section(column, MappedRegion.map(channel, offset, length), rowCount));
+                }
+            }
+            return reader;
+        } catch (IOException e) {
+            closeQuietly(channel);
+            throw new FileExportException("Failed to open columnar file: " + e.getMessage(),
+                    file.toString(), ColumnarFormat.FORMAT_NAME, e);
+        } catch (FileExportException | RuntimeException e) {
+            closeQuietly(channel);
+            throw e;
+        }
+    }
+    
+    public int getRowCount() {
+        return rowCount;
+    }
+    
+    /**
+     * 检查指定行的列值是否为空
+     * @param column 列
+     * @param row 行号
+     * @return 如果为空则返回true
+     */
+    public boolean isNull(Column column, int row) {
+        return !section(column).region.isBitSet(0, checkRow(row));
+    }
+    
+    /**
+     * 随机读取字符串列的值
+     * @param column STRING或DICTIONARY列
+     * @param row 行号
+     * @return 列值，可能为null
+     */
+    public String getString(Column column, int row) {
+        Section section = section(column);
+        checkRow(row);
+        if (!section.region.isBitSet(0, row)) {
+            return null;
+        }
+        if (column.getType() == ColumnType.DICTIONARY) {
+            return section.dictionaryValue(section.region.getInt(section.indicesOffset + (long) row * Integer.BYTES));
+        }
+        if (column.getType() != ColumnType.STRING) {
+            throw new IllegalArgumentException("Not a string column: " + column);
+        }
+        long start = section.region.getLong(section.offsetsOffset + (long) row * Long.BYTES);
+        long end = section.region.getLong(section.offsetsOffset + (long) (row + 1) * Long.BYTES);
+        return section.decode(section.dataOffset + start, (int) (end - start));
+    }
+    
+    /**
+     * 随机读取整数列的值，需从所在块的起点解码，最多解码 {@link ColumnarFormat#BLOCK_SIZE} 个值
+     * @param column 整数列
+     * @param row 行号
+     * @return 列值，为空时返回null
+     */
+    public Long getLong(Column column, int row) {
+        Section section = numericSection(column);
+        checkRow(row);
+        if (!section.region.isBitSet(0, row)) {
+            return null;
+        }
+        VarintCursor cursor = new VarintCursor(section, row - row % ColumnarFormat.BLOCK_SIZE);
+        while (cursor.row < row) {
+            cursor.step();
+        }
+        return cursor.next();
+    }
+    
+    /**
+     * 顺序扫描整数列的所有非空值
+     * @param column 整数列
+     * @param consumer 值回调
+     */
+    public void scan(Column column, LongRowConsumer consumer) {
+        Section section = numericSection(column);
+        VarintCursor cursor = new VarintCursor(section, 0);
+        while (cursor.row < rowCount) {
+            int row = cursor.row;
+            if (cursor.step()) {
+                consumer.accept(row, cursor.lastValue);
+            }
+        }
+    }
+    
+    /**
+     * 计算整数列非空值之和
+     * @param column 整数列
+     * @return 和
+     */
+    public long sum(Column column) {
+        long[] sum = new long[1];
+        scan(column, (row, value) -> sum[0] += value);
+        return sum[0];
+    }
+    
+    /**
+     * 计算整数列的最大值
+     * @param column 整数列
+     * @return 最大值，没有非空值时返回null
+     */
+    public Long max(Column column) {
+        long[] max = {Long.MIN_VALUE};
+        boolean[] any = new boolean[1];
+        scan(column, (row, value) -> {
+            any[0] = true;
+            if (value > max[0]) {
+                max[0] = value;
+            }
+        });
+        return any[0] ? max[0] : null;
+    }
+    
+    /**
+     * 统计列中非空值的数量，只读取位图
+     * @param column 列
+     * @return 非空值数量
+     */
+    public int countNonNull(Column column) {
+        MappedRegion region = section(column).region;
+        int count = 0;
+        int fullBytes = rowCount >>> 3;
+        for (int i = 0; i < fullBytes; i++) {
+            count += Integer.bitCount(region.get(i) & 0xFF);
+        }
+        for (int row = fullBytes << 3; row < rowCount; row++) {
+            if (region.isBitSet(0, row)) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * 随机读取一行并物化为VideoData
+     * @param row 行号
+     * @return 视频数据
+     */
+    public VideoData getVideo(int row) {
+        VideoData video = new VideoData();
+        video.setVideoId(getString(Column.VIDEO_ID, row));
+        video.setTitle(getString(Column.TITLE, row));
+        Long published = getLong(Column.PUBLISHED_AT, row);
+        video.setPublishedAt(toDateTime(published));
+        video.setDescription(getString(Column.DESCRIPTION, row));
+        video.setDuration(getString(Column.DURATION, row));
+        video.setViewCount(getLong(Column.VIEW_COUNT, row));
+        video.setLikeCount(getLong(Column.LIKE_COUNT, row));
+        video.setCommentCount(getLong(Column.COMMENT_COUNT, row));
+        video.setThumbnailUrl(getString(Column.THUMBNAIL_URL, row));
+        video.setChannelId(getString(Column.CHANNEL_ID, row));
+        return video;
+    }
+    
+    /**
+     * 按顺序物化所有行，整数列使用游标顺序解码
+     * @return 视频迭代器
+     */
+    public Iterator<VideoData> iterator() {
+        return new Iterator<VideoData>() {
+            private final Map<Column, VarintCursor> cursors = new EnumMap<>(Column.class);
+            private int row;
+            
+            {
+                for (Column column : Column.values()) {
+                    if (column.isNumeric() && sections.containsKey(column)) {
+                        cursors.put(column, new VarintCursor(sections.get(column), 0));
+                    }
+                }
+            }
+            
+            @Override
+            public boolean hasNext() {
+                return row < rowCount;
+            }
+            
+            @Override
+            public VideoData next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                VideoData video = new VideoData();
+                video.setVideoId(getString(Column.VIDEO_ID, row));
+                video.setTitle(getString(Column.TITLE, row));
+                video.setPublishedAt(toDateTime(cursors.get(Column.PUBLISHED_AT).next()));
+                video.setDescription(getString(Column.DESCRIPTION, row));
+                video.setDuration(getString(Column.DURATION, row));
+                video.setViewCount(cursors.get(Column.VIEW_COUNT).next());
+                video.setLikeCount(cursors.get(Column.LIKE_COUNT).next());
+                video.setCommentCount(cursors.get(Column.COMMENT_COUNT).next());
+                video.setThumbnailUrl(getString(Column.THUMBNAIL_URL, row));
+                video.setChannelId(getString(Column.CHANNEL_ID, row));
+                row++;
+                return video;
+            }
+        };
+    }
+    
+    /**
+     * 按顺序物化所有行的流
+     * @return 视频流
+     */
+    public Stream<VideoData> stream() {
+        return StreamSupport.stream(Spliterators.spliterator(iterator(), rowCount,
+                Spliterator.ORDERED | Spliterator.SIZED | Spliterator.NONNULL), false);
+    }
+    
+    public Path getFile() {
+        return file;
+    }
+    
+    @Override
+    public void close() throws FileExportException {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new FileExportException("Failed to close columnar file", file.toString(),
+                    ColumnarFormat.FORMAT_NAME, e);
+        }
+    }
+    
+    private Section section(Column column) {
+        Section section = sections.get(column);
+        if (section == null) {
+            throw new IllegalArgumentException("Column not present in file: " + column);
+        }
+        return section;
+    }
+    
+    private Section numericSection(Column column) {
+        if (!column.isNumeric()) {
+            throw new IllegalArgumentException("Not a numeric column: " + column);
+        }
+        return section(column);
+    }
+    
+    private int checkRow(int row) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of range [0, " + rowCount + ")");
+        }
+        return row;
+    }
+    
+    private static LocalDateTime toDateTime(Long epochSecond) {
+        return epochSecond != null ? LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC) : null;
+    }
+    
+    private static void closeQuietly(FileChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // 已在处理原始异常
+            }
+        }
+    }
+    
+    /**
+     * 单列在映射区域中的布局
+     */
+    private static final class Section {
+        private final Column column;
+        private final MappedRegion region;
+        private long offsetsOffset;
+        private long dataOffset;
+        private long indicesOffset;
+        private int dictionaryCount;
+        private long dictionaryOffsetsOffset;
+        private String[] dictionary;
+        private int blockCount;
+        private long blockOffsetsOffset;
+        private long blockBasesOffset;
+        
+        private Section(Column column, MappedRegion region, int rowCount) {
+            this.column = column;
+            this.region = region;
+            long position = ColumnarFormat.bitmapSize(rowCount);
+            switch (column.getType()) {
+                case STRING:
+                    offsetsOffset = position;
+                    dataOffset = position + (long) (rowCount + 1) * Long.BYTES;
+                    break;
+                case DICTIONARY:
+                    dictionaryCount = region.getInt(position);
+                    dictionaryOffsetsOffset = position + Integer.BYTES;
+                    dataOffset = dictionaryOffsetsOffset + (long) (dictionaryCount + 1) * Integer.BYTES;
+                    indicesOffset = dataOffset + region.getInt(dictionaryOffsetsOffset + (long) dictionaryCount * Integer.BYTES);
+                    dictionary = new String[dictionaryCount];
+                    break;
+                default:
+                    blockCount = region.getInt(position);
+                    blockOffsetsOffset = position + Integer.BYTES;
+                    blockBasesOffset = blockOffsetsOffset + (long) blockCount * Long.BYTES;
+                    dataOffset = blockBasesOffset + (long) blockCount * Long.BYTES;
+                    break;
+            }
+        }
+        
+        private String decode(long position, int length) {
+            byte[] bytes = new byte[length];
+            region.get(position, bytes, 0, length);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        
+        private String dictionaryValue(int index) {
+            String value = dictionary[index];
+            if (value == null) {
+                int start = region.getInt(dictionaryOffsetsOffset + (long) index * Integer.BYTES);
+                int end = region.getInt(dictionaryOffsetsOffset + (long) (index + 1) * Integer.BYTES);
+                value = decode(dataOffset + start, end - start);
+                dictionary[index] = value;
+            }
+            return value;
+        }
+    }
+    
+    /**
+     * 变长整数列的顺序解码游标
+     */
+    private static final class VarintCursor {
+        private final Section section;
+        private final boolean delta;
+        private long position;
+        private long previous;
+        private int row;
+        private long lastValue;
+        
+        private VarintCursor(Section section, int startRow) {
+            this.section = section;
+            this.delta = section.column.getType() == ColumnType.DELTA_VARINT;
+            this.row = startRow;
+            if (section.blockCount > 0) {
+                int block = startRow / ColumnarFormat.BLOCK_SIZE;
+                this.position = section.dataOffset
+                        + section.region.getLong(section.blockOffsetsOffset + (long) block * Long.BYTES);
+                this.previous = section.region.getLong(section.blockBasesOffset + (long) block * Long.BYTES);
+            }
+        }
+        
+        /**
+         * 解码当前行并前进一行
+         * @return 当前行的值，为空时返回null
+         */
+        private Long next() {
+            return step() ? lastValue : null;
+        }
+        
+        /**
+         * 解码当前行并前进一行，值保存在lastValue中，不产生装箱
+         * @return 当前行非空时返回true
+         */
+        private boolean step() {
+            boolean present = section.region.isBitSet(0, row);
+            row++;
+            if (!present) {
+                return false;
+            }
+            long raw = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = section.region.get(position++);
+                raw |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            if (delta) {
+                previous += ColumnarFormat.unzigzag(raw);
+                lastValue = previous;
+            } else {
+                lastValue = raw;
+            }
+            return true;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,451 @@
+package com.youtube.fetcher.export.columnar;
+
+import com.youtube.fetcher.exception.FileExportException;
+import com.youtube.fetcher.export.columnar.ColumnarFormat.Column;
+import com.youtube.fetcher.export.columnar.ColumnarFormat.ColumnType;
+import com.youtube.fetcher.model.VideoData;
+import com.youtube.fetcher.util.TimestampUtil;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * VideoData列式二进制写入器
+ * 按行追加视频，各列数据先流式写入同目录下的临时文件，关闭时拼接成最终文件，
+ * 因此内存中只保留位图、块索引和channelId字典。
+ * 
+ * <pre>
+ * try (ColumnarVideoWriter writer = new ColumnarVideoWriter(path)) {
+ *     pages.forEachRemaining(page -&gt; writer.writeAll(page.getData()));
+ * }
+ * </pre>
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public class ColumnarVideoWriter implements AutoCloseable {
+    
+    private final Path target;
+    private final Map<Column, ColumnEncoder> encoders = new EnumMap<>(Column.class);
+    private int rowCount;
+    private boolean closed;
+    
+    /**
+     * 构造函数
+     * @param target 目标文件路径
+     * @throws FileExportException 无法创建临时列文件时抛出
+     */
+    public ColumnarVideoWriter(Path target) throws FileExportException {
+        this.target = target;
+        try {
+            Path dir = target.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            for (Column column : Column.values()) {
+                switch (column.getType()) {
+                    case STRING:
+                        encoders.put(column, new StringEncoder(dir));
+                        break;
+                    case DICTIONARY:
+                        encoders.put(column, new DictionaryEncoder(dir));
+                        break;
+                    default:
+                        encoders.put(column, new VarintEncoder(dir, column.getType() == ColumnType.DELTA_VARINT));
+                        break;
+                }
+            }
+        } catch (IOException e) {
+            deleteTempFiles();
+            throw failure("Failed to create column spool files", e);
+        }
+    }
+    
+    /**
+     * 追加一个视频
+     * @param video 视频数据
+     * @throws FileExportException 写入失败时抛出
+     */
+    public void write(VideoData video) throws FileExportException {
+        if (closed) {
+            throw new FileExportException("Writer is closed", target.toString(), ColumnarFormat.FORMAT_NAME);
+        }
+        try {
+            string(Column.VIDEO_ID).add(rowCount, video.getVideoId());
+            string(Column.TITLE).add(rowCount, video.getTitle());
+            long publishedAt = video.getPublishedAtEpochSecond();
+            varint(Column.PUBLISHED_AT).add(rowCount, publishedAt != TimestampUtil.INVALID ? publishedAt : null);
+            string(Column.DESCRIPTION).add(rowCount, video.getDescription());
+            string(Column.DURATION).add(rowCount, video.getDuration());
+            varint(Column.VIEW_COUNT).add(rowCount, video.getViewCount());
+            varint(Column.LIKE_COUNT).add(rowCount, video.getLikeCount());
+            varint(Column.COMMENT_COUNT).add(rowCount, video.getCommentCount());
+            string(Column.THUMBNAIL_URL).add(rowCount, video.getThumbnailUrl());
+            ((DictionaryEncoder) encoders.get(Column.CHANNEL_ID)).add(rowCount, video.getChannelId());
+            rowCount++;
+        } catch (IOException e) {
+            throw failure("Failed to write video " + video.getVideoId(), e);
+        }
+    }
+    
+    /**
+     * 追加多个视频
+     * @param videos 视频列表
+     * @throws FileExportException 写入失败时抛出
+     */
+    public void writeAll(Iterable<VideoData> videos) throws FileExportException {
+        if (videos == null) {
+            return;
+        }
+        for (VideoData video : videos) {
+            write(video);
+        }
+    }
+    
+    public int getRowCount() {
+        return rowCount;
+    }
+    
+    /**
+     * 拼接各列数据生成最终文件并删除临时文件
+     * @throws FileExportException 写入失败时抛出
+     */
+    @Override
+    public void close() throws FileExportException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (ColumnEncoder encoder : encoders.values()) {
+                encoder.finish(rowCount);
+            }
+            Column[] columns = Column.values();
+            long offset = ColumnarFormat.HEADER_SIZE + (long) columns.length * ColumnarFormat.DIRECTORY_ENTRY_SIZE;
+            ByteBuffer header = ByteBuffer.allocate((int) offset);
+            header.putInt(ColumnarFormat.MAGIC).putShort(ColumnarFormat.VERSION)
+                    .putInt(rowCount).putInt(columns.length);
+            for (Column column : columns) {
+                long length = encoders.get(column).length();
+                header.put((byte) column.getId()).put((byte) column.getType().ordinal())
+                        .putLong(offset).putLong(length);
+                offset += length;
+            }
+            header.flip();
+            writeFully(out, header);
+            for (Column column : columns) {
+                encoders.get(column).transferTo(out);
+            }
+            out.force(false);
+        } catch (IOException e) {
+            throw failure("Failed to assemble columnar file", e);
+        } finally {
+            deleteTempFiles();
+        }
+    }
+    
+    private StringEncoder string(Column column) {
+        return (StringEncoder) encoders.get(column);
+    }
+    
+    private VarintEncoder varint(Column column) {
+        return (VarintEncoder) encoders.get(column);
+    }
+    
+    private void deleteTempFiles() {
+        for (ColumnEncoder encoder : encoders.values()) {
+            encoder.discard();
+        }
+    }
+    
+    private FileExportException failure(String message, IOException cause) {
+        return new FileExportException(message + ": " + cause.getMessage(),
+                target.toString(), ColumnarFormat.FORMAT_NAME, cause);
+    }
+    
+    private static void writeFully(FileChannel out, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+    
+    private static void writeBitmap(FileChannel out, BitSet bitmap, int rowCount) throws IOException {
+        byte[] bytes = new byte[ColumnarFormat.bitmapSize(rowCount)];
+        byte[] set = bitmap.toByteArray();
+        System.arraycopy(set, 0, bytes, 0, Math.min(set.length, bytes.length));
+        writeFully(out, ByteBuffer.wrap(bytes));
+    }
+    
+    /**
+     * 临时列文件
+     */
+    private static final class Spool {
+        private final Path path;
+        private final DataOutputStream out;
+        private long size;
+        
+        private Spool(Path dir) throws IOException {
+            this.path = Files.createTempFile(dir, ".ytvc-", ".col");
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16));
+        }
+        
+        private void writeLong(long value) throws IOException {
+            out.writeLong(value);
+            size += Long.BYTES;
+        }
+        
+        private void writeInt(int value) throws IOException {
+            out.writeInt(value);
+            size += Integer.BYTES;
+        }
+        
+        private void write(byte[] bytes) throws IOException {
+            out.write(bytes);
+            size += bytes.length;
+        }
+        
+        private void writeVarint(long value) throws IOException {
+            while ((value & ~0x7FL) != 0) {
+                out.writeByte((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+                size++;
+            }
+            out.writeByte((int) value);
+            size++;
+        }
+        
+        private void transferTo(FileChannel target) throws IOException {
+            out.flush();
+            try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+                long position = 0;
+                while (position < size) {
+                    position += in.transferTo(position, size - position, target);
+                }
+            }
+        }
+        
+        private void discard() {
+            try {
+                out.close();
+            } catch (IOException ignored) {
+                // 临时文件即将删除
+            }
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException ignored) {
+                // 尽力删除
+            }
+        }
+    }
+    
+    /**
+     * 单列编码器
+     */
+    private abstract static class ColumnEncoder {
+        protected final BitSet present = new BitSet();
+        protected final List<Spool> spools = new ArrayList<>();
+        protected int rows;
+        
+        protected Spool spool(Path dir) throws IOException {
+            Spool spool = new Spool(dir);
+            spools.add(spool);
+            return spool;
+        }
+        
+        abstract void finish(int rowCount) throws IOException;
+        
+        abstract long bodyLength();
+        
+        abstract void writeBodyPrefix(FileChannel out) throws IOException;
+        
+        long length() {
+            return ColumnarFormat.bitmapSize(rows) + bodyLength();
+        }
+        
+        void transferTo(FileChannel out) throws IOException {
+            writeBitmap(out, present, rows);
+            writeBodyPrefix(out);
+            for (Spool spool : spools) {
+                spool.transferTo(out);
+            }
+        }
+        
+        void discard() {
+            for (Spool spool : spools) {
+                spool.discard();
+            }
+        }
+    }
+    
+    /**
+     * 字符串堆编码器
+     */
+    private static final class StringEncoder extends ColumnEncoder {
+        private final Spool offsets;
+        private final Spool data;
+        
+        private StringEncoder(Path dir) throws IOException {
+            this.offsets = spool(dir);
+            this.data = spool(dir);
+            offsets.writeLong(0);
+        }
+        
+        void add(int row, String value) throws IOException {
+            if (value != null) {
+                present.set(row);
+                data.write(value.getBytes(StandardCharsets.UTF_8));
+            }
+            offsets.writeLong(data.size);
+            rows = row + 1;
+        }
+        
+        @Override
+        void finish(int rowCount) {
+            rows = rowCount;
+        }
+        
+        @Override
+        long bodyLength() {
+            return offsets.size + data.size;
+        }
+        
+        @Override
+        void writeBodyPrefix(FileChannel out) {
+        }
+    }
+    
+    /**
+     * 字典编码器，适用于低基数的channelId
+     */
+    private static final class DictionaryEncoder extends ColumnEncoder {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<byte[]> dictionary = new ArrayList<>();
+        private final Spool indices;
+        private ByteBuffer prefix;
+        
+        private DictionaryEncoder(Path dir) throws IOException {
+            this.indices = spool(dir);
+        }
+        
+        void add(int row, String value) throws IOException {
+            int index = -1;
+            if (value != null) {
+                present.set(row);
+                index = ids.computeIfAbsent(value, key -> {
+                    dictionary.add(key.getBytes(StandardCharsets.UTF_8));
+                    return dictionary.size() - 1;
+                });
+            }
+            indices.writeInt(index);
+            rows = row + 1;
+        }
+        
+        @Override
+        void finish(int rowCount) {
+            rows = rowCount;
+            int bytes = 0;
+            for (byte[] entry : dictionary) {
+                bytes += entry.length;
+            }
+            prefix = ByteBuffer.allocate(Integer.BYTES * (dictionary.size() + 2) + bytes);
+            prefix.putInt(dictionary.size());
+            int offset = 0;
+            prefix.putInt(offset);
+            for (byte[] entry : dictionary) {
+                offset += entry.length;
+                prefix.putInt(offset);
+            }
+            for (byte[] entry : dictionary) {
+                prefix.put(entry);
+            }
+            prefix.flip();
+        }
+        
+        @Override
+        long bodyLength() {
+            return prefix.remaining() + indices.size;
+        }
+        
+        @Override
+        void writeBodyPrefix(FileChannel out) throws IOException {
+            writeFully(out, prefix);
+        }
+    }
+    
+    /**
+     * 变长整数编码器，可选差值编码
+     */
+    private static final class VarintEncoder extends ColumnEncoder {
+        private final boolean delta;
+        private final Spool data;
+        private long[] blockOffsets = new long[16];
+        private long[] blockBases = new long[16];
+        private int blockCount;
+        private long previous;
+        
+        private VarintEncoder(Path dir, boolean delta) throws IOException {
+            this.delta = delta;
+            this.data = spool(dir);
+        }
+        
+        void add(int row, Long value) throws IOException {
+            if (row % ColumnarFormat.BLOCK_SIZE == 0) {
+                if (blockCount == blockOffsets.length) {
+                    blockOffsets = Arrays.copyOf(blockOffsets, blockCount * 2);
+                    blockBases = Arrays.copyOf(blockBases, blockCount * 2);
+                }
+                blockOffsets[blockCount] = data.size;
+                blockBases[blockCount] = previous;
+                blockCount++;
+            }
+            if (value != null) {
+                present.set(row);
+                long v = value;
+                if (delta) {
+                    data.writeVarint(ColumnarFormat.zigzag(v - previous));
+                    previous = v;
+                } else {
+                    data.writeVarint(v);
+                }
+            }
+            rows = row + 1;
+        }
+        
+        @Override
+        void finish(int rowCount) {
+            rows = rowCount;
+        }
+        
+        @Override
+        long bodyLength() {
+            return Integer.BYTES + (long) blockCount * Long.BYTES * 2 + data.size;
+        }
+        
+        @Override
+        void writeBodyPrefix(FileChannel out) throws IOException {
+            ByteBuffer prefix = ByteBuffer.allocate(Integer.BYTES + blockCount * Long.BYTES * 2);
+            prefix.putInt(blockCount);
+            for (int i = 0; i < blockCount; i++) {
+                prefix.putLong(blockOffsets[i]);
+            }
+            for (int i = 0; i < blockCount; i++) {
+                prefix.putLong(blockBases[i]);
+            }
+            prefix.flip();
+            writeFully(out, prefix);
+        }
+    }
+}
\ No newline at end of file
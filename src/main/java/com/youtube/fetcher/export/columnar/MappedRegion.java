@@ -0,0 +1,88 @@
+package com.youtube.fetcher.export.columnar;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * 文件的内存映射区域
+ * 单个MappedByteBuffer最大2GB，超过时按1GB分段映射，并以long偏移访问
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+final class MappedRegion {
+    
+    private static final int SEGMENT_BITS = 30;
+    private static final long SEGMENT_SIZE = 1L << SEGMENT_BITS;
+    private static final long SEGMENT_MASK = SEGMENT_SIZE - 1;
+    
+    private final MappedByteBuffer[] segments;
+    private final long length;
+    
+    private MappedRegion(MappedByteBuffer[] segments, long length) {
+        this.segments = segments;
+        this.length = length;
+    }
+    
+    static MappedRegion map(FileChannel channel, long offset, long length) throws IOException {
+        int count = (int) ((length + SEGMENT_SIZE - 1) >>> SEGMENT_BITS);
+        MappedByteBuffer[] segments = new MappedByteBuffer[Math.max(count, 1)];
+        for (int i = 0; i < segments.length; i++) {
+            long start = (long) i << SEGMENT_BITS;
+            long size = Math.min(SEGMENT_SIZE, length - start);
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset + start, Math.max(size, 0));
+        }
+        return new MappedRegion(segments, length);
+    }
+    
+    long length() {
+        return length;
+    }
+    
+    byte get(long pos) {
+        return segments[(int) (pos >>> SEGMENT_BITS)].get((int) (pos & SEGMENT_MASK));
+    }
+    
+    int getInt(long pos) {
+        int index = (int) (pos & SEGMENT_MASK);
+        if (index <= SEGMENT_SIZE - Integer.BYTES) {
+            return segments[(int) (pos >>> SEGMENT_BITS)].getInt(index);
+        }
+        int value = 0;
+        for (int i = 0; i < Integer.BYTES; i++) {
+            value = (value << 8) | (get(pos + i) & 0xFF);
+        }
+        return value;
+    }
+    
+    long getLong(long pos) {
+        int index = (int) (pos & SEGMENT_MASK);
+        if (index <= SEGMENT_SIZE - Long.BYTES) {
+            return segments[(int) (pos >>> SEGMENT_BITS)].getLong(index);
+        }
+        long value = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            value = (value << 8) | (get(pos + i) & 0xFF);
+        }
+        return value;
+    }
+    
+    void get(long pos, byte[] dst, int off, int len) {
+        while (len > 0) {
+            ByteBuffer segment = segments[(int) (pos >>> SEGMENT_BITS)].duplicate();
+            int index = (int) (pos & SEGMENT_MASK);
+            int chunk = Math.min(len, segment.limit() - index);
+            segment.position(index);
+            segment.get(dst, off, chunk);
+            pos += chunk;
+            off += chunk;
+            len -= chunk;
+        }
+    }
+    
+    boolean isBitSet(long bitmapOffset, int row) {
+        return (get(bitmapOffset + (row >>> 3)) & (1 << (row & 7))) != 0;
+    }
+}
\ No newline at end of file
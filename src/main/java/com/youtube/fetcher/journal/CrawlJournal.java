@@ -0,0 +1,758 @@
+package com.youtube.fetcher.journal;
+
+import com.youtube.fetcher.exception.FileExportException;
+import com.youtube.fetcher.model.ChannelInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * 抓取任务的预写日志（WAL）
+ * 以追加方式记录频道任务的开始、每个已完成页面的下一页令牌与导出位置、完成和失败，
+ * 进程崩溃后重新打开即可恢复每个频道的续传位置和导出文件的有效长度。
+ * 
+ * <p>写入分两步：{@code append*} 方法只把记录编码进内存缓冲区并返回序号，
+ * {@link #sync(long)} 等待该序号落盘。同时等待的线程中由一个线程（leader）写出缓冲区
+ * 并调用一次 {@code fsync}，其余线程在其完成后一并返回；fsync期间新追加的记录进入另一个缓冲区，
+ * 由下一轮提交。这样每秒上千页时fsync次数只取决于磁盘延迟，而不是页面数。</p>
+ * 
+ * <p>文件格式：8字节文件头（魔数"YTWL"、版本），随后是记录序列，
+ * 每条记录为 长度(int) + CRC32C(int) + 类型(byte) + 内容。重放时遇到不完整或校验失败的尾部记录
+ * 即停止，并把文件截断到最后一条完整记录。</p>
+ * 
+ * <p>日志超过压缩阈值时，以每个任务的当前状态重写为新文件，通过原子重命名替换旧日志。
+ * 所有方法线程安全；写入失败后日志进入失败状态，后续操作都会抛出异常。</p>
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public final class CrawlJournal implements AutoCloseable {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CrawlJournal.class);
+    
+    /**
+     * 默认压缩阈值（字节）
+     */
+    public static final long DEFAULT_COMPACT_THRESHOLD = 16L * 1024 * 1024;
+    
+    private static final String FORMAT = "wal";
+    private static final int MAGIC = 0x5954574C; // "YTWL"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 8;
+    private static final int RECORD_HEADER_BYTES = 8;
+    private static final int MAX_RECORD_BYTES = 1 << 20;
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+    
+    private static final byte JOB_STARTED = 1;
+    private static final byte PAGE_COMPLETED = 2;
+    private static final byte JOB_COMPLETED = 3;
+    private static final byte JOB_FAILED = 4;
+    
+    private final Path file;
+    private final long compactThreshold;
+    private final Map<String, JobState> jobs = new LinkedHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushed = lock.newCondition();
+    
+    private FileChannel channel;
+    private ByteBuffer pending = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private ByteBuffer spare = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private final CRC32C crc = new CRC32C();
+    private int recordStart;
+    private long appendedSeq;
+    private long durableSeq;
+    private boolean flushing;
+    private boolean closed;
+    private FileExportException failure;
+    private long exportedBytes;
+    private long exportedRecords;
+    private long syncCount;
+    private long compactions;
+    private long compactAt;
+    
+    private CrawlJournal(Path file, long compactThreshold) {
+        this.file = file;
+        this.compactThreshold = compactThreshold;
+        this.compactAt = compactThreshold;
+    }
+    
+    /**
+     * 打开日志文件并重放，不存在时创建
+     * @param file 日志文件路径
+     * @return 日志
+     * @throws FileExportException 文件无法创建或不是日志文件时抛出
+     */
+    public static CrawlJournal open(Path file) throws FileExportException {
+        return open(file, DEFAULT_COMPACT_THRESHOLD);
+    }
+    
+    /**
+     * 打开日志文件并重放，不存在时创建
+     * @param file 日志文件路径
+     * @param compactThreshold 日志超过该字节数时在提交后压缩
+     * @return 日志
+     * @throws FileExportException 文件无法创建或不是日志文件时抛出
+     */
+    public static CrawlJournal open(Path file, long compactThreshold) throws FileExportException {
+        if (compactThreshold <= 0) {
+            throw new IllegalArgumentException("compactThreshold must be > 0: " + compactThreshold);
+        }
+        CrawlJournal journal = new CrawlJournal(file, compactThreshold);
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            // 压缩中途崩溃留下的临时文件，原日志仍然完整
+            Files.deleteIfExists(journal.tempFile());
+            if (!Files.exists(file) || Files.size(file) == 0) {
+                journal.writeSnapshot(file);
+            }
+            long validLength = journal.replay();
+            journal.channel = FileChannel.open(file, StandardOpenOption.WRITE);
+            if (journal.channel.size() > validLength) {
+                logger.warn("Truncating torn tail of {}: {} -> {} bytes", file, journal.channel.size(), validLength);
+                journal.channel.truncate(validLength);
+                journal.channel.force(false);
+            }
+            journal.channel.position(validLength);
+        } catch (IOException e) {
+            journal.closeQuietly();
+            throw new FileExportException("Failed to open crawl journal: " + e.getMessage(), file.toString(), FORMAT, e);
+        }
+        logger.debug("Opened crawl journal {}: {} jobs, exported {} records / {} bytes",
+                file, journal.jobs.size(), journal.exportedRecords, journal.exportedBytes);
+        return journal;
+    }
+    
+    /**
+     * 记录频道任务开始，已存在的任务不会重复记录
+     * @param channelId 频道ID
+     * @param playlistId 上传播放列表ID
+     * @return 记录序号，传给 {@link #sync(long)} 等待落盘
+     * @throws FileExportException 日志已关闭或写入失败过时抛出
+     */
+    public long appendJobStarted(String channelId, String playlistId) throws FileExportException {
+        lock.lock();
+        try {
+            checkWritable();
+            JobState job = jobs.get(channelId);
+            if (job != null && job.getStatus() != JobState.Status.FAILED) {
+                return appendedSeq;
+            }
+            if (job == null) {
+                job = JobState.started(channelId, playlistId);
+            } else {
+                job = job.withStatus(JobState.Status.RUNNING, null);
+            }
+            jobs.put(channelId, job);
+            beginRecord(JOB_STARTED);
+            putString(channelId);
+            putString(playlistId);
+            return endRecord();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * 记录频道的一页已获取并导出
+     * @param channelId 频道ID
+     * @param nextPageToken 该页的下一页令牌，最后一页为null
+     * @param videoCount 该页视频数
+     * @param exportedBytes 写出该页后导出文件的有效长度
+     * @param exportedRecords 写出该页后导出的总记录数
+     * @return 记录序号，传给 {@link #sync(long)} 等待落盘
+     * @throws FileExportException 日志已关闭或写入失败过时抛出
+     */
+    public long appendPage(String channelId, String nextPageToken, int videoCount,
+                           long exportedBytes, long exportedRecords) throws FileExportException {
+        lock.lock();
+        try {
+            checkWritable();
+            JobState job = jobs.get(channelId);
+            if (job == null) {
+                throw new IllegalStateException("Job not started: " + channelId);
+            }
+            job = job.withPage(nextPageToken, job.getPagesCompleted() + 1, job.getVideosFetched() + videoCount);
+            jobs.put(channelId, job);
+            this.exportedBytes = Math.max(this.exportedBytes, exportedBytes);
+            this.exportedRecords = Math.max(this.exportedRecords, exportedRecords);
+            putPage(job, exportedBytes, exportedRecords);
+            return endRecord();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * 记录频道任务完成
+     * @param channelId 频道ID
+     * @return 记录序号
+     * @throws FileExportException 日志已关闭或写入失败过时抛出
+     */
+    public long appendJobCompleted(String channelId) throws FileExportException {
+        return appendStatus(channelId, JobState.Status.COMPLETED, null);
+    }
+    
+    /**
+     * 记录频道任务失败，续传位置保留为最后确认的页面
+     * @param channelId 频道ID
+     * @param errorCode 错误代码
+     * @return 记录序号
+     * @throws FileExportException 日志已关闭或写入失败过时抛出
+     */
+    public long appendJobFailed(String channelId, String errorCode) throws FileExportException {
+        return appendStatus(channelId, JobState.Status.FAILED, errorCode);
+    }
+    
+    /**
+     * 等待指定序号及之前的所有记录落盘
+     * @param sequence {@code append*} 返回的序号
+     * @throws FileExportException 写入或fsync失败时抛出
+     */
+    public void sync(long sequence) throws FileExportException {
+        lock.lock();
+        try {
+            while (durableSeq < sequence) {
+                if (failure != null) {
+                    throw failure;
+                }
+                if (flushing) {
+                    flushed.awaitUninterruptibly();
+                    continue;
+                }
+                flushPending();
+                if (failure == null && channel.position() > compactAt) {
+                    compactLocked();
+                }
+            }
+        } catch (IOException e) {
+            throw fail("Failed to compact crawl journal", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * 等待目前已追加的所有记录落盘
+     * @throws FileExportException 写入或fsync失败时抛出
+     */
+    public void syncAll() throws FileExportException {
+        long sequence;
+        lock.lock();
+        try {
+            sequence = appendedSeq;
+        } finally {
+            lock.unlock();
+        }
+        sync(sequence);
+    }
+    
+    /**
+     * 立即以当前状态重写日志
+     * @throws FileExportException 写入失败时抛出
+     */
+    public void compact() throws FileExportException {
+        lock.lock();
+        try {
+            checkWritable();
+            while (flushing) {
+                flushed.awaitUninterruptibly();
+            }
+            compactLocked();
+        } catch (IOException e) {
+            throw fail("Failed to compact crawl journal", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * 获取频道任务状态
+     * @param channelId 频道ID
+     * @return 任务状态，未记录过时返回null
+     */
+    public JobState getJob(String channelId) {
+        lock.lock();
+        try {
+            return jobs.get(channelId);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * 获取所有任务状态
+     * @return 按首次记录顺序排列的任务状态
+     */
+    public List<JobState> getJobs() {
+        lock.lock();
+        try {
+            return Collections.unmodifiableList(new ArrayList<>(jobs.values()));
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * 过滤出仍需获取的频道
+     * 已完成的频道被剔除；日志中有上传播放列表ID的频道会补全该字段，续传时无需再次查询
+     * @param channels 本次要抓取的频道
+     * @return 仍需获取的频道
+     */
+    public List<ChannelInfo> pendingChannels(Collection<ChannelInfo> channels) {
+        List<ChannelInfo> pending = new ArrayList<>(channels.size());
+        lock.lock();
+        try {
+            for (ChannelInfo channel : channels) {
+                JobState job = jobs.get(channel.getChannelId());
+                if (job != null && job.isFinished()) {
+                    continue;
+                }
+                if (job != null && job.getPlaylistId() != null && channel.getUploadsPlaylistId() == null) {
+                    channel.setUploadsPlaylistId(job.getPlaylistId());
+                }
+                pending.add(channel);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return pending;
+    }
+    
+    /**
+     * 获取导出文件的有效长度
+     * 续传时应把导出文件截断到该长度后继续写入
+     * @return 最后确认的导出字节数
+     */
+    public long getExportedBytes() {
+        lock.lock();
+        try {
+            return exportedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * @return 最后确认的导出记录数
+     */
+    public long getExportedRecords() {
+        lock.lock();
+        try {
+            return exportedRecords;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * @return 已追加的记录数（含重放的记录）
+     */
+    public long getAppendedRecords() {
+        lock.lock();
+        try {
+            return appendedSeq;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * @return 执行过的fsync次数，与 {@link #getAppendedRecords()} 之比即组提交的平均批量
+     */
+    public long getSyncCount() {
+        lock.lock();
+        try {
+            return syncCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public long getCompactions() {
+        lock.lock();
+        try {
+            return compactions;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public Path getFile() {
+        return file;
+    }
+    
+    /**
+     * 提交所有已追加的记录并关闭文件
+     * @throws FileExportException 提交失败时抛出
+     */
+    @Override
+    public void close() throws FileExportException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            if (failure == null) {
+                sync(appendedSeq);
+            }
+            closed = true;
+            closeQuietly();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private long appendStatus(String channelId, JobState.Status status, String errorCode) throws FileExportException {
+        lock.lock();
+        try {
+            checkWritable();
+            JobState job = jobs.get(channelId);
+            if (job == null) {
+                throw new IllegalStateException("Job not started: " + channelId);
+            }
+            jobs.put(channelId, job.withStatus(status, errorCode));
+            if (status == JobState.Status.COMPLETED) {
+                beginRecord(JOB_COMPLETED);
+                putString(channelId);
+            } else {
+                beginRecord(JOB_FAILED);
+                putString(channelId);
+                putString(errorCode);
+            }
+            return endRecord();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * 由leader线程调用：交换缓冲区后释放锁写出并fsync，期间其他线程可继续追加
+     */
+    private void flushPending() {
+        flushing = true;
+        long target = appendedSeq;
+        ByteBuffer batch = pending;
+        pending = spare;
+        spare = batch;
+        lock.unlock();
+        IOException error = null;
+        try {
+            batch.flip();
+            while (batch.hasRemaining()) {
+                channel.write(batch);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            error = e;
+        } finally {
+            batch.clear();
+            lock.lock();
+        }
+        flushing = false;
+        if (error != null) {
+            fail("Failed to sync crawl journal", error);
+        } else {
+            durableSeq = target;
+            syncCount++;
+        }
+        flushed.signalAll();
+    }
+    
+    /**
+     * 持有锁且没有进行中的刷写时调用
+     * 先刷写缓冲区中的记录再写快照；刷写期间新追加的记录留在缓冲区，之后写入新文件。
+     * 记录携带的都是绝对状态（累计页数、导出位置），在包含它们的快照之后重放不会改变结果。
+     */
+    private void compactLocked() throws IOException, FileExportException {
+        if (pending.position() > 0) {
+            flushPending();
+            if (failure != null) {
+                throw failure;
+            }
+        }
+        Path tmp = tempFile();
+        long before = channel.position();
+        writeSnapshot(tmp);
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        forceDirectory();
+        channel.close();
+        channel = FileChannel.open(file, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        // 快照本身接近阈值时避免每次提交都压缩
+        compactAt = Math.max(compactThreshold, channel.position() * 2);
+        compactions++;
+        logger.debug("Compacted crawl journal {}: {} -> {} bytes, {} jobs", file, before, channel.position(), jobs.size());
+    }
+    
+    private Path tempFile() {
+        return file.resolveSibling(file.getFileName() + ".tmp");
+    }
+    
+    /**
+     * 以当前状态写出完整的日志文件并落盘
+     */
+    private void writeSnapshot(Path target) throws IOException {
+        ByteBuffer saved = pending;
+        pending = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ensureCapacity(HEADER_BYTES);
+            pending.putInt(MAGIC).putInt(VERSION);
+            for (JobState job : jobs.values()) {
+                beginRecord(JOB_STARTED);
+                putString(job.getChannelId());
+                putString(job.getPlaylistId());
+                encodeRecord();
+                if (job.getPagesCompleted() > 0) {
+                    putPage(job, exportedBytes, exportedRecords);
+                    encodeRecord();
+                }
+                if (job.getStatus() == JobState.Status.COMPLETED) {
+                    beginRecord(JOB_COMPLETED);
+                    putString(job.getChannelId());
+                    encodeRecord();
+                } else if (job.getStatus() == JobState.Status.FAILED) {
+                    beginRecord(JOB_FAILED);
+                    putString(job.getChannelId());
+                    putString(job.getErrorCode());
+                    encodeRecord();
+                }
+            }
+            pending.flip();
+            while (pending.hasRemaining()) {
+                out.write(pending);
+            }
+            out.force(true);
+        } finally {
+            pending = saved;
+        }
+    }
+    
+    /**
+     * 重放日志，返回最后一条完整记录之后的位置
+     */
+    private long replay() throws IOException {
+        try (InputStream raw = Channels.newInputStream(FileChannel.open(file, StandardOpenOption.READ));
+             DataInputStream in = new DataInputStream(new BufferedInputStream(raw, INITIAL_BUFFER_SIZE))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a crawl journal: " + file);
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported crawl journal version: " + version);
+            }
+            long position = HEADER_BYTES;
+            byte[] record = new byte[256];
+            while (true) {
+                int length;
+                int checksum;
+                try {
+                    length = in.readInt();
+                    checksum = in.readInt();
+                } catch (EOFException e) {
+                    return position;
+                }
+                if (length <= 0 || length > MAX_RECORD_BYTES) {
+                    return position;
+                }
+                if (record.length < length) {
+                    record = new byte[Math.max(length, record.length * 2)];
+                }
+                try {
+                    in.readFully(record, 0, length);
+                } catch (EOFException e) {
+                    return position;
+                }
+                crc.reset();
+                crc.update(record, 0, length);
+                if ((int) crc.getValue() != checksum) {
+                    return position;
+                }
+                apply(ByteBuffer.wrap(record, 0, length));
+                appendedSeq++;
+                position += RECORD_HEADER_BYTES + length;
+            }
+        } finally {
+            durableSeq = appendedSeq;
+        }
+    }
+    
+    private void apply(ByteBuffer record) {
+        byte type = record.get();
+        String channelId = getString(record);
+        JobState job = jobs.get(channelId);
+        switch (type) {
+            case JOB_STARTED:
+                String playlistId = getString(record);
+                jobs.put(channelId, job == null ? JobState.started(channelId, playlistId)
+                        : job.withStatus(JobState.Status.RUNNING, null));
+                break;
+            case PAGE_COMPLETED:
+                String nextPageToken = getString(record);
+                int pages = record.getInt();
+                long videos = record.getLong();
+                exportedBytes = Math.max(exportedBytes, record.getLong());
+                exportedRecords = Math.max(exportedRecords, record.getLong());
+                if (job != null) {
+                    jobs.put(channelId, job.withPage(nextPageToken, pages, videos));
+                }
+                break;
+            case JOB_COMPLETED:
+                if (job != null) {
+                    jobs.put(channelId, job.withStatus(JobState.Status.COMPLETED, null));
+                }
+                break;
+            case JOB_FAILED:
+                String errorCode = getString(record);
+                if (job != null) {
+                    jobs.put(channelId, job.withStatus(JobState.Status.FAILED, errorCode));
+                }
+                break;
+            default:
+                logger.warn("Skipping unknown crawl journal record type {}", type);
+                break;
+        }
+    }
+    
+    private void putPage(JobState job, long exportedBytes, long exportedRecords) {
+        beginRecord(PAGE_COMPLETED);
+        putString(job.getChannelId());
+        putString(job.getNextPageToken());
+        ensureCapacity(Integer.BYTES + 3 * Long.BYTES);
+        pending.putInt(job.getPagesCompleted())
+                .putLong(job.getVideosFetched())
+                .putLong(exportedBytes)
+                .putLong(exportedRecords);
+    }
+    
+    /**
+     * 预留记录头并写入类型，内容随后直接编码进缓冲区
+     */
+    private void beginRecord(byte type) {
+        ensureCapacity(RECORD_HEADER_BYTES + 1);
+        recordStart = pending.position();
+        pending.position(recordStart + RECORD_HEADER_BYTES);
+        pending.put(type);
+    }
+    
+    private long endRecord() {
+        encodeRecord();
+        return ++appendedSeq;
+    }
+    
+    /**
+     * 回填记录头中的长度和校验和
+     */
+    private void encodeRecord() {
+        int bodyStart = recordStart + RECORD_HEADER_BYTES;
+        int length = pending.position() - bodyStart;
+        crc.reset();
+        crc.update(pending.array(), bodyStart, length);
+        pending.putInt(recordStart, length);
+        pending.putInt(recordStart + Integer.BYTES, (int) crc.getValue());
+    }
+    
+    /**
+     * 写入带长度前缀的UTF-8字符串，null编码为长度-1
+     */
+    private void putString(String value) {
+        if (value == null) {
+            ensureCapacity(Short.BYTES);
+            pending.putShort((short) -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Journal string too long: " + bytes.length + " bytes");
+        }
+        ensureCapacity(Short.BYTES + bytes.length);
+        pending.putShort((short) bytes.length).put(bytes);
+    }
+    
+    private static String getString(ByteBuffer record) {
+        int length = record.getShort();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(record.array(), record.arrayOffset() + record.position(), length, StandardCharsets.UTF_8);
+        record.position(record.position() + length);
+        return value;
+    }
+    
+    private void ensureCapacity(int bytes) {
+        if (pending.remaining() >= bytes) {
+            return;
+        }
+        ByteBuffer grown = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + bytes));
+        pending.flip();
+        grown.put(pending);
+        pending = grown;
+    }
+    
+    private void checkWritable() throws FileExportException {
+        if (failure != null) {
+            throw failure;
+        }
+        if (closed) {
+            throw new FileExportException("Crawl journal is closed", file.toString(), FORMAT);
+        }
+    }
+    
+    private FileExportException fail(String message, IOException cause) {
+        if (failure == null) {
+            failure = new FileExportException(message + ": " + cause.getMessage(), file.toString(), FORMAT, cause);
+            logger.error("{} {}", message, file, cause);
+        }
+        return failure;
+    }
+    
+    /**
+     * 重命名后对目录fsync，使新的目录项落盘；部分平台不支持打开目录，忽略即可
+     */
+    private void forceDirectory() {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent == null) {
+            return;
+        }
+        try (FileChannel directory = FileChannel.open(parent, StandardOpenOption.READ)) {
+            directory.force(true);
+        } catch (IOException e) {
+            logger.debug("Directory fsync not supported for {}: {}", parent, e.getMessage());
+        }
+    }
+    
+    private void closeQuietly() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close crawl journal {}", file, e);
+            }
+        }
+    }
+}
\ No newline at end of file
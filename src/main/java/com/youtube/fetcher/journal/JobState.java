@@ -0,0 +1,116 @@
+package com.youtube.fetcher.journal;
+
+/**
+ * 单个频道抓取任务的进度快照
+ * 由 {@link CrawlJournal} 在追加记录和重放日志时生成，不可变
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public final class JobState {
+    
+    /**
+     * 任务状态
+     */
+    public enum Status {
+        /**
+         * 已开始，尚未获取完所有页面
+         */
+        RUNNING,
+        /**
+         * 所有页面已获取并导出
+         */
+        COMPLETED,
+        /**
+         * 最近一次获取失败，下次运行从最后确认的页面继续
+         */
+        FAILED
+    }
+    
+    private final String channelId;
+    private final String playlistId;
+    private final Status status;
+    private final String nextPageToken;
+    private final int pagesCompleted;
+    private final long videosFetched;
+    private final String errorCode;
+    
+    JobState(String channelId, String playlistId, Status status, String nextPageToken,
+             int pagesCompleted, long videosFetched, String errorCode) {
+        this.channelId = channelId;
+        this.playlistId = playlistId;
+        this.status = status;
+        this.nextPageToken = nextPageToken;
+        this.pagesCompleted = pagesCompleted;
+        this.videosFetched = videosFetched;
+        this.errorCode = errorCode;
+    }
+    
+    static JobState started(String channelId, String playlistId) {
+        return new JobState(channelId, playlistId, Status.RUNNING, null, 0, 0, null);
+    }
+    
+    JobState withPage(String nextPageToken, int pagesCompleted, long videosFetched) {
+        return new JobState(channelId, playlistId, Status.RUNNING, nextPageToken, pagesCompleted, videosFetched, null);
+    }
+    
+    JobState withStatus(Status status, String errorCode) {
+        return new JobState(channelId, playlistId, status, nextPageToken, pagesCompleted, videosFetched, errorCode);
+    }
+    
+    public String getChannelId() {
+        return channelId;
+    }
+    
+    public String getPlaylistId() {
+        return playlistId;
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    /**
+     * 获取续传的页面令牌
+     * @return 最后确认页面的下一页令牌，尚未完成任何页面或已到最后一页时为null
+     */
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+    
+    public int getPagesCompleted() {
+        return pagesCompleted;
+    }
+    
+    public long getVideosFetched() {
+        return videosFetched;
+    }
+    
+    /**
+     * 获取最近一次失败的错误代码
+     * @return 错误代码，状态不是FAILED时为null
+     */
+    public String getErrorCode() {
+        return errorCode;
+    }
+    
+    /**
+     * 判断任务是否无需再获取
+     * 已标记完成，或最后确认的页面已没有下一页（完成记录在崩溃前未落盘）
+     * @return 无需再获取时返回true
+     */
+    public boolean isFinished() {
+        return status == Status.COMPLETED || (pagesCompleted > 0 && nextPageToken == null);
+    }
+    
+    @Override
+    public String toString() {
+        return "JobState{" +
+                "channelId='" + channelId + '\'' +
+                ", status=" + status +
+                ", pagesCompleted=" + pagesCompleted +
+                ", videosFetched=" + videosFetched +
+                ", nextPageToken='" + nextPageToken + '\'' +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,137 @@
+package com.youtube.fetcher.journal;
+
+import com.youtube.fetcher.exception.FileExportException;
+import com.youtube.fetcher.exception.YouTubeApiException;
+import com.youtube.fetcher.export.StreamingExporter;
+import com.youtube.fetcher.model.ApiResponse;
+import com.youtube.fetcher.model.ChannelInfo;
+import com.youtube.fetcher.model.VideoData;
+import com.youtube.fetcher.service.ChannelPageListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 把页面写入导出器并记录到 {@link CrawlJournal} 的页面监听器
+ * 每页先写入导出器并刷出，再在同一把锁内追加页面记录，保证日志中的导出位置与页面顺序一致；
+ * 随后在锁外等待组提交落盘，多个频道线程的fsync合并为一次。
+ * 
+ * <p>续传时配合 {@link CrawlJournal#pendingChannels} 跳过已完成的频道，导出器以
+ * {@link CrawlJournal#getExportedBytes()} 作为续写位置打开，未确认的页面会被截掉并重新获取，
+ * 因此不会重复导出。</p>
+ * 
+ * <p>导出失败后不再写入任何页面，也不会把频道标记为失败，以便下次运行从最后确认的位置继续；
+ * 调用方在抓取结束后通过 {@link #checkExport()} 获取导出异常。</p>
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public class JournalingPageListener implements ChannelPageListener {
+    
+    private static final Logger logger = LoggerFactory.getLogger(JournalingPageListener.class);
+    
+    private final CrawlJournal journal;
+    private final StreamingExporter exporter;
+    private long exportedRecords;
+    private volatile FileExportException exportFailure;
+    
+    /**
+     * 构造函数
+     * @param journal 抓取日志
+     * @param exporter 导出器，应以 {@link CrawlJournal#getExportedBytes()} 为续写位置打开
+     */
+    public JournalingPageListener(CrawlJournal journal, StreamingExporter exporter) {
+        this.journal = journal;
+        this.exporter = exporter;
+        this.exportedRecords = journal.getExportedRecords();
+    }
+    
+    @Override
+    public String resumePageToken(ChannelInfo channel) {
+        if (exportFailure != null) {
+            throw new IllegalStateException("Export already failed", exportFailure);
+        }
+        JobState job = journal.getJob(channel.getChannelId());
+        try {
+            journal.appendJobStarted(channel.getChannelId(), channel.getUploadsPlaylistId());
+        } catch (FileExportException e) {
+            throw failed(e);
+        }
+        if (job != null && job.getNextPageToken() != null) {
+            logger.debug("Resuming channel {} after {} pages", channel.getChannelId(), job.getPagesCompleted());
+            return job.getNextPageToken();
+        }
+        return null;
+    }
+    
+    @Override
+    public void onPage(ChannelInfo channel, ApiResponse<VideoData> page) {
+        if (exportFailure != null) {
+            throw new IllegalStateException("Export already failed", exportFailure);
+        }
+        int videoCount = page.getData() != null ? page.getData().size() : 0;
+        long sequence;
+        try {
+            synchronized (this) {
+                exporter.writePage(page);
+                exporter.flush();
+                exportedRecords += videoCount;
+                sequence = journal.appendPage(channel.getChannelId(), page.getNextPageToken(), videoCount,
+                        exporter.getBytesWritten(), exportedRecords);
+            }
+            journal.sync(sequence);
+        } catch (FileExportException e) {
+            throw failed(e);
+        }
+    }
+    
+    @Override
+    public void onChannelComplete(ChannelInfo channel) {
+        try {
+            journal.sync(journal.appendJobCompleted(channel.getChannelId()));
+        } catch (FileExportException e) {
+            failed(e);
+        }
+    }
+    
+    @Override
+    public void onChannelFailed(ChannelInfo channel, YouTubeApiException error) {
+        if (exportFailure != null || journal.getJob(channel.getChannelId()) == null) {
+            return;
+        }
+        try {
+            journal.sync(journal.appendJobFailed(channel.getChannelId(), error.getErrorCode()));
+        } catch (FileExportException e) {
+            failed(e);
+        }
+    }
+    
+    /**
+     * 检查抓取过程中是否发生过导出或日志写入失败
+     * @throws FileExportException 发生过失败时抛出第一次失败的异常
+     */
+    public void checkExport() throws FileExportException {
+        if (exportFailure != null) {
+            throw exportFailure;
+        }
+    }
+    
+    /**
+     * @return 已确认导出的总记录数（含之前运行导出的记录）
+     */
+    public synchronized long getExportedRecords() {
+        return exportedRecords;
+    }
+    
+    /**
+     * 记录第一次失败，并以非受检异常中止当前频道
+     */
+    private IllegalStateException failed(FileExportException e) {
+        synchronized (this) {
+            if (exportFailure == null) {
+                exportFailure = e;
+                logger.error("Export to {} failed, stopping journaled crawl", e.getFilePath(), e);
+            }
+        }
+        return new IllegalStateException("Journaled export failed: " + e.getMessage(), e);
+    }
+}
\ No newline at end of file
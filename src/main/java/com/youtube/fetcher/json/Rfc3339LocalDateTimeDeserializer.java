@@ -0,0 +1,51 @@
+package com.youtube.fetcher.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.youtube.fetcher.util.TimestampUtil;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * RFC 3339时间戳到UTC LocalDateTime的Jackson反序列化器
+ * 直接读取解析器的字符缓冲区交给 {@link TimestampUtil}，不创建中间字符串和格式化器；
+ * 同时接受 yyyy-MM-dd'T'HH:mm:ss'Z'、带毫秒和带时区偏移的形式，以及纪元秒整数。
+ * 不依赖JavaTimeModule。
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public class Rfc3339LocalDateTimeDeserializer extends StdScalarDeserializer<LocalDateTime> {
+    
+    private static final long serialVersionUID = 1L;
+    
+    public Rfc3339LocalDateTimeDeserializer() {
+        super(LocalDateTime.class);
+    }
+    
+    @Override
+    public LocalDateTime deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_STRING) {
+            int length = parser.getTextLength();
+            if (length == 0) {
+                return null;
+            }
+            long epochSecond = TimestampUtil.parseEpochSecond(
+                    parser.getTextCharacters(), parser.getTextOffset(), length);
+            if (epochSecond == TimestampUtil.INVALID) {
+                return (LocalDateTime) context.handleWeirdStringValue(LocalDateTime.class, parser.getText(),
+                        "expected RFC 3339 timestamp such as 2024-01-02T03:04:05Z");
+            }
+            return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+        }
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return LocalDateTime.ofEpochSecond(parser.getLongValue(), 0, ZoneOffset.UTC);
+        }
+        return (LocalDateTime) context.handleUnexpectedToken(LocalDateTime.class, parser);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,675 @@
+package com.youtube.fetcher.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.youtube.fetcher.model.ApiResponse;
+import com.youtube.fetcher.model.ChannelInfo;
+import com.youtube.fetcher.model.VideoData;
+import com.youtube.fetcher.util.TimestampUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * YouTube Data API v3响应的流式读取器
+ * 用 {@link JsonParser} 直接把响应字节映射为 {@link VideoData} / {@link ChannelInfo}
+ * 和 {@link ApiResponse}，不构建JsonNode树，也不经过中间模型对象。
+ * 
+ * <p>未映射的字段（etag、kind、localized等）整体跳过，不创建字符串；时间戳和
+ * 以字符串返回的统计数字直接从解析器的字符缓冲区解析。解析器的字节和字符缓冲区
+ * 由共享的 {@link JsonFactory} 按线程回收，连续读取多页时不会重新分配。</p>
+ * 
+ * <p>字段选择与API语义一致：播放列表条目优先取contentDetails中的videoId和
+ * videoPublishedAt，频道ID优先取videoOwnerChannelId；缩略图依次取high、medium、default。
+ * 实例无状态，可在线程间共享。</p>
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public class YouTubeResponseReader {
+    
+    private static final Logger logger = LoggerFactory.getLogger(YouTubeResponseReader.class);
+    
+    private static final String[] THUMBNAIL_SIZES = {"high", "medium", "default"};
+    
+    private final JsonFactory jsonFactory;
+    
+    /**
+     * 使用默认JsonFactory创建读取器
+     */
+    public YouTubeResponseReader() {
+        this(new JsonFactory());
+    }
+    
+    /**
+     * 使用指定的JsonFactory创建读取器
+     * @param jsonFactory JSON工厂，应在多个读取器之间共享以复用缓冲区
+     */
+    public YouTubeResponseReader(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+    
+    /**
+     * API错误响应体中的错误信息
+     */
+    public static final class ErrorBody {
+        
+        private final String reason;
+        private final String message;
+        
+        ErrorBody(String reason, String message) {
+            this.reason = reason;
+            this.message = message;
+        }
+        
+        /**
+         * @return error.errors[0].reason，如quotaExceeded；缺失时为null
+         */
+        public String getReason() {
+            return reason;
+        }
+        
+        /**
+         * @return error.message；缺失时为null
+         */
+        public String getMessage() {
+            return message;
+        }
+    }
+    
+    /**
+     * 读取playlistItems.list的一页响应
+     * @param input 响应体，读取完毕后关闭
+     * @return 成功响应，包含视频、下一页令牌和分页信息
+     * @throws IOException 读取失败或JSON格式错误时抛出
+     */
+    public ApiResponse<VideoData> readPlaylistItems(InputStream input) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(input)) {
+            return readPlaylistItems(parser);
+        }
+    }
+    
+    /**
+     * 读取playlistItems.list的一页响应
+     * @param body 响应体字节
+     * @return 成功响应，包含视频、下一页令牌和分页信息
+     * @throws IOException JSON格式错误时抛出
+     */
+    public ApiResponse<VideoData> readPlaylistItems(byte[] body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            return readPlaylistItems(parser);
+        }
+    }
+    
+    /**
+     * 读取videos.list响应
+     * @param input 响应体，读取完毕后关闭
+     * @return 带时长和统计数据的视频列表
+     * @throws IOException 读取失败或JSON格式错误时抛出
+     */
+    public List<VideoData> readVideos(InputStream input) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(input)) {
+            return readVideos(parser);
+        }
+    }
+    
+    /**
+     * 读取videos.list响应
+     * @param body 响应体字节
+     * @return 带时长和统计数据的视频列表
+     * @throws IOException JSON格式错误时抛出
+     */
+    public List<VideoData> readVideos(byte[] body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            return readVideos(parser);
+        }
+    }
+    
+    /**
+     * 读取channels.list响应
+     * @param input 响应体，读取完毕后关闭
+     * @return 频道列表，未找到时为空
+     * @throws IOException 读取失败或JSON格式错误时抛出
+     */
+    public List<ChannelInfo> readChannels(InputStream input) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(input)) {
+            return readChannels(parser);
+        }
+    }
+    
+    /**
+     * 读取channels.list响应
+     * @param body 响应体字节
+     * @return 频道列表，未找到时为空
+     * @throws IOException JSON格式错误时抛出
+     */
+    public List<ChannelInfo> readChannels(byte[] body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            return readChannels(parser);
+        }
+    }
+    
+    /**
+     * 读取非2xx响应的错误信息
+     * 响应体不是JSON或结构不符时返回字段为null的结果，不抛出解析异常
+     * @param input 响应体，读取完毕后关闭
+     * @return 错误信息
+     * @throws IOException 读取响应体失败时抛出
+     */
+    public ErrorBody readError(InputStream input) throws IOException {
+        String reason = null;
+        String message = null;
+        try (JsonParser parser = jsonFactory.createParser(input)) {
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                String field;
+                while ((field = parser.nextFieldName()) != null) {
+                    parser.nextToken();
+                    if (!"error".equals(field) || !parser.isExpectedStartObjectToken()) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    String errorField;
+                    while ((errorField = parser.nextFieldName()) != null) {
+                        parser.nextToken();
+                        if ("message".equals(errorField)) {
+                            message = text(parser);
+                        } else if ("errors".equals(errorField) && parser.isExpectedStartArrayToken()) {
+                            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                                String reasonField;
+                                while ((reasonField = parser.nextFieldName()) != null) {
+                                    parser.nextToken();
+                                    if (reason == null && "reason".equals(reasonField)) {
+                                        reason = text(parser);
+                                    } else {
+                                        parser.skipChildren();
+                                    }
+                                }
+                            }
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                }
+            }
+        } catch (JsonProcessingException e) {
+            logger.debug("Unparseable error body: {}", e.getOriginalMessage());
+        }
+        return new ErrorBody(reason, message);
+    }
+    
+    private ApiResponse<VideoData> readPlaylistItems(JsonParser parser) throws IOException {
+        expectObject(parser);
+        List<VideoData> videos = new ArrayList<>();
+        String nextPageToken = null;
+        Integer totalResults = null;
+        Integer resultsPerPage = null;
+        PlaylistItem item = new PlaylistItem();
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            parser.nextToken();
+            switch (field) {
+                case "nextPageToken":
+                    nextPageToken = text(parser);
+                    break;
+                case "pageInfo":
+                    if (!parser.isExpectedStartObjectToken()) {
+                        parser.skipChildren();
+                        break;
+                    }
+                    String pageField;
+                    while ((pageField = parser.nextFieldName()) != null) {
+                        parser.nextToken();
+                        if ("totalResults".equals(pageField)) {
+                            totalResults = intValue(parser);
+                        } else if ("resultsPerPage".equals(pageField)) {
+                            resultsPerPage = intValue(parser);
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                    break;
+                case "items":
+                    if (!parser.isExpectedStartArrayToken()) {
+                        parser.skipChildren();
+                        break;
+                    }
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        item.reset();
+                        readPlaylistItem(parser, item);
+                        if (item.videoId != null || item.resourceVideoId != null) {
+                            videos.add(item.toVideo());
+                        }
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        ApiResponse<VideoData> response = ApiResponse.success(videos, nextPageToken, totalResults);
+        if (resultsPerPage != null) {
+            response.setResultsPerPage(resultsPerPage);
+        }
+        return response;
+    }
+    
+    private void readPlaylistItem(JsonParser parser, PlaylistItem item) throws IOException {
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            JsonToken token = parser.nextToken();
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+            } else if ("snippet".equals(field)) {
+                String snippetField;
+                while ((snippetField = parser.nextFieldName()) != null) {
+                    parser.nextToken();
+                    switch (snippetField) {
+                        case "publishedAt":
+                            item.publishedAt = timestamp(parser);
+                            break;
+                        case "channelId":
+                            item.channelId = text(parser);
+                            break;
+                        case "videoOwnerChannelId":
+                            item.ownerChannelId = text(parser);
+                            break;
+                        case "title":
+                            item.title = text(parser);
+                            break;
+                        case "description":
+                            item.description = text(parser);
+                            break;
+                        case "thumbnails":
+                            item.thumbnailUrl = thumbnail(parser);
+                            break;
+                        case "resourceId":
+                            item.resourceVideoId = nestedText(parser, "videoId");
+                            break;
+                        default:
+                            parser.skipChildren();
+                            break;
+                    }
+                }
+            } else if ("contentDetails".equals(field)) {
+                String detailsField;
+                while ((detailsField = parser.nextFieldName()) != null) {
+                    parser.nextToken();
+                    if ("videoId".equals(detailsField)) {
+                        item.videoId = text(parser);
+                    } else if ("videoPublishedAt".equals(detailsField)) {
+                        item.videoPublishedAt = timestamp(parser);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+    
+    private List<VideoData> readVideos(JsonParser parser) throws IOException {
+        return readItems(parser, this::readVideo);
+    }
+    
+    private List<ChannelInfo> readChannels(JsonParser parser) throws IOException {
+        return readItems(parser, this::readChannel);
+    }
+    
+    /**
+     * 定位顶层items数组并逐条读取，其他顶层字段跳过
+     */
+    private static <T> List<T> readItems(JsonParser parser, ItemReader<T> itemReader) throws IOException {
+        expectObject(parser);
+        List<T> items = new ArrayList<>();
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            parser.nextToken();
+            if (!"items".equals(field) || !parser.isExpectedStartArrayToken()) {
+                parser.skipChildren();
+                continue;
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                items.add(itemReader.read(parser));
+            }
+        }
+        return items;
+    }
+    
+    private VideoData readVideo(JsonParser parser) throws IOException {
+        VideoData video = new VideoData();
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            JsonToken token = parser.nextToken();
+            if ("id".equals(field)) {
+                video.setVideoId(text(parser));
+            } else if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+            } else if ("snippet".equals(field)) {
+                String snippetField;
+                while ((snippetField = parser.nextFieldName()) != null) {
+                    parser.nextToken();
+                    switch (snippetField) {
+                        case "publishedAt":
+                            video.setPublishedAt(timestamp(parser));
+                            break;
+                        case "channelId":
+                            video.setChannelId(text(parser));
+                            break;
+                        case "title":
+                            video.setTitle(text(parser));
+                            break;
+                        case "description":
+                            video.setDescription(text(parser));
+                            break;
+                        case "thumbnails":
+                            video.setThumbnailUrl(thumbnail(parser));
+                            break;
+                        default:
+                            parser.skipChildren();
+                            break;
+                    }
+                }
+            } else if ("contentDetails".equals(field)) {
+                video.setDuration(nestedText(parser, "duration"));
+            } else if ("statistics".equals(field)) {
+                String statisticsField;
+                while ((statisticsField = parser.nextFieldName()) != null) {
+                    parser.nextToken();
+                    switch (statisticsField) {
+                        case "viewCount":
+                            video.setViewCount(longValue(parser));
+                            break;
+                        case "likeCount":
+                            video.setLikeCount(longValue(parser));
+                            break;
+                        case "commentCount":
+                            video.setCommentCount(longValue(parser));
+                            break;
+                        default:
+                            parser.skipChildren();
+                            break;
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return video;
+    }
+    
+    private ChannelInfo readChannel(JsonParser parser) throws IOException {
+        ChannelInfo channel = new ChannelInfo();
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            JsonToken token = parser.nextToken();
+            if ("id".equals(field)) {
+                channel.setChannelId(text(parser));
+            } else if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+            } else if ("snippet".equals(field)) {
+                String snippetField;
+                while ((snippetField = parser.nextFieldName()) != null) {
+                    parser.nextToken();
+                    switch (snippetField) {
+                        case "title":
+                            channel.setChannelName(text(parser));
+                            break;
+                        case "description":
+                            channel.setDescription(text(parser));
+                            break;
+                        case "publishedAt":
+                            channel.setCreatedAt(timestamp(parser));
+                            break;
+                        case "customUrl":
+                            channel.setCustomUrl(text(parser));
+                            break;
+                        case "country":
+                            channel.setCountry(text(parser));
+                            break;
+                        case "defaultLanguage":
+                            channel.setDefaultLanguage(text(parser));
+                            break;
+                        case "thumbnails":
+                            channel.setThumbnailUrl(thumbnail(parser));
+                            break;
+                        default:
+                            parser.skipChildren();
+                            break;
+                    }
+                }
+            } else if ("statistics".equals(field)) {
+                String statisticsField;
+                while ((statisticsField = parser.nextFieldName()) != null) {
+                    parser.nextToken();
+                    switch (statisticsField) {
+                        case "subscriberCount":
+                            channel.setSubscriberCount(longValue(parser));
+                            break;
+                        case "videoCount":
+                            channel.setVideoCount(longValue(parser));
+                            break;
+                        case "viewCount":
+                            channel.setViewCount(longValue(parser));
+                            break;
+                        default:
+                            parser.skipChildren();
+                            break;
+                    }
+                }
+            } else if ("contentDetails".equals(field)) {
+                String detailsField;
+                while ((detailsField = parser.nextFieldName()) != null) {
+                    parser.nextToken();
+                    if ("relatedPlaylists".equals(detailsField) && parser.isExpectedStartObjectToken()) {
+                        channel.setUploadsPlaylistId(nestedText(parser, "uploads"));
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else if ("brandingSettings".equals(field)) {
+                String brandingField;
+                while ((brandingField = parser.nextFieldName()) != null) {
+                    parser.nextToken();
+                    if ("image".equals(brandingField) && parser.isExpectedStartObjectToken()) {
+                        channel.setBannerUrl(nestedText(parser, "bannerExternalUrl"));
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return channel;
+    }
+    
+    /**
+     * 读取thumbnails对象，只为优先级最高的尺寸创建URL字符串
+     */
+    private static String thumbnail(JsonParser parser) throws IOException {
+        if (!parser.isExpectedStartObjectToken()) {
+            parser.skipChildren();
+            return null;
+        }
+        String url = null;
+        int bestRank = THUMBNAIL_SIZES.length;
+        String size;
+        while ((size = parser.nextFieldName()) != null) {
+            parser.nextToken();
+            int rank = rank(size);
+            if (rank < bestRank && parser.isExpectedStartObjectToken()) {
+                String candidate = nestedText(parser, "url");
+                if (candidate != null) {
+                    url = candidate;
+                    bestRank = rank;
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return url;
+    }
+    
+    private static int rank(String size) {
+        for (int i = 0; i < THUMBNAIL_SIZES.length; i++) {
+            if (THUMBNAIL_SIZES[i].equals(size)) {
+                return i;
+            }
+        }
+        return THUMBNAIL_SIZES.length;
+    }
+    
+    /**
+     * 读取当前对象中指定字段的文本，其余字段跳过；当前值不是对象时返回null
+     */
+    private static String nestedText(JsonParser parser, String name) throws IOException {
+        if (!parser.isExpectedStartObjectToken()) {
+            parser.skipChildren();
+            return null;
+        }
+        String value = null;
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            parser.nextToken();
+            if (value == null && name.equals(field)) {
+                value = text(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return value;
+    }
+    
+    /**
+     * 标量值转换为文本，null、对象和数组返回null
+     */
+    private static String text(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == null || !token.isScalarValue() || token == JsonToken.VALUE_NULL) {
+            parser.skipChildren();
+            return null;
+        }
+        return parser.getText();
+    }
+    
+    private static Integer intValue(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        int value = parser.getValueAsInt();
+        parser.skipChildren();
+        return value;
+    }
+    
+    /**
+     * 统计数字在API中以字符串返回，直接从字符缓冲区解析；无法解析时返回null
+     */
+    private static Long longValue(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_STRING) {
+            return parseLong(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+        }
+        if (token == JsonToken.VALUE_NUMBER_INT && parser.getNumberType() != JsonParser.NumberType.BIG_INTEGER) {
+            return parser.getLongValue();
+        }
+        parser.skipChildren();
+        return null;
+    }
+    
+    private static Long parseLong(char[] chars, int offset, int length) {
+        if (length == 0) {
+            return null;
+        }
+        int pos = offset;
+        int end = offset + length;
+        boolean negative = chars[pos] == '-';
+        if (negative || chars[pos] == '+') {
+            if (++pos == end) {
+                return null;
+            }
+        }
+        // 以负数累加，Long.MIN_VALUE也不会溢出
+        long value = 0;
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        for (; pos < end; pos++) {
+            int digit = chars[pos] - '0';
+            if (digit < 0 || digit > 9 || value < (limit + digit) / 10) {
+                return null;
+            }
+            value = value * 10 - digit;
+        }
+        return negative ? value : -value;
+    }
+    
+    private static LocalDateTime timestamp(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.VALUE_STRING) {
+            parser.skipChildren();
+            return null;
+        }
+        long epochSecond = TimestampUtil.parseEpochSecond(
+                parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+        if (epochSecond == TimestampUtil.INVALID) {
+            logger.debug("Unparseable timestamp {}: {}", parser.currentName(), parser.getText());
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+    
+    private static void expectObject(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected JSON object at response root");
+        }
+    }
+    
+    @FunctionalInterface
+    private interface ItemReader<T> {
+        T read(JsonParser parser) throws IOException;
+    }
+    
+    /**
+     * 单个播放列表条目的可复用暂存区
+     * 字段在响应中的顺序不固定，先收集候选值，条目结束后再按优先级组装
+     */
+    private static final class PlaylistItem {
+        String videoId;
+        String resourceVideoId;
+        LocalDateTime videoPublishedAt;
+        LocalDateTime publishedAt;
+        String ownerChannelId;
+        String channelId;
+        String title;
+        String description;
+        String thumbnailUrl;
+        
+        void reset() {
+            videoId = null;
+            resourceVideoId = null;
+            videoPublishedAt = null;
+            publishedAt = null;
+            ownerChannelId = null;
+            channelId = null;
+            title = null;
+            description = null;
+            thumbnailUrl = null;
+        }
+        
+        VideoData toVideo() {
+            VideoData video = new VideoData(videoId != null ? videoId : resourceVideoId, title,
+                    videoPublishedAt != null ? videoPublishedAt : publishedAt);
+            video.setDescription(description);
+            video.setThumbnailUrl(thumbnailUrl);
+            video.setChannelId(ownerChannelId != null ? ownerChannelId : channelId);
+            return video;
+        }
+    }
+}
\ No newline at end of file
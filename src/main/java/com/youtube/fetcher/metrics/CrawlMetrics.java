@@ -0,0 +1,207 @@
+package com.youtube.fetcher.metrics;
+
+import com.youtube.fetcher.cache.CacheStats;
+import com.youtube.fetcher.client.ApiOperation;
+import com.youtube.fetcher.client.QuotaScheduler;
+import com.youtube.fetcher.exception.YouTubeApiException;
+import com.youtube.fetcher.export.StreamingExporter;
+import com.youtube.fetcher.model.ApiResponse;
+import com.youtube.fetcher.model.ChannelInfo;
+import com.youtube.fetcher.model.VideoData;
+import com.youtube.fetcher.service.ChannelPageListener;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 抓取过程的指标注册表
+ * 按阶段记录一次抓取的耗时分布和吞吐量，用于定位瓶颈：
+ * 
+ * <ul>
+ *   <li>请求阶段：每个端点的请求延迟直方图、请求数、错误数、接收字节数、消耗的配额单位，
+ *       由 {@link com.youtube.fetcher.client.HttpYouTubeApiClient} 在每次HTTP请求后记录</li>
+ *   <li>处理阶段：监听器（导出等）处理每页的耗时、页数和视频数，由 {@link #instrument} 包装的监听器记录</li>
+ *   <li>注册的组件：{@link QuotaScheduler} 的重试次数和剩余配额、缓存命中率、导出器写出的字节数，
+ *       只在生成快照时读取，不影响热路径</li>
+ * </ul>
+ * 
+ * <p>记录方法全部无锁（原子计数和 {@link LongAdder}），可从任意线程调用。</p>
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public final class CrawlMetrics {
+    
+    private final long startNanos = System.nanoTime();
+    private final Map<ApiOperation, EndpointRecorder> endpoints = new EnumMap<>(ApiOperation.class);
+    private final Map<String, LongAdder> errorsByCode = new ConcurrentHashMap<>();
+    private final LatencyHistogram pageHandling = new LatencyHistogram();
+    private final LongAdder pages = new LongAdder();
+    private final LongAdder videos = new LongAdder();
+    
+    private final List<QuotaScheduler> schedulers = new CopyOnWriteArrayList<>();
+    private final Map<String, Supplier<CacheStats>> caches = new ConcurrentHashMap<>();
+    private final List<StreamingExporter> exporters = new CopyOnWriteArrayList<>();
+    
+    /**
+     * 构造函数，计时从创建时开始
+     */
+    public CrawlMetrics() {
+        for (ApiOperation operation : ApiOperation.values()) {
+            endpoints.put(operation, new EndpointRecorder());
+        }
+    }
+    
+    /**
+     * 记录一次HTTP请求
+     * @param operation 操作类型
+     * @param nanos 从发出请求到读完响应体的耗时
+     * @param bytesReceived 接收的响应体字节数
+     * @param errorCode 失败时的错误代码，成功时为null
+     */
+    public void recordRequest(ApiOperation operation, long nanos, long bytesReceived, String errorCode) {
+        EndpointRecorder endpoint = endpoints.get(operation);
+        endpoint.latency.record(nanos);
+        endpoint.bytesReceived.add(bytesReceived);
+        if (errorCode != null) {
+            endpoint.errors.increment();
+            errorsByCode.computeIfAbsent(errorCode, code -> new LongAdder()).increment();
+        }
+    }
+    
+    /**
+     * 记录监听器处理完一页
+     * @param videoCount 该页视频数
+     * @param handlingNanos 监听器处理耗时
+     */
+    public void recordPage(int videoCount, long handlingNanos) {
+        pages.increment();
+        videos.add(videoCount);
+        pageHandling.record(handlingNanos);
+    }
+    
+    /**
+     * 注册配额调度器，快照中包含其重试次数和剩余配额
+     * @param scheduler 配额调度器
+     */
+    public void registerQuotaScheduler(QuotaScheduler scheduler) {
+        schedulers.add(Objects.requireNonNull(scheduler, "scheduler"));
+    }
+    
+    /**
+     * 注册缓存统计来源，如 {@code cachingClient::getPageCacheStats}
+     * @param name 缓存名称
+     * @param stats 统计来源
+     */
+    public void registerCache(String name, Supplier<CacheStats> stats) {
+        caches.put(Objects.requireNonNull(name, "name"), Objects.requireNonNull(stats, "stats"));
+    }
+    
+    /**
+     * 注册导出器，快照中包含所有导出器写出的字节数之和
+     * @param exporter 导出器
+     */
+    public void registerExporter(StreamingExporter exporter) {
+        exporters.add(Objects.requireNonNull(exporter, "exporter"));
+    }
+    
+    /**
+     * 包装页面监听器，记录每页的处理耗时、页数和视频数
+     * @param listener 被包装的监听器
+     * @return 记录指标的监听器
+     */
+    public ChannelPageListener instrument(ChannelPageListener listener) {
+        return new InstrumentedListener(listener);
+    }
+    
+    /**
+     * 生成自创建以来的累计快照
+     * @return 指标快照
+     */
+    public MetricsSnapshot snapshot() {
+        Map<ApiOperation, MetricsSnapshot.Endpoint> endpointSnapshots = new EnumMap<>(ApiOperation.class);
+        for (Map.Entry<ApiOperation, EndpointRecorder> entry : endpoints.entrySet()) {
+            ApiOperation operation = entry.getKey();
+            EndpointRecorder recorder = entry.getValue();
+            HistogramSnapshot latency = recorder.latency.snapshot();
+            long retries = 0;
+            for (QuotaScheduler scheduler : schedulers) {
+                retries += scheduler.getRetryCount(operation);
+            }
+            endpointSnapshots.put(operation, new MetricsSnapshot.Endpoint(latency, recorder.errors.sum(),
+                    recorder.bytesReceived.sum(), latency.getCount() * operation.getQuotaCost(), retries));
+        }
+        Map<String, Long> errors = new TreeMap<>();
+        errorsByCode.forEach((code, count) -> errors.put(code, count.sum()));
+        Map<String, CacheStats> cacheStats = new TreeMap<>();
+        caches.forEach((name, stats) -> cacheStats.put(name, stats.get()));
+        long exportBytes = 0;
+        for (StreamingExporter exporter : exporters) {
+            exportBytes += exporter.getBytesWritten();
+        }
+        long quotaRemaining = -1;
+        for (QuotaScheduler scheduler : schedulers) {
+            quotaRemaining = Math.max(0, quotaRemaining) + scheduler.getRemainingToday();
+        }
+        return new MetricsSnapshot(Instant.now(), System.nanoTime() - startNanos, endpointSnapshots,
+                pageHandling.snapshot(), pages.sum(), videos.sum(), errors, cacheStats, exportBytes, quotaRemaining);
+    }
+    
+    /**
+     * 单个端点的记录器
+     */
+    private static final class EndpointRecorder {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder errors = new LongAdder();
+        final LongAdder bytesReceived = new LongAdder();
+    }
+    
+    /**
+     * 记录处理耗时的监听器包装
+     */
+    private final class InstrumentedListener implements ChannelPageListener {
+        private final ChannelPageListener delegate;
+        
+        InstrumentedListener(ChannelPageListener delegate) {
+            this.delegate = Objects.requireNonNull(delegate, "listener");
+        }
+        
+        @Override
+        public String resumePageToken(ChannelInfo channel) {
+            return delegate.resumePageToken(channel);
+        }
+        
+        @Override
+        public void onPage(ChannelInfo channel, ApiResponse<VideoData> page) {
+            long start = System.nanoTime();
+            try {
+                delegate.onPage(channel, page);
+            } finally {
+                recordPage(page.getDataSize(), System.nanoTime() - start);
+            }
+        }
+        
+        @Override
+        public void onChannelComplete(ChannelInfo channel) {
+            delegate.onChannelComplete(channel);
+        }
+        
+        @Override
+        public void onChannelFailed(ChannelInfo channel, YouTubeApiException error) {
+            delegate.onChannelFailed(channel, error);
+        }
+        
+        @Override
+        public boolean isCancelled() {
+            return delegate.isCancelled();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.youtube.fetcher.metrics;
+
+/**
+ * {@link LatencyHistogram} 的不可变快照
+ * 分位数取所在桶的上界（不超过最大值），相对误差与直方图一致。
+ * 两个快照相减得到区间内的分布，用于计算周期性报告中的区间分位数。
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public final class HistogramSnapshot {
+    
+    private final long[] counts;
+    private final long count;
+    private final long sumNanos;
+    private final long maxNanos;
+    
+    HistogramSnapshot(long[] counts, long count, long sumNanos, long maxNanos) {
+        this.counts = counts;
+        this.count = count;
+        this.sumNanos = sumNanos;
+        this.maxNanos = maxNanos;
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    public long getSumNanos() {
+        return sumNanos;
+    }
+    
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+    
+    /**
+     * 获取平均延迟
+     * @return 平均值（纳秒），没有样本时返回0
+     */
+    public double getMeanNanos() {
+        return count > 0 ? (double) sumNanos / count : 0;
+    }
+    
+    /**
+     * 获取分位数
+     * @param quantile 0到1之间的分位点
+     * @return 分位数（纳秒），没有样本时返回0
+     */
+    public long getValueAtQuantile(double quantile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(1.0, Math.max(0.0, quantile)) * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(LatencyHistogram.upperBound(i), maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+    
+    /**
+     * 计算自上一个快照以来新增的样本分布
+     * 区间内的最大值无法精确还原，取最高非空桶的上界
+     * @param previous 同一直方图更早的快照
+     * @return 区间快照
+     */
+    public HistogramSnapshot minus(HistogramSnapshot previous) {
+        long[] delta = new long[counts.length];
+        long deltaCount = 0;
+        int highest = -1;
+        for (int i = 0; i < counts.length; i++) {
+            delta[i] = Math.max(0, counts[i] - previous.counts[i]);
+            deltaCount += delta[i];
+            if (delta[i] > 0) {
+                highest = i;
+            }
+        }
+        long max = highest < 0 ? 0 : Math.min(LatencyHistogram.upperBound(highest), maxNanos);
+        return new HistogramSnapshot(delta, deltaCount, Math.max(0, sumNanos - previous.sumNanos), max);
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("count=%d mean=%.2fms p50=%.2fms p90=%.2fms p99=%.2fms max=%.2fms",
+                count, getMeanNanos() / 1e6, getValueAtQuantile(0.50) / 1e6, getValueAtQuantile(0.90) / 1e6,
+                getValueAtQuantile(0.99) / 1e6, maxNanos / 1e6);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,94 @@
+package com.youtube.fetcher.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 无锁的对数线性延迟直方图（HDR Histogram的分桶方式）
+ * 小于128纳秒的值逐一计数；更大的值按二进制数量级分段，每段再线性分为64个桶，
+ * 相对误差不超过1/64（约1.6%）。桶数固定，记录一次只是一次原子自增，不分配内存、不加锁，
+ * 适合在每次请求的热路径上调用。
+ * 
+ * <p>超过 {@link #MAX_TRACKABLE_NANOS} 的值计入最后一个桶，最大值仍按原值记录。
+ * 快照与记录并发进行时各计数器之间可能相差几个样本，不影响分位数估计。</p>
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public final class LatencyHistogram {
+    
+    /**
+     * 可区分的最大延迟（约1.2小时），更大的值计入最后一个桶
+     */
+    public static final long MAX_TRACKABLE_NANOS = (1L << 42) - 1;
+    
+    static final int SUB_BUCKET_BITS = 6;
+    static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    static final int BUCKET_COUNT = indexOf(MAX_TRACKABLE_NANOS) + 1;
+    
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    
+    /**
+     * 记录一次延迟，负值按0计
+     * @param nanos 延迟（纳秒）
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(indexOf(Math.min(value, MAX_TRACKABLE_NANOS)));
+        totalNanos.add(value);
+        long max = maxNanos.get();
+        while (value > max && !maxNanos.compareAndSet(max, value)) {
+            max = maxNanos.get();
+        }
+    }
+    
+    /**
+     * 获取当前累计数据的快照
+     * @return 直方图快照
+     */
+    public HistogramSnapshot snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        return new HistogramSnapshot(copy, count, totalNanos.sum(), maxNanos.get());
+    }
+    
+    /**
+     * 计算值所在的桶下标
+     */
+    static int indexOf(long value) {
+        if (value < 2 * SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+    
+    /**
+     * 桶内最小值
+     */
+    static long lowerBound(int index) {
+        if (index < 2 * SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        return (long) (index - (shift << SUB_BUCKET_BITS)) << shift;
+    }
+    
+    /**
+     * 桶内最大值
+     */
+    static long upperBound(int index) {
+        if (index < 2 * SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        return lowerBound(index) + (1L << shift) - 1;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,210 @@
+package com.youtube.fetcher.metrics;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.youtube.fetcher.cache.CacheStats;
+import com.youtube.fetcher.client.ApiOperation;
+import com.youtube.fetcher.exception.FileExportException;
+import com.youtube.fetcher.util.ConcurrencyUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 周期性指标报告
+ * 每个周期把区间快照（速率、区间延迟分位数、错误、缓存命中率）作为一行JSON追加到本地文件，
+ * 同时在日志中输出一行摘要。关闭时写出最后一个区间。
+ * 
+ * <p>区间值便于观察抓取过程中吞吐量和延迟的变化：请求延迟升高而处理耗时不变说明瓶颈在API一侧，
+ * 处理耗时接近请求延迟说明导出等下游阶段拖慢了抓取。</p>
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public final class MetricsReporter implements AutoCloseable {
+    
+    private static final Logger logger = LoggerFactory.getLogger(MetricsReporter.class);
+    
+    /**
+     * 默认报告周期
+     */
+    public static final Duration DEFAULT_INTERVAL = Duration.ofSeconds(10);
+    
+    private static final String FORMAT = "ndjson";
+    private static final JsonFactory JSON_FACTORY = new JsonFactory()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+    
+    private final CrawlMetrics metrics;
+    private final Path file;
+    private final OutputStream out;
+    private final ScheduledExecutorService scheduler;
+    private MetricsSnapshot previous;
+    private boolean closed;
+    
+    /**
+     * 使用默认周期创建并启动报告
+     * @param metrics 指标注册表
+     * @param file 报告文件，已存在时追加
+     * @throws FileExportException 无法打开文件时抛出
+     */
+    public MetricsReporter(CrawlMetrics metrics, Path file) throws FileExportException {
+        this(metrics, file, DEFAULT_INTERVAL);
+    }
+    
+    /**
+     * 创建并启动报告
+     * @param metrics 指标注册表
+     * @param file 报告文件，已存在时追加
+     * @param interval 报告周期
+     * @throws FileExportException 无法打开文件时抛出
+     */
+    public MetricsReporter(CrawlMetrics metrics, Path file, Duration interval) throws FileExportException {
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("interval must be > 0: " + interval);
+        }
+        this.metrics = metrics;
+        this.file = file;
+        try {
+            this.out = new BufferedOutputStream(Files.newOutputStream(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+        } catch (IOException e) {
+            throw new FileExportException("Failed to open metrics file: " + e.getMessage(), file.toString(), FORMAT, e);
+        }
+        this.previous = metrics.snapshot();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(ConcurrencyUtil.daemonThreadFactory("metrics-reporter"));
+        long periodNanos = interval.toNanos();
+        scheduler.scheduleAtFixedRate(this::report, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+    }
+    
+    /**
+     * 立即写出一个区间快照
+     * @return 自上次报告以来的区间快照，已关闭时返回null
+     */
+    public synchronized MetricsSnapshot report() {
+        if (closed) {
+            return null;
+        }
+        MetricsSnapshot current = metrics.snapshot();
+        MetricsSnapshot interval = current.minus(previous);
+        previous = current;
+        try {
+            writeLine(interval, current);
+        } catch (IOException e) {
+            logger.warn("Failed to write metrics to {}: {}", file, e.getMessage());
+        }
+        logger.info("{}", interval);
+        return interval;
+    }
+    
+    public Path getFile() {
+        return file;
+    }
+    
+    /**
+     * 停止报告，写出最后一个区间并关闭文件
+     */
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        report();
+        synchronized (this) {
+            closed = true;
+            try {
+                out.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close metrics file {}: {}", file, e.getMessage());
+            }
+        }
+    }
+    
+    private void writeLine(MetricsSnapshot interval, MetricsSnapshot total) throws IOException {
+        try (JsonGenerator json = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8)) {
+            json.writeStartObject();
+            json.writeStringField("timestamp", interval.getTimestamp().toString());
+            json.writeNumberField("intervalSeconds", interval.getElapsedNanos() / 1e9);
+            json.writeNumberField("pagesPerSecond", interval.getPagesPerSecond());
+            json.writeNumberField("videosPerSecond", interval.getVideosPerSecond());
+            json.writeNumberField("requestsPerSecond", interval.getRequestsPerSecond());
+            json.writeNumberField("bytesReceivedPerSecond", interval.getBytesReceivedPerSecond());
+            json.writeNumberField("exportBytesPerSecond", interval.getExportBytesPerSecond());
+            json.writeNumberField("retries", interval.getRetryCount());
+            json.writeNumberField("quotaUnits", interval.getQuotaUnits());
+            if (interval.getQuotaRemaining() >= 0) {
+                json.writeNumberField("quotaRemaining", interval.getQuotaRemaining());
+            }
+            
+            json.writeObjectFieldStart("endpoints");
+            for (Map.Entry<ApiOperation, MetricsSnapshot.Endpoint> entry : interval.getEndpoints().entrySet()) {
+                MetricsSnapshot.Endpoint endpoint = entry.getValue();
+                if (endpoint.getRequestCount() == 0 && endpoint.getRetryCount() == 0) {
+                    continue;
+                }
+                json.writeObjectFieldStart(entry.getKey().getEndpoint());
+                json.writeNumberField("requests", endpoint.getRequestCount());
+                json.writeNumberField("errors", endpoint.getErrorCount());
+                json.writeNumberField("retries", endpoint.getRetryCount());
+                json.writeNumberField("bytesReceived", endpoint.getBytesReceived());
+                writeLatency(json, endpoint.getLatency());
+                json.writeEndObject();
+            }
+            json.writeEndObject();
+            
+            json.writeObjectFieldStart("pageHandling");
+            json.writeNumberField("pages", interval.getPageCount());
+            json.writeNumberField("videos", interval.getVideoCount());
+            writeLatency(json, interval.getPageHandling());
+            json.writeEndObject();
+            
+            json.writeObjectFieldStart("errors");
+            for (Map.Entry<String, Long> entry : interval.getErrorsByCode().entrySet()) {
+                json.writeNumberField(entry.getKey(), entry.getValue());
+            }
+            json.writeEndObject();
+            
+            json.writeObjectFieldStart("caches");
+            for (Map.Entry<String, CacheStats> entry : interval.getCaches().entrySet()) {
+                json.writeObjectFieldStart(entry.getKey());
+                json.writeNumberField("hits", entry.getValue().getHitCount());
+                json.writeNumberField("misses", entry.getValue().getMissCount());
+                json.writeNumberField("hitRate", entry.getValue().getHitRate());
+                json.writeNumberField("size", entry.getValue().getSize());
+                json.writeEndObject();
+            }
+            json.writeEndObject();
+            
+            json.writeObjectFieldStart("totals");
+            json.writeNumberField("elapsedSeconds", total.getElapsedNanos() / 1e9);
+            json.writeNumberField("requests", total.getRequestCount());
+            json.writeNumberField("pages", total.getPageCount());
+            json.writeNumberField("videos", total.getVideoCount());
+            json.writeNumberField("bytesReceived", total.getBytesReceived());
+            json.writeNumberField("exportBytes", total.getExportBytes());
+            json.writeNumberField("quotaUnits", total.getQuotaUnits());
+            json.writeEndObject();
+            json.writeEndObject();
+        }
+        out.write('\n');
+        out.flush();
+    }
+    
+    private static void writeLatency(JsonGenerator json, HistogramSnapshot latency) throws IOException {
+        json.writeNumberField("meanMs", latency.getMeanNanos() / 1e6);
+        for (double quantile : QUANTILES) {
+            json.writeNumberField("p" + Math.round(quantile * 100) + "Ms", latency.getValueAtQuantile(quantile) / 1e6);
+        }
+        json.writeNumberField("maxMs", latency.getMaxNanos() / 1e6);
+    }
+}
\ No newline at end of file
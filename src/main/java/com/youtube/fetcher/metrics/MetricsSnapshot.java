@@ -0,0 +1,379 @@
+package com.youtube.fetcher.metrics;
+
+import com.youtube.fetcher.cache.CacheStats;
+import com.youtube.fetcher.client.ApiOperation;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * 抓取指标的不可变快照
+ * 由 {@link CrawlMetrics#snapshot()} 生成时为自创建以来的累计值；用 {@link #minus} 与更早的快照相减
+ * 得到区间值，此时 {@link #getElapsedNanos()} 为区间长度，各项速率即为区间速率。
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public final class MetricsSnapshot {
+    
+    /**
+     * Prometheus文本格式中输出的延迟分位点
+     */
+    private static final double[] PROMETHEUS_QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    
+    private final Instant timestamp;
+    private final long elapsedNanos;
+    private final Map<ApiOperation, Endpoint> endpoints;
+    private final HistogramSnapshot pageHandling;
+    private final long pageCount;
+    private final long videoCount;
+    private final Map<String, Long> errorsByCode;
+    private final Map<String, CacheStats> caches;
+    private final long exportBytes;
+    private final long quotaRemaining;
+    
+    MetricsSnapshot(Instant timestamp, long elapsedNanos, Map<ApiOperation, Endpoint> endpoints,
+                    HistogramSnapshot pageHandling, long pageCount, long videoCount, Map<String, Long> errorsByCode,
+                    Map<String, CacheStats> caches, long exportBytes, long quotaRemaining) {
+        this.timestamp = timestamp;
+        this.elapsedNanos = elapsedNanos;
+        this.endpoints = Collections.unmodifiableMap(endpoints);
+        this.pageHandling = pageHandling;
+        this.pageCount = pageCount;
+        this.videoCount = videoCount;
+        this.errorsByCode = Collections.unmodifiableMap(errorsByCode);
+        this.caches = Collections.unmodifiableMap(caches);
+        this.exportBytes = exportBytes;
+        this.quotaRemaining = quotaRemaining;
+    }
+    
+    /**
+     * 计算自上一个快照以来的区间值
+     * 剩余配额和缓存大小取当前值，其余计数取差值
+     * @param previous 同一注册表更早的快照
+     * @return 区间快照
+     */
+    public MetricsSnapshot minus(MetricsSnapshot previous) {
+        Map<ApiOperation, Endpoint> endpointDeltas = new EnumMap<>(ApiOperation.class);
+        for (Map.Entry<ApiOperation, Endpoint> entry : endpoints.entrySet()) {
+            Endpoint before = previous.endpoints.get(entry.getKey());
+            endpointDeltas.put(entry.getKey(), before != null ? entry.getValue().minus(before) : entry.getValue());
+        }
+        Map<String, Long> errorDeltas = new TreeMap<>();
+        errorsByCode.forEach((code, count) -> {
+            long delta = count - previous.errorsByCode.getOrDefault(code, 0L);
+            if (delta > 0) {
+                errorDeltas.put(code, delta);
+            }
+        });
+        Map<String, CacheStats> cacheDeltas = new TreeMap<>();
+        caches.forEach((name, stats) -> {
+            CacheStats before = previous.caches.get(name);
+            cacheDeltas.put(name, before == null ? stats : new CacheStats(
+                    stats.getHitCount() - before.getHitCount(),
+                    stats.getMissCount() - before.getMissCount(),
+                    stats.getLoadSuccessCount() - before.getLoadSuccessCount(),
+                    stats.getLoadFailureCount() - before.getLoadFailureCount(),
+                    stats.getCoalescedLoadCount() - before.getCoalescedLoadCount(),
+                    stats.getEvictionCount() - before.getEvictionCount(),
+                    stats.getExpirationCount() - before.getExpirationCount(),
+                    stats.getSize()));
+        });
+        return new MetricsSnapshot(timestamp, elapsedNanos - previous.elapsedNanos, endpointDeltas,
+                pageHandling.minus(previous.pageHandling), pageCount - previous.pageCount,
+                videoCount - previous.videoCount, errorDeltas, cacheDeltas,
+                exportBytes - previous.exportBytes, quotaRemaining);
+    }
+    
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+    
+    /**
+     * 获取快照覆盖的时长
+     * @return 累计快照为自注册表创建以来的时长，区间快照为区间长度（纳秒）
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+    
+    public Map<ApiOperation, Endpoint> getEndpoints() {
+        return endpoints;
+    }
+    
+    public Endpoint getEndpoint(ApiOperation operation) {
+        return endpoints.get(operation);
+    }
+    
+    /**
+     * 获取监听器处理每页的耗时分布
+     * @return 直方图快照
+     */
+    public HistogramSnapshot getPageHandling() {
+        return pageHandling;
+    }
+    
+    public long getPageCount() {
+        return pageCount;
+    }
+    
+    public long getVideoCount() {
+        return videoCount;
+    }
+    
+    public Map<String, Long> getErrorsByCode() {
+        return errorsByCode;
+    }
+    
+    public Map<String, CacheStats> getCaches() {
+        return caches;
+    }
+    
+    public long getExportBytes() {
+        return exportBytes;
+    }
+    
+    /**
+     * 获取注册的配额调度器今日剩余配额之和
+     * @return 配额单位，未注册调度器时为-1
+     */
+    public long getQuotaRemaining() {
+        return quotaRemaining;
+    }
+    
+    public long getRequestCount() {
+        long total = 0;
+        for (Endpoint endpoint : endpoints.values()) {
+            total += endpoint.getRequestCount();
+        }
+        return total;
+    }
+    
+    public long getRetryCount() {
+        long total = 0;
+        for (Endpoint endpoint : endpoints.values()) {
+            total += endpoint.getRetryCount();
+        }
+        return total;
+    }
+    
+    public long getQuotaUnits() {
+        long total = 0;
+        for (Endpoint endpoint : endpoints.values()) {
+            total += endpoint.getQuotaUnits();
+        }
+        return total;
+    }
+    
+    public long getBytesReceived() {
+        long total = 0;
+        for (Endpoint endpoint : endpoints.values()) {
+            total += endpoint.getBytesReceived();
+        }
+        return total;
+    }
+    
+    public double getRequestsPerSecond() {
+        return rate(getRequestCount());
+    }
+    
+    public double getPagesPerSecond() {
+        return rate(pageCount);
+    }
+    
+    public double getVideosPerSecond() {
+        return rate(videoCount);
+    }
+    
+    public double getBytesReceivedPerSecond() {
+        return rate(getBytesReceived());
+    }
+    
+    public double getExportBytesPerSecond() {
+        return rate(exportBytes);
+    }
+    
+    /**
+     * 以Prometheus文本格式（0.0.4）写出
+     * 计数器取快照中的值，应只对累计快照调用
+     * @param out 输出
+     * @throws IOException 写出失败时抛出
+     */
+    public void writePrometheus(Writer out) throws IOException {
+        header(out, "youtube_fetcher_request_duration_seconds", "summary", "API request latency by endpoint");
+        for (Map.Entry<ApiOperation, Endpoint> entry : endpoints.entrySet()) {
+            summary(out, "youtube_fetcher_request_duration_seconds",
+                    "endpoint=\"" + entry.getKey().getEndpoint() + "\"", entry.getValue().getLatency());
+        }
+        endpointCounter(out, "youtube_fetcher_requests_total", "API requests by endpoint", Endpoint::getRequestCount);
+        endpointCounter(out, "youtube_fetcher_request_errors_total", "Failed API requests by endpoint",
+                Endpoint::getErrorCount);
+        endpointCounter(out, "youtube_fetcher_retries_total", "Retried API requests by endpoint",
+                Endpoint::getRetryCount);
+        endpointCounter(out, "youtube_fetcher_received_bytes_total", "Response bytes received by endpoint",
+                Endpoint::getBytesReceived);
+        endpointCounter(out, "youtube_fetcher_quota_units_total", "Quota units consumed by endpoint",
+                Endpoint::getQuotaUnits);
+        
+        header(out, "youtube_fetcher_errors_total", "counter", "Failed API requests by error code");
+        for (Map.Entry<String, Long> entry : errorsByCode.entrySet()) {
+            sample(out, "youtube_fetcher_errors_total", "code=\"" + escape(entry.getKey()) + "\"", entry.getValue());
+        }
+        
+        header(out, "youtube_fetcher_page_handling_seconds", "summary", "Time spent handling each page");
+        summary(out, "youtube_fetcher_page_handling_seconds", null, pageHandling);
+        header(out, "youtube_fetcher_pages_total", "counter", "Pages handled");
+        sample(out, "youtube_fetcher_pages_total", null, pageCount);
+        header(out, "youtube_fetcher_videos_total", "counter", "Videos handled");
+        sample(out, "youtube_fetcher_videos_total", null, videoCount);
+        header(out, "youtube_fetcher_export_bytes_total", "counter", "Bytes written by registered exporters");
+        sample(out, "youtube_fetcher_export_bytes_total", null, exportBytes);
+        
+        if (!caches.isEmpty()) {
+            header(out, "youtube_fetcher_cache_hits_total", "counter", "Cache hits");
+            for (Map.Entry<String, CacheStats> entry : caches.entrySet()) {
+                sample(out, "youtube_fetcher_cache_hits_total", "cache=\"" + escape(entry.getKey()) + "\"",
+                        entry.getValue().getHitCount());
+            }
+            header(out, "youtube_fetcher_cache_misses_total", "counter", "Cache misses");
+            for (Map.Entry<String, CacheStats> entry : caches.entrySet()) {
+                sample(out, "youtube_fetcher_cache_misses_total", "cache=\"" + escape(entry.getKey()) + "\"",
+                        entry.getValue().getMissCount());
+            }
+        }
+        if (quotaRemaining >= 0) {
+            header(out, "youtube_fetcher_quota_remaining", "gauge", "Quota units remaining today");
+            sample(out, "youtube_fetcher_quota_remaining", null, quotaRemaining);
+        }
+    }
+    
+    private double rate(long count) {
+        return elapsedNanos > 0 ? count * 1e9 / elapsedNanos : 0;
+    }
+    
+    private void endpointCounter(Writer out, String name, String help,
+                                 ToLongFunction<Endpoint> value) throws IOException {
+        header(out, name, "counter", help);
+        for (Map.Entry<ApiOperation, Endpoint> entry : endpoints.entrySet()) {
+            sample(out, name, "endpoint=\"" + entry.getKey().getEndpoint() + "\"",
+                    value.applyAsLong(entry.getValue()));
+        }
+    }
+    
+    private static void header(Writer out, String name, String type, String help) throws IOException {
+        out.write("# HELP " + name + " " + help + "\n");
+        out.write("# TYPE " + name + " " + type + "\n");
+    }
+    
+    private static void summary(Writer out, String name, String labels, HistogramSnapshot histogram)
+            throws IOException {
+        String prefix = labels != null ? labels + "," : "";
+        for (double quantile : PROMETHEUS_QUANTILES) {
+            out.write(name + "{" + prefix + "quantile=\"" + quantile + "\"} "
+                    + histogram.getValueAtQuantile(quantile) / 1e9 + "\n");
+        }
+        String suffix = labels != null ? "{" + labels + "}" : "";
+        out.write(name + "_sum" + suffix + " " + histogram.getSumNanos() / 1e9 + "\n");
+        out.write(name + "_count" + suffix + " " + histogram.getCount() + "\n");
+    }
+    
+    private static void sample(Writer out, String name, String labels, long value) throws IOException {
+        out.write(labels != null ? name + "{" + labels + "} " + value + "\n" : name + " " + value + "\n");
+    }
+    
+    private static String escape(String labelValue) {
+        return labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+    
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(String.format(
+                "Metrics{elapsed=%.1fs, pages=%d (%.1f/s), videos=%d (%.1f/s), requests=%d (%.1f/s), retries=%d, "
+                        + "received=%.1fKB/s, exported=%.1fKB/s, quota=%d",
+                elapsedNanos / 1e9, pageCount, getPagesPerSecond(), videoCount, getVideosPerSecond(),
+                getRequestCount(), getRequestsPerSecond(), getRetryCount(),
+                getBytesReceivedPerSecond() / 1024, getExportBytesPerSecond() / 1024, getQuotaUnits()));
+        for (Map.Entry<ApiOperation, Endpoint> entry : endpoints.entrySet()) {
+            if (entry.getValue().getRequestCount() > 0) {
+                builder.append(", ").append(entry.getKey().getEndpoint()).append("=[")
+                        .append(entry.getValue().getLatency()).append(']');
+            }
+        }
+        if (pageHandling.getCount() > 0) {
+            builder.append(", pageHandling=[").append(pageHandling).append(']');
+        }
+        caches.forEach((name, stats) ->
+                builder.append(", ").append(name).append("HitRate=").append(String.format("%.3f", stats.getHitRate())));
+        if (!errorsByCode.isEmpty()) {
+            builder.append(", errors=").append(errorsByCode);
+        }
+        return builder.append('}').toString();
+    }
+    
+    /**
+     * 单个端点的指标
+     */
+    public static final class Endpoint {
+        private final HistogramSnapshot latency;
+        private final long errorCount;
+        private final long bytesReceived;
+        private final long quotaUnits;
+        private final long retryCount;
+        
+        Endpoint(HistogramSnapshot latency, long errorCount, long bytesReceived, long quotaUnits, long retryCount) {
+            this.latency = latency;
+            this.errorCount = errorCount;
+            this.bytesReceived = bytesReceived;
+            this.quotaUnits = quotaUnits;
+            this.retryCount = retryCount;
+        }
+        
+        Endpoint minus(Endpoint previous) {
+            return new Endpoint(latency.minus(previous.latency), errorCount - previous.errorCount,
+                    bytesReceived - previous.bytesReceived, quotaUnits - previous.quotaUnits,
+                    retryCount - previous.retryCount);
+        }
+        
+        /**
+         * 获取请求延迟分布（含失败的请求）
+         * @return 直方图快照
+         */
+        public HistogramSnapshot getLatency() {
+            return latency;
+        }
+        
+        public long getRequestCount() {
+            return latency.getCount();
+        }
+        
+        public long getErrorCount() {
+            return errorCount;
+        }
+        
+        public long getBytesReceived() {
+            return bytesReceived;
+        }
+        
+        /**
+         * 获取消耗的配额单位
+         * @return 按发出的请求数乘以单次配额估算
+         */
+        public long getQuotaUnits() {
+            return quotaUnits;
+        }
+        
+        /**
+         * 获取注册的配额调度器对该端点的重试次数
+         * @return 重试次数
+         */
+        public long getRetryCount() {
+            return retryCount;
+        }
+    }
+}
\ No newline at end of file
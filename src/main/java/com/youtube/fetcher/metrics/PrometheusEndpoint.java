@@ -0,0 +1,93 @@
+package com.youtube.fetcher.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.youtube.fetcher.util.ConcurrencyUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Prometheus文本格式的指标端点
+ * 基于JDK内置的 {@link HttpServer}，在 {@code /metrics} 上返回 {@link CrawlMetrics} 的累计快照，
+ * 每次抓取时现场生成，不额外缓存。
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public final class PrometheusEndpoint implements AutoCloseable {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PrometheusEndpoint.class);
+    
+    /**
+     * 指标路径
+     */
+    public static final String PATH = "/metrics";
+    
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    
+    private final CrawlMetrics metrics;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    
+    /**
+     * 创建并启动端点
+     * @param metrics 指标注册表
+     * @param address 监听地址，端口为0时自动分配
+     * @throws IOException 端口绑定失败时抛出
+     */
+    public PrometheusEndpoint(CrawlMetrics metrics, InetSocketAddress address) throws IOException {
+        this.metrics = metrics;
+        this.executor = ConcurrencyUtil.newFixedDaemonPool(1, "metrics-http");
+        this.server = HttpServer.create(address, 16);
+        server.setExecutor(executor);
+        server.createContext(PATH, this::handle);
+        server.start();
+        logger.info("Prometheus metrics available at {}", getUri());
+    }
+    
+    /**
+     * 获取指标地址
+     * @return 指标URI
+     */
+    public URI getUri() {
+        InetSocketAddress address = server.getAddress();
+        return URI.create("http://" + address.getHostString() + ":" + address.getPort() + PATH);
+    }
+    
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+    
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod()) && !"HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            StringWriter text = new StringWriter(8192);
+            metrics.snapshot().writePrometheus(text);
+            byte[] body = text.toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+}
\ No newline at end of file
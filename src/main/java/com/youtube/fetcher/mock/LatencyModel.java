@@ -0,0 +1,75 @@
+package com.youtube.fetcher.mock;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 模拟服务器的响应延迟分布
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+@FunctionalInterface
+public interface LatencyModel {
+    
+    /**
+     * 采样一次响应延迟
+     * @param random 随机数生成器
+     * @return 延迟微秒数
+     */
+    long sampleMicros(ThreadLocalRandom random);
+    
+    /**
+     * 无延迟
+     * @return 延迟模型
+     */
+    static LatencyModel none() {
+        return random -> 0;
+    }
+    
+    /**
+     * 固定延迟
+     * @param latency 延迟
+     * @return 延迟模型
+     */
+    static LatencyModel fixed(Duration latency) {
+        long micros = toMicros(latency);
+        return random -> micros;
+    }
+    
+    /**
+     * 均匀分布延迟
+     * @param min 最小延迟
+     * @param max 最大延迟
+     * @return 延迟模型
+     */
+    static LatencyModel uniform(Duration min, Duration max) {
+        long minMicros = toMicros(min);
+        long maxMicros = toMicros(max);
+        if (maxMicros < minMicros) {
+            throw new IllegalArgumentException("max < min: " + max + " < " + min);
+        }
+        return random -> minMicros + random.nextLong(maxMicros - minMicros + 1);
+    }
+    
+    /**
+     * 对数正态分布延迟，由中位数和P99确定，接近真实API长尾延迟的形状
+     * @param median 延迟中位数
+     * @param p99 99分位延迟
+     * @return 延迟模型
+     */
+    static LatencyModel logNormal(Duration median, Duration p99) {
+        double mu = Math.log(toMicros(median));
+        double p99Log = Math.log(toMicros(p99));
+        if (p99Log < mu) {
+            throw new IllegalArgumentException("p99 < median: " + p99 + " < " + median);
+        }
+        // 标准正态分布的99分位点
+        double sigma = (p99Log - mu) / 2.3263478740408408;
+        return random -> (long) Math.exp(mu + sigma * random.nextGaussian());
+    }
+    
+    private static long toMicros(Duration duration) {
+        return Math.max(1, duration.toNanos() / 1000);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,220 @@
+package com.youtube.fetcher.mock;
+
+import com.youtube.fetcher.client.HttpYouTubeApiClient;
+import com.youtube.fetcher.client.ResponseFields;
+import com.youtube.fetcher.client.YouTubeApiClient;
+import com.youtube.fetcher.exception.YouTubeApiException;
+import com.youtube.fetcher.metrics.HistogramSnapshot;
+import com.youtube.fetcher.metrics.LatencyHistogram;
+import com.youtube.fetcher.model.ApiResponse;
+import com.youtube.fetcher.model.ChannelInfo;
+import com.youtube.fetcher.model.VideoData;
+import com.youtube.fetcher.service.ChannelFetchEngine;
+import com.youtube.fetcher.service.ChannelPageListener;
+import com.youtube.fetcher.service.VideoEnricher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 端到端压测驱动
+ * 用 {@link ChannelFetchEngine} 并发抓取一组频道（可选地用 {@link VideoEnricher} 补全详情），
+ * 记录每次API调用的延迟和错误，输出吞吐量与延迟分位数。通常与 {@link MockYouTubeServer} 搭配使用。
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public class LoadGenerator {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LoadGenerator.class);
+    
+    private final YouTubeApiClient client;
+    private final int concurrency;
+    private final int prefetchPages;
+    private final boolean enrichDetails;
+    
+    /**
+     * 构造函数
+     * @param client 被测客户端
+     * @param concurrency 同时抓取的频道数
+     * @param prefetchPages 每个频道预取的页数
+     * @param enrichDetails 是否对每页调用videos.list补全详情
+     */
+    public LoadGenerator(YouTubeApiClient client, int concurrency, int prefetchPages, boolean enrichDetails) {
+        this.client = client;
+        this.concurrency = concurrency;
+        this.prefetchPages = prefetchPages;
+        this.enrichDetails = enrichDetails;
+    }
+    
+    /**
+     * 抓取所有频道并生成报告
+     * @param channelIds 频道ID列表
+     * @return 压测结果
+     * @throws InterruptedException 等待被中断时抛出
+     */
+    public LoadReport run(List<String> channelIds) throws InterruptedException {
+        LatencyHistogram recorder = new LatencyHistogram();
+        RecordingClient recording = new RecordingClient(client, recorder);
+        List<ChannelInfo> channels = new ArrayList<>(channelIds.size());
+        for (String channelId : channelIds) {
+            channels.add(new ChannelInfo(channelId, null));
+        }
+        
+        LongAdder pages = new LongAdder();
+        LongAdder videos = new LongAdder();
+        LongAdder failedChannels = new LongAdder();
+        VideoEnricher enricher = enrichDetails ? new VideoEnricher(recording) : null;
+        ChannelPageListener listener = new ChannelPageListener() {
+            @Override
+            public void onPage(ChannelInfo channel, ApiResponse<VideoData> page) {
+                pages.increment();
+                videos.add(page.getDataSize());
+                if (enricher != null) {
+                    try {
+                        enricher.enrich(page);
+                    } catch (YouTubeApiException e) {
+                        logger.debug("Enrichment failed for channel {}: {}", channel.getChannelId(), e.getMessage());
+                    }
+                }
+            }
+            
+            @Override
+            public void onChannelFailed(ChannelInfo channel, YouTubeApiException error) {
+                failedChannels.increment();
+                logger.debug("Channel {} failed: {}", channel.getChannelId(), error.getMessage());
+            }
+        };
+        
+        long start = System.nanoTime();
+        try (ChannelFetchEngine engine = new ChannelFetchEngine(recording, concurrency, prefetchPages)) {
+            engine.fetchAllAndWait(channels, listener);
+        } finally {
+            if (enricher != null) {
+                enricher.close();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        
+        HistogramSnapshot latencies = recorder.snapshot();
+        Map<String, Long> errors = new HashMap<>();
+        recording.errors.forEach((code, count) -> errors.put(code, count.get()));
+        return new LoadReport(elapsed, latencies.getCount(), recording.failed.sum(),
+                channels.size(), failedChannels.sum(), pages.sum(), videos.sum(),
+                latencies.getValueAtQuantile(0.50), latencies.getValueAtQuantile(0.90),
+                latencies.getValueAtQuantile(0.99), latencies.getMaxNanos(), errors);
+    }
+    
+    /**
+     * 启动本地模拟服务器并运行一次压测
+     * 参数格式为 --name=value，支持 channels、videos、concurrency、prefetch、enrich、
+     * latencyMedianMs、latencyP99Ms、quotaErrorRate、serverErrorRate、rateLimitErrorRate、compression、fieldMask
+     */
+    public static void main(String[] args) throws Exception {
+        // 模拟服务器分两次写出响应头和响应体，不关闭Nagle算法会与延迟ACK叠加出约40ms的额外延迟；
+        // JDK在第一次创建HttpServer时读取该属性，必须在启动服务器之前设置
+        System.getProperties().putIfAbsent("sun.net.httpserver.nodelay", "true");
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (arg.startsWith("--") && eq > 2) {
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        double medianMs = Double.parseDouble(options.getOrDefault("latencyMedianMs", "20"));
+        double p99Ms = Double.parseDouble(options.getOrDefault("latencyP99Ms", "150"));
+        MockYouTubeServer.Config config = new MockYouTubeServer.Config()
+                .channelCount(Integer.parseInt(options.getOrDefault("channels", "100")))
+                .videosPerChannel(Integer.parseInt(options.getOrDefault("videos", "500")))
+                .latency(medianMs > 0
+                        ? LatencyModel.logNormal(Duration.ofNanos((long) (medianMs * 1e6)),
+                        Duration.ofNanos((long) (Math.max(medianMs, p99Ms) * 1e6)))
+                        : LatencyModel.none())
+                .quotaErrorRate(Double.parseDouble(options.getOrDefault("quotaErrorRate", "0")))
+                .serverErrorRate(Double.parseDouble(options.getOrDefault("serverErrorRate", "0")))
+                .rateLimitErrorRate(Double.parseDouble(options.getOrDefault("rateLimitErrorRate", "0")));
+        
+        try (MockYouTubeServer server = new MockYouTubeServer(config)) {
+            HttpYouTubeApiClient client = HttpYouTubeApiClient.builder("mock-key")
+                    .baseUri(server.getBaseUri())
+                    .compression(Boolean.parseBoolean(options.getOrDefault("compression", "true")))
+                    .responseFields(Boolean.parseBoolean(options.getOrDefault("fieldMask", "true"))
+                            ? ResponseFields.all() : null)
+                    .build();
+            LoadGenerator generator = new LoadGenerator(client,
+                    Integer.parseInt(options.getOrDefault("concurrency", String.valueOf(ChannelFetchEngine.DEFAULT_MAX_CONCURRENCY))),
+                    Integer.parseInt(options.getOrDefault("prefetch", String.valueOf(ChannelFetchEngine.DEFAULT_PREFETCH_PAGES))),
+                    Boolean.parseBoolean(options.getOrDefault("enrich", "false")));
+            LoadReport report = generator.run(server.getChannelIds());
+            System.out.println(report);
+        }
+    }
+    
+    /**
+     * 记录每次调用延迟和错误代码的客户端装饰器
+     */
+    private static final class RecordingClient implements YouTubeApiClient {
+        private final YouTubeApiClient delegate;
+        private final LatencyHistogram recorder;
+        private final LongAdder failed = new LongAdder();
+        private final Map<String, AtomicLong> errors = new ConcurrentHashMap<>();
+        
+        RecordingClient(YouTubeApiClient delegate, LatencyHistogram recorder) {
+            this.delegate = delegate;
+            this.recorder = recorder;
+        }
+        
+        @Override
+        public ChannelInfo getChannelInfo(String channelId) throws YouTubeApiException {
+            long start = System.nanoTime();
+            try {
+                return delegate.getChannelInfo(channelId);
+            } catch (YouTubeApiException e) {
+                recordError(e);
+                throw e;
+            } finally {
+                recorder.record(System.nanoTime() - start);
+            }
+        }
+        
+        @Override
+        public ApiResponse<VideoData> getPlaylistVideos(String playlistId, String pageToken) throws YouTubeApiException {
+            long start = System.nanoTime();
+            try {
+                return delegate.getPlaylistVideos(playlistId, pageToken);
+            } catch (YouTubeApiException e) {
+                recordError(e);
+                throw e;
+            } finally {
+                recorder.record(System.nanoTime() - start);
+            }
+        }
+        
+        @Override
+        public List<VideoData> getVideoDetails(List<String> videoIds) throws YouTubeApiException {
+            long start = System.nanoTime();
+            try {
+                return delegate.getVideoDetails(videoIds);
+            } catch (YouTubeApiException e) {
+                recordError(e);
+                throw e;
+            } finally {
+                recorder.record(System.nanoTime() - start);
+            }
+        }
+        
+        private void recordError(YouTubeApiException e) {
+            failed.increment();
+            String code = e.getErrorCode() != null ? e.getErrorCode() : "unknown";
+            errors.computeIfAbsent(code, key -> new AtomicLong()).incrementAndGet();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,125 @@
+package com.youtube.fetcher.mock;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 压测结果
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public class LoadReport {
+    
+    private final long elapsedNanos;
+    private final long requestCount;
+    private final long failedRequestCount;
+    private final long channelCount;
+    private final long failedChannelCount;
+    private final long pageCount;
+    private final long videoCount;
+    private final long p50Nanos;
+    private final long p90Nanos;
+    private final long p99Nanos;
+    private final long maxNanos;
+    private final Map<String, Long> errorsByCode;
+    
+    /**
+     * 完整构造函数
+     */
+    public LoadReport(long elapsedNanos, long requestCount, long failedRequestCount,
+                      long channelCount, long failedChannelCount, long pageCount, long videoCount,
+                      long p50Nanos, long p90Nanos, long p99Nanos, long maxNanos, Map<String, Long> errorsByCode) {
+        this.elapsedNanos = elapsedNanos;
+        this.requestCount = requestCount;
+        this.failedRequestCount = failedRequestCount;
+        this.channelCount = channelCount;
+        this.failedChannelCount = failedChannelCount;
+        this.pageCount = pageCount;
+        this.videoCount = videoCount;
+        this.p50Nanos = p50Nanos;
+        this.p90Nanos = p90Nanos;
+        this.p99Nanos = p99Nanos;
+        this.maxNanos = maxNanos;
+        this.errorsByCode = Collections.unmodifiableMap(new TreeMap<>(errorsByCode));
+    }
+    
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+    
+    public long getRequestCount() {
+        return requestCount;
+    }
+    
+    public long getFailedRequestCount() {
+        return failedRequestCount;
+    }
+    
+    public long getChannelCount() {
+        return channelCount;
+    }
+    
+    public long getFailedChannelCount() {
+        return failedChannelCount;
+    }
+    
+    public long getPageCount() {
+        return pageCount;
+    }
+    
+    public long getVideoCount() {
+        return videoCount;
+    }
+    
+    public long getP50Nanos() {
+        return p50Nanos;
+    }
+    
+    public long getP90Nanos() {
+        return p90Nanos;
+    }
+    
+    public long getP99Nanos() {
+        return p99Nanos;
+    }
+    
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+    
+    /**
+     * 获取按错误代码统计的失败请求数
+     * @return 错误代码到次数的映射
+     */
+    public Map<String, Long> getErrorsByCode() {
+        return errorsByCode;
+    }
+    
+    /**
+     * 每秒请求数
+     * @return 请求吞吐量
+     */
+    public double getRequestsPerSecond() {
+        return elapsedNanos > 0 ? requestCount * 1e9 / elapsedNanos : 0;
+    }
+    
+    /**
+     * 每秒视频数
+     * @return 视频吞吐量
+     */
+    public double getVideosPerSecond() {
+        return elapsedNanos > 0 ? videoCount * 1e9 / elapsedNanos : 0;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("LoadReport{elapsed=%.2fs, requests=%d (failed %d), channels=%d (failed %d), "
+                        + "pages=%d, videos=%d, throughput=%.1f req/s %.1f videos/s, "
+                        + "latency p50=%.2fms p90=%.2fms p99=%.2fms max=%.2fms, errors=%s}",
+                elapsedNanos / 1e9, requestCount, failedRequestCount, channelCount, failedChannelCount,
+                pageCount, videoCount, getRequestsPerSecond(), getVideosPerSecond(),
+                p50Nanos / 1e6, p90Nanos / 1e6, p99Nanos / 1e6, maxNanos / 1e6, errorsByCode);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,742 @@
+package com.youtube.fetcher.mock;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.filter.FilteringGeneratorDelegate;
+import com.fasterxml.jackson.core.filter.TokenFilter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.youtube.fetcher.client.ApiOperation;
+import com.youtube.fetcher.client.FieldMask;
+import com.youtube.fetcher.util.ConcurrencyUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 本地模拟YouTube Data API服务器
+ * 基于JDK内置的 {@link HttpServer}，按YouTube Data API v3的响应结构返回合成的频道、上传播放列表和视频，
+ * 可用于离线压测，不消耗真实配额。
+ * 
+ * <ul>
+ *   <li>数据由种子确定性生成，不占用与视频数成正比的内存；视频ID可逆向解析出所属频道和序号</li>
+ *   <li>分页使用真实的nextPageToken，无效令牌返回400 invalidPageToken</li>
+ *   <li>每个请求按 {@link LatencyModel} 注入延迟，并可按比例注入403 quotaExceeded、403 rateLimitExceeded（带Retry-After）和503 backendError</li>
+ *   <li>可设置配额上限，消耗完后所有请求返回403 quotaExceeded</li>
+ *   <li>支持fields部分响应掩码，请求头带Accept-Encoding: gzip时压缩响应</li>
+ * </ul>
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public class MockYouTubeServer implements AutoCloseable {
+    
+    private static final Logger logger = LoggerFactory.getLogger(MockYouTubeServer.class);
+    
+    private static final String BASE_PATH = "/youtube/v3/";
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'");
+    private static final LocalDateTime NEWEST_UPLOAD = LocalDateTime.of(2025, 5, 24, 0, 0);
+    private static final char[] ID_ALPHABET =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".toCharArray();
+    private static final int VIDEO_INDEX_BITS = 40;
+    private static final String[] TITLE_WORDS = {
+            "Java", "教程", "性能", "优化", "并发", "入门", "实战", "直播", "回放", "Tips",
+            "面试", "架构", "JVM", "GC", "Review", "Live", "Shorts", "Vlog", "2025", "合集"
+    };
+    
+    /**
+     * 服务器配置
+     */
+    public static class Config {
+        private int port;
+        private int channelCount = 100;
+        private int videosPerChannel = 500;
+        private long seed = 20250524L;
+        private LatencyModel latency = LatencyModel.none();
+        private double quotaErrorRate;
+        private double serverErrorRate;
+        private double rateLimitErrorRate;
+        private long quotaLimit;
+        
+        /**
+         * 监听端口，0表示随机分配
+         */
+        public Config port(int port) {
+            this.port = port;
+            return this;
+        }
+        
+        public Config channelCount(int channelCount) {
+            this.channelCount = channelCount;
+            return this;
+        }
+        
+        public Config videosPerChannel(int videosPerChannel) {
+            this.videosPerChannel = videosPerChannel;
+            return this;
+        }
+        
+        public Config seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+        
+        public Config latency(LatencyModel latency) {
+            this.latency = latency;
+            return this;
+        }
+        
+        /**
+         * 随机返回403 quotaExceeded的请求比例
+         */
+        public Config quotaErrorRate(double quotaErrorRate) {
+            this.quotaErrorRate = quotaErrorRate;
+            return this;
+        }
+        
+        /**
+         * 随机返回503 backendError的请求比例
+         */
+        public Config serverErrorRate(double serverErrorRate) {
+            this.serverErrorRate = serverErrorRate;
+            return this;
+        }
+        
+        /**
+         * 随机返回403 rateLimitExceeded并带Retry-After: 1的请求比例
+         */
+        public Config rateLimitErrorRate(double rateLimitErrorRate) {
+            this.rateLimitErrorRate = rateLimitErrorRate;
+            return this;
+        }
+        
+        /**
+         * 配额上限（单位），0表示不限
+         */
+        public Config quotaLimit(long quotaLimit) {
+            this.quotaLimit = quotaLimit;
+            return this;
+        }
+    }
+    
+    private final Config config;
+    private final long idMask;
+    private final String[] channelIds;
+    private final Map<String, Integer> channelIndex;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    
+    private final Map<ApiOperation, AtomicLong> requestCounts = new EnumMap<>(ApiOperation.class);
+    private final AtomicLong quotaUsed = new AtomicLong();
+    private final AtomicLong injectedQuotaErrors = new AtomicLong();
+    private final AtomicLong injectedServerErrors = new AtomicLong();
+    private final AtomicLong injectedRateLimitErrors = new AtomicLong();
+    private final AtomicLong bytesSent = new AtomicLong();
+    
+    /**
+     * 创建并启动服务器，仅监听回环地址
+     * 
+     * <p>不修改系统属性。{@link HttpServer} 分两次写出响应头和响应体，默认开启的Nagle算法会与客户端的延迟ACK
+     * 叠加出约40ms的额外延迟；测量延迟的调用方应在进程内第一次创建 {@link HttpServer} 之前设置
+     * {@code -Dsun.net.httpserver.nodelay=true}（JDK只读取一次），{@link LoadGenerator#main} 已经这样做。</p>
+     * 
+     * @param config 服务器配置
+     * @throws IOException 端口绑定失败时抛出
+     */
+    public MockYouTubeServer(Config config) throws IOException {
+        if (config.channelCount <= 0 || config.videosPerChannel < 0) {
+            throw new IllegalArgumentException("channelCount must be > 0 and videosPerChannel >= 0");
+        }
+        this.config = config;
+        this.idMask = new SplittableRandom(config.seed).nextLong() >>> 2;
+        this.channelIds = new String[config.channelCount];
+        this.channelIndex = new HashMap<>(config.channelCount * 2);
+        SplittableRandom random = new SplittableRandom(config.seed);
+        for (int i = 0; i < channelIds.length; i++) {
+            channelIds[i] = "UC" + randomId(random, 22);
+            channelIndex.put(channelIds[i], i);
+        }
+        for (ApiOperation operation : ApiOperation.values()) {
+            requestCounts.put(operation, new AtomicLong());
+        }
+        
+        ExecutorService virtual = ConcurrencyUtil.newVirtualThreadExecutor();
+        this.executor = virtual != null ? virtual : ConcurrencyUtil.newCachedDaemonPool("mock-youtube");
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), config.port), 1024);
+        server.setExecutor(executor);
+        server.createContext(BASE_PATH, this::handle);
+        server.start();
+        logger.info("Mock YouTube API listening on {} ({} channels x {} videos)",
+                getBaseUri(), config.channelCount, config.videosPerChannel);
+    }
+    
+    /**
+     * 获取API基础地址，可直接传给 {@link com.youtube.fetcher.client.HttpYouTubeApiClient}
+     * @return 基础地址，以/结尾
+     */
+    public URI getBaseUri() {
+        InetSocketAddress address = server.getAddress();
+        return URI.create("http://" + address.getHostString() + ":" + address.getPort() + BASE_PATH);
+    }
+    
+    /**
+     * 获取所有合成频道的ID
+     * @return 频道ID列表
+     */
+    public List<String> getChannelIds() {
+        return Collections.unmodifiableList(Arrays.asList(channelIds));
+    }
+    
+    public long getRequestCount(ApiOperation operation) {
+        AtomicLong count = requestCounts.get(operation);
+        return count != null ? count.get() : 0;
+    }
+    
+    public long getQuotaUsed() {
+        return quotaUsed.get();
+    }
+    
+    public long getInjectedQuotaErrors() {
+        return injectedQuotaErrors.get();
+    }
+    
+    public long getInjectedServerErrors() {
+        return injectedServerErrors.get();
+    }
+    
+    public long getInjectedRateLimitErrors() {
+        return injectedRateLimitErrors.get();
+    }
+    
+    /**
+     * 获取已发送的响应体字节数（压缩后）
+     * @return 字节数
+     */
+    public long getBytesSent() {
+        return bytesSent.get();
+    }
+    
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+    
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath().substring(BASE_PATH.length());
+            Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+            ApiOperation operation = operationFor(path);
+            if (operation == null) {
+                sendError(exchange, 404, "notFound", "global", "Unknown resource: " + path);
+                return;
+            }
+            requestCounts.get(operation).incrementAndGet();
+            
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long delayMicros = config.latency.sampleMicros(random);
+            if (delayMicros > 0) {
+                TimeUnit.MICROSECONDS.sleep(delayMicros);
+            }
+            
+            if (params.get("key") == null) {
+                sendError(exchange, 403, "forbidden", "global",
+                        "Method doesn't allow unregistered callers. Please use an API key.");
+                return;
+            }
+            if (config.quotaLimit > 0 && quotaUsed.get() + operation.getQuotaCost() > config.quotaLimit) {
+                injectedQuotaErrors.incrementAndGet();
+                sendQuotaExceeded(exchange);
+                return;
+            }
+            double roll = random.nextDouble();
+            if (roll < config.quotaErrorRate) {
+                injectedQuotaErrors.incrementAndGet();
+                sendQuotaExceeded(exchange);
+                return;
+            }
+            if (roll < config.quotaErrorRate + config.serverErrorRate) {
+                injectedServerErrors.incrementAndGet();
+                sendError(exchange, 503, "backendError", "global", "The service is currently unavailable.");
+                return;
+            }
+            if (roll < config.quotaErrorRate + config.serverErrorRate + config.rateLimitErrorRate) {
+                injectedRateLimitErrors.incrementAndGet();
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                sendError(exchange, 403, "rateLimitExceeded", "usageLimits",
+                        "The request cannot be completed because you have exceeded the rate limit.");
+                return;
+            }
+            FieldMask mask = null;
+            if (params.get("fields") != null) {
+                try {
+                    mask = FieldMask.parse(params.get("fields"));
+                } catch (IllegalArgumentException e) {
+                    sendError(exchange, 400, "invalidParameter", "global", e.getMessage());
+                    return;
+                }
+            }
+            quotaUsed.addAndGet(operation.getQuotaCost());
+            
+            switch (operation) {
+                case CHANNELS_LIST:
+                    handleChannels(exchange, params, mask);
+                    break;
+                case PLAYLIST_ITEMS_LIST:
+                    handlePlaylistItems(exchange, params, mask);
+                    break;
+                case VIDEOS_LIST:
+                    handleVideos(exchange, params, mask);
+                    break;
+                default:
+                    sendError(exchange, 501, "notImplemented", "global", operation.getEndpoint() + " is not supported");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            logger.warn("Mock server failed to handle {}", exchange.getRequestURI(), e);
+            sendError(exchange, 500, "internalError", "global", String.valueOf(e.getMessage()));
+        } finally {
+            exchange.close();
+        }
+    }
+    
+    private void handleChannels(HttpExchange exchange, Map<String, String> params, FieldMask mask)
+            throws IOException {
+        List<Integer> found = new ArrayList<>();
+        String ids = params.get("id");
+        if (ids != null) {
+            for (String id : ids.split(",")) {
+                Integer index = channelIndex.get(id);
+                if (index != null) {
+                    found.add(index);
+                }
+            }
+        }
+        ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+        try (JsonGenerator json = createGenerator(body, mask)) {
+            json.writeStartObject();
+            json.writeStringField("kind", "youtube#channelListResponse");
+            writePageInfo(json, found.size(), found.size());
+            json.writeArrayFieldStart("items");
+            for (int index : found) {
+                writeChannel(json, index);
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+        send(exchange, 200, body);
+    }
+    
+    private void handlePlaylistItems(HttpExchange exchange, Map<String, String> params, FieldMask mask)
+            throws IOException {
+        String playlistId = params.get("playlistId");
+        Integer channel = playlistId != null && playlistId.startsWith("UU")
+                ? channelIndex.get("UC" + playlistId.substring(2)) : null;
+        if (channel == null) {
+            sendError(exchange, 404, "playlistNotFound", "youtube.playlistItem",
+                    "The playlist identified with the request's playlistId parameter cannot be found.");
+            return;
+        }
+        int maxResults = Math.max(0, Math.min(50, parseInt(params.get("maxResults"), 5)));
+        int offset = 0;
+        String pageToken = params.get("pageToken");
+        if (pageToken != null) {
+            offset = decodePageToken(pageToken);
+            if (offset < 0 || offset > config.videosPerChannel) {
+                sendError(exchange, 400, "invalidPageToken", "youtube.parameter",
+                        "The request specifies an invalid page token.");
+                return;
+            }
+        }
+        int end = Math.min(config.videosPerChannel, offset + maxResults);
+        
+        ByteArrayOutputStream body = new ByteArrayOutputStream(Math.max(1024, (end - offset) * 900));
+        try (JsonGenerator json = createGenerator(body, mask)) {
+            json.writeStartObject();
+            json.writeStringField("kind", "youtube#playlistItemListResponse");
+            if (end < config.videosPerChannel) {
+                json.writeStringField("nextPageToken", encodePageToken(end));
+            }
+            if (offset > 0) {
+                json.writeStringField("prevPageToken", encodePageToken(Math.max(0, offset - maxResults)));
+            }
+            writePageInfo(json, config.videosPerChannel, maxResults);
+            json.writeArrayFieldStart("items");
+            for (int video = offset; video < end; video++) {
+                writePlaylistItem(json, channel, video, playlistId);
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+        send(exchange, 200, body);
+    }
+    
+    private void handleVideos(HttpExchange exchange, Map<String, String> params, FieldMask mask)
+            throws IOException {
+        String ids = params.get("id");
+        String[] videoIds = ids != null && !ids.isEmpty() ? ids.split(",") : new String[0];
+        if (videoIds.length > 50) {
+            sendError(exchange, 400, "invalidFilters", "youtube.parameter",
+                    "The request specifies too many video IDs.");
+            return;
+        }
+        ByteArrayOutputStream body = new ByteArrayOutputStream(Math.max(1024, videoIds.length * 1200));
+        int count = 0;
+        try (JsonGenerator json = createGenerator(body, mask)) {
+            json.writeStartObject();
+            json.writeStringField("kind", "youtube#videoListResponse");
+            json.writeArrayFieldStart("items");
+            for (String videoId : videoIds) {
+                long decoded = decodeVideoId(videoId);
+                if (decoded >= 0) {
+                    writeVideo(json, (int) (decoded >>> VIDEO_INDEX_BITS), (int) (decoded & ((1L << VIDEO_INDEX_BITS) - 1)));
+                    count++;
+                }
+            }
+            json.writeEndArray();
+            writePageInfo(json, count, count);
+            json.writeEndObject();
+        }
+        send(exchange, 200, body);
+    }
+    
+    private void writeChannel(JsonGenerator json, int index) throws IOException {
+        SplittableRandom random = new SplittableRandom(config.seed ^ (0x9E3779B97F4A7C15L * (index + 1)));
+        String channelId = channelIds[index];
+        json.writeStartObject();
+        json.writeStringField("kind", "youtube#channel");
+        json.writeStringField("id", channelId);
+        json.writeObjectFieldStart("snippet");
+        json.writeStringField("title", title(random, 2) + " 频道");
+        json.writeStringField("description", title(random, 20));
+        json.writeStringField("customUrl", "@" + channelId.substring(2, 12).toLowerCase());
+        json.writeStringField("publishedAt", TIMESTAMP_FORMAT.format(NEWEST_UPLOAD.minusDays(1000 + random.nextInt(4000))));
+        writeThumbnails(json, "https://yt3.ggpht.com/" + channelId + "=s800");
+        json.writeStringField("country", "CN");
+        json.writeEndObject();
+        json.writeObjectFieldStart("contentDetails");
+        json.writeObjectFieldStart("relatedPlaylists");
+        json.writeStringField("uploads", "UU" + channelId.substring(2));
+        json.writeEndObject();
+        json.writeEndObject();
+        json.writeObjectFieldStart("statistics");
+        json.writeStringField("viewCount", String.valueOf(random.nextLong(1_000_000_000L)));
+        json.writeStringField("subscriberCount", String.valueOf(random.nextLong(10_000_000L)));
+        json.writeBooleanField("hiddenSubscriberCount", false);
+        json.writeStringField("videoCount", String.valueOf(config.videosPerChannel));
+        json.writeEndObject();
+        json.writeEndObject();
+    }
+    
+    private void writePlaylistItem(JsonGenerator json, int channel, int video, String playlistId) throws IOException {
+        SplittableRandom random = videoRandom(channel, video);
+        String videoId = encodeVideoId(channel, video);
+        String publishedAt = TIMESTAMP_FORMAT.format(publishedAt(video, random));
+        json.writeStartObject();
+        json.writeStringField("kind", "youtube#playlistItem");
+        json.writeStringField("id", playlistId + "." + videoId);
+        json.writeObjectFieldStart("snippet");
+        json.writeStringField("publishedAt", publishedAt);
+        json.writeStringField("channelId", channelIds[channel]);
+        json.writeStringField("title", title(random, 3 + random.nextInt(6)));
+        json.writeStringField("description", title(random, random.nextInt(40)));
+        writeThumbnails(json, "https://i.ytimg.com/vi/" + videoId + "/hqdefault.jpg");
+        json.writeStringField("playlistId", playlistId);
+        json.writeNumberField("position", video);
+        json.writeObjectFieldStart("resourceId");
+        json.writeStringField("kind", "youtube#video");
+        json.writeStringField("videoId", videoId);
+        json.writeEndObject();
+        json.writeStringField("videoOwnerChannelId", channelIds[channel]);
+        json.writeEndObject();
+        json.writeObjectFieldStart("contentDetails");
+        json.writeStringField("videoId", videoId);
+        json.writeStringField("videoPublishedAt", publishedAt);
+        json.writeEndObject();
+        json.writeEndObject();
+    }
+    
+    private void writeVideo(JsonGenerator json, int channel, int video) throws IOException {
+        SplittableRandom random = videoRandom(channel, video);
+        String videoId = encodeVideoId(channel, video);
+        json.writeStartObject();
+        json.writeStringField("kind", "youtube#video");
+        json.writeStringField("id", videoId);
+        json.writeObjectFieldStart("snippet");
+        json.writeStringField("publishedAt", TIMESTAMP_FORMAT.format(publishedAt(video, random)));
+        json.writeStringField("channelId", channelIds[channel]);
+        json.writeStringField("title", title(random, 3 + random.nextInt(6)));
+        json.writeStringField("description", title(random, random.nextInt(40)));
+        writeThumbnails(json, "https://i.ytimg.com/vi/" + videoId + "/hqdefault.jpg");
+        json.writeEndObject();
+        json.writeObjectFieldStart("contentDetails");
+        json.writeStringField("duration", duration(random));
+        json.writeEndObject();
+        long views = (long) Math.exp(random.nextDouble() * 16);
+        json.writeObjectFieldStart("statistics");
+        json.writeStringField("viewCount", String.valueOf(views));
+        json.writeStringField("likeCount", String.valueOf(views / (20 + random.nextInt(80))));
+        json.writeStringField("favoriteCount", "0");
+        json.writeStringField("commentCount", String.valueOf(views / (200 + random.nextInt(800))));
+        json.writeEndObject();
+        json.writeEndObject();
+    }
+    
+    private static void writeThumbnails(JsonGenerator json, String url) throws IOException {
+        json.writeObjectFieldStart("thumbnails");
+        json.writeObjectFieldStart("high");
+        json.writeStringField("url", url);
+        json.writeNumberField("width", 480);
+        json.writeNumberField("height", 360);
+        json.writeEndObject();
+        json.writeEndObject();
+    }
+    
+    private static void writePageInfo(JsonGenerator json, int totalResults, int resultsPerPage) throws IOException {
+        json.writeObjectFieldStart("pageInfo");
+        json.writeNumberField("totalResults", totalResults);
+        json.writeNumberField("resultsPerPage", resultsPerPage);
+        json.writeEndObject();
+    }
+    
+    private void sendQuotaExceeded(HttpExchange exchange) throws IOException {
+        sendError(exchange, 403, "quotaExceeded", "youtube.quota",
+                "The request cannot be completed because you have exceeded your quota.");
+    }
+    
+    private void sendError(HttpExchange exchange, int status, String reason, String domain, String message)
+            throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+        try (JsonGenerator json = JSON_FACTORY.createGenerator(body, JsonEncoding.UTF8)) {
+            json.writeStartObject();
+            json.writeObjectFieldStart("error");
+            json.writeNumberField("code", status);
+            json.writeStringField("message", message);
+            json.writeArrayFieldStart("errors");
+            json.writeStartObject();
+            json.writeStringField("message", message);
+            json.writeStringField("domain", domain);
+            json.writeStringField("reason", reason);
+            json.writeEndObject();
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeEndObject();
+        }
+        send(exchange, status, body);
+    }
+    
+    /**
+     * 按字段掩码逐层过滤的Jackson过滤器，数组元素沿用所在字段的掩码
+     */
+    private static final class MaskFilter extends TokenFilter {
+        private final FieldMask mask;
+        
+        MaskFilter(FieldMask mask) {
+            this.mask = mask;
+        }
+        
+        @Override
+        public TokenFilter includeProperty(String name) {
+            FieldMask child = mask.child(name);
+            if (child == null) {
+                return null;
+            }
+            return child.isLeaf() ? TokenFilter.INCLUDE_ALL : new MaskFilter(child);
+        }
+    }
+    
+    /**
+     * 创建响应生成器，请求带fields参数时只输出掩码选择的字段
+     */
+    private static JsonGenerator createGenerator(ByteArrayOutputStream body, FieldMask mask) throws IOException {
+        JsonGenerator json = JSON_FACTORY.createGenerator(body, JsonEncoding.UTF8);
+        if (mask == null) {
+            return json;
+        }
+        return new FilteringGeneratorDelegate(json, new MaskFilter(mask),
+                TokenFilter.Inclusion.INCLUDE_ALL_AND_PATH, true);
+    }
+    
+    private void send(HttpExchange exchange, int status, ByteArrayOutputStream body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip")) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, body.size() / 4));
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                body.writeTo(gzip);
+            }
+            body = compressed;
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        bytesSent.addAndGet(body.size());
+        exchange.sendResponseHeaders(status, body.size());
+        try (OutputStream output = exchange.getResponseBody()) {
+            body.writeTo(output);
+        }
+    }
+    
+    private static ApiOperation operationFor(String path) {
+        for (ApiOperation operation : ApiOperation.values()) {
+            if (operation.getPath().equals(path)) {
+                return operation;
+            }
+        }
+        return null;
+    }
+    
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+    
+    private static int parseInt(String value, int defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+    
+    private SplittableRandom videoRandom(int channel, int video) {
+        return new SplittableRandom(config.seed ^ ((long) channel << VIDEO_INDEX_BITS | video) * 0xBF58476D1CE4E5B9L);
+    }
+    
+    /**
+     * 上传播放列表按发布时间倒序，序号0是最新的视频
+     */
+    private static LocalDateTime publishedAt(int video, SplittableRandom random) {
+        return NEWEST_UPLOAD.minusHours(video * 12L).minusMinutes(random.nextInt(12 * 60));
+    }
+    
+    /**
+     * 频道序号和视频序号组合为64位后与种子掩码异或，编码为11位base64url，可逆
+     */
+    private String encodeVideoId(int channel, int video) {
+        long value = (((long) channel << VIDEO_INDEX_BITS) | video) ^ idMask;
+        char[] chars = new char[11];
+        for (int i = 10; i >= 0; i--) {
+            chars[i] = ID_ALPHABET[(int) (value & 63)];
+            value >>>= 6;
+        }
+        return new String(chars);
+    }
+    
+    /**
+     * @return 频道序号与视频序号组合值，无效ID返回-1
+     */
+    private long decodeVideoId(String videoId) {
+        if (videoId.length() != 11) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = 0; i < 11; i++) {
+            int digit = base64Digit(videoId.charAt(i));
+            if (digit < 0) {
+                return -1;
+            }
+            value = (value << 6) | digit;
+        }
+        value ^= idMask;
+        long channel = value >>> VIDEO_INDEX_BITS;
+        long video = value & ((1L << VIDEO_INDEX_BITS) - 1);
+        return channel < config.channelCount && video < config.videosPerChannel ? value : -1;
+    }
+    
+    private static int base64Digit(char c) {
+        if (c >= 'A' && c <= 'Z') return c - 'A';
+        if (c >= 'a' && c <= 'z') return c - 'a' + 26;
+        if (c >= '0' && c <= '9') return c - '0' + 52;
+        if (c == '-') return 62;
+        if (c == '_') return 63;
+        return -1;
+    }
+    
+    private static String encodePageToken(int offset) {
+        return "CD" + Integer.toString(offset, 36).toUpperCase() + "QAA";
+    }
+    
+    private static int decodePageToken(String token) {
+        if (!token.startsWith("CD") || !token.endsWith("QAA") || token.length() <= 5) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(token.substring(2, token.length() - 3), 36);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+    
+    private static String duration(SplittableRandom random) {
+        int seconds = 15 + random.nextInt(2 * 3600);
+        StringBuilder builder = new StringBuilder("PT");
+        if (seconds >= 3600) {
+            builder.append(seconds / 3600).append('H');
+        }
+        if (seconds % 3600 >= 60) {
+            builder.append(seconds % 3600 / 60).append('M');
+        }
+        if (seconds % 60 != 0) {
+            builder.append(seconds % 60).append('S');
+        }
+        return builder.toString();
+    }
+    
+    private static String title(SplittableRandom random, int words) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            builder.append(TITLE_WORDS[random.nextInt(TITLE_WORDS.length)]);
+        }
+        return builder.toString();
+    }
+    
+    private static String randomId(SplittableRandom random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = ID_ALPHABET[random.nextInt(ID_ALPHABET.length)];
+        }
+        return new String(chars);
+    }
+}
\ No newline at end of file
@@ -47,6 +47,22 @@ public class ApiResponse<T> {
         this.message = "Request completed successfully";
     }
     
+    /**
+     * 复制构造函数，复制状态和分页信息，数据替换为给定列表
+     * @param other 被复制的响应
+     * @param data 新响应的数据
+     */
+    public ApiResponse(ApiResponse<?> other, List<T> data) {
+        this.status = other.status;
+        this.message = other.message;
+        this.data = data;
+        this.nextPageToken = other.nextPageToken;
+        this.totalResults = other.totalResults;
+        this.resultsPerPage = other.resultsPerPage;
+        this.requestCount = other.requestCount;
+        this.errorCode = other.errorCode;
+    }
+    
     /**
      * 错误响应构造函数
      * @param message 错误消息
@@ -0,0 +1,147 @@
+package com.youtube.fetcher.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * 频道同步检查点模型
+ * 记录频道上次同步到的位置，用于增量同步
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public class ChannelCheckpoint {
+    
+    @JsonProperty("channel_id")
+    private String channelId;
+    
+    @JsonProperty("latest_published_at")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+    private LocalDateTime latestPublishedAt;
+    
+    @JsonProperty("latest_video_id")
+    private String latestVideoId;
+    
+    @JsonProperty("last_page_token")
+    private String lastPageToken;
+    
+    @JsonProperty("video_count")
+    private Long videoCount;
+    
+    @JsonProperty("last_sync_at")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+    private LocalDateTime lastSyncAt;
+    
+    /**
+     * 默认构造函数
+     */
+    public ChannelCheckpoint() {
+    }
+    
+    /**
+     * 基本构造函数
+     * @param channelId 频道ID
+     */
+    public ChannelCheckpoint(String channelId) {
+        this.channelId = channelId;
+    }
+    
+    // Getters and Setters
+    public String getChannelId() {
+        return channelId;
+    }
+    
+    public void setChannelId(String channelId) {
+        this.channelId = channelId;
+    }
+    
+    public LocalDateTime getLatestPublishedAt() {
+        return latestPublishedAt;
+    }
+    
+    public void setLatestPublishedAt(LocalDateTime latestPublishedAt) {
+        this.latestPublishedAt = latestPublishedAt;
+    }
+    
+    public String getLatestVideoId() {
+        return latestVideoId;
+    }
+    
+    public void setLatestVideoId(String latestVideoId) {
+        this.latestVideoId = latestVideoId;
+    }
+    
+    public String getLastPageToken() {
+        return lastPageToken;
+    }
+    
+    public void setLastPageToken(String lastPageToken) {
+        this.lastPageToken = lastPageToken;
+    }
+    
+    public Long getVideoCount() {
+        return videoCount;
+    }
+    
+    public void setVideoCount(Long videoCount) {
+        this.videoCount = videoCount;
+    }
+    
+    public LocalDateTime getLastSyncAt() {
+        return lastSyncAt;
+    }
+    
+    public void setLastSyncAt(LocalDateTime lastSyncAt) {
+        this.lastSyncAt = lastSyncAt;
+    }
+    
+    /**
+     * 检查历史视频是否已完整同步
+     * @return 如果没有待续传的页面令牌则返回true
+     */
+    @JsonIgnore
+    public boolean isHistoryComplete() {
+        return lastPageToken == null || lastPageToken.trim().isEmpty();
+    }
+    
+    /**
+     * 检查视频是否已在上次同步中见过
+     * 上传播放列表按发布时间倒序排列，遇到水位线上的视频即可停止翻页
+     * @param video 视频数据
+     * @return 如果视频不晚于水位线则返回true
+     */
+    public boolean isSeen(VideoData video) {
+        if (latestVideoId != null && latestVideoId.equals(video.getVideoId())) {
+            return true;
+        }
+        return latestPublishedAt != null && video.getPublishedAt() != null
+                && video.getPublishedAt().isBefore(latestPublishedAt);
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ChannelCheckpoint that = (ChannelCheckpoint) o;
+        return Objects.equals(channelId, that.channelId);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(channelId);
+    }
+    
+    @Override
+    public String toString() {
+        return "ChannelCheckpoint{" +
+                "channelId='" + channelId + '\'' +
+                ", latestPublishedAt=" + latestPublishedAt +
+                ", videoCount=" + videoCount +
+                ", historyComplete=" + isHistoryComplete() +
+                '}';
+    }
+}
\ No newline at end of file
@@ -2,21 +2,26 @@ package com.youtube.fetcher.model;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.youtube.fetcher.json.Rfc3339LocalDateTimeDeserializer;
 
 import java.time.LocalDateTime;
-import java.util.Objects;
 
 /**
  * YouTube频道信息模型
- * 封装频道的基本信息和统计数据
+ * 封装频道的基本信息和统计数据。
+ * 启用 {@link CompactModel} 时，频道ID和上传播放列表ID存为字节数组，国家和默认语言经共享字典去重
  * 
  * @author YouTube Fetcher Team
  * @version 1.0.0
  */
 public class ChannelInfo {
     
+    /**
+     * String，紧凑模式下纯ASCII的ID为byte[]
+     */
     @JsonProperty("channel_id")
-    private String channelId;
+    private Object channelId;
     
     @JsonProperty("channel_name")
     private String channelName;
@@ -26,6 +31,7 @@ public class ChannelInfo {
     
     @JsonProperty("created_at")
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+    @JsonDeserialize(using = Rfc3339LocalDateTimeDeserializer.class)
     private LocalDateTime createdAt;
     
     @JsonProperty("subscriber_count")
@@ -38,7 +44,7 @@ public class ChannelInfo {
     private Long viewCount;
     
     @JsonProperty("uploads_playlist_id")
-    private String uploadsPlaylistId;
+    private Object uploadsPlaylistId;
     
     @JsonProperty("custom_url")
     private String customUrl;
@@ -67,17 +73,37 @@ public class ChannelInfo {
      * @param channelName 频道名称
      */
     public ChannelInfo(String channelId, String channelName) {
-        this.channelId = channelId;
+        setChannelId(channelId);
         this.channelName = channelName;
     }
     
+    /**
+     * 复制构造函数，ID和字符串字段不可变，直接共享
+     * @param other 被复制的频道
+     */
+    public ChannelInfo(ChannelInfo other) {
+        this.channelId = other.channelId;
+        this.channelName = other.channelName;
+        this.description = other.description;
+        this.createdAt = other.createdAt;
+        this.subscriberCount = other.subscriberCount;
+        this.videoCount = other.videoCount;
+        this.viewCount = other.viewCount;
+        this.uploadsPlaylistId = other.uploadsPlaylistId;
+        this.customUrl = other.customUrl;
+        this.country = other.country;
+        this.defaultLanguage = other.defaultLanguage;
+        this.thumbnailUrl = other.thumbnailUrl;
+        this.bannerUrl = other.bannerUrl;
+    }
+    
     // Getters and Setters
     public String getChannelId() {
-        return channelId;
+        return CompactModel.decodeId(channelId);
     }
     
     public void setChannelId(String channelId) {
-        this.channelId = channelId;
+        this.channelId = CompactModel.encodeId(channelId);
     }
     
     public String getChannelName() {
@@ -129,11 +155,11 @@ public class ChannelInfo {
     }
     
     public String getUploadsPlaylistId() {
-        return uploadsPlaylistId;
+        return CompactModel.decodeId(uploadsPlaylistId);
     }
     
     public void setUploadsPlaylistId(String uploadsPlaylistId) {
-        this.uploadsPlaylistId = uploadsPlaylistId;
+        this.uploadsPlaylistId = CompactModel.encodeId(uploadsPlaylistId);
     }
     
     public String getCustomUrl() {
@@ -149,7 +175,7 @@ public class ChannelInfo {
     }
     
     public void setCountry(String country) {
-        this.country = country;
+        this.country = CompactModel.intern(country);
     }
     
     public String getDefaultLanguage() {
@@ -157,7 +183,7 @@ public class ChannelInfo {
     }
     
     public void setDefaultLanguage(String defaultLanguage) {
-        this.defaultLanguage = defaultLanguage;
+        this.defaultLanguage = CompactModel.intern(defaultLanguage);
     }
     
     public String getThumbnailUrl() {
@@ -177,11 +203,11 @@ public class ChannelInfo {
     }
     
     /**
-     * 获取频道URL
+     * 获取频道URL，由频道ID拼出，不单独存储
      * @return YouTube频道链接
      */
     public String getChannelUrl() {
-        return "https://www.youtube.com/channel/" + channelId;
+        return "https://www.youtube.com/channel/" + getChannelId();
     }
     
     /**
@@ -189,7 +215,7 @@ public class ChannelInfo {
      * @return 如果频道ID不为空则返回true
      */
     public boolean isValid() {
-        return channelId != null && !channelId.trim().isEmpty();
+        return channelId != null && !getChannelId().trim().isEmpty();
     }
     
     @Override
@@ -197,18 +223,18 @@ public class ChannelInfo {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         ChannelInfo that = (ChannelInfo) o;
-        return Objects.equals(channelId, that.channelId);
+        return CompactModel.idEquals(channelId, that.channelId);
     }
     
     @Override
     public int hashCode() {
-        return Objects.hash(channelId);
+        return 31 + CompactModel.idHashCode(channelId);
     }
     
     @Override
     public String toString() {
         return "ChannelInfo{" +
-                "channelId='" + channelId + '\'' +
+                "channelId='" + getChannelId() + '\'' +
                 ", channelName='" + channelName + '\'' +
                 ", subscriberCount=" + subscriberCount +
                 ", videoCount=" + videoCount +
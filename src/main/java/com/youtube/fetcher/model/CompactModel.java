@@ -0,0 +1,160 @@
+package com.youtube.fetcher.model;
+
+import com.youtube.fetcher.util.StringDictionary;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 模型对象的紧凑存储模式
+ * 大规模抓取时内存中常常驻留数十万个 {@link VideoData}，其中大量字段是重复或可推导的。启用后，之后写入的字段按以下方式存储：
+ * 
+ * <ul>
+ *   <li>频道ID、时长、国家、默认语言等低基数字段经共享的 {@link StringDictionary} 去重，相同取值只保留一个实例</li>
+ *   <li>纯ASCII的视频ID、频道ID、上传播放列表ID存为 {@code byte[]}，省去String对象头，读取时再构造字符串</li>
+ *   <li>符合 {@code https://i.ytimg.com/vi/<视频ID>/<尺寸>.jpg} 格式的视频缩略图URL不存储，读取时由视频ID拼出</li>
+ * </ul>
+ * 
+ * 公开的getter和setter保持不变，两种存储形式可以在同一个对象集合中并存，切换模式不影响已创建的对象。
+ * 代价是getter会为ID和缩略图URL临时创建字符串，适合结果集很大、读取次数有限的场景。
+ * 也可以通过系统属性 {@value #COMPACT_MODEL_PROPERTY}=true 在启动时启用。
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public final class CompactModel {
+    
+    /**
+     * 设置为true在启动时启用紧凑模式
+     */
+    public static final String COMPACT_MODEL_PROPERTY = "youtube.fetcher.compactModel";
+    
+    /**
+     * 共享字典的容量
+     */
+    public static final int DICTIONARY_SIZE = 1 << 16;
+    
+    private static final StringDictionary DICTIONARY = new StringDictionary(DICTIONARY_SIZE);
+    
+    private static volatile boolean enabled = Boolean.getBoolean(COMPACT_MODEL_PROPERTY);
+    
+    private CompactModel() {
+    }
+    
+    /**
+     * @return 紧凑模式是否启用
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * 启用或停用紧凑模式，只影响之后写入的字段
+     * @param compact 是否启用
+     */
+    public static void setEnabled(boolean compact) {
+        enabled = compact;
+    }
+    
+    /**
+     * @return 紧凑模式使用的共享字典
+     */
+    public static StringDictionary dictionary() {
+        return DICTIONARY;
+    }
+    
+    /**
+     * 紧凑模式下返回字典中的规范实例，否则原样返回
+     */
+    static String intern(String value) {
+        return enabled ? DICTIONARY.intern(value) : value;
+    }
+    
+    /**
+     * 编码ID，紧凑模式下纯ASCII的ID转为字节数组
+     * @param id ID字符串，可以为null
+     * @return String或byte[]
+     */
+    static Object encodeId(String id) {
+        if (!enabled || id == null) {
+            return id;
+        }
+        int length = id.length();
+        for (int i = 0; i < length; i++) {
+            if (id.charAt(i) >= 0x80) {
+                return id;
+            }
+        }
+        return id.getBytes(StandardCharsets.ISO_8859_1);
+    }
+    
+    /**
+     * 解码 {@link #encodeId(String)} 的结果
+     */
+    static String decodeId(Object id) {
+        if (id instanceof byte[]) {
+            return new String((byte[]) id, StandardCharsets.ISO_8859_1);
+        }
+        return (String) id;
+    }
+    
+    /**
+     * 比较两个编码后的ID，不论各自的存储形式
+     */
+    static boolean idEquals(Object a, Object b) {
+        if (a == b) {
+            return true;
+        }
+        if (a == null || b == null) {
+            return false;
+        }
+        if (a instanceof byte[] && b instanceof byte[]) {
+            return Arrays.equals((byte[]) a, (byte[]) b);
+        }
+        if (a instanceof String && b instanceof String) {
+            return a.equals(b);
+        }
+        return decodeId(a).equals(decodeId(b));
+    }
+    
+    /**
+     * 计算编码后ID的哈希值，与对应字符串的 {@link String#hashCode()} 相同
+     */
+    static int idHashCode(Object id) {
+        if (id instanceof byte[]) {
+            int hash = 0;
+            for (byte b : (byte[]) id) {
+                hash = 31 * hash + b;
+            }
+            return hash;
+        }
+        return id != null ? id.hashCode() : 0;
+    }
+    
+    /**
+     * 检查编码后的ID在指定位置是否与字符串的一段相同
+     */
+    static boolean idRegionMatches(Object id, String text, int offset) {
+        if (id instanceof byte[]) {
+            byte[] bytes = (byte[]) id;
+            if (offset + bytes.length > text.length()) {
+                return false;
+            }
+            for (int i = 0; i < bytes.length; i++) {
+                if (text.charAt(offset + i) != bytes[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        String value = (String) id;
+        return text.regionMatches(offset, value, 0, value.length());
+    }
+    
+    /**
+     * @return 编码后ID的字符数
+     */
+    static int idLength(Object id) {
+        return id instanceof byte[] ? ((byte[]) id).length : ((String) id).length();
+    }
+}
\ No newline at end of file
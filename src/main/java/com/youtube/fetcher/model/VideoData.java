@@ -1,29 +1,56 @@
 package com.youtube.fetcher.model;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.youtube.fetcher.json.Rfc3339LocalDateTimeDeserializer;
+import com.youtube.fetcher.util.DurationUtil;
+import com.youtube.fetcher.util.TimestampUtil;
 
 import java.time.LocalDateTime;
-import java.util.Objects;
+import java.time.ZoneOffset;
 
 /**
  * YouTube视频数据模型
- * 封装单个视频的基本信息
+ * 封装单个视频的基本信息。
+ * 发布时间按UTC纪元秒、统计数据按基本类型存储；启用 {@link CompactModel} 时，
+ * 视频ID存为字节数组，频道ID和时长经共享字典去重，可由视频ID推导的缩略图URL不存储
  * 
  * @author YouTube Fetcher Team
  * @version 1.0.0
  */
 public class VideoData {
     
+    /**
+     * 缩略图URL的固定前缀，其后是视频ID和 {@link #THUMBNAIL_FILES} 之一
+     */
+    private static final String THUMBNAIL_PREFIX = "https://i.ytimg.com/vi/";
+    
+    private static final String[] THUMBNAIL_FILES = {
+            "/default.jpg", "/mqdefault.jpg", "/hqdefault.jpg", "/sddefault.jpg", "/maxresdefault.jpg"
+    };
+    
+    /**
+     * 统计数据缺失时的存储值
+     */
+    private static final long NO_COUNT = Long.MIN_VALUE;
+    
+    /**
+     * String，紧凑模式下纯ASCII的ID为byte[]
+     */
     @JsonProperty("video_id")
-    private String videoId;
+    private Object videoId;
     
     @JsonProperty("title")
     private String title;
     
     @JsonProperty("published_at")
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
-    private LocalDateTime publishedAt;
+    @JsonDeserialize(using = Rfc3339LocalDateTimeDeserializer.class)
+    private long publishedAt = TimestampUtil.INVALID;
+    
+    private int publishedAtNano;
     
     @JsonProperty("description")
     private String description;
@@ -32,14 +59,17 @@ public class VideoData {
     private String duration;
     
     @JsonProperty("view_count")
-    private Long viewCount;
+    private long viewCount = NO_COUNT;
     
     @JsonProperty("like_count")
-    private Long likeCount;
+    private long likeCount = NO_COUNT;
     
     @JsonProperty("comment_count")
-    private Long commentCount;
+    private long commentCount = NO_COUNT;
     
+    /**
+     * 完整URL；紧凑模式下可由视频ID推导时为 {@link #THUMBNAIL_FILES} 中的文件名实例
+     */
     @JsonProperty("thumbnail_url")
     private String thumbnailUrl;
     
@@ -59,9 +89,9 @@ public class VideoData {
      * @param publishedAt 发布时间
      */
     public VideoData(String videoId, String title, LocalDateTime publishedAt) {
-        this.videoId = videoId;
+        setVideoId(videoId);
         this.title = title;
-        this.publishedAt = publishedAt;
+        setPublishedAt(publishedAt);
     }
     
     /**
@@ -70,25 +100,44 @@ public class VideoData {
     public VideoData(String videoId, String title, LocalDateTime publishedAt, 
                     String description, String duration, Long viewCount, 
                     Long likeCount, Long commentCount, String thumbnailUrl, String channelId) {
-        this.videoId = videoId;
-        this.title = title;
-        this.publishedAt = publishedAt;
+        this(videoId, title, publishedAt);
         this.description = description;
-        this.duration = duration;
-        this.viewCount = viewCount;
-        this.likeCount = likeCount;
-        this.commentCount = commentCount;
-        this.thumbnailUrl = thumbnailUrl;
-        this.channelId = channelId;
+        setDuration(duration);
+        setViewCount(viewCount);
+        setLikeCount(likeCount);
+        setCommentCount(commentCount);
+        setThumbnailUrl(thumbnailUrl);
+        setChannelId(channelId);
+    }
+    
+    /**
+     * 复制构造函数，ID和字符串字段不可变，直接共享
+     * @param other 被复制的视频
+     */
+    public VideoData(VideoData other) {
+        this.videoId = other.videoId;
+        this.title = other.title;
+        this.publishedAt = other.publishedAt;
+        this.publishedAtNano = other.publishedAtNano;
+        this.description = other.description;
+        this.duration = other.duration;
+        this.viewCount = other.viewCount;
+        this.likeCount = other.likeCount;
+        this.commentCount = other.commentCount;
+        this.thumbnailUrl = other.thumbnailUrl;
+        this.channelId = other.channelId;
     }
     
     // Getters and Setters
     public String getVideoId() {
-        return videoId;
+        return CompactModel.decodeId(videoId);
     }
     
     public void setVideoId(String videoId) {
-        this.videoId = videoId;
+        // 推导出的缩略图URL依赖旧ID，先还原再按新ID重新判断
+        String thumbnail = getThumbnailUrl();
+        this.videoId = CompactModel.encodeId(videoId);
+        setThumbnailUrl(thumbnail);
     }
     
     public String getTitle() {
@@ -100,11 +149,15 @@ public class VideoData {
     }
     
     public LocalDateTime getPublishedAt() {
-        return publishedAt;
+        if (publishedAt == TimestampUtil.INVALID) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(publishedAt, publishedAtNano, ZoneOffset.UTC);
     }
     
     public void setPublishedAt(LocalDateTime publishedAt) {
-        this.publishedAt = publishedAt;
+        this.publishedAt = TimestampUtil.toEpochSecond(publishedAt);
+        this.publishedAtNano = publishedAt != null ? publishedAt.getNano() : 0;
     }
     
     public String getDescription() {
@@ -120,39 +173,44 @@ public class VideoData {
     }
     
     public void setDuration(String duration) {
-        this.duration = duration;
+        this.duration = CompactModel.intern(duration);
     }
     
     public Long getViewCount() {
-        return viewCount;
+        return viewCount != NO_COUNT ? Long.valueOf(viewCount) : null;
     }
     
     public void setViewCount(Long viewCount) {
-        this.viewCount = viewCount;
+        this.viewCount = viewCount != null ? viewCount : NO_COUNT;
     }
     
     public Long getLikeCount() {
-        return likeCount;
+        return likeCount != NO_COUNT ? Long.valueOf(likeCount) : null;
     }
     
     public void setLikeCount(Long likeCount) {
-        this.likeCount = likeCount;
+        this.likeCount = likeCount != null ? likeCount : NO_COUNT;
     }
     
     public Long getCommentCount() {
-        return commentCount;
+        return commentCount != NO_COUNT ? Long.valueOf(commentCount) : null;
     }
     
     public void setCommentCount(Long commentCount) {
-        this.commentCount = commentCount;
+        this.commentCount = commentCount != null ? commentCount : NO_COUNT;
     }
     
     public String getThumbnailUrl() {
+        for (String file : THUMBNAIL_FILES) {
+            if (thumbnailUrl == file) {
+                return THUMBNAIL_PREFIX + getVideoId() + file;
+            }
+        }
         return thumbnailUrl;
     }
     
     public void setThumbnailUrl(String thumbnailUrl) {
-        this.thumbnailUrl = thumbnailUrl;
+        this.thumbnailUrl = CompactModel.isEnabled() ? compactThumbnail(thumbnailUrl) : thumbnailUrl;
     }
     
     public String getChannelId() {
@@ -160,15 +218,89 @@ public class VideoData {
     }
     
     public void setChannelId(String channelId) {
-        this.channelId = channelId;
+        this.channelId = CompactModel.intern(channelId);
     }
     
     /**
-     * 获取视频URL
+     * 获取时长秒数，直接解析ISO-8601时长字符串，不创建Duration对象
+     * @return 时长秒数，时长缺失或无法解析时返回 {@link DurationUtil#INVALID}
+     */
+    @JsonIgnore
+    public int getDurationSeconds() {
+        return DurationUtil.parseSeconds(duration);
+    }
+    
+    /**
+     * 获取发布时间的UTC纪元秒
+     * @return 纪元秒，发布时间缺失时返回 {@link TimestampUtil#INVALID}
+     */
+    @JsonIgnore
+    public long getPublishedAtEpochSecond() {
+        return publishedAt;
+    }
+    
+    /**
+     * 获取视频URL，由视频ID拼出，不单独存储
      * @return YouTube视频链接
      */
     public String getVideoUrl() {
-        return "https://www.youtube.com/watch?v=" + videoId;
+        return "https://www.youtube.com/watch?v=" + getVideoId();
+    }
+    
+    /**
+     * 合并视频详情
+     * 用videos.list返回的详情填充时长和统计数据，其余字段仅在当前为空时补全
+     * @param details 同一视频的详情数据
+     */
+    public void mergeDetails(VideoData details) {
+        if (details == null || !CompactModel.idEquals(videoId, details.videoId)) {
+            return;
+        }
+        if (details.duration != null) {
+            setDuration(details.duration);
+        }
+        if (details.viewCount != NO_COUNT) {
+            this.viewCount = details.viewCount;
+        }
+        if (details.likeCount != NO_COUNT) {
+            this.likeCount = details.likeCount;
+        }
+        if (details.commentCount != NO_COUNT) {
+            this.commentCount = details.commentCount;
+        }
+        if (title == null) {
+            this.title = details.title;
+        }
+        if (publishedAt == TimestampUtil.INVALID) {
+            this.publishedAt = details.publishedAt;
+            this.publishedAtNano = details.publishedAtNano;
+        }
+        if (description == null) {
+            this.description = details.description;
+        }
+        if (thumbnailUrl == null) {
+            setThumbnailUrl(details.getThumbnailUrl());
+        }
+        if (channelId == null) {
+            setChannelId(details.channelId);
+        }
+    }
+    
+    /**
+     * 缩略图URL可由视频ID推导时返回对应的文件名实例，否则原样返回
+     */
+    private String compactThumbnail(String url) {
+        if (url == null || videoId == null || !url.startsWith(THUMBNAIL_PREFIX)
+                || !CompactModel.idRegionMatches(videoId, url, THUMBNAIL_PREFIX.length())) {
+            return url;
+        }
+        int fileStart = THUMBNAIL_PREFIX.length() + CompactModel.idLength(videoId);
+        for (String file : THUMBNAIL_FILES) {
+            if (url.length() == fileStart + file.length() && url.startsWith(file, fileStart)) {
+                return file;
+            }
+        }
+        return url;
     }
     
     /**
@@ -176,7 +308,7 @@ public class VideoData {
      * @return 如果视频ID和标题都不为空则返回true
      */
     public boolean isValid() {
-        return videoId != null && !videoId.trim().isEmpty() && 
+        return videoId != null && !getVideoId().trim().isEmpty() && 
                title != null && !title.trim().isEmpty();
     }
     
@@ -185,21 +317,22 @@ public class VideoData {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         VideoData videoData = (VideoData) o;
-        return Objects.equals(videoId, videoData.videoId);
+        return CompactModel.idEquals(videoId, videoData.videoId);
     }
     
     @Override
     public int hashCode() {
-        return Objects.hash(videoId);
+        // 与Objects.hash(getVideoId())相同，不解码ID
+        return 31 + CompactModel.idHashCode(videoId);
     }
     
     @Override
     public String toString() {
         return "VideoData{" +
-                "videoId='" + videoId + '\'' +
+                "videoId='" + getVideoId() + '\'' +
                 ", title='" + title + '\'' +
-                ", publishedAt=" + publishedAt +
-                ", viewCount=" + viewCount +
+                ", publishedAt=" + getPublishedAt() +
+                ", viewCount=" + getViewCount() +
                 '}';
     }
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.youtube.fetcher.pipeline;
+
+import java.util.concurrent.Flow;
+
+/**
+ * 包装下游订阅者，在其取消订阅时通知所属阶段
+ * {@link java.util.concurrent.SubmissionPublisher} 不会告知发布方订阅已被取消，
+ * 阶段通过它把取消立即传播到自己的上游，而不是等到下一次提交时才发现。
+ * 
+ * @param <T> 元素类型
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+final class CancellationForwarder<T> implements Flow.Subscriber<T> {
+    
+    private final Flow.Subscriber<? super T> delegate;
+    private final Runnable onCancel;
+    
+    CancellationForwarder(Flow.Subscriber<? super T> delegate, Runnable onCancel) {
+        this.delegate = delegate;
+        this.onCancel = onCancel;
+    }
+    
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        delegate.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                subscription.request(n);
+            }
+            
+            @Override
+            public void cancel() {
+                // 先通知阶段再取消：取消会唤醒阻塞在提交上的线程，它们应当已能看到取消标记
+                onCancel.run();
+                subscription.cancel();
+            }
+        });
+    }
+    
+    @Override
+    public void onNext(T item) {
+        delegate.onNext(item);
+    }
+    
+    @Override
+    public void onError(Throwable throwable) {
+        delegate.onError(throwable);
+    }
+    
+    @Override
+    public void onComplete() {
+        delegate.onComplete();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,157 @@
+package com.youtube.fetcher.pipeline;
+
+import com.youtube.fetcher.exception.YouTubeApiException;
+import com.youtube.fetcher.model.ApiResponse;
+import com.youtube.fetcher.model.ChannelInfo;
+import com.youtube.fetcher.model.VideoData;
+import com.youtube.fetcher.service.ChannelFetchEngine;
+import com.youtube.fetcher.service.ChannelPageListener;
+import com.youtube.fetcher.util.ConcurrencyUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 流水线的源头：通过 {@link ChannelFetchEngine} 获取频道的上传视频，按页发布
+ * 第一个订阅者订阅时才开始获取。获取线程把页面提交到容量为 {@code bufferPages} 的缓冲区，
+ * 缓冲区满时提交阻塞，获取线程随之停下，不会预先拉取下游来不及处理的页面。
+ * 
+ * <p>下游取消订阅后不再开始新的频道，进行中的频道在当前页之后停止。单个频道获取失败只记录在
+ * {@link #getFailedChannels()} 中，不影响其他频道；所有频道结束后正常完成。只支持一个订阅者。</p>
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public class ChannelPagePublisher extends SubmissionPublisher<ApiResponse<VideoData>> {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ChannelPagePublisher.class);
+    
+    private final ChannelFetchEngine engine;
+    private final List<ChannelInfo> channels;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+    private final Map<String, YouTubeApiException> failedChannels = new ConcurrentHashMap<>();
+    private final LongAdder pageCount = new LongAdder();
+    private final LongAdder videoCount = new LongAdder();
+    private volatile boolean cancelled;
+    
+    /**
+     * 构造函数
+     * @param engine 获取引擎，其并发上限即获取阶段的并行度，由调用方关闭
+     * @param channels 频道列表
+     * @param bufferPages 发往下游的缓冲页数
+     */
+    public ChannelPagePublisher(ChannelFetchEngine engine, Collection<ChannelInfo> channels, int bufferPages) {
+        // 投递线程空闲后自行退出；关闭后订阅者仍可能请求剩余的缓冲页面，因此不主动关闭线程池
+        super(ConcurrencyUtil.newCachedDaemonPool("pipeline-fetch"), bufferPages);
+        this.engine = Objects.requireNonNull(engine, "engine");
+        this.channels = new ArrayList<>(channels);
+    }
+    
+    @Override
+    public void subscribe(Flow.Subscriber<? super ApiResponse<VideoData>> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+                
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("ChannelPagePublisher supports a single subscriber"));
+            return;
+        }
+        super.subscribe(new CancellationForwarder<>(subscriber, this::cancel));
+        engine.fetchAll(channels, new PublishingListener()).whenComplete((ignored, error) -> {
+            if (error != null) {
+                closeExceptionally(error);
+            } else {
+                close();
+            }
+        });
+    }
+    
+    private void cancel() {
+        if (!cancelled) {
+            // 阻塞在提交上的获取线程由订阅的取消唤醒，之后的提交没有订阅者，立即返回
+            cancelled = true;
+            logger.debug("Channel page subscription cancelled, stopping fetch");
+        }
+    }
+    
+    /**
+     * @return 下游是否已取消订阅
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+    
+    /**
+     * @return 获取失败的频道ID及原因
+     */
+    public Map<String, YouTubeApiException> getFailedChannels() {
+        return Collections.unmodifiableMap(failedChannels);
+    }
+    
+    /**
+     * @return 已发布的页数
+     */
+    public long getPageCount() {
+        return pageCount.sum();
+    }
+    
+    /**
+     * @return 已发布页面中的视频数
+     */
+    public long getVideoCount() {
+        return videoCount.sum();
+    }
+    
+    /**
+     * 在获取线程上把页面提交给下游
+     */
+    private final class PublishingListener implements ChannelPageListener {
+        
+        @Override
+        public void onPage(ChannelInfo channel, ApiResponse<VideoData> page) {
+            if (cancelled || isClosed()) {
+                return;
+            }
+            try {
+                submit(page);
+            } catch (IllegalStateException e) {
+                // 提交期间被取消而关闭
+                return;
+            }
+            pageCount.increment();
+            videoCount.add(page.getDataSize());
+        }
+        
+        @Override
+        public void onChannelFailed(ChannelInfo channel, YouTubeApiException error) {
+            if (cancelled) {
+                return;
+            }
+            logger.warn("Channel {} failed: {}", channel.getChannelId(), error.getMessage());
+            failedChannels.put(channel.getChannelId(), error);
+        }
+        
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.youtube.fetcher.pipeline;
+
+import com.youtube.fetcher.dedup.VideoIdIndex;
+import com.youtube.fetcher.exception.FileExportException;
+import com.youtube.fetcher.model.ApiResponse;
+import com.youtube.fetcher.model.VideoData;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 去重阶段：丢弃 {@link VideoIdIndex} 中已有的视频，并把新视频的ID加入索引
+ * 视频在通过本阶段时即被记录，之后导出失败的视频在下次运行时也会被视为已导出。
+ * 整页都是重复视频时丢弃该页。
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public class DeduplicationStage implements PageProcessor.Stage {
+    
+    private final VideoIdIndex index;
+    private final LongAdder duplicates = new LongAdder();
+    
+    /**
+     * 构造函数
+     * @param index 视频ID索引
+     */
+    public DeduplicationStage(VideoIdIndex index) {
+        this.index = Objects.requireNonNull(index, "index");
+    }
+    
+    @Override
+    public ApiResponse<VideoData> process(ApiResponse<VideoData> page) throws FileExportException {
+        List<VideoData> videos = page.getData();
+        if (videos == null || videos.isEmpty()) {
+            return null;
+        }
+        List<VideoData> fresh = new ArrayList<>(videos.size());
+        for (VideoData video : videos) {
+            if (index.add(video)) {
+                fresh.add(video);
+            }
+        }
+        duplicates.add(videos.size() - fresh.size());
+        if (fresh.isEmpty()) {
+            return null;
+        }
+        if (fresh.size() == videos.size()) {
+            return page;
+        }
+        return ApiResponse.success(fresh, page.getNextPageToken(), page.getTotalResults());
+    }
+    
+    /**
+     * @return 丢弃的重复视频数
+     */
+    public long getDuplicateCount() {
+        return duplicates.sum();
+    }
+}
\ No newline at end of file
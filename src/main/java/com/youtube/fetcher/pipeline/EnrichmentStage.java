@@ -0,0 +1,53 @@
+package com.youtube.fetcher.pipeline;
+
+import com.youtube.fetcher.exception.YouTubeApiException;
+import com.youtube.fetcher.model.ApiResponse;
+import com.youtube.fetcher.model.VideoData;
+import com.youtube.fetcher.service.VideoEnricher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 补全阶段：用 {@link VideoEnricher} 为每页视频补全时长和统计数据
+ * 补全失败的页面原样传给下游并计数，不中断流水线。
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public class EnrichmentStage implements PageProcessor.Stage {
+    
+    private static final Logger logger = LoggerFactory.getLogger(EnrichmentStage.class);
+    
+    private final VideoEnricher enricher;
+    private final LongAdder failedPages = new LongAdder();
+    
+    /**
+     * 构造函数
+     * @param enricher 补全器
+     */
+    public EnrichmentStage(VideoEnricher enricher) {
+        this.enricher = Objects.requireNonNull(enricher, "enricher");
+    }
+    
+    @Override
+    public ApiResponse<VideoData> process(ApiResponse<VideoData> page) {
+        try {
+            enricher.enrich(page);
+        } catch (YouTubeApiException e) {
+            failedPages.increment();
+            logger.warn("Enrichment of {} videos failed, exporting without details: {}",
+                    page.getDataSize(), e.getMessage());
+        }
+        return page;
+    }
+    
+    /**
+     * @return 补全失败的页数
+     */
+    public long getFailedPages() {
+        return failedPages.sum();
+    }
+}
\ No newline at end of file
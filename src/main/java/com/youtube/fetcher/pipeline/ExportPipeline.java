@@ -0,0 +1,232 @@
+package com.youtube.fetcher.pipeline;
+
+import com.youtube.fetcher.client.YouTubeApiClient;
+import com.youtube.fetcher.dedup.VideoIdIndex;
+import com.youtube.fetcher.exception.FileExportException;
+import com.youtube.fetcher.export.StreamingExporter;
+import com.youtube.fetcher.model.ApiResponse;
+import com.youtube.fetcher.model.ChannelInfo;
+import com.youtube.fetcher.model.VideoData;
+import com.youtube.fetcher.service.ChannelFetchEngine;
+import com.youtube.fetcher.service.VideoEnricher;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+
+/**
+ * 背压式的获取→补全→去重→导出流水线
+ * 各阶段通过 {@link java.util.concurrent.Flow} 连接：{@link ChannelPagePublisher} 获取页面，
+ * {@link PageProcessor} 执行补全（{@link EnrichmentStage}）和去重（{@link DeduplicationStage}），
+ * {@link ExportSubscriber} 写入导出器。下游只在处理完一页后才向上游请求下一页，
+ * 导出慢时各级缓冲区依次写满，最终获取线程停在提交上，而不是把整个频道读进内存。
+ * 
+ * <p>同时驻留内存的页数有上限，与抓取规模无关：每个活跃频道的当前页、预取页和阻塞在预取缓冲区上的一页，
+ * 每个中间阶段的并行度加上每级缓冲区的容量（{@code bufferPages}，按2的幂向上取整），再加导出中的一页。</p>
+ * 
+ * <p>导出或去重索引写入失败时，该阶段取消订阅，取消逐级传回源头，尚未开始的频道不再获取，
+ * {@link #run(Collection)} 抛出导致失败的 {@link FileExportException}。单个频道的API错误不会中断流水线，
+ * 记录在 {@link PipelineResult#getFailedChannels()} 中。</p>
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public final class ExportPipeline {
+    
+    /**
+     * 默认获取并行度（同时获取的频道数）
+     */
+    public static final int DEFAULT_FETCH_PARALLELISM = 8;
+    
+    /**
+     * 默认补全并行度
+     */
+    public static final int DEFAULT_ENRICH_PARALLELISM = 4;
+    
+    /**
+     * 默认每级缓冲页数
+     */
+    public static final int DEFAULT_BUFFER_PAGES = 16;
+    
+    private final YouTubeApiClient client;
+    private final StreamingExporter exporter;
+    private final int fetchParallelism;
+    private final int prefetchPages;
+    private final boolean enrich;
+    private final int enrichParallelism;
+    private final VideoIdIndex dedupIndex;
+    private final int dedupParallelism;
+    private final int bufferPages;
+    
+    private ExportPipeline(Builder builder) {
+        this.client = Objects.requireNonNull(builder.client, "client");
+        this.exporter = Objects.requireNonNull(builder.exporter, "exporter");
+        this.fetchParallelism = positive("fetchParallelism", builder.fetchParallelism);
+        this.prefetchPages = builder.prefetchPages;
+        if (prefetchPages < 0) {
+            throw new IllegalArgumentException("prefetchPages must be >= 0: " + prefetchPages);
+        }
+        this.enrich = builder.enrich;
+        this.enrichParallelism = positive("enrichParallelism", builder.enrichParallelism);
+        this.dedupIndex = builder.dedupIndex;
+        this.dedupParallelism = positive("dedupParallelism", builder.dedupParallelism);
+        this.bufferPages = positive("bufferPages", builder.bufferPages);
+    }
+    
+    /**
+     * 创建流水线建造者
+     * @param client API客户端
+     * @param exporter 导出器，由调用方关闭
+     * @return 建造者
+     */
+    public static Builder builder(YouTubeApiClient client, StreamingExporter exporter) {
+        return new Builder(client, exporter);
+    }
+    
+    /**
+     * 获取所有频道并导出，阻塞到流水线结束
+     * @param channels 频道列表
+     * @return 运行统计
+     * @throws FileExportException 导出或去重索引写入失败时抛出，此时流水线已取消
+     * @throws InterruptedException 等待被中断时抛出
+     */
+    public PipelineResult run(Collection<ChannelInfo> channels) throws FileExportException, InterruptedException {
+        try (ChannelFetchEngine engine = new ChannelFetchEngine(client, fetchParallelism, prefetchPages);
+             VideoEnricher enricher = enrich ? new VideoEnricher(client) : null) {
+            ChannelPagePublisher source = new ChannelPagePublisher(engine, channels, bufferPages);
+            EnrichmentStage enrichment = enricher != null ? new EnrichmentStage(enricher) : null;
+            DeduplicationStage deduplication = dedupIndex != null ? new DeduplicationStage(dedupIndex) : null;
+            
+            List<PageProcessor> processors = new ArrayList<>();
+            if (enrichment != null) {
+                processors.add(new PageProcessor("enrich", enrichment, enrichParallelism, bufferPages));
+            }
+            if (deduplication != null) {
+                processors.add(new PageProcessor("dedup", deduplication, dedupParallelism, bufferPages));
+            }
+            ExportSubscriber sink = new ExportSubscriber(exporter);
+            
+            // 从下游往上游订阅：源头在被订阅时开始获取，中间阶段没有订阅者时提交的页面会被丢弃
+            Flow.Subscriber<ApiResponse<VideoData>> downstream = sink;
+            for (int i = processors.size() - 1; i >= 0; i--) {
+                processors.get(i).subscribe(downstream);
+                downstream = processors.get(i);
+            }
+            source.subscribe(downstream);
+            
+            long exported = await(sink);
+            return new PipelineResult(source.getPageCount(), source.getVideoCount(),
+                    enrichment != null ? enrichment.getFailedPages() : 0,
+                    deduplication != null ? deduplication.getDuplicateCount() : 0,
+                    exported, source.getFailedChannels());
+        }
+    }
+    
+    private static long await(ExportSubscriber sink) throws FileExportException, InterruptedException {
+        try {
+            return sink.getCompletion().get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof FileExportException) {
+                throw (FileExportException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Pipeline failed unexpectedly", cause);
+        }
+    }
+    
+    private static int positive(String name, int value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + " must be > 0: " + value);
+        }
+        return value;
+    }
+    
+    /**
+     * {@link ExportPipeline} 建造者
+     */
+    public static final class Builder {
+        private final YouTubeApiClient client;
+        private final StreamingExporter exporter;
+        private int fetchParallelism = DEFAULT_FETCH_PARALLELISM;
+        private int prefetchPages = ChannelFetchEngine.DEFAULT_PREFETCH_PAGES;
+        private boolean enrich = true;
+        private int enrichParallelism = DEFAULT_ENRICH_PARALLELISM;
+        private VideoIdIndex dedupIndex;
+        private int dedupParallelism = 1;
+        private int bufferPages = DEFAULT_BUFFER_PAGES;
+        
+        private Builder(YouTubeApiClient client, StreamingExporter exporter) {
+            this.client = client;
+            this.exporter = exporter;
+        }
+        
+        /**
+         * 同时获取的频道数
+         */
+        public Builder fetchParallelism(int fetchParallelism) {
+            this.fetchParallelism = fetchParallelism;
+            return this;
+        }
+        
+        /**
+         * 每个频道预取的页数，0表示不预取
+         */
+        public Builder prefetchPages(int prefetchPages) {
+            this.prefetchPages = prefetchPages;
+            return this;
+        }
+        
+        /**
+         * 是否通过videos.list补全时长和统计数据
+         */
+        public Builder enrich(boolean enrich) {
+            this.enrich = enrich;
+            return this;
+        }
+        
+        /**
+         * 同时补全的页数
+         */
+        public Builder enrichParallelism(int enrichParallelism) {
+            this.enrichParallelism = enrichParallelism;
+            return this;
+        }
+        
+        /**
+         * 去重索引，为null时不去重；由调用方关闭
+         */
+        public Builder deduplicate(VideoIdIndex dedupIndex) {
+            this.dedupIndex = dedupIndex;
+            return this;
+        }
+        
+        /**
+         * 同时去重的页数
+         */
+        public Builder dedupParallelism(int dedupParallelism) {
+            this.dedupParallelism = dedupParallelism;
+            return this;
+        }
+        
+        /**
+         * 各级之间的缓冲页数
+         */
+        public Builder bufferPages(int bufferPages) {
+            this.bufferPages = bufferPages;
+            return this;
+        }
+        
+        public ExportPipeline build() {
+            return new ExportPipeline(this);
+        }
+    }
+}
\ No newline at end of file
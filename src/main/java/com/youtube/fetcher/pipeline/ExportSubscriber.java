@@ -0,0 +1,105 @@
+package com.youtube.fetcher.pipeline;
+
+import com.youtube.fetcher.exception.FileExportException;
+import com.youtube.fetcher.export.StreamingExporter;
+import com.youtube.fetcher.model.ApiResponse;
+import com.youtube.fetcher.model.VideoData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+/**
+ * 流水线的终点：把页面写入 {@link StreamingExporter}
+ * 每写完一页才向上游请求下一页，导出慢时上游的缓冲区随之写满。
+ * 写入失败时取消订阅，取消沿各阶段传回获取线程，{@link #getCompletion()} 以该 {@link FileExportException}
+ * 或导出器抛出的非受检异常结束。
+ * 导出器由调用方关闭。
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public class ExportSubscriber implements Flow.Subscriber<ApiResponse<VideoData>> {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ExportSubscriber.class);
+    
+    private final StreamingExporter exporter;
+    private final CompletableFuture<Long> completion = new CompletableFuture<>();
+    private Flow.Subscription subscription;
+    private volatile long videoCount;
+    
+    /**
+     * 构造函数
+     * @param exporter 导出器
+     */
+    public ExportSubscriber(StreamingExporter exporter) {
+        this.exporter = Objects.requireNonNull(exporter, "exporter");
+    }
+    
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (this.subscription != null) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        subscription.request(1);
+    }
+    
+    @Override
+    public void onNext(ApiResponse<VideoData> page) {
+        if (completion.isDone()) {
+            return;
+        }
+        try {
+            exporter.writePage(page);
+        } catch (FileExportException e) {
+            logger.error("Export to {} failed, cancelling pipeline", e.getFilePath(), e);
+            fail(e);
+            return;
+        } catch (RuntimeException e) {
+            // 不能让异常逃出onNext：SubmissionPublisher会直接取消订阅，绕过CancellationForwarder，上游继续获取
+            logger.error("Unexpected error while exporting to {}, cancelling pipeline", exporter.getFilePath(), e);
+            fail(e);
+            return;
+        }
+        videoCount += page.getDataSize();
+        subscription.request(1);
+    }
+    
+    private void fail(Exception e) {
+        subscription.cancel();
+        completion.completeExceptionally(e);
+    }
+    
+    @Override
+    public void onError(Throwable throwable) {
+        completion.completeExceptionally(throwable);
+    }
+    
+    @Override
+    public void onComplete() {
+        try {
+            exporter.flush();
+            completion.complete(videoCount);
+        } catch (FileExportException e) {
+            completion.completeExceptionally(e);
+        }
+    }
+    
+    /**
+     * @return 上游完成且数据已刷出时以导出的视频数完成，失败时以异常完成
+     */
+    public CompletableFuture<Long> getCompletion() {
+        return completion;
+    }
+    
+    /**
+     * @return 已写入的视频数
+     */
+    public long getVideoCount() {
+        return videoCount;
+    }
+}
\ No newline at end of file
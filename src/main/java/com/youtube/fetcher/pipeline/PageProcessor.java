@@ -0,0 +1,199 @@
+package com.youtube.fetcher.pipeline;
+
+import com.youtube.fetcher.exception.FileExportException;
+import com.youtube.fetcher.model.ApiResponse;
+import com.youtube.fetcher.model.VideoData;
+import com.youtube.fetcher.util.ConcurrencyUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 流水线的中间阶段：在固定数量的工作线程上逐页执行 {@link Stage}，把结果发布给下游
+ * 向上游预先请求 {@code parallelism} 页，每处理完一页并把结果放入下游缓冲区后再请求一页，
+ * 因此同时处理的页数不超过并行度，等待下游的页数不超过缓冲区容量。下游缓冲区满时工作线程阻塞在提交上，
+ * 上游随之得不到新的请求，背压一直传到获取线程。
+ * 
+ * <p>并行度大于1时输出顺序可能与输入不同。下游取消订阅时立即取消上游；
+ * 阶段抛出异常时取消上游，并以该异常结束下游。上游出错或完成时，等进行中的页面处理完再传给下游。</p>
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public class PageProcessor extends SubmissionPublisher<ApiResponse<VideoData>>
+        implements Flow.Processor<ApiResponse<VideoData>, ApiResponse<VideoData>> {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PageProcessor.class);
+    
+    private final String name;
+    private final Stage stage;
+    private final int parallelism;
+    private final ExecutorService workers;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicBoolean terminated = new AtomicBoolean();
+    private final LongAdder pageCount = new LongAdder();
+    private volatile Flow.Subscription upstream;
+    private volatile boolean upstreamDone;
+    private volatile Throwable upstreamError;
+    private volatile boolean cancelled;
+    
+    /**
+     * 构造函数
+     * @param name 阶段名称，用于线程名和日志
+     * @param stage 页面处理逻辑，必须是线程安全的
+     * @param parallelism 同时处理的页数
+     * @param bufferPages 发往下游的缓冲页数
+     */
+    public PageProcessor(String name, Stage stage, int parallelism, int bufferPages) {
+        // 投递线程空闲后自行退出；关闭后订阅者仍可能请求剩余的缓冲页面，因此不主动关闭线程池
+        super(ConcurrencyUtil.newCachedDaemonPool("pipeline-" + name), bufferPages);
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be > 0: " + parallelism);
+        }
+        this.name = Objects.requireNonNull(name, "name");
+        this.stage = Objects.requireNonNull(stage, "stage");
+        this.parallelism = parallelism;
+        this.workers = ConcurrencyUtil.newFixedDaemonPool(parallelism, "pipeline-" + name + "-worker");
+    }
+    
+    @Override
+    public void subscribe(Flow.Subscriber<? super ApiResponse<VideoData>> subscriber) {
+        super.subscribe(new CancellationForwarder<>(subscriber, this::cancel));
+    }
+    
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (upstream != null || cancelled) {
+            subscription.cancel();
+            return;
+        }
+        upstream = subscription;
+        subscription.request(parallelism);
+    }
+    
+    @Override
+    public void onNext(ApiResponse<VideoData> page) {
+        if (cancelled) {
+            return;
+        }
+        inFlight.incrementAndGet();
+        try {
+            workers.execute(() -> process(page));
+        } catch (RejectedExecutionException e) {
+            // 已终止
+            inFlight.decrementAndGet();
+        }
+    }
+    
+    @Override
+    public void onError(Throwable throwable) {
+        upstreamError = throwable;
+        upstreamDone = true;
+        tryTerminate();
+    }
+    
+    @Override
+    public void onComplete() {
+        upstreamDone = true;
+        tryTerminate();
+    }
+    
+    private void process(ApiResponse<VideoData> page) {
+        try {
+            if (!cancelled) {
+                ApiResponse<VideoData> result = stage.process(page);
+                pageCount.increment();
+                if (result != null && !cancelled) {
+                    submit(result);
+                }
+                upstream.request(1);
+            }
+        } catch (FileExportException | RuntimeException e) {
+            fail(e);
+        } finally {
+            inFlight.decrementAndGet();
+            tryTerminate();
+        }
+    }
+    
+    /**
+     * 上游已结束且没有进行中的页面时，把结束信号传给下游
+     */
+    private void tryTerminate() {
+        if (upstreamDone && inFlight.get() == 0 && terminated.compareAndSet(false, true)) {
+            Throwable error = upstreamError;
+            if (error != null) {
+                closeExceptionally(error);
+            } else {
+                close();
+            }
+            workers.shutdown();
+        }
+    }
+    
+    private void fail(Exception e) {
+        if (cancelled || !terminated.compareAndSet(false, true)) {
+            return;
+        }
+        cancelled = true;
+        logger.error("Pipeline stage {} failed, cancelling upstream", name, e);
+        upstream.cancel();
+        closeExceptionally(e);
+        workers.shutdown();
+    }
+    
+    private void cancel() {
+        if (cancelled) {
+            return;
+        }
+        cancelled = true;
+        logger.debug("Pipeline stage {} cancelled by downstream", name);
+        Flow.Subscription subscription = upstream;
+        if (subscription != null) {
+            subscription.cancel();
+        }
+        // 取消可能发生在下游的onNext中，而阻塞在提交上的工作线程持有发布锁、要等onNext返回才被唤醒，
+        // 这里调用close()会互相等待；下游已移除，之后的提交直接返回，不需要关闭
+        if (terminated.compareAndSet(false, true)) {
+            workers.shutdown();
+        }
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public int getParallelism() {
+        return parallelism;
+    }
+    
+    /**
+     * @return 已处理的页数
+     */
+    public long getPageCount() {
+        return pageCount.sum();
+    }
+    
+    /**
+     * 单页处理逻辑
+     */
+    @FunctionalInterface
+    public interface Stage {
+        
+        /**
+         * 处理一页视频
+         * @param page 上游的页面
+         * @return 发往下游的页面，返回null表示丢弃该页
+         * @throws FileExportException 本地写入失败时抛出，整个流水线随之取消
+         */
+        ApiResponse<VideoData> process(ApiResponse<VideoData> page) throws FileExportException;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.youtube.fetcher.pipeline;
+
+import com.youtube.fetcher.exception.YouTubeApiException;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 一次流水线运行的统计结果
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public final class PipelineResult {
+    
+    private final long pagesFetched;
+    private final long videosFetched;
+    private final long enrichmentFailures;
+    private final long duplicatesDropped;
+    private final long videosExported;
+    private final Map<String, YouTubeApiException> failedChannels;
+    
+    PipelineResult(long pagesFetched, long videosFetched, long enrichmentFailures, long duplicatesDropped,
+                   long videosExported, Map<String, YouTubeApiException> failedChannels) {
+        this.pagesFetched = pagesFetched;
+        this.videosFetched = videosFetched;
+        this.enrichmentFailures = enrichmentFailures;
+        this.duplicatesDropped = duplicatesDropped;
+        this.videosExported = videosExported;
+        this.failedChannels = Collections.unmodifiableMap(new LinkedHashMap<>(failedChannels));
+    }
+    
+    public long getPagesFetched() {
+        return pagesFetched;
+    }
+    
+    public long getVideosFetched() {
+        return videosFetched;
+    }
+    
+    /**
+     * @return 补全失败、未带详情导出的页数
+     */
+    public long getEnrichmentFailures() {
+        return enrichmentFailures;
+    }
+    
+    public long getDuplicatesDropped() {
+        return duplicatesDropped;
+    }
+    
+    public long getVideosExported() {
+        return videosExported;
+    }
+    
+    /**
+     * @return 获取失败的频道ID及原因
+     */
+    public Map<String, YouTubeApiException> getFailedChannels() {
+        return failedChannels;
+    }
+    
+    @Override
+    public String toString() {
+        return "PipelineResult{" +
+                "pagesFetched=" + pagesFetched +
+                ", videosFetched=" + videosFetched +
+                ", enrichmentFailures=" + enrichmentFailures +
+                ", duplicatesDropped=" + duplicatesDropped +
+                ", videosExported=" + videosExported +
+                ", failedChannels=" + failedChannels.size() +
+                '}';
+    }
+}
\ No newline at end of file
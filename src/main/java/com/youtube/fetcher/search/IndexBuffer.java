@@ -0,0 +1,160 @@
+package com.youtube.fetcher.search;
+
+import com.youtube.fetcher.model.VideoData;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 尚未写成段的文档
+ * 到达的视频立即分词并追加到各词的内存倒排表，达到阈值后由 {@link VideoSearchIndex} 整体写成一个段。
+ * 标题和描述合并为一个字段，标题中的词频按 {@value #TITLE_WEIGHT} 倍计入，文档长度为加权后的词数。
+ * 非线程安全，由索引的写锁保护。
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+final class IndexBuffer implements SegmentWriter.DocSource {
+    
+    /**
+     * 标题词频的权重
+     */
+    static final int TITLE_WEIGHT = 3;
+    
+    private final Map<String, PostingList> terms = new HashMap<>();
+    private final Map<String, int[]> docTerms = new HashMap<>();
+    private final List<String> videoIds = new ArrayList<>();
+    private final Set<String> videoIdSet = new HashSet<>();
+    private final Map<String, Integer> channelOrdinals = new HashMap<>();
+    private final List<String> channels = new ArrayList<>();
+    private int[] lengths = new int[1024];
+    private int[] channelColumn = new int[1024];
+    private long[] published = new long[1024];
+    private int size;
+    
+    boolean contains(String videoId) {
+        return videoIdSet.contains(videoId);
+    }
+    
+    /**
+     * 加入视频，调用方保证ID非空且不重复
+     */
+    void add(VideoData video) {
+        if (size == lengths.length) {
+            lengths = Arrays.copyOf(lengths, size * 2);
+            channelColumn = Arrays.copyOf(channelColumn, size * 2);
+            published = Arrays.copyOf(published, size * 2);
+        }
+        Tokenizer.tokenize(video.getTitle(), term -> count(term, TITLE_WEIGHT));
+        Tokenizer.tokenize(video.getDescription(), term -> count(term, 1));
+        int doc = size++;
+        int length = 0;
+        for (Map.Entry<String, int[]> entry : docTerms.entrySet()) {
+            int freq = entry.getValue()[0];
+            terms.computeIfAbsent(entry.getKey(), key -> new PostingList()).add(doc, freq);
+            length += freq;
+        }
+        docTerms.clear();
+        lengths[doc] = length;
+        channelColumn[doc] = channelOrdinal(video.getChannelId());
+        published[doc] = video.getPublishedAtEpochSecond();
+        videoIds.add(video.getVideoId());
+        videoIdSet.add(video.getVideoId());
+    }
+    
+    int size() {
+        return size;
+    }
+    
+    List<String> getVideoIds() {
+        return videoIds;
+    }
+    
+    /**
+     * 写出全部文档和按字节序排列的词
+     */
+    void writeTo(SegmentWriter writer) throws IOException {
+        writer.writeDocs(this, channels);
+        List<Map.Entry<byte[], PostingList>> sorted = new ArrayList<>(terms.size());
+        for (Map.Entry<String, PostingList> entry : terms.entrySet()) {
+            sorted.add(Map.entry(entry.getKey().getBytes(StandardCharsets.UTF_8), entry.getValue()));
+        }
+        sorted.sort((a, b) -> Arrays.compareUnsigned(a.getKey(), b.getKey()));
+        for (Map.Entry<byte[], PostingList> entry : sorted) {
+            PostingList postings = entry.getValue();
+            writer.startTerm(entry.getKey());
+            for (int i = 0; i < postings.size; i++) {
+                writer.addPosting(postings.docs[i], postings.freqs[i]);
+            }
+            writer.finishTerm();
+        }
+    }
+    
+    @Override
+    public int docCount() {
+        return size;
+    }
+    
+    @Override
+    public int docLength(int doc) {
+        return lengths[doc];
+    }
+    
+    @Override
+    public int channelOrdinal(int doc) {
+        return channelColumn[doc];
+    }
+    
+    @Override
+    public long publishedAt(int doc) {
+        return published[doc];
+    }
+    
+    @Override
+    public String videoId(int doc) {
+        return videoIds.get(doc);
+    }
+    
+    private void count(String term, int weight) {
+        docTerms.computeIfAbsent(term, key -> new int[1])[0] += weight;
+    }
+    
+    private int channelOrdinal(String channelId) {
+        if (channelId == null) {
+            return IndexSegment.NO_CHANNEL;
+        }
+        Integer ordinal = channelOrdinals.get(channelId);
+        if (ordinal == null) {
+            ordinal = channels.size();
+            channels.add(channelId);
+            channelOrdinals.put(channelId, ordinal);
+        }
+        return ordinal;
+    }
+    
+    /**
+     * 单个词的内存倒排表
+     */
+    private static final class PostingList {
+        private int[] docs = new int[4];
+        private int[] freqs = new int[4];
+        private int size;
+        
+        void add(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,345 @@
+package com.youtube.fetcher.search;
+
+import com.youtube.fetcher.util.TimestampUtil;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 只读的索引段
+ * 由 {@link SegmentWriter} 一次写成后不再修改，整个文件映射到内存，查询时直接读取映射区，多线程共享。
+ * 
+ * <p>文件布局（大端）：</p>
+ * <ul>
+ *   <li>64字节文件头：魔数、版本、文档数、词数、文档总长度、最短文档长度、频道数，以及各区的起始偏移</li>
+ *   <li>文档列：每个文档的长度（int）、频道序号（int，-1表示没有频道）、发布时间（epoch秒，long），各占一列</li>
+ *   <li>视频ID：文档数+1个int偏移，随后是UTF-8字节</li>
+ *   <li>频道表：每个频道2字节长度加UTF-8字节，打开时载入内存</li>
+ *   <li>过滤表：按频道分组的文档号（频道数+1个int偏移加各组文档号），以及按发布时间排序的文档号，
+ *       选择性高的过滤条件直接由此得到候选文档</li>
+ *   <li>倒排表：每个词一段，先是每 {@value #BLOCK_SIZE} 个文档一个的跳表项（块内最后一个文档号、块数据偏移、
+ *       块内最大词频、块内最短文档长度），随后是文档号差值和词频交替的变长整数</li>
+ *   <li>词典：每个词12字节（文档频率、最大词频、倒排表偏移），随后是词数+1个int偏移和按无符号字节序排列的UTF-8词</li>
+ * </ul>
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+final class IndexSegment {
+    
+    static final int MAGIC = 0x59544958; // "YTIX"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 64;
+    static final int BLOCK_SHIFT = 7;
+    static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+    static final int SKIP_ENTRY_BYTES = 16;
+    static final int DICT_ENTRY_BYTES = 12;
+    static final int NO_CHANNEL = -1;
+    
+    static final int DOC_COUNT_OFFSET = 8;
+    static final int TERM_COUNT_OFFSET = 12;
+    static final int TOTAL_LENGTH_OFFSET = 16;
+    static final int MIN_LENGTH_OFFSET = 24;
+    static final int CHANNEL_COUNT_OFFSET = 28;
+    static final int IDS_OFFSET = 32;
+    static final int CHANNELS_OFFSET = 36;
+    static final int DICT_OFFSET = 40;
+    static final int TERM_OFFSETS_OFFSET = 44;
+    static final int TERM_BLOB_OFFSET = 48;
+    static final int CHANNEL_DOCS_OFFSET = 52;
+    static final int TIME_ORDER_OFFSET = 56;
+    
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final int docCount;
+    private final int termCount;
+    private final long totalLength;
+    private final int minDocLength;
+    private final int lengthsOffset;
+    private final int channelColumnOffset;
+    private final int publishedOffset;
+    private final int idsOffset;
+    private final int idBlobOffset;
+    private final int dictOffset;
+    private final int termOffsetsOffset;
+    private final int termBlobOffset;
+    private final int channelDocsOffset;
+    private final int timeOrderOffset;
+    private final String[] channels;
+    private final Map<String, Integer> channelOrdinals;
+    
+    private IndexSegment(Path file, MappedByteBuffer buffer) {
+        this.file = file;
+        this.buffer = buffer;
+        this.docCount = buffer.getInt(DOC_COUNT_OFFSET);
+        this.termCount = buffer.getInt(TERM_COUNT_OFFSET);
+        this.totalLength = buffer.getLong(TOTAL_LENGTH_OFFSET);
+        this.minDocLength = buffer.getInt(MIN_LENGTH_OFFSET);
+        this.lengthsOffset = HEADER_BYTES;
+        this.channelColumnOffset = lengthsOffset + 4 * docCount;
+        this.publishedOffset = channelColumnOffset + 4 * docCount;
+        this.idsOffset = buffer.getInt(IDS_OFFSET);
+        this.idBlobOffset = idsOffset + 4 * (docCount + 1);
+        this.dictOffset = buffer.getInt(DICT_OFFSET);
+        this.termOffsetsOffset = buffer.getInt(TERM_OFFSETS_OFFSET);
+        this.termBlobOffset = buffer.getInt(TERM_BLOB_OFFSET);
+        this.channelDocsOffset = buffer.getInt(CHANNEL_DOCS_OFFSET);
+        this.timeOrderOffset = buffer.getInt(TIME_ORDER_OFFSET);
+        this.channels = new String[buffer.getInt(CHANNEL_COUNT_OFFSET)];
+        this.channelOrdinals = new HashMap<>(channels.length * 2);
+        int position = buffer.getInt(CHANNELS_OFFSET);
+        for (int i = 0; i < channels.length; i++) {
+            int length = Short.toUnsignedInt(buffer.getShort(position));
+            channels[i] = string(position + 2, length);
+            channelOrdinals.put(channels[i], i);
+            position += 2 + length;
+        }
+    }
+    
+    /**
+     * 映射并校验段文件
+     * @param file 段文件
+     * @return 段
+     * @throws IOException 文件无法读取或格式不正确时抛出
+     */
+    static IndexSegment open(Path file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Invalid segment size " + size + ": " + file);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a search segment: " + file);
+        }
+        return new IndexSegment(file, buffer);
+    }
+    
+    Path getFile() {
+        return file;
+    }
+    
+    int getDocCount() {
+        return docCount;
+    }
+    
+    int getTermCount() {
+        return termCount;
+    }
+    
+    long getTotalLength() {
+        return totalLength;
+    }
+    
+    int getMinDocLength() {
+        return minDocLength;
+    }
+    
+    long getSizeInBytes() {
+        return buffer.capacity();
+    }
+    
+    int docLength(int doc) {
+        return buffer.getInt(lengthsOffset + 4 * doc);
+    }
+    
+    int channelOrdinal(int doc) {
+        return buffer.getInt(channelColumnOffset + 4 * doc);
+    }
+    
+    /**
+     * @return 发布时间（epoch秒），没有发布时间时为 {@link TimestampUtil#INVALID}
+     */
+    long publishedAt(int doc) {
+        return buffer.getLong(publishedOffset + 8 * doc);
+    }
+    
+    String videoId(int doc) {
+        int start = buffer.getInt(idsOffset + 4 * doc);
+        int end = buffer.getInt(idsOffset + 4 * (doc + 1));
+        return string(idBlobOffset + start, end - start);
+    }
+    
+    int channelCount() {
+        return channels.length;
+    }
+    
+    /**
+     * @return 频道ID，ordinal为 {@link #NO_CHANNEL} 时返回null
+     */
+    String channelId(int ordinal) {
+        return ordinal == NO_CHANNEL ? null : channels[ordinal];
+    }
+    
+    /**
+     * 生成频道过滤位图
+     * @param channelIds 要保留的频道
+     * @return 按频道序号索引的位图，本段不含其中任何频道时返回null
+     */
+    boolean[] channelMask(Collection<String> channelIds) {
+        boolean[] mask = new boolean[channels.length];
+        boolean any = false;
+        for (String channelId : channelIds) {
+            Integer ordinal = channelOrdinals.get(channelId);
+            if (ordinal != null) {
+                mask[ordinal] = true;
+                any = true;
+            }
+        }
+        return any ? mask : null;
+    }
+    
+    /**
+     * 列出属于指定频道的文档
+     * @param channelMask {@link #channelMask} 生成的位图
+     * @param limit 文档数上限
+     * @return 按文档号升序的文档，超过上限时返回null
+     */
+    int[] channelDocs(boolean[] channelMask, int limit) {
+        int total = 0;
+        for (int ordinal = 0; ordinal < channelMask.length; ordinal++) {
+            if (channelMask[ordinal]) {
+                total += channelDocStart(ordinal + 1) - channelDocStart(ordinal);
+                if (total > limit) {
+                    return null;
+                }
+            }
+        }
+        int[] docs = new int[total];
+        int count = 0;
+        for (int ordinal = 0; ordinal < channelMask.length; ordinal++) {
+            if (channelMask[ordinal]) {
+                for (int i = channelDocStart(ordinal); i < channelDocStart(ordinal + 1); i++) {
+                    docs[count++] = buffer.getInt(channelDocsOffset + 4 * (channels.length + 1 + i));
+                }
+            }
+        }
+        Arrays.sort(docs);
+        return docs;
+    }
+    
+    /**
+     * 列出发布时间在区间内的文档
+     * @param from 起始epoch秒（包含）
+     * @param to 结束epoch秒（不包含）
+     * @param limit 文档数上限
+     * @return 按文档号升序的文档，超过上限时返回null
+     */
+    int[] docsPublishedBetween(long from, long to, int limit) {
+        int start = timeOrderSearch(Math.max(from, TimestampUtil.INVALID + 1));
+        int end = timeOrderSearch(to);
+        if (end - start > limit) {
+            return null;
+        }
+        int[] docs = new int[Math.max(0, end - start)];
+        for (int i = 0; i < docs.length; i++) {
+            docs[i] = buffer.getInt(timeOrderOffset + 4 * (start + i));
+        }
+        Arrays.sort(docs);
+        return docs;
+    }
+    
+    private int channelDocStart(int ordinal) {
+        return buffer.getInt(channelDocsOffset + 4 * ordinal);
+    }
+    
+    /**
+     * @return 按时间排序的文档中第一个发布时间不早于time的位置
+     */
+    private int timeOrderSearch(long time) {
+        int low = 0;
+        int high = docCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (publishedAt(buffer.getInt(timeOrderOffset + 4 * mid)) < time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    /**
+     * 二分查找词
+     * @param term UTF-8编码的词
+     * @return 词序号，不存在时返回-1
+     */
+    int findTerm(byte[] term) {
+        int low = 0;
+        int high = termCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareTerm(mid, term);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+    
+    byte[] term(int ordinal) {
+        int start = termStart(ordinal);
+        byte[] term = new byte[termStart(ordinal + 1) - start];
+        for (int i = 0; i < term.length; i++) {
+            term[i] = buffer.get(termBlobOffset + start + i);
+        }
+        return term;
+    }
+    
+    int docFreq(int ordinal) {
+        return buffer.getInt(dictOffset + DICT_ENTRY_BYTES * ordinal);
+    }
+    
+    int maxTermFreq(int ordinal) {
+        return buffer.getInt(dictOffset + DICT_ENTRY_BYTES * ordinal + 4);
+    }
+    
+    PostingsCursor postings(int ordinal) {
+        return new PostingsCursor(buffer, buffer.getInt(dictOffset + DICT_ENTRY_BYTES * ordinal + 8), docFreq(ordinal));
+    }
+    
+    private int termStart(int ordinal) {
+        return buffer.getInt(termOffsetsOffset + 4 * ordinal);
+    }
+    
+    private int compareTerm(int ordinal, byte[] term) {
+        int start = termBlobOffset + termStart(ordinal);
+        int length = termBlobOffset + termStart(ordinal + 1) - start;
+        int common = Math.min(length, term.length);
+        for (int i = 0; i < common; i++) {
+            int cmp = Byte.toUnsignedInt(buffer.get(start + i)) - Byte.toUnsignedInt(term[i]);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return length - term.length;
+    }
+    
+    private String string(int position, int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(position + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    @Override
+    public String toString() {
+        return "IndexSegment{" + file.getFileName() + ", docs=" + docCount + ", terms=" + termCount + "}";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,174 @@
+package com.youtube.fetcher.search;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 单个词在一个段内的倒排表游标
+ * 倒排表每 {@value IndexSegment#BLOCK_SIZE} 个文档为一块，每块一个跳表项（块内最后一个文档号、数据偏移、
+ * 块内最大词频、块内最短文档长度）。游标一次解码一整块到数组中；{@link #advance(int)} 先按跳表整块跳过，
+ * 检索时通过 {@link #shallowBlock(int)} 只读跳表，用块内最大词频和最短文档长度估计得分上界，不可能进入前k的块不解码。
+ * 直接读取映射区的绝对位置，不修改缓冲区状态，因此多个游标可以并发读取同一个段。
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+final class PostingsCursor {
+    
+    /**
+     * 游标已耗尽
+     */
+    static final int NO_MORE_DOCS = Integer.MAX_VALUE;
+    
+    private final ByteBuffer buffer;
+    private final int skipStart;
+    private final int dataStart;
+    private final int blockCount;
+    private final int docFreq;
+    private final int[] docs = new int[IndexSegment.BLOCK_SIZE];
+    private final int[] freqs = new int[IndexSegment.BLOCK_SIZE];
+    private int block = -1;
+    private int shallowBlock;
+    private int blockLength;
+    private int index = -1;
+    private int doc = -1;
+    
+    PostingsCursor(ByteBuffer buffer, int offset, int docFreq) {
+        this.buffer = buffer;
+        this.docFreq = docFreq;
+        this.blockCount = (docFreq + IndexSegment.BLOCK_SIZE - 1) >>> IndexSegment.BLOCK_SHIFT;
+        this.skipStart = offset;
+        this.dataStart = offset + IndexSegment.SKIP_ENTRY_BYTES * blockCount;
+    }
+    
+    /**
+     * @return 当前文档号，尚未调用 {@link #next()} 时为-1，耗尽后为 {@link #NO_MORE_DOCS}
+     */
+    int doc() {
+        return doc;
+    }
+    
+    /**
+     * @return 当前文档中的词频
+     */
+    int freq() {
+        return freqs[index];
+    }
+    
+    int docFreq() {
+        return docFreq;
+    }
+    
+    int blockCount() {
+        return blockCount;
+    }
+    
+    /**
+     * @return 块的最后一个文档号
+     */
+    int lastDoc(int b) {
+        return skipInt(b, 0);
+    }
+    
+    /**
+     * @return 块内的最大词频
+     */
+    int maxFreq(int b) {
+        return skipInt(b, 8);
+    }
+    
+    /**
+     * @return 块内包含该词的文档的最短长度
+     */
+    int minLength(int b) {
+        return skipInt(b, 12);
+    }
+    
+    /**
+     * 只读取跳表，定位可能包含target的块，不解码
+     * @param target 目标文档号，不小于上次调用的参数
+     * @return 第一个最后文档号不小于target的块，没有时返回 {@link #blockCount()}
+     */
+    int shallowBlock(int target) {
+        int b = Math.max(shallowBlock, block);
+        while (b < blockCount && skipInt(b, 0) < target) {
+            b++;
+        }
+        return shallowBlock = b;
+    }
+    
+    /**
+     * 移动到下一个文档
+     * @return 文档号，耗尽时返回 {@link #NO_MORE_DOCS}
+     */
+    int next() {
+        if (++index == blockLength) {
+            if (block + 1 >= blockCount) {
+                index--;
+                return doc = NO_MORE_DOCS;
+            }
+            decode(block + 1);
+            index = 0;
+        }
+        return doc = docs[index];
+    }
+    
+    /**
+     * 移动到第一个不小于target的文档
+     * @param target 目标文档号
+     * @return 文档号，没有这样的文档时返回 {@link #NO_MORE_DOCS}
+     */
+    int advance(int target) {
+        if (doc >= target) {
+            return doc;
+        }
+        if (block < 0 || skipInt(block, 0) < target) {
+            int b = Math.max(block + 1, shallowBlock);
+            while (b < blockCount && skipInt(b, 0) < target) {
+                b++;
+            }
+            if (b == blockCount) {
+                block = blockCount - 1;
+                index = blockLength - 1;
+                return doc = NO_MORE_DOCS;
+            }
+            decode(b);
+            index = -1;
+        }
+        while (docs[++index] < target) {
+            // 块的最后一个文档不小于target，循环必然结束
+        }
+        return doc = docs[index];
+    }
+    
+    private void decode(int b) {
+        int position = dataStart + skipInt(b, 4);
+        int current = b == 0 ? 0 : skipInt(b - 1, 0);
+        int length = Math.min(IndexSegment.BLOCK_SIZE, docFreq - (b << IndexSegment.BLOCK_SHIFT));
+        for (int i = 0; i < length; i++) {
+            int value = 0;
+            int shift = 0;
+            byte v;
+            do {
+                v = buffer.get(position++);
+                value |= (v & 0x7F) << shift;
+                shift += 7;
+            } while (v < 0);
+            current += value;
+            docs[i] = current;
+            value = 0;
+            shift = 0;
+            do {
+                v = buffer.get(position++);
+                value |= (v & 0x7F) << shift;
+                shift += 7;
+            } while (v < 0);
+            freqs[i] = value;
+        }
+        block = b;
+        blockLength = length;
+    }
+    
+    private int skipInt(int b, int field) {
+        return buffer.getInt(skipStart + IndexSegment.SKIP_ENTRY_BYTES * b + field);
+    }
+}
\ No newline at end of file
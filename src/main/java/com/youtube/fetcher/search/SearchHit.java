@@ -0,0 +1,50 @@
+package com.youtube.fetcher.search;
+
+import java.time.LocalDateTime;
+
+/**
+ * 全文检索的一条结果
+ * 索引只保存视频ID、频道ID和发布时间，标题等内容需要从导出文件或API取回
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public final class SearchHit {
+    
+    private final String videoId;
+    private final String channelId;
+    private final LocalDateTime publishedAt;
+    private final double score;
+    
+    SearchHit(String videoId, String channelId, LocalDateTime publishedAt, double score) {
+        this.videoId = videoId;
+        this.channelId = channelId;
+        this.publishedAt = publishedAt;
+        this.score = score;
+    }
+    
+    public String getVideoId() {
+        return videoId;
+    }
+    
+    public String getChannelId() {
+        return channelId;
+    }
+    
+    public LocalDateTime getPublishedAt() {
+        return publishedAt;
+    }
+    
+    /**
+     * @return BM25得分，同一次查询内可比较
+     */
+    public double getScore() {
+        return score;
+    }
+    
+    @Override
+    public String toString() {
+        return "SearchHit{videoId='" + videoId + "', channelId='" + channelId + "', publishedAt=" + publishedAt
+                + ", score=" + String.format("%.3f", score) + "}";
+    }
+}
\ No newline at end of file
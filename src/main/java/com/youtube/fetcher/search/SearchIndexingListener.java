@@ -0,0 +1,72 @@
+package com.youtube.fetcher.search;
+
+import com.youtube.fetcher.dedup.VideoIdIndex;
+import com.youtube.fetcher.exception.FileExportException;
+import com.youtube.fetcher.model.ApiResponse;
+import com.youtube.fetcher.model.ChannelInfo;
+import com.youtube.fetcher.model.VideoData;
+import com.youtube.fetcher.service.ChannelPageListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 把到达的页面加入 {@link VideoSearchIndex} 的页面监听器
+ * 视频ID不是11位base64url字符的视频被跳过；索引写段失败后不再加入任何页面，并以非受检异常中止当前频道；
+ * 调用方在抓取结束后通过 {@link #checkIndex()} 获取索引异常。
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public class SearchIndexingListener implements ChannelPageListener {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexingListener.class);
+    
+    private final VideoSearchIndex index;
+    private volatile FileExportException indexFailure;
+    
+    /**
+     * 构造函数
+     * @param index 全文索引
+     */
+    public SearchIndexingListener(VideoSearchIndex index) {
+        this.index = index;
+    }
+    
+    @Override
+    public void onPage(ChannelInfo channel, ApiResponse<VideoData> page) {
+        if (indexFailure != null) {
+            throw new IllegalStateException("Search indexing already failed", indexFailure);
+        }
+        if (page.getData() == null) {
+            return;
+        }
+        try {
+            for (VideoData video : page.getData()) {
+                if (video.getVideoId() != null && !VideoIdIndex.isVideoId(video.getVideoId())) {
+                    logger.debug("Skipping video with malformed ID {} from channel {}",
+                            video.getVideoId(), channel.getChannelId());
+                    continue;
+                }
+                index.add(video);
+            }
+        } catch (FileExportException e) {
+            synchronized (this) {
+                if (indexFailure == null) {
+                    indexFailure = e;
+                    logger.error("Search index {} failed, stopping indexing", e.getFilePath(), e);
+                }
+            }
+            throw new IllegalStateException("Search indexing failed: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * 检查抓取过程中是否发生过索引写入失败
+     * @throws FileExportException 发生过失败时抛出第一次失败的异常
+     */
+    public void checkIndex() throws FileExportException {
+        if (indexFailure != null) {
+            throw indexFailure;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,107 @@
+package com.youtube.fetcher.search;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 全文检索请求
+ * 查询文本按 {@link Tokenizer} 切分，包含任意一个词的视频都是候选，按BM25得分返回前若干条；
+ * 可以同时按频道和发布时间过滤。
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public class SearchQuery {
+    
+    /**
+     * 默认返回条数
+     */
+    public static final int DEFAULT_LIMIT = 10;
+    
+    /**
+     * 最大返回条数
+     */
+    public static final int MAX_LIMIT = 10000;
+    
+    private final String text;
+    private int limit = DEFAULT_LIMIT;
+    private Set<String> channelIds = Collections.emptySet();
+    private LocalDateTime publishedFrom;
+    private LocalDateTime publishedTo;
+    
+    /**
+     * 构造函数
+     * @param text 查询文本
+     */
+    public SearchQuery(String text) {
+        if (text == null) {
+            throw new IllegalArgumentException("Query text must not be null");
+        }
+        this.text = text;
+    }
+    
+    /**
+     * 返回条数，1到 {@value #MAX_LIMIT}
+     */
+    public SearchQuery limit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be in [1, " + MAX_LIMIT + "]: " + limit);
+        }
+        this.limit = limit;
+        return this;
+    }
+    
+    /**
+     * 只返回这些频道的视频，空集合表示不过滤
+     */
+    public SearchQuery channelIds(Collection<String> channelIds) {
+        this.channelIds = Collections.unmodifiableSet(new LinkedHashSet<>(channelIds));
+        return this;
+    }
+    
+    public SearchQuery channelId(String channelId) {
+        return channelIds(Collections.singleton(channelId));
+    }
+    
+    /**
+     * 只返回在该区间内发布的视频，包含起点、不包含终点；null表示该端不限。
+     * 设置区间后没有发布时间的视频不会返回
+     */
+    public SearchQuery publishedBetween(LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("publishedFrom must be before publishedTo: " + from + " / " + to);
+        }
+        this.publishedFrom = from;
+        this.publishedTo = to;
+        return this;
+    }
+    
+    public String getText() {
+        return text;
+    }
+    
+    public int getLimit() {
+        return limit;
+    }
+    
+    public Set<String> getChannelIds() {
+        return channelIds;
+    }
+    
+    public LocalDateTime getPublishedFrom() {
+        return publishedFrom;
+    }
+    
+    public LocalDateTime getPublishedTo() {
+        return publishedTo;
+    }
+    
+    @Override
+    public String toString() {
+        return "SearchQuery{text='" + text + "', limit=" + limit + ", channelIds=" + channelIds
+                + ", publishedFrom=" + publishedFrom + ", publishedTo=" + publishedTo + "}";
+    }
+}
\ No newline at end of file
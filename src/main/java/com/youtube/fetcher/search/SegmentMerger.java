@@ -0,0 +1,164 @@
+package com.youtube.fetcher.search;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * 把若干段合并为一个新段
+ * 新段中各源段的文档按列表顺序首尾相接，文档号加上前面各段的文档数；
+ * 词典按字节序多路归并，同一个词的倒排表依次重新编码。不需要原文，也不重新分词。
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+final class SegmentMerger implements SegmentWriter.DocSource {
+    
+    private final List<IndexSegment> segments;
+    private final int[] docBases;
+    private final int[][] channelMaps;
+    private final List<String> channels = new ArrayList<>();
+    private final int docCount;
+    
+    private SegmentMerger(List<IndexSegment> segments) throws IOException {
+        this.segments = segments;
+        this.docBases = new int[segments.size()];
+        this.channelMaps = new int[segments.size()][];
+        Map<String, Integer> ordinals = new HashMap<>();
+        long docs = 0;
+        for (int s = 0; s < segments.size(); s++) {
+            IndexSegment segment = segments.get(s);
+            docBases[s] = (int) docs;
+            docs += segment.getDocCount();
+            channelMaps[s] = new int[segment.channelCount()];
+            for (int c = 0; c < channelMaps[s].length; c++) {
+                String channelId = segment.channelId(c);
+                Integer ordinal = ordinals.get(channelId);
+                if (ordinal == null) {
+                    ordinal = channels.size();
+                    channels.add(channelId);
+                    ordinals.put(channelId, ordinal);
+                }
+                channelMaps[s][c] = ordinal;
+            }
+        }
+        if (docs > Integer.MAX_VALUE) {
+            throw new IOException("Too many documents to merge: " + docs);
+        }
+        this.docCount = (int) docs;
+    }
+    
+    /**
+     * 合并段并写出到目标文件
+     * @param segments 源段，按文档顺序排列
+     * @param target 新段文件
+     * @throws IOException 写入失败时抛出，目标文件不会出现
+     */
+    static void merge(List<IndexSegment> segments, Path target) throws IOException {
+        SegmentMerger merger = new SegmentMerger(segments);
+        SegmentWriter writer = new SegmentWriter(target);
+        try {
+            writer.writeDocs(merger, merger.channels);
+            merger.mergeTerms(writer);
+            writer.finish();
+        } catch (IOException | RuntimeException e) {
+            writer.abort();
+            throw e;
+        }
+    }
+    
+    private void mergeTerms(SegmentWriter writer) throws IOException {
+        PriorityQueue<TermHead> heads = new PriorityQueue<>();
+        for (int s = 0; s < segments.size(); s++) {
+            if (segments.get(s).getTermCount() > 0) {
+                heads.add(new TermHead(s, 0, segments.get(s).term(0)));
+            }
+        }
+        while (!heads.isEmpty()) {
+            byte[] term = heads.peek().term;
+            writer.startTerm(term);
+            while (!heads.isEmpty() && Arrays.equals(heads.peek().term, term)) {
+                TermHead head = heads.poll();
+                IndexSegment segment = segments.get(head.segment);
+                PostingsCursor cursor = segment.postings(head.ordinal);
+                int base = docBases[head.segment];
+                for (int doc = cursor.next(); doc != PostingsCursor.NO_MORE_DOCS; doc = cursor.next()) {
+                    writer.addPosting(base + doc, cursor.freq());
+                }
+                int next = head.ordinal + 1;
+                if (next < segment.getTermCount()) {
+                    heads.add(new TermHead(head.segment, next, segment.term(next)));
+                }
+            }
+            writer.finishTerm();
+        }
+    }
+    
+    @Override
+    public int docCount() {
+        return docCount;
+    }
+    
+    @Override
+    public int docLength(int doc) {
+        int s = segmentOf(doc);
+        return segments.get(s).docLength(doc - docBases[s]);
+    }
+    
+    @Override
+    public int channelOrdinal(int doc) {
+        int s = segmentOf(doc);
+        int ordinal = segments.get(s).channelOrdinal(doc - docBases[s]);
+        return ordinal == IndexSegment.NO_CHANNEL ? ordinal : channelMaps[s][ordinal];
+    }
+    
+    @Override
+    public long publishedAt(int doc) {
+        int s = segmentOf(doc);
+        return segments.get(s).publishedAt(doc - docBases[s]);
+    }
+    
+    @Override
+    public String videoId(int doc) {
+        int s = segmentOf(doc);
+        return segments.get(s).videoId(doc - docBases[s]);
+    }
+    
+    private int segmentOf(int doc) {
+        int index = Arrays.binarySearch(docBases, doc);
+        if (index < 0) {
+            return -index - 2;
+        }
+        // 空段与下一段的起点相同，取最后一个
+        while (index + 1 < docBases.length && docBases[index + 1] == doc) {
+            index++;
+        }
+        return index;
+    }
+    
+    /**
+     * 归并队列中某个段的当前词，词相同时段号小的在前
+     */
+    private static final class TermHead implements Comparable<TermHead> {
+        private final int segment;
+        private final int ordinal;
+        private final byte[] term;
+        
+        TermHead(int segment, int ordinal, byte[] term) {
+            this.segment = segment;
+            this.ordinal = ordinal;
+            this.term = term;
+        }
+        
+        @Override
+        public int compareTo(TermHead other) {
+            int cmp = Arrays.compareUnsigned(term, other.term);
+            return cmp != 0 ? cmp : Integer.compare(segment, other.segment);
+        }
+    }
+}
\ No newline at end of file
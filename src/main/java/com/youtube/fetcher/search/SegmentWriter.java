@@ -0,0 +1,379 @@
+package com.youtube.fetcher.search;
+
+import com.youtube.fetcher.util.TimestampUtil;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 顺序写出一个 {@link IndexSegment} 文件
+ * 先调用 {@link #writeDocs}，再按无符号字节序逐个写入词及其倒排表，最后 {@link #finish()}。
+ * 内容先写到同目录下的临时文件，完成并落盘后原子地改名为目标文件，未完成的段不会被打开。
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+final class SegmentWriter {
+    
+    /**
+     * 按文档号顺序提供文档列
+     */
+    interface DocSource {
+        
+        int docCount();
+        
+        int docLength(int doc);
+        
+        /**
+         * @return 频道在 {@link #writeDocs} 的频道表中的序号，没有频道时为 {@link IndexSegment#NO_CHANNEL}
+         */
+        int channelOrdinal(int doc);
+        
+        long publishedAt(int doc);
+        
+        String videoId(int doc);
+    }
+    
+    private final Path file;
+    private final Path tempFile;
+    private final FileChannel channel;
+    private final DataOutputStream out;
+    private long position;
+    private int docCount = -1;
+    private long totalLength;
+    private int minDocLength;
+    private int channelCount;
+    private int idsOffset;
+    private int channelsOffset;
+    private int channelDocsOffset;
+    private int timeOrderOffset;
+    
+    private byte[] postings = new byte[4096];
+    private int postingsSize;
+    private int[] docLengths;
+    private int[] skipDocs = new int[16];
+    private int[] skipOffsets = new int[16];
+    private int[] skipMaxFreqs = new int[16];
+    private int[] skipMinLengths = new int[16];
+    private int termDocFreq;
+    private int termMaxFreq;
+    private int lastDoc;
+    private byte[] lastTerm;
+    private boolean inTerm;
+    
+    private byte[] termBlob = new byte[1 << 16];
+    private int termBlobSize;
+    private int[] termStarts = new int[1024];
+    private int[] docFreqs = new int[1024];
+    private int[] maxFreqs = new int[1024];
+    private int[] postingOffsets = new int[1024];
+    private int termCount;
+    
+    SegmentWriter(Path file) throws IOException {
+        this.file = file;
+        this.tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        this.channel = FileChannel.open(tempFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+        out.write(new byte[IndexSegment.HEADER_BYTES]);
+        position = IndexSegment.HEADER_BYTES;
+    }
+    
+    /**
+     * 写出文档列、视频ID和频道表
+     * @param docs 文档
+     * @param channels 频道表，序号即列表下标
+     */
+    void writeDocs(DocSource docs, List<String> channels) throws IOException {
+        if (docCount >= 0) {
+            throw new IllegalStateException("Documents already written");
+        }
+        docCount = docs.docCount();
+        minDocLength = docCount == 0 ? 0 : Integer.MAX_VALUE;
+        docLengths = new int[docCount];
+        int[] channelColumn = new int[docCount];
+        long[] published = new long[docCount];
+        for (int doc = 0; doc < docCount; doc++) {
+            int length = docs.docLength(doc);
+            docLengths[doc] = length;
+            totalLength += length;
+            minDocLength = Math.min(minDocLength, length);
+            writeInt(length);
+        }
+        for (int doc = 0; doc < docCount; doc++) {
+            channelColumn[doc] = docs.channelOrdinal(doc);
+            writeInt(channelColumn[doc]);
+        }
+        for (int doc = 0; doc < docCount; doc++) {
+            published[doc] = docs.publishedAt(doc);
+            out.writeLong(published[doc]);
+            position += 8;
+        }
+        idsOffset = checkedPosition();
+        int idOffset = 0;
+        writeInt(0);
+        for (int doc = 0; doc < docCount; doc++) {
+            idOffset += docs.videoId(doc).getBytes(StandardCharsets.UTF_8).length;
+            writeInt(idOffset);
+        }
+        for (int doc = 0; doc < docCount; doc++) {
+            byte[] id = docs.videoId(doc).getBytes(StandardCharsets.UTF_8);
+            out.write(id);
+            position += id.length;
+        }
+        channelsOffset = checkedPosition();
+        channelCount = channels.size();
+        for (String channelId : channels) {
+            byte[] bytes = channelId.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > 0xFFFF) {
+                throw new IOException("Channel ID too long: " + bytes.length + " bytes");
+            }
+            out.writeShort(bytes.length);
+            out.write(bytes);
+            position += 2 + bytes.length;
+        }
+        writeChannelDocs(channelColumn);
+        writeTimeOrder(published);
+    }
+    
+    /**
+     * 按频道分组的文档号：频道数+1个int偏移，随后是各频道按文档号升序的文档，没有频道的文档不出现
+     */
+    private void writeChannelDocs(int[] channelColumn) throws IOException {
+        channelDocsOffset = checkedPosition();
+        int[] starts = new int[channelCount + 1];
+        for (int ordinal : channelColumn) {
+            if (ordinal != IndexSegment.NO_CHANNEL) {
+                starts[ordinal + 1]++;
+            }
+        }
+        for (int i = 0; i < channelCount; i++) {
+            starts[i + 1] += starts[i];
+        }
+        int[] grouped = new int[starts[channelCount]];
+        int[] fill = Arrays.copyOf(starts, channelCount);
+        for (int doc = 0; doc < channelColumn.length; doc++) {
+            if (channelColumn[doc] != IndexSegment.NO_CHANNEL) {
+                grouped[fill[channelColumn[doc]]++] = doc;
+            }
+        }
+        for (int start : starts) {
+            writeInt(start);
+        }
+        for (int doc : grouped) {
+            writeInt(doc);
+        }
+    }
+    
+    /**
+     * 按发布时间升序排列的文档号，时间相同时按文档号；没有发布时间的文档排在最前
+     */
+    private void writeTimeOrder(long[] published) throws IOException {
+        timeOrderOffset = checkedPosition();
+        long min = Long.MAX_VALUE;
+        for (long time : published) {
+            if (time != TimestampUtil.INVALID) {
+                min = Math.min(min, time);
+            }
+        }
+        // 相对时间占高33位、文档号占低31位，一次基本类型排序得到排列
+        long[] keys = new long[published.length];
+        for (int doc = 0; doc < published.length; doc++) {
+            long relative = published[doc] == TimestampUtil.INVALID ? 0
+                    : Math.min(published[doc] - min + 1, 0xFFFFFFFFL);
+            keys[doc] = relative << 31 | doc;
+        }
+        Arrays.sort(keys);
+        for (long key : keys) {
+            writeInt((int) (key & Integer.MAX_VALUE));
+        }
+    }
+    
+    /**
+     * 开始一个词，词必须按无符号字节序严格递增
+     * @param term UTF-8编码的词
+     */
+    void startTerm(byte[] term) {
+        if (docCount < 0 || inTerm) {
+            throw new IllegalStateException("startTerm called out of order");
+        }
+        if (lastTerm != null && Arrays.compareUnsigned(lastTerm, term) >= 0) {
+            throw new IllegalArgumentException("Terms must be added in increasing byte order");
+        }
+        lastTerm = term;
+        inTerm = true;
+        termDocFreq = 0;
+        termMaxFreq = 0;
+        postingsSize = 0;
+    }
+    
+    /**
+     * 为当前词加入一个文档，文档号必须严格递增
+     * @param doc 文档号
+     * @param freq 词频，至少为1
+     */
+    void addPosting(int doc, int freq) {
+        if (termDocFreq > 0 && doc <= lastDoc) {
+            throw new IllegalArgumentException("Documents must be added in increasing order: " + doc + " after " + lastDoc);
+        }
+        int block = termDocFreq >>> IndexSegment.BLOCK_SHIFT;
+        if ((termDocFreq & (IndexSegment.BLOCK_SIZE - 1)) == 0) {
+            if (block == skipDocs.length) {
+                skipDocs = Arrays.copyOf(skipDocs, block * 2);
+                skipOffsets = Arrays.copyOf(skipOffsets, block * 2);
+                skipMaxFreqs = Arrays.copyOf(skipMaxFreqs, block * 2);
+                skipMinLengths = Arrays.copyOf(skipMinLengths, block * 2);
+            }
+            skipOffsets[block] = postingsSize;
+            skipMaxFreqs[block] = 0;
+            skipMinLengths[block] = Integer.MAX_VALUE;
+        }
+        skipDocs[block] = doc;
+        skipMaxFreqs[block] = Math.max(skipMaxFreqs[block], freq);
+        skipMinLengths[block] = Math.min(skipMinLengths[block], docLengths[doc]);
+        ensurePostings(10);
+        writeVarint(termDocFreq == 0 ? doc : doc - lastDoc);
+        writeVarint(freq);
+        lastDoc = doc;
+        termDocFreq++;
+        termMaxFreq = Math.max(termMaxFreq, freq);
+    }
+    
+    /**
+     * 写出当前词的跳表和倒排表；没有任何文档的词被忽略
+     */
+    void finishTerm() throws IOException {
+        if (!inTerm) {
+            throw new IllegalStateException("finishTerm called without startTerm");
+        }
+        inTerm = false;
+        if (termDocFreq == 0) {
+            return;
+        }
+        if (termCount == termStarts.length) {
+            int capacity = termCount * 2;
+            termStarts = Arrays.copyOf(termStarts, capacity);
+            docFreqs = Arrays.copyOf(docFreqs, capacity);
+            maxFreqs = Arrays.copyOf(maxFreqs, capacity);
+            postingOffsets = Arrays.copyOf(postingOffsets, capacity);
+        }
+        if (termBlobSize + lastTerm.length > termBlob.length) {
+            termBlob = Arrays.copyOf(termBlob, Math.max(termBlob.length * 2, termBlobSize + lastTerm.length));
+        }
+        termStarts[termCount] = termBlobSize;
+        System.arraycopy(lastTerm, 0, termBlob, termBlobSize, lastTerm.length);
+        termBlobSize += lastTerm.length;
+        docFreqs[termCount] = termDocFreq;
+        maxFreqs[termCount] = termMaxFreq;
+        postingOffsets[termCount] = checkedPosition();
+        termCount++;
+        int blocks = (termDocFreq + IndexSegment.BLOCK_SIZE - 1) >>> IndexSegment.BLOCK_SHIFT;
+        for (int i = 0; i < blocks; i++) {
+            writeInt(skipDocs[i]);
+            writeInt(skipOffsets[i]);
+            writeInt(skipMaxFreqs[i]);
+            writeInt(skipMinLengths[i]);
+        }
+        out.write(postings, 0, postingsSize);
+        position += postingsSize;
+    }
+    
+    /**
+     * 写出词典和文件头，落盘后改名为目标文件
+     */
+    void finish() throws IOException {
+        if (docCount < 0 || inTerm) {
+            throw new IllegalStateException("Segment is incomplete");
+        }
+        int dictOffset = checkedPosition();
+        for (int i = 0; i < termCount; i++) {
+            writeInt(docFreqs[i]);
+            writeInt(maxFreqs[i]);
+            writeInt(postingOffsets[i]);
+        }
+        int termOffsetsOffset = checkedPosition();
+        for (int i = 0; i < termCount; i++) {
+            writeInt(termStarts[i]);
+        }
+        writeInt(termBlobSize);
+        int termBlobOffset = checkedPosition();
+        out.write(termBlob, 0, termBlobSize);
+        position += termBlobSize;
+        checkedPosition();
+        out.flush();
+        
+        ByteBuffer header = ByteBuffer.allocate(IndexSegment.HEADER_BYTES);
+        header.putInt(0, IndexSegment.MAGIC);
+        header.putInt(4, IndexSegment.VERSION);
+        header.putInt(IndexSegment.DOC_COUNT_OFFSET, docCount);
+        header.putInt(IndexSegment.TERM_COUNT_OFFSET, termCount);
+        header.putLong(IndexSegment.TOTAL_LENGTH_OFFSET, totalLength);
+        header.putInt(IndexSegment.MIN_LENGTH_OFFSET, minDocLength);
+        header.putInt(IndexSegment.CHANNEL_COUNT_OFFSET, channelCount);
+        header.putInt(IndexSegment.IDS_OFFSET, idsOffset);
+        header.putInt(IndexSegment.CHANNELS_OFFSET, channelsOffset);
+        header.putInt(IndexSegment.DICT_OFFSET, dictOffset);
+        header.putInt(IndexSegment.TERM_OFFSETS_OFFSET, termOffsetsOffset);
+        header.putInt(IndexSegment.TERM_BLOB_OFFSET, termBlobOffset);
+        header.putInt(IndexSegment.CHANNEL_DOCS_OFFSET, channelDocsOffset);
+        header.putInt(IndexSegment.TIME_ORDER_OFFSET, timeOrderOffset);
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+        channel.force(true);
+        channel.close();
+        Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    /**
+     * 放弃写入并删除临时文件
+     */
+    void abort() {
+        try {
+            channel.close();
+            Files.deleteIfExists(tempFile);
+        } catch (IOException e) {
+            // 临时文件会在下次打开索引时清理
+        }
+    }
+    
+    private void writeInt(int value) throws IOException {
+        out.writeInt(value);
+        position += 4;
+    }
+    
+    /**
+     * 段内所有偏移以int存储，文件不能超过2GB
+     */
+    private int checkedPosition() throws IOException {
+        if (position > Integer.MAX_VALUE) {
+            throw new IOException("Search segment exceeds 2GB: " + file);
+        }
+        return (int) position;
+    }
+    
+    private void ensurePostings(int extra) {
+        if (postingsSize + extra > postings.length) {
+            postings = Arrays.copyOf(postings, postings.length * 2);
+        }
+    }
+    
+    private void writeVarint(int value) {
+        while ((value & ~0x7F) != 0) {
+            postings[postingsSize++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        postings[postingsSize++] = (byte) value;
+    }
+}
\ No newline at end of file
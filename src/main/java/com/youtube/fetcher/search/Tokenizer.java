@@ -0,0 +1,114 @@
+package com.youtube.fetcher.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 全文索引的分词器
+ * 标题和描述常常中英混排，分词不依赖词典：
+ * 
+ * <ul>
+ *   <li>拉丁字母、数字等连续的字母数字字符组成一个词，转为小写</li>
+ *   <li>汉字、平假名、片假名和谚文的连续片段切分为相邻两字的二元组（"性能优化" → 性能、能优、优化），
+ *       只有一个字的片段输出该字；查询按同样方式切分，因此任意长度的中文词都能匹配</li>
+ *   <li>其他字符（空白、标点、表情等）作为分隔符；超过 {@value #MAX_TOKEN_LENGTH} 个字符的词（多为URL和编码串）被丢弃</li>
+ * </ul>
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public final class Tokenizer {
+    
+    /**
+     * 词的最大字符数
+     */
+    public static final int MAX_TOKEN_LENGTH = 40;
+    
+    private Tokenizer() {
+    }
+    
+    /**
+     * 切分文本
+     * @param text 文本，可以为null
+     * @return 按出现顺序排列的词，可能有重复
+     */
+    public static List<String> tokenize(CharSequence text) {
+        List<String> tokens = new ArrayList<>();
+        tokenize(text, tokens::add);
+        return tokens;
+    }
+    
+    /**
+     * 切分文本，按出现顺序把每个词交给回调
+     * @param text 文本，可以为null
+     * @param sink 接收词的回调
+     */
+    public static void tokenize(CharSequence text, Consumer<String> sink) {
+        if (text == null) {
+            return;
+        }
+        StringBuilder word = new StringBuilder();
+        int previous = 0;
+        int run = 0;
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            int codePoint = Character.codePointAt(text, i);
+            i += Character.charCount(codePoint);
+            if (isCjk(codePoint)) {
+                emitWord(word, sink);
+                if (run > 0) {
+                    sink.accept(new StringBuilder(4).appendCodePoint(previous).appendCodePoint(codePoint).toString());
+                }
+                previous = codePoint;
+                run++;
+                continue;
+            }
+            emitUnigram(run, previous, sink);
+            run = 0;
+            if (Character.isLetterOrDigit(codePoint)
+                    || (word.length() > 0 && Character.getType(codePoint) == Character.NON_SPACING_MARK)) {
+                word.appendCodePoint(Character.toLowerCase(codePoint));
+            } else {
+                emitWord(word, sink);
+            }
+        }
+        emitUnigram(run, previous, sink);
+        emitWord(word, sink);
+    }
+    
+    private static void emitWord(StringBuilder word, Consumer<String> sink) {
+        if (word.length() == 0) {
+            return;
+        }
+        if (word.codePointCount(0, word.length()) <= MAX_TOKEN_LENGTH) {
+            sink.accept(word.toString());
+        }
+        word.setLength(0);
+    }
+    
+    /**
+     * 只有一个字的中日韩片段没有二元组，输出该字本身
+     */
+    private static void emitUnigram(int run, int codePoint, Consumer<String> sink) {
+        if (run == 1) {
+            sink.accept(new String(Character.toChars(codePoint)));
+        }
+    }
+    
+    private static boolean isCjk(int codePoint) {
+        if (codePoint < 0x1100) {
+            return false;
+        }
+        if (codePoint == 0x30FC || codePoint == 0xFF70) {
+            // 长音符号（ー）的文字属性为Common，但出现在片假名词中间，按片假名处理
+            return true;
+        }
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+}
\ No newline at end of file
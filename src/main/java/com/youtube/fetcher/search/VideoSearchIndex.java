@@ -0,0 +1,854 @@
+package com.youtube.fetcher.search;
+
+import com.youtube.fetcher.dedup.VideoIdIndex;
+import com.youtube.fetcher.exception.FileExportException;
+import com.youtube.fetcher.model.VideoData;
+import com.youtube.fetcher.util.ConcurrencyUtil;
+import com.youtube.fetcher.util.TimestampUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 视频标题和描述的嵌入式全文索引
+ * 抓取过程中逐页加入视频，按BM25得分检索前若干条，可按频道和发布时间过滤。
+ * 
+ * <ul>
+ *   <li>分词见 {@link Tokenizer}：拉丁文按词、中日韩文按二元组，不依赖词典</li>
+ *   <li>新视频先进入内存缓冲，每 {@code maxBufferedDocs} 个写成一个不可变的段文件；
+ *       段内的倒排表按文档号差值变长编码，每128个文档一个跳表项</li>
+ *   <li>后台线程把大小相近的 {@code mergeFactor} 个段合并为一个，段数随文档数对数增长；
+ *       大小超过 {@link #MAX_MERGED_BYTES} 一半的段不再参与合并，段文件不超过映射上限</li>
+ *   <li>查询对每个段使用块级MaxScore剪枝：上界之和不足以进入前k的词只在其他词命中的文档上跳表查找，
+ *       每块记录最大词频和最短文档长度，得分上界不足以进入前k的块不解码评分，常见词的长倒排表大部分被整块跳过</li>
+ *   <li>已写成段的视频ID记录在 {@link VideoIdIndex} 中，重复加入的视频被忽略；不是11位base64url的ID被拒绝</li>
+ * </ul>
+ * 
+ * <p>频道和发布时间过滤选择性高时（不超过段内文档的八分之一），由段内按频道分组和按发布时间排序的文档表直接列出候选文档，
+ * 只对这些文档定位各词并评分；否则在评分前逐个检查。</p>
+ * 
+ * <p>只有写成段的视频可以被检索，{@link #flush()} 立即写出缓冲。目录中的 {@value #MANIFEST} 文件记录当前的段，
+ * 写段和合并完成后原子替换，未列出的段文件在下次打开时删除。检索不加锁，与写入和合并并发执行。</p>
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public final class VideoSearchIndex implements AutoCloseable {
+    
+    private static final Logger logger = LoggerFactory.getLogger(VideoSearchIndex.class);
+    
+    /**
+     * 默认每个段的文档数
+     */
+    public static final int DEFAULT_MAX_BUFFERED_DOCS = 50000;
+    
+    /**
+     * 默认一次合并的段数
+     */
+    public static final int DEFAULT_MERGE_FACTOR = 10;
+    
+    /**
+     * 合并产生的段的最大字节数
+     */
+    public static final long MAX_MERGED_BYTES = 1L << 30;
+    
+    static final double K1 = 1.2;
+    static final double B = 0.75;
+    
+    /**
+     * 过滤后的文档不超过段内文档的该分之一时，由过滤条件驱动检索
+     */
+    private static final int FILTER_DRIVEN_RATIO = 8;
+    
+    private static final String FORMAT = "ytix";
+    private static final String MANIFEST = "segments";
+    private static final String ID_INDEX = "ids.ytvi";
+    private static final String SEGMENT_PREFIX = "seg-";
+    private static final String SEGMENT_SUFFIX = ".ytix";
+    
+    private final Path directory;
+    private final int maxBufferedDocs;
+    private final int mergeFactor;
+    private final VideoIdIndex indexedIds;
+    private final ExecutorService merger;
+    private final Object segmentLock = new Object();
+    private volatile List<IndexSegment> segments;
+    private IndexBuffer buffer = new IndexBuffer();
+    private int nextSegment;
+    private long mergeCount;
+    private boolean closed;
+    
+    private VideoSearchIndex(Path directory, int maxBufferedDocs, int mergeFactor, VideoIdIndex indexedIds) {
+        this.directory = directory;
+        this.maxBufferedDocs = maxBufferedDocs;
+        this.mergeFactor = mergeFactor;
+        this.indexedIds = indexedIds;
+        this.merger = Executors.newSingleThreadExecutor(ConcurrencyUtil.daemonThreadFactory("search-merge"));
+    }
+    
+    /**
+     * 以默认参数打开索引目录，不存在时创建
+     * @param directory 索引目录
+     * @return 索引
+     * @throws FileExportException 目录无法创建或段文件格式不正确时抛出
+     */
+    public static VideoSearchIndex open(Path directory) throws FileExportException {
+        return open(directory, DEFAULT_MAX_BUFFERED_DOCS, DEFAULT_MERGE_FACTOR);
+    }
+    
+    /**
+     * 打开索引目录，不存在时创建
+     * @param directory 索引目录
+     * @param maxBufferedDocs 缓冲达到该文档数时写成一个段
+     * @param mergeFactor 一次合并的段数，至少为2
+     * @return 索引
+     * @throws FileExportException 目录无法创建或段文件格式不正确时抛出
+     */
+    public static VideoSearchIndex open(Path directory, int maxBufferedDocs, int mergeFactor)
+            throws FileExportException {
+        if (maxBufferedDocs < 1) {
+            throw new IllegalArgumentException("maxBufferedDocs must be positive: " + maxBufferedDocs);
+        }
+        if (mergeFactor < 2) {
+            throw new IllegalArgumentException("mergeFactor must be at least 2: " + mergeFactor);
+        }
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new FileExportException("Failed to open search index: " + e.getMessage(),
+                    directory.toString(), FORMAT, e);
+        }
+        VideoIdIndex indexedIds = VideoIdIndex.open(directory.resolve(ID_INDEX));
+        VideoSearchIndex index = new VideoSearchIndex(directory, maxBufferedDocs, mergeFactor, indexedIds);
+        try {
+            index.load();
+        } catch (IOException e) {
+            index.merger.shutdown();
+            indexedIds.close();
+            throw new FileExportException("Failed to open search index: " + e.getMessage(),
+                    directory.toString(), FORMAT, e);
+        }
+        return index;
+    }
+    
+    /**
+     * 加入视频，缓冲满时在调用线程写成段
+     * 已写成段的视频ID记录在 {@link VideoIdIndex} 中，它只接受11位base64url的ID，
+     * 因此这里同样拒绝其他形式的ID，否则写段后无法识别重复加入
+     * @param video 视频数据，没有ID或已加入过的视频被忽略
+     * @return 视频被加入时返回true
+     * @throws IllegalArgumentException 视频ID不是11位base64url字符时抛出
+     * @throws FileExportException 写段失败时抛出，缓冲中的视频保留到下一次写段
+     */
+    public synchronized boolean add(VideoData video) throws FileExportException {
+        ensureOpen();
+        String videoId = video.getVideoId();
+        if (videoId == null) {
+            return false;
+        }
+        if (!VideoIdIndex.isVideoId(videoId)) {
+            throw new IllegalArgumentException("Not a video ID: " + videoId);
+        }
+        if (buffer.contains(videoId) || indexedIds.contains(videoId)) {
+            return false;
+        }
+        buffer.add(video);
+        if (buffer.size() >= maxBufferedDocs) {
+            flush();
+        }
+        return true;
+    }
+    
+    /**
+     * 批量加入视频
+     * @param videos 视频列表
+     * @return 实际加入的视频数
+     * @throws IllegalArgumentException 视频ID不是11位base64url字符时抛出，之前的视频已加入
+     * @throws FileExportException 写段失败时抛出
+     */
+    public synchronized int addAll(Collection<VideoData> videos) throws FileExportException {
+        int added = 0;
+        for (VideoData video : videos) {
+            if (add(video)) {
+                added++;
+            }
+        }
+        return added;
+    }
+    
+    /**
+     * 把缓冲中的视频写成段，之后即可被检索
+     * @throws FileExportException 写段失败时抛出
+     */
+    public synchronized void flush() throws FileExportException {
+        ensureOpen();
+        if (buffer.size() == 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        Path file = newSegmentFile();
+        IndexSegment segment;
+        try {
+            SegmentWriter writer = new SegmentWriter(file);
+            try {
+                buffer.writeTo(writer);
+                writer.finish();
+            } catch (IOException | RuntimeException e) {
+                writer.abort();
+                throw e;
+            }
+            segment = IndexSegment.open(file);
+            synchronized (segmentLock) {
+                List<IndexSegment> updated = new ArrayList<>(segments);
+                updated.add(segment);
+                writeManifest(updated);
+                segments = Collections.unmodifiableList(updated);
+            }
+        } catch (IOException e) {
+            throw new FileExportException("Failed to write search segment: " + e.getMessage(),
+                    file.toString(), FORMAT, e);
+        }
+        for (String videoId : buffer.getVideoIds()) {
+            indexedIds.add(videoId);
+        }
+        indexedIds.force();
+        logger.debug("Flushed {} in {} ms", segment, (System.nanoTime() - start) / 1_000_000);
+        buffer = new IndexBuffer();
+        merger.execute(this::mergeSegments);
+    }
+    
+    /**
+     * 写出缓冲并把所有段合并为一个，等待合并完成
+     * @throws FileExportException 写段或合并失败时抛出
+     */
+    public void forceMerge() throws FileExportException {
+        flush();
+        Future<?> done = merger.submit(() -> {
+            List<IndexSegment> all = segments;
+            if (all.size() > 1) {
+                merge(all);
+            }
+            return null;
+        });
+        try {
+            done.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FileExportException("Interrupted while merging search segments", directory.toString(), FORMAT, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof FileExportException) {
+                throw (FileExportException) e.getCause();
+            }
+            throw new FileExportException("Failed to merge search segments: " + e.getCause(),
+                    directory.toString(), FORMAT, e.getCause());
+        }
+    }
+    
+    /**
+     * 检索已写成段的视频
+     * @param query 检索请求
+     * @return 按得分降序排列的结果，最多 {@link SearchQuery#getLimit()} 条
+     */
+    public List<SearchHit> search(SearchQuery query) {
+        List<IndexSegment> snapshot = snapshot();
+        Set<String> tokens = new LinkedHashSet<>(Tokenizer.tokenize(query.getText()));
+        long docCount = 0;
+        long totalLength = 0;
+        for (IndexSegment segment : snapshot) {
+            docCount += segment.getDocCount();
+            totalLength += segment.getTotalLength();
+        }
+        if (tokens.isEmpty() || docCount == 0) {
+            return Collections.emptyList();
+        }
+        byte[][] terms = new byte[tokens.size()][];
+        int t = 0;
+        for (String token : tokens) {
+            terms[t++] = token.getBytes(StandardCharsets.UTF_8);
+        }
+        // 全局统计量：各段的文档频率之和，保证不同段的得分可比
+        int[][] ordinals = new int[snapshot.size()][terms.length];
+        long[] docFreqs = new long[terms.length];
+        for (int s = 0; s < snapshot.size(); s++) {
+            for (t = 0; t < terms.length; t++) {
+                int ordinal = snapshot.get(s).findTerm(terms[t]);
+                ordinals[s][t] = ordinal;
+                if (ordinal >= 0) {
+                    docFreqs[t] += snapshot.get(s).docFreq(ordinal);
+                }
+            }
+        }
+        double[] idf = new double[terms.length];
+        for (t = 0; t < terms.length; t++) {
+            idf[t] = Math.log(1 + (docCount - docFreqs[t] + 0.5) / (docFreqs[t] + 0.5));
+        }
+        DocFilter filter = new DocFilter(query);
+        TopHits top = new TopHits(query.getLimit());
+        double avgLength = Math.max(1.0, (double) totalLength / docCount);
+        for (int s = 0; s < snapshot.size(); s++) {
+            searchSegment(s, snapshot.get(s), ordinals[s], idf, avgLength, filter, top);
+        }
+        return top.toHits(snapshot);
+    }
+    
+    /**
+     * @return 已写成段和缓冲中的视频总数
+     */
+    public synchronized long getDocumentCount() {
+        long count = buffer.size();
+        for (IndexSegment segment : snapshot()) {
+            count += segment.getDocCount();
+        }
+        return count;
+    }
+    
+    public synchronized int getBufferedCount() {
+        return buffer.size();
+    }
+    
+    public int getSegmentCount() {
+        return snapshot().size();
+    }
+    
+    /**
+     * @return 当前各段文件的总字节数
+     */
+    public long getStorageBytes() {
+        long bytes = 0;
+        for (IndexSegment segment : snapshot()) {
+            bytes += segment.getSizeInBytes();
+        }
+        return bytes;
+    }
+    
+    /**
+     * @return 本次打开以来完成的合并次数
+     */
+    public long getMergeCount() {
+        synchronized (segmentLock) {
+            return mergeCount;
+        }
+    }
+    
+    public Path getDirectory() {
+        return directory;
+    }
+    
+    /**
+     * 写出缓冲，等待进行中的合并完成后关闭
+     * @throws FileExportException 写出缓冲失败时抛出，索引仍会关闭
+     */
+    @Override
+    public synchronized void close() throws FileExportException {
+        if (closed) {
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            closed = true;
+            merger.shutdown();
+            try {
+                if (!merger.awaitTermination(5, TimeUnit.MINUTES)) {
+                    logger.warn("Search segment merge did not finish before close");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            indexedIds.close();
+            segments = null;
+        }
+    }
+    
+    private List<IndexSegment> snapshot() {
+        List<IndexSegment> snapshot = segments;
+        if (snapshot == null) {
+            throw new IllegalStateException("Search index is closed");
+        }
+        return snapshot;
+    }
+    
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Search index is closed");
+        }
+    }
+    
+    /**
+     * 对一个段执行块级MaxScore检索
+     * 词按得分上界升序排列，上界前缀和不超过当前第k名得分的词为非必要词：
+     * 候选文档只来自必要词的倒排表，非必要词只在候选文档上用跳表定位，且剩余上界不足以进入前k时提前停止；
+     * 按必要词的块划分窗口，各词在窗口内的块上界之和不足以进入前k时，整个窗口不解码直接跳过
+     */
+    private static void searchSegment(int segmentIndex, IndexSegment segment, int[] ordinals, double[] idf,
+                                      double avgLength, DocFilter filter, TopHits top) {
+        boolean[] channelMask = null;
+        if (filter.channelIds != null) {
+            channelMask = segment.channelMask(filter.channelIds);
+            if (channelMask == null) {
+                return;
+            }
+        }
+        double baseNorm = K1 * (1 - B);
+        double lengthNorm = K1 * B / avgLength;
+        double minNorm = baseNorm + lengthNorm * segment.getMinDocLength();
+        int n = 0;
+        PostingsCursor[] cursors = new PostingsCursor[ordinals.length];
+        double[] weights = new double[ordinals.length];
+        double[] bounds = new double[ordinals.length];
+        for (int t = 0; t < ordinals.length; t++) {
+            if (ordinals[t] < 0) {
+                continue;
+            }
+            int maxFreq = segment.maxTermFreq(ordinals[t]);
+            double bound = idf[t] * maxFreq * (K1 + 1) / (maxFreq + minNorm);
+            int i = n++;
+            while (i > 0 && bounds[i - 1] > bound) {
+                cursors[i] = cursors[i - 1];
+                weights[i] = weights[i - 1];
+                bounds[i] = bounds[i - 1];
+                i--;
+            }
+            cursors[i] = segment.postings(ordinals[t]);
+            weights[i] = idf[t];
+            bounds[i] = bound;
+        }
+        if (n == 0) {
+            return;
+        }
+        double[] prefixBounds = new double[n];
+        for (int i = 0; i < n; i++) {
+            prefixBounds[i] = (i > 0 ? prefixBounds[i - 1] : 0) + bounds[i];
+        }
+        int[] filtered = filteredDocs(segment, filter, channelMask);
+        if (filtered != null) {
+            scoreFiltered(segmentIndex, segment, filtered, cursors, weights, prefixBounds, n, avgLength, filter,
+                    channelMask, top);
+            return;
+        }
+        double threshold = top.threshold();
+        int essential = 0;
+        while (essential < n && prefixBounds[essential] <= threshold) {
+            essential++;
+        }
+        int upTo = 0;
+        while (essential < n) {
+            // 窗口从upTo到必要词包含upTo的块中最早结束的一块为止，只读跳表估计窗口内的得分上界
+            int windowEnd = PostingsCursor.NO_MORE_DOCS;
+            for (int i = essential; i < n; i++) {
+                int b = cursors[i].shallowBlock(upTo);
+                if (b < cursors[i].blockCount()) {
+                    windowEnd = Math.min(windowEnd, cursors[i].lastDoc(b));
+                }
+            }
+            if (windowEnd == PostingsCursor.NO_MORE_DOCS) {
+                break;
+            }
+            double windowBound = 0;
+            for (int i = 0; i < n; i++) {
+                windowBound += windowBound(cursors[i], upTo, windowEnd, weights[i], baseNorm, lengthNorm);
+            }
+            while (windowBound > threshold && essential < n) {
+                int doc = PostingsCursor.NO_MORE_DOCS;
+                for (int i = essential; i < n; i++) {
+                    doc = Math.min(doc, cursors[i].advance(upTo));
+                }
+                if (doc > windowEnd) {
+                    break;
+                }
+                upTo = doc + 1;
+                if (!filter.accept(segment, doc, channelMask)) {
+                    continue;
+                }
+                double norm = baseNorm + lengthNorm * segment.docLength(doc);
+                double score = 0;
+                for (int i = essential; i < n; i++) {
+                    PostingsCursor cursor = cursors[i];
+                    if (cursor.doc() == doc) {
+                        score += weights[i] * cursor.freq() * (K1 + 1) / (cursor.freq() + norm);
+                    }
+                }
+                for (int i = essential - 1; i >= 0; i--) {
+                    if (score + prefixBounds[i] <= threshold) {
+                        break;
+                    }
+                    PostingsCursor cursor = cursors[i];
+                    if (cursor.advance(doc) == doc) {
+                        score += weights[i] * cursor.freq() * (K1 + 1) / (cursor.freq() + norm);
+                    }
+                }
+                if (top.offer(score, segmentIndex, doc)) {
+                    threshold = top.threshold();
+                    while (essential < n && prefixBounds[essential] <= threshold) {
+                        essential++;
+                    }
+                }
+            }
+            if (windowEnd == PostingsCursor.NO_MORE_DOCS - 1) {
+                break;
+            }
+            upTo = windowEnd + 1;
+        }
+    }
+    
+    /**
+     * 词在文档区间内的得分上界：区间覆盖的各块中，按块内最大词频和最短文档长度计算的最大值
+     */
+    private static double windowBound(PostingsCursor cursor, int from, int to, double weight, double baseNorm,
+                                      double lengthNorm) {
+        double bound = 0;
+        for (int b = cursor.shallowBlock(from); b < cursor.blockCount(); b++) {
+            int maxFreq = cursor.maxFreq(b);
+            bound = Math.max(bound, weight * maxFreq * (K1 + 1) / (maxFreq + baseNorm + lengthNorm * cursor.minLength(b)));
+            if (cursor.lastDoc(b) >= to) {
+                break;
+            }
+        }
+        return bound;
+    }
+    
+    /**
+     * 过滤条件选择性足够高时，由频道分组或发布时间排序直接列出候选文档
+     * @return 按文档号升序的候选文档，过滤条件不够选择性时返回null
+     */
+    private static int[] filteredDocs(IndexSegment segment, DocFilter filter, boolean[] channelMask) {
+        int limit = segment.getDocCount() / FILTER_DRIVEN_RATIO;
+        int[] docs = null;
+        if (channelMask != null) {
+            docs = segment.channelDocs(channelMask, limit);
+        }
+        if (filter.hasDateRange) {
+            int[] byTime = segment.docsPublishedBetween(filter.from, filter.to, docs != null ? docs.length : limit);
+            if (byTime != null) {
+                docs = byTime;
+            }
+        }
+        return docs;
+    }
+    
+    /**
+     * 逐个候选文档用跳表定位各词并评分，剩余上界不足以进入前k时停止
+     */
+    private static void scoreFiltered(int segmentIndex, IndexSegment segment, int[] docs, PostingsCursor[] cursors,
+                                      double[] weights, double[] prefixBounds, int n, double avgLength,
+                                      DocFilter filter, boolean[] channelMask, TopHits top) {
+        double baseNorm = K1 * (1 - B);
+        double lengthNorm = K1 * B / avgLength;
+        double threshold = top.threshold();
+        for (int doc : docs) {
+            if (prefixBounds[n - 1] <= threshold) {
+                return;
+            }
+            if (!filter.accept(segment, doc, channelMask)) {
+                continue;
+            }
+            double norm = baseNorm + lengthNorm * segment.docLength(doc);
+            double score = 0;
+            for (int i = n - 1; i >= 0; i--) {
+                if (score + prefixBounds[i] <= threshold) {
+                    break;
+                }
+                PostingsCursor cursor = cursors[i];
+                if (cursor.advance(doc) == doc) {
+                    score += weights[i] * cursor.freq() * (K1 + 1) / (cursor.freq() + norm);
+                }
+            }
+            if (score > 0 && top.offer(score, segmentIndex, doc)) {
+                threshold = top.threshold();
+            }
+        }
+    }
+    
+    /**
+     * 后台合并：反复选出最小的 mergeFactor 个段合并，直到可合并的段不足 mergeFactor 个
+     */
+    private void mergeSegments() {
+        while (true) {
+            List<IndexSegment> candidates = selectMerge();
+            if (candidates == null) {
+                return;
+            }
+            try {
+                merge(candidates);
+            } catch (FileExportException e) {
+                logger.error("Failed to merge search segments, keeping {} segments", candidates.size(), e);
+                return;
+            }
+        }
+    }
+    
+    private List<IndexSegment> selectMerge() {
+        List<IndexSegment> current = segments;
+        if (current == null) {
+            return null;
+        }
+        List<IndexSegment> eligible = new ArrayList<>();
+        for (IndexSegment segment : current) {
+            if (segment.getSizeInBytes() <= MAX_MERGED_BYTES / 2) {
+                eligible.add(segment);
+            }
+        }
+        if (eligible.size() < mergeFactor) {
+            return null;
+        }
+        eligible.sort(Comparator.comparingLong(IndexSegment::getSizeInBytes));
+        List<IndexSegment> chosen = new ArrayList<>(eligible.subList(0, mergeFactor));
+        long bytes = 0;
+        for (IndexSegment segment : chosen) {
+            bytes += segment.getSizeInBytes();
+        }
+        while (bytes > MAX_MERGED_BYTES && chosen.size() > 2) {
+            bytes -= chosen.remove(chosen.size() - 1).getSizeInBytes();
+        }
+        // 保持段在清单中的先后顺序
+        chosen.sort(Comparator.comparingInt(current::indexOf));
+        return chosen;
+    }
+    
+    /**
+     * 合并段并替换清单，只在合并线程中调用
+     */
+    private void merge(List<IndexSegment> sources) throws FileExportException {
+        long start = System.nanoTime();
+        Path file = newSegmentFile();
+        IndexSegment merged;
+        try {
+            SegmentMerger.merge(sources, file);
+            merged = IndexSegment.open(file);
+            synchronized (segmentLock) {
+                if (segments == null) {
+                    Files.deleteIfExists(file);
+                    return;
+                }
+                List<IndexSegment> updated = new ArrayList<>(segments.size());
+                for (IndexSegment segment : segments) {
+                    if (segment == sources.get(0)) {
+                        updated.add(merged);
+                    } else if (!sources.contains(segment)) {
+                        updated.add(segment);
+                    }
+                }
+                writeManifest(updated);
+                segments = Collections.unmodifiableList(updated);
+                mergeCount++;
+            }
+        } catch (IOException e) {
+            throw new FileExportException("Failed to merge search segments: " + e.getMessage(),
+                    file.toString(), FORMAT, e);
+        }
+        logger.debug("Merged {} segments into {} in {} ms", sources.size(), merged,
+                (System.nanoTime() - start) / 1_000_000);
+        // 进行中的检索仍持有旧段的映射，删除文件不影响它们读取
+        for (IndexSegment segment : sources) {
+            try {
+                Files.deleteIfExists(segment.getFile());
+            } catch (IOException e) {
+                logger.warn("Failed to delete merged segment {}: {}", segment.getFile(), e.getMessage());
+            }
+        }
+    }
+    
+    private Path newSegmentFile() {
+        synchronized (segmentLock) {
+            return directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, nextSegment++, SEGMENT_SUFFIX));
+        }
+    }
+    
+    private void writeManifest(List<IndexSegment> updated) throws IOException {
+        List<String> lines = new ArrayList<>(updated.size() + 1);
+        lines.add(FORMAT + " " + IndexSegment.VERSION);
+        for (IndexSegment segment : updated) {
+            lines.add(segment.getFile().getFileName().toString());
+        }
+        Path temp = directory.resolve(MANIFEST + ".tmp");
+        Files.write(temp, lines, StandardCharsets.UTF_8);
+        Files.move(temp, directory.resolve(MANIFEST), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+    
+    /**
+     * 打开清单中的段，删除未列出的段文件和临时文件
+     */
+    private void load() throws IOException {
+        Path manifest = directory.resolve(MANIFEST);
+        Set<String> live = new HashSet<>();
+        List<IndexSegment> loaded = new ArrayList<>();
+        if (Files.exists(manifest)) {
+            List<String> lines = Files.readAllLines(manifest, StandardCharsets.UTF_8);
+            if (lines.isEmpty() || !lines.get(0).equals(FORMAT + " " + IndexSegment.VERSION)) {
+                throw new IOException("Not a search index manifest: " + manifest);
+            }
+            for (String name : lines.subList(1, lines.size())) {
+                loaded.add(IndexSegment.open(directory.resolve(name)));
+                live.add(name);
+            }
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(SEGMENT_PREFIX)) {
+                    nextSegment = Math.max(nextSegment, segmentNumber(name) + 1);
+                    if (!live.contains(name)) {
+                        logger.info("Deleting unreferenced search segment {}", file);
+                        Files.delete(file);
+                    }
+                } else if (name.equals(MANIFEST + ".tmp")) {
+                    Files.delete(file);
+                }
+            }
+        }
+        segments = Collections.unmodifiableList(loaded);
+        logger.debug("Opened search index {} with {} segments", directory, loaded.size());
+    }
+    
+    private static int segmentNumber(String name) {
+        int end = name.indexOf('.');
+        try {
+            return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), end < 0 ? name.length() : end));
+        } catch (NumberFormatException | StringIndexOutOfBoundsException e) {
+            return -1;
+        }
+    }
+    
+    /**
+     * 频道和发布时间过滤条件
+     */
+    private static final class DocFilter {
+        private final Set<String> channelIds;
+        private final boolean hasDateRange;
+        private final long from;
+        private final long to;
+        
+        DocFilter(SearchQuery query) {
+            this.channelIds = query.getChannelIds().isEmpty() ? null : query.getChannelIds();
+            this.hasDateRange = query.getPublishedFrom() != null || query.getPublishedTo() != null;
+            this.from = query.getPublishedFrom() != null
+                    ? TimestampUtil.toEpochSecond(query.getPublishedFrom()) : Long.MIN_VALUE;
+            this.to = query.getPublishedTo() != null
+                    ? TimestampUtil.toEpochSecond(query.getPublishedTo()) : Long.MAX_VALUE;
+        }
+        
+        boolean accept(IndexSegment segment, int doc, boolean[] channelMask) {
+            if (channelMask != null) {
+                int ordinal = segment.channelOrdinal(doc);
+                if (ordinal == IndexSegment.NO_CHANNEL || !channelMask[ordinal]) {
+                    return false;
+                }
+            }
+            if (hasDateRange) {
+                long publishedAt = segment.publishedAt(doc);
+                return publishedAt != TimestampUtil.INVALID && publishedAt >= from && publishedAt < to;
+            }
+            return true;
+        }
+    }
+    
+    /**
+     * 得分最高的k个文档，以最小堆保存
+     */
+    private static final class TopHits {
+        private final double[] scores;
+        private final int[] segmentIndexes;
+        private final int[] docs;
+        private int size;
+        
+        TopHits(int k) {
+            this.scores = new double[k];
+            this.segmentIndexes = new int[k];
+            this.docs = new int[k];
+        }
+        
+        /**
+         * @return 进入前k所需超过的得分，未满时为0
+         */
+        double threshold() {
+            return size == scores.length ? scores[0] : 0;
+        }
+        
+        /**
+         * @return 文档被加入且堆已满（阈值可能提高）时返回true
+         */
+        boolean offer(double score, int segmentIndex, int doc) {
+            if (size < scores.length) {
+                int i = size++;
+                while (i > 0) {
+                    int parent = (i - 1) >>> 1;
+                    if (scores[parent] <= score) {
+                        break;
+                    }
+                    set(i, scores[parent], segmentIndexes[parent], docs[parent]);
+                    i = parent;
+                }
+                set(i, score, segmentIndex, doc);
+                return size == scores.length;
+            }
+            if (score <= scores[0]) {
+                return false;
+            }
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && scores[child + 1] < scores[child]) {
+                    child++;
+                }
+                if (scores[child] >= score) {
+                    break;
+                }
+                set(i, scores[child], segmentIndexes[child], docs[child]);
+                i = child;
+            }
+            set(i, score, segmentIndex, doc);
+            return true;
+        }
+        
+        List<SearchHit> toHits(List<IndexSegment> snapshot) {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(scores[b], scores[a]));
+            List<SearchHit> hits = new ArrayList<>(size);
+            for (int i : order) {
+                IndexSegment segment = snapshot.get(segmentIndexes[i]);
+                int doc = docs[i];
+                long publishedAt = segment.publishedAt(doc);
+                hits.add(new SearchHit(segment.videoId(doc), segment.channelId(segment.channelOrdinal(doc)),
+                        publishedAt == TimestampUtil.INVALID ? null
+                                : LocalDateTime.ofEpochSecond(publishedAt, 0, ZoneOffset.UTC),
+                        scores[i]));
+            }
+            return hits;
+        }
+        
+        private void set(int i, double score, int segmentIndex, int doc) {
+            scores[i] = score;
+            segmentIndexes[i] = segmentIndex;
+            docs[i] = doc;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,214 @@
+package com.youtube.fetcher.service;
+
+import com.youtube.fetcher.client.PageFetcher;
+import com.youtube.fetcher.client.PageIterator;
+import com.youtube.fetcher.client.YouTubeApiClient;
+import com.youtube.fetcher.exception.UncheckedYouTubeApiException;
+import com.youtube.fetcher.exception.YouTubeApiException;
+import com.youtube.fetcher.model.ApiResponse;
+import com.youtube.fetcher.model.ChannelInfo;
+import com.youtube.fetcher.model.VideoData;
+import com.youtube.fetcher.util.ConcurrencyUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 多频道并发获取引擎
+ * 同时调度大量频道的上传播放列表，整体并发度受全局上限约束，
+ * 单个频道内部按页顺序获取，并通过预取让下一页请求与当前页处理重叠。
+ * 
+ * <p>在Java 21+运行时使用虚拟线程；否则回退到大小为并发上限的平台线程池。
+ * 总耗时随并发上限而非频道数量伸缩。</p>
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public class ChannelFetchEngine implements AutoCloseable {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ChannelFetchEngine.class);
+    
+    /**
+     * 默认全局并发上限
+     */
+    public static final int DEFAULT_MAX_CONCURRENCY = 32;
+    
+    /**
+     * 默认每个频道的预取页数
+     */
+    public static final int DEFAULT_PREFETCH_PAGES = 1;
+    
+    private final YouTubeApiClient client;
+    private final int maxConcurrency;
+    private final int prefetchPages;
+    private final Semaphore permits;
+    private final ExecutorService channelExecutor;
+    private final ExecutorService prefetchExecutor;
+    private final boolean virtualThreads;
+    
+    /**
+     * 使用默认参数创建引擎
+     * @param client API客户端
+     */
+    public ChannelFetchEngine(YouTubeApiClient client) {
+        this(client, DEFAULT_MAX_CONCURRENCY, DEFAULT_PREFETCH_PAGES);
+    }
+    
+    /**
+     * 完整构造函数
+     * @param client API客户端
+     * @param maxConcurrency 同时处理的频道数上限
+     * @param prefetchPages 每个频道预取的页数，0表示不预取
+     */
+    public ChannelFetchEngine(YouTubeApiClient client, int maxConcurrency, int prefetchPages) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be > 0: " + maxConcurrency);
+        }
+        if (prefetchPages < 0) {
+            throw new IllegalArgumentException("prefetchPages must be >= 0: " + prefetchPages);
+        }
+        this.client = Objects.requireNonNull(client, "client");
+        this.maxConcurrency = maxConcurrency;
+        this.prefetchPages = prefetchPages;
+        this.permits = new Semaphore(maxConcurrency);
+        
+        ExecutorService virtual = ConcurrencyUtil.newVirtualThreadExecutor();
+        if (virtual != null) {
+            this.virtualThreads = true;
+            this.channelExecutor = virtual;
+            this.prefetchExecutor = virtual;
+        } else {
+            this.virtualThreads = false;
+            this.channelExecutor = ConcurrencyUtil.newFixedDaemonPool(maxConcurrency, "channel-fetch");
+            // 预取任务数不超过活跃频道数，单独的线程池避免与频道任务互相等待
+            this.prefetchExecutor = ConcurrencyUtil.newCachedDaemonPool("channel-prefetch");
+        }
+        logger.debug("ChannelFetchEngine started: maxConcurrency={}, prefetchPages={}, virtualThreads={}",
+                maxConcurrency, prefetchPages, virtualThreads);
+    }
+    
+    /**
+     * 并发获取所有频道的上传视频
+     * 每个频道的失败只通知监听器，不影响其他频道
+     * @param channels 频道列表
+     * @param listener 页面监听器，必须是线程安全的
+     * @return 所有频道处理完成时完成的Future
+     */
+    public CompletableFuture<Void> fetchAll(Collection<ChannelInfo> channels, ChannelPageListener listener) {
+        Objects.requireNonNull(listener, "listener");
+        List<CompletableFuture<Void>> futures = new ArrayList<>(channels.size());
+        for (ChannelInfo channel : channels) {
+            futures.add(CompletableFuture.runAsync(() -> fetchChannel(channel, listener), channelExecutor));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+    }
+    
+    /**
+     * 获取所有频道并等待完成
+     * @param channels 频道列表
+     * @param listener 页面监听器，必须是线程安全的
+     * @throws InterruptedException 等待被中断时抛出
+     */
+    public void fetchAllAndWait(Collection<ChannelInfo> channels, ChannelPageListener listener)
+            throws InterruptedException {
+        try {
+            fetchAll(channels, listener).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Channel fetch task failed unexpectedly", e.getCause());
+        }
+    }
+    
+    private void fetchChannel(ChannelInfo channel, ChannelPageListener listener) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            listener.onChannelFailed(channel, new YouTubeApiException("Interrupted before fetch", e));
+            return;
+        }
+        try {
+            if (listener.isCancelled()) {
+                return;
+            }
+            String playlistId = resolveUploadsPlaylistId(channel);
+            PageFetcher<VideoData> fetcher = client.playlistFetcher(playlistId);
+            String resumeToken = listener.resumePageToken(channel);
+            if (resumeToken != null) {
+                PageFetcher<VideoData> playlist = fetcher;
+                fetcher = pageToken -> playlist.fetchPage(pageToken != null ? pageToken : resumeToken);
+            }
+            try (PageIterator<VideoData> pages = new PageIterator<>(fetcher, prefetchPages, prefetchExecutor)) {
+                while (!listener.isCancelled() && pages.hasNext()) {
+                    ApiResponse<VideoData> page = pages.next();
+                    listener.onPage(channel, page);
+                }
+            }
+            if (!listener.isCancelled()) {
+                listener.onChannelComplete(channel);
+            }
+        } catch (YouTubeApiException e) {
+            listener.onChannelFailed(channel, e);
+        } catch (UncheckedYouTubeApiException e) {
+            listener.onChannelFailed(channel, e.getCause());
+        } catch (RuntimeException e) {
+            logger.error("Unexpected error while fetching channel {}", channel.getChannelId(), e);
+            listener.onChannelFailed(channel, new YouTubeApiException(
+                    "Unexpected error while fetching channel " + channel.getChannelId(), e));
+        } finally {
+            permits.release();
+        }
+    }
+    
+    private String resolveUploadsPlaylistId(ChannelInfo channel) throws YouTubeApiException {
+        String playlistId = channel.getUploadsPlaylistId();
+        if (playlistId != null && !playlistId.trim().isEmpty()) {
+            return playlistId;
+        }
+        ChannelInfo resolved = client.getChannelInfo(channel.getChannelId());
+        if (resolved == null || resolved.getUploadsPlaylistId() == null) {
+            throw new YouTubeApiException("Uploads playlist not found for channel: " + channel.getChannelId(),
+                    "playlistNotFound", 404);
+        }
+        channel.setUploadsPlaylistId(resolved.getUploadsPlaylistId());
+        return resolved.getUploadsPlaylistId();
+    }
+    
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+    
+    public int getPrefetchPages() {
+        return prefetchPages;
+    }
+    
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+    
+    /**
+     * 关闭引擎并等待正在执行的频道任务结束
+     */
+    @Override
+    public void close() {
+        channelExecutor.shutdown();
+        prefetchExecutor.shutdown();
+        try {
+            if (!channelExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+                channelExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            channelExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        prefetchExecutor.shutdownNow();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.youtube.fetcher.service;
+
+import com.youtube.fetcher.exception.YouTubeApiException;
+import com.youtube.fetcher.model.ApiResponse;
+import com.youtube.fetcher.model.ChannelInfo;
+import com.youtube.fetcher.model.VideoData;
+
+/**
+ * 频道分页监听器
+ * 接收并发获取引擎按到达顺序推送的页面。不同频道的回调可能来自不同线程，
+ * 但同一频道的页面总是按顺序、串行地回调。
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public interface ChannelPageListener {
+    
+    /**
+     * 频道开始分页获取前调用（上传播放列表已解析），可返回续传位置
+     * @param channel 频道信息
+     * @return 非null时从该页面令牌开始获取，而不是从第一页开始
+     */
+    default String resumePageToken(ChannelInfo channel) {
+        return null;
+    }
+    
+    /**
+     * 收到频道的一页视频
+     * @param channel 频道信息
+     * @param page 视频页面
+     */
+    void onPage(ChannelInfo channel, ApiResponse<VideoData> page);
+    
+    /**
+     * 频道的所有页面已获取完成
+     * @param channel 频道信息
+     */
+    default void onChannelComplete(ChannelInfo channel) {
+    }
+    
+    /**
+     * 频道获取失败，该频道不会再有后续回调
+     * @param channel 频道信息
+     * @param error 失败原因
+     */
+    default void onChannelFailed(ChannelInfo channel, YouTubeApiException error) {
+    }
+    
+    /**
+     * 是否已不再需要页面
+     * 返回true后，尚未开始的频道不再获取，进行中的频道在当前页之后停止，且不会收到完成回调
+     * @return 是否取消
+     */
+    default boolean isCancelled() {
+        return false;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.youtube.fetcher.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.youtube.fetcher.exception.FileExportException;
+import com.youtube.fetcher.model.ChannelCheckpoint;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 本地检查点存储
+ * 以JSON文件保存每个频道的同步检查点，写入时先写临时文件再原子替换，避免进程中断导致文件损坏
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public class CheckpointStore {
+    
+    private static final String FORMAT = "json";
+    
+    private final Path file;
+    private final ObjectMapper mapper;
+    private final Map<String, ChannelCheckpoint> checkpoints = new ConcurrentHashMap<>();
+    
+    /**
+     * 构造函数，文件存在时立即加载
+     * @param file 检查点文件路径
+     * @throws FileExportException 文件存在但无法读取时抛出
+     */
+    public CheckpointStore(Path file) throws FileExportException {
+        this.file = file;
+        this.mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        load();
+    }
+    
+    /**
+     * 获取频道检查点
+     * @param channelId 频道ID
+     * @return 检查点，不存在时返回null
+     */
+    public ChannelCheckpoint get(String channelId) {
+        return checkpoints.get(channelId);
+    }
+    
+    /**
+     * 更新频道检查点（仅内存，需调用 {@link #save()} 持久化）
+     * @param checkpoint 检查点
+     */
+    public void put(ChannelCheckpoint checkpoint) {
+        checkpoints.put(checkpoint.getChannelId(), checkpoint);
+    }
+    
+    /**
+     * 删除频道检查点，下次同步将重新全量获取
+     * @param channelId 频道ID
+     */
+    public void remove(String channelId) {
+        checkpoints.remove(channelId);
+    }
+    
+    /**
+     * 获取检查点数量
+     * @return 数量
+     */
+    public int size() {
+        return checkpoints.size();
+    }
+    
+    /**
+     * 将所有检查点写入文件
+     * @throws FileExportException 写入失败时抛出
+     */
+    public synchronized void save() throws FileExportException {
+        List<ChannelCheckpoint> snapshot = new ArrayList<>(checkpoints.values());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            mapper.writeValue(temp.toFile(), snapshot);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new FileExportException("Failed to save checkpoints: " + e.getMessage(),
+                    file.toString(), FORMAT, e);
+        }
+    }
+    
+    private void load() throws FileExportException {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try {
+            List<ChannelCheckpoint> loaded = mapper.readValue(file.toFile(),
+                    new TypeReference<List<ChannelCheckpoint>>() { });
+            for (ChannelCheckpoint checkpoint : loaded) {
+                checkpoints.put(checkpoint.getChannelId(), checkpoint);
+            }
+        } catch (IOException e) {
+            throw new FileExportException("Failed to load checkpoints: " + e.getMessage(),
+                    file.toString(), FORMAT, e);
+        }
+    }
+    
+    public Path getFile() {
+        return file;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,292 @@
+package com.youtube.fetcher.service;
+
+import com.youtube.fetcher.client.PageIterator;
+import com.youtube.fetcher.client.YouTubeApiClient;
+import com.youtube.fetcher.exception.FileExportException;
+import com.youtube.fetcher.exception.UncheckedYouTubeApiException;
+import com.youtube.fetcher.exception.YouTubeApiException;
+import com.youtube.fetcher.model.ApiResponse;
+import com.youtube.fetcher.model.ChannelCheckpoint;
+import com.youtube.fetcher.model.ChannelInfo;
+import com.youtube.fetcher.model.VideoData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 增量同步服务
+ * 根据 {@link CheckpointStore} 中的水位线只获取频道的新视频：
+ * 
+ * <ul>
+ *   <li>频道视频数与检查点一致且历史已完整同步时直接跳过该频道</li>
+ *   <li>从最新一页开始翻页，遇到已见过的视频立即停止</li>
+ *   <li>首次全量获取中途失败时记录下一页令牌，下次同步先补新视频再从断点续传历史</li>
+ * </ul>
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public class IncrementalSyncService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(IncrementalSyncService.class);
+    
+    /**
+     * 同步结果类型
+     */
+    public enum SyncMode {
+        SKIPPED,      // 频道无变化
+        INCREMENTAL,  // 仅获取了新视频
+        FULL          // 首次全量获取
+    }
+    
+    private final YouTubeApiClient client;
+    private final CheckpointStore store;
+    private final int prefetchPages;
+    
+    /**
+     * 构造函数
+     * @param client API客户端
+     * @param store 检查点存储
+     */
+    public IncrementalSyncService(YouTubeApiClient client, CheckpointStore store) {
+        this(client, store, 0);
+    }
+    
+    /**
+     * 完整构造函数
+     * @param client API客户端
+     * @param store 检查点存储
+     * @param prefetchPages 翻页时的预取页数
+     */
+    public IncrementalSyncService(YouTubeApiClient client, CheckpointStore store, int prefetchPages) {
+        this.client = Objects.requireNonNull(client, "client");
+        this.store = Objects.requireNonNull(store, "store");
+        this.prefetchPages = prefetchPages;
+    }
+    
+    /**
+     * 同步单个频道，新视频按页推送给监听器
+     * 检查点只在内存中更新，调用方在一批频道完成后调用 {@link CheckpointStore#save()}
+     * @param channel 频道信息，videoCount用于判断是否可跳过
+     * @param listener 新视频页面监听器
+     * @return 同步结果
+     * @throws YouTubeApiException 获取新视频失败时抛出，此时水位线不会前移
+     */
+    public SyncResult sync(ChannelInfo channel, ChannelPageListener listener) throws YouTubeApiException {
+        ChannelCheckpoint previous = store.get(channel.getChannelId());
+        if (previous != null && previous.isHistoryComplete()
+                && channel.getVideoCount() != null
+                && channel.getVideoCount().equals(previous.getVideoCount())) {
+            logger.debug("Channel {} unchanged ({} videos), skipping", channel.getChannelId(), channel.getVideoCount());
+            listener.onChannelComplete(channel);
+            return new SyncResult(channel.getChannelId(), SyncMode.SKIPPED, 0, 0);
+        }
+        
+        String playlistId = resolveUploadsPlaylistId(channel);
+        ChannelCheckpoint next = new ChannelCheckpoint(channel.getChannelId());
+        next.setVideoCount(channel.getVideoCount());
+        if (previous != null) {
+            next.setLatestPublishedAt(previous.getLatestPublishedAt());
+            next.setLatestVideoId(previous.getLatestVideoId());
+            next.setLastPageToken(previous.getLastPageToken());
+        }
+        
+        Progress head = new Progress();
+        try {
+            fetchHead(channel, playlistId, previous, head, listener);
+        } catch (YouTubeApiException e) {
+            if (previous == null && head.newestVideo != null) {
+                // 首次全量获取中途失败：保存已获取部分，下次从断点续传
+                applyHead(next, head);
+                next.setLastPageToken(head.resumeToken);
+                store.put(next);
+            }
+            throw e;
+        }
+        applyHead(next, head);
+        if (previous == null) {
+            next.setLastPageToken(null);
+        }
+        
+        Progress backfill = new Progress();
+        if (previous != null && !previous.isHistoryComplete()) {
+            try {
+                fetchBackfill(channel, playlistId, previous.getLastPageToken(), next, backfill, listener);
+            } catch (YouTubeApiException e) {
+                store.put(next);
+                throw e;
+            }
+        }
+        
+        next.setLastSyncAt(LocalDateTime.now(ZoneOffset.UTC));
+        store.put(next);
+        listener.onChannelComplete(channel);
+        SyncMode mode = previous == null ? SyncMode.FULL : SyncMode.INCREMENTAL;
+        return new SyncResult(channel.getChannelId(), mode,
+                head.newVideos + backfill.newVideos, head.pages + backfill.pages);
+    }
+    
+    /**
+     * 同步一组频道，单个频道失败不影响其他频道，全部完成后保存检查点
+     * @param channels 频道列表
+     * @param listener 新视频页面监听器
+     * @return 每个成功同步的频道的结果
+     * @throws FileExportException 保存检查点失败时抛出
+     */
+    public List<SyncResult> syncAll(List<ChannelInfo> channels, ChannelPageListener listener)
+            throws FileExportException {
+        List<SyncResult> results = new ArrayList<>(channels.size());
+        for (ChannelInfo channel : channels) {
+            try {
+                results.add(sync(channel, listener));
+            } catch (YouTubeApiException e) {
+                logger.warn("Incremental sync failed for channel {}: {}", channel.getChannelId(), e.getMessage());
+                listener.onChannelFailed(channel, e);
+            }
+        }
+        store.save();
+        return results;
+    }
+    
+    private void fetchHead(ChannelInfo channel, String playlistId, ChannelCheckpoint previous,
+                           Progress progress, ChannelPageListener listener)
+            throws YouTubeApiException {
+        try (PageIterator<VideoData> pages =
+                     new PageIterator<>(client.playlistFetcher(playlistId), prefetchPages)) {
+            while (pages.hasNext()) {
+                ApiResponse<VideoData> page = pages.next();
+                progress.pages++;
+                List<VideoData> fresh = new ArrayList<>(page.getDataSize());
+                boolean reachedWatermark = false;
+                if (page.getData() != null) {
+                    for (VideoData video : page.getData()) {
+                        if (previous != null && previous.isSeen(video)) {
+                            reachedWatermark = true;
+                            break;
+                        }
+                        if (progress.newestVideo == null) {
+                            progress.newestVideo = video;
+                        }
+                        fresh.add(video);
+                    }
+                }
+                progress.newVideos += fresh.size();
+                progress.resumeToken = page.getNextPageToken();
+                emit(channel, page, fresh, listener);
+                if (reachedWatermark) {
+                    return;
+                }
+            }
+        } catch (UncheckedYouTubeApiException e) {
+            throw e.getCause();
+        }
+    }
+    
+    private void fetchBackfill(ChannelInfo channel, String playlistId, String startToken,
+                               ChannelCheckpoint next, Progress progress, ChannelPageListener listener)
+            throws YouTubeApiException {
+        logger.info("Resuming history backfill for channel {}", channel.getChannelId());
+        try (PageIterator<VideoData> pages = new PageIterator<>(
+                token -> client.getPlaylistVideos(playlistId, token == null ? startToken : token), prefetchPages)) {
+            while (pages.hasNext()) {
+                ApiResponse<VideoData> page = pages.next();
+                progress.pages++;
+                progress.newVideos += page.getDataSize();
+                next.setLastPageToken(page.getNextPageToken());
+                emit(channel, page, page.getData(), listener);
+            }
+        } catch (UncheckedYouTubeApiException e) {
+            throw e.getCause();
+        }
+    }
+    
+    private void emit(ChannelInfo channel, ApiResponse<VideoData> page, List<VideoData> videos,
+                      ChannelPageListener listener) {
+        if (videos == null || videos.isEmpty()) {
+            return;
+        }
+        ApiResponse<VideoData> filtered = ApiResponse.success(videos, page.getNextPageToken(), page.getTotalResults());
+        listener.onPage(channel, filtered);
+    }
+    
+    private void applyHead(ChannelCheckpoint next, Progress head) {
+        if (head.newestVideo != null) {
+            next.setLatestVideoId(head.newestVideo.getVideoId());
+            next.setLatestPublishedAt(head.newestVideo.getPublishedAt());
+        }
+    }
+    
+    private String resolveUploadsPlaylistId(ChannelInfo channel) throws YouTubeApiException {
+        if (channel.getUploadsPlaylistId() != null) {
+            return channel.getUploadsPlaylistId();
+        }
+        ChannelInfo resolved = client.getChannelInfo(channel.getChannelId());
+        if (resolved == null || resolved.getUploadsPlaylistId() == null) {
+            throw new YouTubeApiException("Uploads playlist not found for channel: " + channel.getChannelId(),
+                    "playlistNotFound", 404);
+        }
+        channel.setUploadsPlaylistId(resolved.getUploadsPlaylistId());
+        if (channel.getVideoCount() == null) {
+            channel.setVideoCount(resolved.getVideoCount());
+        }
+        return resolved.getUploadsPlaylistId();
+    }
+    
+    /**
+     * 单次翻页过程的进度
+     */
+    private static final class Progress {
+        private VideoData newestVideo;
+        private String resumeToken;
+        private int newVideos;
+        private int pages;
+    }
+    
+    /**
+     * 单个频道的同步结果
+     */
+    public static final class SyncResult {
+        private final String channelId;
+        private final SyncMode mode;
+        private final int newVideos;
+        private final int pagesFetched;
+        
+        public SyncResult(String channelId, SyncMode mode, int newVideos, int pagesFetched) {
+            this.channelId = channelId;
+            this.mode = mode;
+            this.newVideos = newVideos;
+            this.pagesFetched = pagesFetched;
+        }
+        
+        public String getChannelId() {
+            return channelId;
+        }
+        
+        public SyncMode getMode() {
+            return mode;
+        }
+        
+        public int getNewVideos() {
+            return newVideos;
+        }
+        
+        public int getPagesFetched() {
+            return pagesFetched;
+        }
+        
+        @Override
+        public String toString() {
+            return "SyncResult{" +
+                    "channelId='" + channelId + '\'' +
+                    ", mode=" + mode +
+                    ", newVideos=" + newVideos +
+                    ", pagesFetched=" + pagesFetched +
+                    '}';
+        }
+    }
+}
\ No newline at end of file
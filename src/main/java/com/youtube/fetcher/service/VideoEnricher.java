@@ -0,0 +1,294 @@
+package com.youtube.fetcher.service;
+
+import com.youtube.fetcher.client.YouTubeApiClient;
+import com.youtube.fetcher.exception.YouTubeApiException;
+import com.youtube.fetcher.model.ApiResponse;
+import com.youtube.fetcher.model.VideoData;
+import com.youtube.fetcher.util.ConcurrencyUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 视频详情批量补全器
+ * 播放列表接口只返回视频ID和标题，本类把待补全的视频合并成最多50个ID一批，
+ * 每批只调用一次videos.list，并把时长和统计数据合并回原对象。
+ * 
+ * <p>批次凑满立即发出；未凑满的批次在第一个视频入队后最多等待 {@code maxWaitMillis}
+ * 即被发出，保证低负载时延迟有界。</p>
+ * 
+ * <p>批次因任何异常失败，或在关闭之后才发出时，其中所有视频的Future都以异常完成。</p>
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public class VideoEnricher implements AutoCloseable {
+    
+    private static final Logger logger = LoggerFactory.getLogger(VideoEnricher.class);
+    
+    /**
+     * 默认最大等待时间（毫秒）
+     */
+    public static final long DEFAULT_MAX_WAIT_MILLIS = 200;
+    
+    private final YouTubeApiClient client;
+    private final int batchSize;
+    private final long maxWaitMillis;
+    private final ExecutorService dispatcher;
+    private final ScheduledExecutorService timer;
+    
+    private final Object lock = new Object();
+    private Map<String, List<Pending>> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> flushTask;
+    private boolean closed;
+    
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong enrichedCount = new AtomicLong();
+    
+    /**
+     * 使用API最大批次和默认等待时间创建补全器
+     * @param client API客户端
+     */
+    public VideoEnricher(YouTubeApiClient client) {
+        this(client, YouTubeApiClient.MAX_VIDEO_IDS_PER_REQUEST, DEFAULT_MAX_WAIT_MILLIS);
+    }
+    
+    /**
+     * 完整构造函数
+     * @param client API客户端
+     * @param batchSize 每批视频数，1到50之间
+     * @param maxWaitMillis 未满批次的最大等待时间（毫秒）
+     */
+    public VideoEnricher(YouTubeApiClient client, int batchSize, long maxWaitMillis) {
+        if (batchSize <= 0 || batchSize > YouTubeApiClient.MAX_VIDEO_IDS_PER_REQUEST) {
+            throw new IllegalArgumentException("batchSize must be between 1 and "
+                    + YouTubeApiClient.MAX_VIDEO_IDS_PER_REQUEST + ": " + batchSize);
+        }
+        if (maxWaitMillis < 0) {
+            throw new IllegalArgumentException("maxWaitMillis must be >= 0: " + maxWaitMillis);
+        }
+        this.client = Objects.requireNonNull(client, "client");
+        this.batchSize = batchSize;
+        this.maxWaitMillis = maxWaitMillis;
+        ExecutorService virtual = ConcurrencyUtil.newVirtualThreadExecutor();
+        this.dispatcher = virtual != null ? virtual : ConcurrencyUtil.newCachedDaemonPool("video-enrich");
+        this.timer = Executors.newSingleThreadScheduledExecutor(ConcurrencyUtil.daemonThreadFactory("video-enrich-timer"));
+    }
+    
+    /**
+     * 同步补全一组视频，按批次大小切分后逐批请求
+     * @param videos 待补全的视频
+     * @throws YouTubeApiException 任一批次调用失败时抛出
+     */
+    public void enrich(List<VideoData> videos) throws YouTubeApiException {
+        for (int from = 0; from < videos.size(); from += batchSize) {
+            List<VideoData> chunk = videos.subList(from, Math.min(from + batchSize, videos.size()));
+            Map<String, List<Pending>> batch = new LinkedHashMap<>();
+            for (VideoData video : chunk) {
+                batch.computeIfAbsent(video.getVideoId(), id -> new ArrayList<>()).add(new Pending(video, null));
+            }
+            executeBatch(batch);
+        }
+    }
+    
+    /**
+     * 同步补全一页视频
+     * @param page 播放列表页面
+     * @throws YouTubeApiException 调用失败时抛出
+     */
+    public void enrich(ApiResponse<VideoData> page) throws YouTubeApiException {
+        if (page.getData() != null) {
+            enrich(page.getData());
+        }
+    }
+    
+    /**
+     * 异步提交一个待补全的视频，与其他调用者提交的视频合并成批
+     * @param video 待补全的视频
+     * @return 补全（或确认视频已不可用）后完成的Future，批次失败时以 {@link YouTubeApiException} 异常完成
+     */
+    public CompletableFuture<VideoData> submit(VideoData video) {
+        Objects.requireNonNull(video, "video");
+        CompletableFuture<VideoData> future = new CompletableFuture<>();
+        Map<String, List<Pending>> ready = null;
+        synchronized (lock) {
+            if (closed) {
+                future.completeExceptionally(new IllegalStateException("VideoEnricher is closed"));
+                return future;
+            }
+            pending.computeIfAbsent(video.getVideoId(), id -> new ArrayList<>()).add(new Pending(video, future));
+            if (pending.size() >= batchSize) {
+                ready = drainLocked();
+            } else if (flushTask == null) {
+                flushTask = timer.schedule(this::flush, maxWaitMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (ready != null) {
+            dispatch(ready);
+        }
+        return future;
+    }
+    
+    /**
+     * 异步提交多个视频
+     * @param videos 待补全的视频
+     * @return 所有视频补全后完成的Future
+     */
+    public CompletableFuture<Void> submitAll(Collection<VideoData> videos) {
+        List<CompletableFuture<VideoData>> futures = new ArrayList<>(videos.size());
+        for (VideoData video : videos) {
+            futures.add(submit(video));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+    }
+    
+    /**
+     * 立即发出当前未满的批次
+     */
+    public void flush() {
+        Map<String, List<Pending>> ready;
+        synchronized (lock) {
+            ready = drainLocked();
+        }
+        if (ready != null) {
+            dispatch(ready);
+        }
+    }
+    
+    private Map<String, List<Pending>> drainLocked() {
+        if (flushTask != null) {
+            flushTask.cancel(false);
+            flushTask = null;
+        }
+        if (pending.isEmpty()) {
+            return null;
+        }
+        Map<String, List<Pending>> ready = pending;
+        pending = new LinkedHashMap<>();
+        return ready;
+    }
+    
+    private void dispatch(Map<String, List<Pending>> batch) {
+        try {
+            dispatcher.execute(() -> {
+                try {
+                    executeBatch(batch);
+                } catch (YouTubeApiException e) {
+                    logger.warn("videos.list batch of {} ids failed: {}", batch.size(), e.getMessage());
+                    fail(batch, e);
+                } catch (RuntimeException e) {
+                    logger.error("videos.list batch of {} ids failed unexpectedly", batch.size(), e);
+                    fail(batch, e);
+                } catch (Error e) {
+                    fail(batch, e);
+                    throw e;
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 批次在关闭之前取出，关闭之后才发出
+            fail(batch, new IllegalStateException("VideoEnricher is closed", e));
+        }
+    }
+    
+    /**
+     * 以异常完成批次中所有未完成的Future，否则等待者会一直阻塞
+     */
+    private static void fail(Map<String, List<Pending>> batch, Throwable error) {
+        for (List<Pending> entries : batch.values()) {
+            for (Pending entry : entries) {
+                if (entry.future != null) {
+                    entry.future.completeExceptionally(error);
+                }
+            }
+        }
+    }
+    
+    private void executeBatch(Map<String, List<Pending>> batch) throws YouTubeApiException {
+        List<VideoData> details = client.getVideoDetails(new ArrayList<>(batch.keySet()));
+        requestCount.incrementAndGet();
+        if (details != null) {
+            for (VideoData detail : details) {
+                List<Pending> entries = batch.get(detail.getVideoId());
+                if (entries == null) {
+                    continue;
+                }
+                for (Pending entry : entries) {
+                    entry.video.mergeDetails(detail);
+                }
+                enrichedCount.addAndGet(entries.size());
+            }
+        }
+        for (List<Pending> entries : batch.values()) {
+            for (Pending entry : entries) {
+                if (entry.future != null) {
+                    entry.future.complete(entry.video);
+                }
+            }
+        }
+    }
+    
+    /**
+     * 获取已发出的videos.list请求数
+     * @return 请求数
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+    
+    /**
+     * 获取已补全的视频数
+     * @return 视频数
+     */
+    public long getEnrichedCount() {
+        return enrichedCount.get();
+    }
+    
+    /**
+     * 发出剩余批次并关闭补全器
+     */
+    @Override
+    public void close() {
+        Map<String, List<Pending>> ready;
+        synchronized (lock) {
+            closed = true;
+            ready = drainLocked();
+        }
+        if (ready != null) {
+            dispatch(ready);
+        }
+        timer.shutdownNow();
+        dispatcher.shutdown();
+        try {
+            dispatcher.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * 等待补全的视频及其回调
+     */
+    private static final class Pending {
+        private final VideoData video;
+        private final CompletableFuture<VideoData> future;
+        
+        private Pending(VideoData video, CompletableFuture<VideoData> future) {
+            this.video = video;
+            this.future = future;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,125 @@
+package com.youtube.fetcher.timeseries;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * 按固定时间桶降采样的指标序列
+ * 桶起点对齐到纪元的整数倍步长，每个桶记录快照数、最小值、最大值、第一个和最后一个值；
+ * 没有快照的桶不出现在结果中
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public final class RollupSeries {
+    
+    private final StatsMetric metric;
+    private final String id;
+    private final long stepSeconds;
+    private long[] bucketStarts = new long[16];
+    private int[] counts = new int[16];
+    private long[] mins = new long[16];
+    private long[] maxs = new long[16];
+    private long[] firsts = new long[16];
+    private long[] lasts = new long[16];
+    private int size;
+    
+    RollupSeries(StatsMetric metric, String id, long stepSeconds) {
+        this.metric = metric;
+        this.id = id;
+        this.stepSeconds = stepSeconds;
+    }
+    
+    /**
+     * 加入一个点，点必须按时间升序加入
+     */
+    void add(long epochSecond, long value) {
+        long bucket = Math.floorDiv(epochSecond, stepSeconds) * stepSeconds;
+        if (size > 0 && bucketStarts[size - 1] == bucket) {
+            int i = size - 1;
+            counts[i]++;
+            mins[i] = Math.min(mins[i], value);
+            maxs[i] = Math.max(maxs[i], value);
+            lasts[i] = value;
+            return;
+        }
+        if (size == bucketStarts.length) {
+            int capacity = size * 2;
+            bucketStarts = Arrays.copyOf(bucketStarts, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+            mins = Arrays.copyOf(mins, capacity);
+            maxs = Arrays.copyOf(maxs, capacity);
+            firsts = Arrays.copyOf(firsts, capacity);
+            lasts = Arrays.copyOf(lasts, capacity);
+        }
+        bucketStarts[size] = bucket;
+        counts[size] = 1;
+        mins[size] = value;
+        maxs[size] = value;
+        firsts[size] = value;
+        lasts[size] = value;
+        size++;
+    }
+    
+    public StatsMetric getMetric() {
+        return metric;
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    public Duration getStep() {
+        return Duration.ofSeconds(stepSeconds);
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public Instant getBucketStart(int index) {
+        return Instant.ofEpochSecond(bucketStarts[checkIndex(index)]);
+    }
+    
+    public int getCount(int index) {
+        return counts[checkIndex(index)];
+    }
+    
+    public long getMin(int index) {
+        return mins[checkIndex(index)];
+    }
+    
+    public long getMax(int index) {
+        return maxs[checkIndex(index)];
+    }
+    
+    public long getFirst(int index) {
+        return firsts[checkIndex(index)];
+    }
+    
+    public long getLast(int index) {
+        return lasts[checkIndex(index)];
+    }
+    
+    /**
+     * 获取桶内的增长量
+     * @param index 桶序号
+     * @return 桶内最后一个值减第一个值
+     */
+    public long getGrowth(int index) {
+        return lasts[checkIndex(index)] - firsts[index];
+    }
+    
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return index;
+    }
+    
+    @Override
+    public String toString() {
+        return "RollupSeries{" + metric + " " + id + ", step=" + getStep() + ", buckets=" + size + "}";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.youtube.fetcher.timeseries;
+
+import com.youtube.fetcher.model.ChannelInfo;
+import com.youtube.fetcher.model.VideoData;
+
+/**
+ * 时间序列中记录的统计指标
+ * 每个视频或频道一条序列，每次快照同时记录该类对象的三个计数，指标决定取哪一个
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public enum StatsMetric {
+    VIDEO_VIEWS(Kind.VIDEO, 0),
+    VIDEO_LIKES(Kind.VIDEO, 1),
+    VIDEO_COMMENTS(Kind.VIDEO, 2),
+    CHANNEL_SUBSCRIBERS(Kind.CHANNEL, 0),
+    CHANNEL_VIEWS(Kind.CHANNEL, 1),
+    CHANNEL_VIDEOS(Kind.CHANNEL, 2);
+    
+    /**
+     * 序列所属的对象类型
+     */
+    public enum Kind {
+        VIDEO,
+        CHANNEL
+    }
+    
+    /**
+     * 每次快照记录的值个数
+     */
+    static final int VALUES_PER_POINT = 3;
+    
+    private final Kind kind;
+    private final int slot;
+    
+    StatsMetric(Kind kind, int slot) {
+        this.kind = kind;
+        this.slot = slot;
+    }
+    
+    public Kind getKind() {
+        return kind;
+    }
+    
+    /**
+     * 获取指标在快照中的位置
+     * @return 0到2
+     */
+    int getSlot() {
+        return slot;
+    }
+    
+    /**
+     * 从视频取出三个计数，缺失的计数（如隐藏的点赞数）记为-1
+     */
+    static void valuesOf(VideoData video, long[] values) {
+        values[0] = orMissing(video.getViewCount());
+        values[1] = orMissing(video.getLikeCount());
+        values[2] = orMissing(video.getCommentCount());
+    }
+    
+    /**
+     * 从频道取出三个计数，缺失的计数（如隐藏的订阅数）记为-1
+     */
+    static void valuesOf(ChannelInfo channel, long[] values) {
+        values[0] = orMissing(channel.getSubscriberCount());
+        values[1] = orMissing(channel.getViewCount());
+        values[2] = orMissing(channel.getVideoCount());
+    }
+    
+    private static long orMissing(Long value) {
+        return value != null && value >= 0 ? value : StatsStore.MISSING;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,623 @@
+package com.youtube.fetcher.timeseries;
+
+import com.youtube.fetcher.exception.FileExportException;
+import com.youtube.fetcher.model.ChannelInfo;
+import com.youtube.fetcher.model.VideoData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 视频和频道统计数据的嵌入式时间序列存储
+ * 每个视频或频道一条序列，每次轮询追加一个快照（时间 + 三个计数），只追加不修改。
+ * 
+ * <ul>
+ *   <li>数据存放在目录下固定大小的内存映射段文件中，段被划分为固定大小的块，每块只属于一条序列</li>
+ *   <li>块内的点按时间升序编码：时间戳存储二阶差分（delta-of-delta），三个计数存储与上一个点之差，
+ *       均为zigzag变长整数；定期轮询时每个点通常只占4到8字节，而一行CSV导出要数百字节</li>
+ *   <li>内存中为每条序列维护其块号和块起始时间，范围查询二分定位起始块，只解码与查询区间重叠的块，
+ *       不扫描其他序列</li>
+ *   <li>打开时只读取块头重建索引；序列的尾块状态在下次追加时才解码</li>
+ *   <li>写入位于操作系统页缓存，{@link #force()} 或 {@link #close()} 时落盘</li>
+ * </ul>
+ * 
+ * <p>文件布局：每个段文件第0块为段头（魔数、版本、块大小、每段块数），其余每块以64字节块头开始
+ * （标记、序列类型、ID长度、已用字节数、点数、首末时间戳、ID），随后是编码后的点。
+ * 时间精度为秒；缺失的计数（如隐藏的点赞数）记为-1，查询时跳过。所有方法线程安全。</p>
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public final class StatsStore implements AutoCloseable {
+    
+    private static final Logger logger = LoggerFactory.getLogger(StatsStore.class);
+    
+    /**
+     * 默认块大小（字节）
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 512;
+    
+    /**
+     * 默认每段块数，默认段大小为8MB
+     */
+    public static final int DEFAULT_BLOCKS_PER_SEGMENT = 16384;
+    
+    /**
+     * 序列ID的最大字节数
+     */
+    public static final int MAX_ID_LENGTH = 32;
+    
+    static final long MISSING = -1;
+    
+    private static final String FORMAT = "ytts";
+    private static final int MAGIC = 0x59545453; // "YTTS"
+    private static final int VERSION = 1;
+    private static final int BLOCK_MARKER = 0x59544231; // "YTB1"
+    private static final int HEADER_BYTES = 64;
+    private static final int MARKER_OFFSET = 0;
+    private static final int KIND_OFFSET = 4;
+    private static final int ID_LENGTH_OFFSET = 5;
+    private static final int USED_OFFSET = 6;
+    private static final int COUNT_OFFSET = 8;
+    private static final int FIRST_TIME_OFFSET = 16;
+    private static final int LAST_TIME_OFFSET = 24;
+    private static final int ID_OFFSET = 32;
+    private static final int MAX_POINT_BYTES = 10 * (1 + StatsMetric.VALUES_PER_POINT);
+    
+    private final Path directory;
+    private final int blockSize;
+    private final int blocksPerSegment;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private final Map<String, Series> series = new HashMap<>();
+    private final byte[] scratch = new byte[MAX_POINT_BYTES];
+    private final long[] values = new long[StatsMetric.VALUES_PER_POINT];
+    private int nextBlock;
+    private long pointCount;
+    private boolean closed;
+    
+    private StatsStore(Path directory, int blockSize, int blocksPerSegment) {
+        this.directory = directory;
+        this.blockSize = blockSize;
+        this.blocksPerSegment = blocksPerSegment;
+    }
+    
+    /**
+     * 以默认块大小打开存储目录，不存在时创建
+     * @param directory 存储目录
+     * @return 存储
+     * @throws FileExportException 目录无法创建或段文件格式不正确时抛出
+     */
+    public static StatsStore open(Path directory) throws FileExportException {
+        return open(directory, DEFAULT_BLOCK_SIZE, DEFAULT_BLOCKS_PER_SEGMENT);
+    }
+    
+    /**
+     * 打开存储目录，不存在时按指定布局创建；已有存储沿用创建时的布局
+     * @param directory 存储目录
+     * @param blockSize 块大小，128到32768之间的2的幂
+     * @param blocksPerSegment 每段块数，段大小不超过1GB
+     * @return 存储
+     * @throws FileExportException 目录无法创建或段文件格式不正确时抛出
+     */
+    public static StatsStore open(Path directory, int blockSize, int blocksPerSegment) throws FileExportException {
+        if (blockSize < 128 || blockSize > 32768 || Integer.bitCount(blockSize) != 1) {
+            throw new IllegalArgumentException("blockSize must be a power of two in [128, 32768]: " + blockSize);
+        }
+        if (blocksPerSegment < 2 || (long) blockSize * blocksPerSegment > 1L << 30) {
+            throw new IllegalArgumentException("Invalid blocksPerSegment: " + blocksPerSegment);
+        }
+        try {
+            Files.createDirectories(directory);
+            Path first = segmentPath(directory, 0);
+            if (Files.exists(first) && Files.size(first) >= HEADER_BYTES) {
+                MappedByteBuffer header;
+                try (FileChannel channel = FileChannel.open(first, StandardOpenOption.READ)) {
+                    header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+                }
+                if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                    throw new IOException("Not a stats segment: " + first);
+                }
+                blockSize = header.getInt(8);
+                blocksPerSegment = header.getInt(12);
+            }
+            StatsStore store = new StatsStore(directory, blockSize, blocksPerSegment);
+            store.load();
+            return store;
+        } catch (IOException e) {
+            throw new FileExportException("Failed to open stats store: " + e.getMessage(),
+                    directory.toString(), FORMAT, e);
+        }
+    }
+    
+    /**
+     * 追加视频的观看、点赞、评论数快照
+     * @param video 视频数据，没有ID的视频被忽略
+     * @param time 轮询时间，同一视频的快照时间必须不早于上一次
+     * @throws FileExportException 新段文件无法创建时抛出
+     */
+    public synchronized void append(VideoData video, Instant time) throws FileExportException {
+        if (video.getVideoId() == null) {
+            return;
+        }
+        StatsMetric.valuesOf(video, values);
+        append(StatsMetric.Kind.VIDEO, video.getVideoId(), time.getEpochSecond(), values);
+    }
+    
+    /**
+     * 追加频道的订阅、观看、视频数快照
+     * @param channel 频道信息，没有ID的频道被忽略
+     * @param time 轮询时间，同一频道的快照时间必须不早于上一次
+     * @throws FileExportException 新段文件无法创建时抛出
+     */
+    public synchronized void append(ChannelInfo channel, Instant time) throws FileExportException {
+        if (channel.getChannelId() == null) {
+            return;
+        }
+        StatsMetric.valuesOf(channel, values);
+        append(StatsMetric.Kind.CHANNEL, channel.getChannelId(), time.getEpochSecond(), values);
+    }
+    
+    /**
+     * 以同一时间追加一批视频的快照
+     * @param videos 视频数据
+     * @param time 轮询时间
+     * @throws FileExportException 新段文件无法创建时抛出
+     */
+    public synchronized void appendAll(Collection<VideoData> videos, Instant time) throws FileExportException {
+        for (VideoData video : videos) {
+            append(video, time);
+        }
+    }
+    
+    /**
+     * 查询指标在时间区间内的取值
+     * @param metric 指标
+     * @param id 视频或频道ID
+     * @param from 起始时间（含）
+     * @param to 结束时间（含）
+     * @return 按时间升序的取值，序列不存在时为空
+     */
+    public synchronized TimeSeries range(StatsMetric metric, String id, Instant from, Instant to) {
+        TimeSeries result = new TimeSeries(metric, id);
+        int slot = metric.getSlot();
+        scan(metric, id, from, to, (time, point) -> result.add(time, point[slot]));
+        return result;
+    }
+    
+    /**
+     * 按固定步长降采样查询指标
+     * @param metric 指标
+     * @param id 视频或频道ID
+     * @param from 起始时间（含）
+     * @param to 结束时间（含）
+     * @param step 桶宽度，至少1秒
+     * @return 每个非空桶的统计，序列不存在时为空
+     */
+    public synchronized RollupSeries rollup(StatsMetric metric, String id, Instant from, Instant to, Duration step) {
+        long stepSeconds = step.getSeconds();
+        if (stepSeconds < 1) {
+            throw new IllegalArgumentException("step must be at least one second: " + step);
+        }
+        RollupSeries result = new RollupSeries(metric, id, stepSeconds);
+        int slot = metric.getSlot();
+        scan(metric, id, from, to, (time, point) -> result.add(time, point[slot]));
+        return result;
+    }
+    
+    /**
+     * 检查是否有该视频或频道的序列
+     * @param kind 序列类型
+     * @param id 视频或频道ID
+     * @return 存在时返回true
+     */
+    public synchronized boolean contains(StatsMetric.Kind kind, String id) {
+        return series.containsKey(key(kind, id));
+    }
+    
+    /**
+     * 获取序列数
+     * @return 视频和频道序列的总数
+     */
+    public synchronized int getSeriesCount() {
+        return series.size();
+    }
+    
+    /**
+     * 获取已存储的快照数
+     * @return 快照数
+     */
+    public synchronized long getPointCount() {
+        return pointCount;
+    }
+    
+    /**
+     * 获取已分配块占用的字节数，不含未使用的段空间
+     * @return 字节数
+     */
+    public synchronized long getStorageBytes() {
+        return (long) (nextBlock - (nextBlock + blocksPerSegment - 1) / blocksPerSegment) * blockSize;
+    }
+    
+    public Path getDirectory() {
+        return directory;
+    }
+    
+    public int getBlockSize() {
+        return blockSize;
+    }
+    
+    /**
+     * 将所有修改刷到磁盘
+     */
+    public synchronized void force() {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+    
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        force();
+        closed = true;
+        segments.clear();
+        series.clear();
+    }
+    
+    private void append(StatsMetric.Kind kind, String id, long time, long[] point) throws FileExportException {
+        if (closed) {
+            throw new IllegalStateException("Stats store is closed");
+        }
+        String key = key(kind, id);
+        Series s = series.get(key);
+        if (s == null) {
+            s = new Series(kind, id, idBytes(id));
+            series.put(key, s);
+        } else {
+            loadTail(s);
+            if (time < s.prevTime) {
+                throw new IllegalArgumentException("Snapshot for " + id + " at " + Instant.ofEpochSecond(time)
+                        + " is older than the last one at " + Instant.ofEpochSecond(s.prevTime));
+            }
+        }
+        int length = s.blockCount > 0 ? encode(s, time, point) : Integer.MAX_VALUE;
+        if (length > blockSize - HEADER_BYTES - s.tailUsed) {
+            startBlock(s, time);
+            length = encode(s, time, point);
+        }
+        int block = s.blocks[s.blockCount - 1];
+        MappedByteBuffer segment = segment(block);
+        int base = blockBase(block);
+        int position = base + HEADER_BYTES + s.tailUsed;
+        for (int i = 0; i < length; i++) {
+            segment.put(position + i, scratch[i]);
+        }
+        s.prevDelta = time - s.prevTime;
+        s.prevTime = time;
+        System.arraycopy(point, 0, s.prevValues, 0, point.length);
+        s.tailUsed += length;
+        s.tailCount++;
+        segment.putLong(base + LAST_TIME_OFFSET, time);
+        segment.putInt(base + COUNT_OFFSET, s.tailCount);
+        segment.putChar(base + USED_OFFSET, (char) s.tailUsed);
+        pointCount++;
+    }
+    
+    /**
+     * 将点编码到scratch中
+     * @return 编码长度
+     */
+    private int encode(Series s, long time, long[] point) {
+        int length = writeVarint(scratch, 0, zigzag(time - s.prevTime - s.prevDelta));
+        for (int i = 0; i < point.length; i++) {
+            length = writeVarint(scratch, length, zigzag(point[i] - s.prevValues[i]));
+        }
+        return length;
+    }
+    
+    private void startBlock(Series s, long time) throws FileExportException {
+        int block = allocateBlock();
+        MappedByteBuffer segment = segment(block);
+        int base = blockBase(block);
+        segment.put(base + KIND_OFFSET, (byte) s.kind.ordinal());
+        segment.put(base + ID_LENGTH_OFFSET, (byte) s.idBytes.length);
+        segment.putChar(base + USED_OFFSET, (char) 0);
+        segment.putInt(base + COUNT_OFFSET, 0);
+        segment.putLong(base + FIRST_TIME_OFFSET, time);
+        segment.putLong(base + LAST_TIME_OFFSET, time);
+        for (int i = 0; i < s.idBytes.length; i++) {
+            segment.put(base + ID_OFFSET + i, s.idBytes[i]);
+        }
+        segment.putInt(base + MARKER_OFFSET, BLOCK_MARKER);
+        s.addBlock(block, time);
+        s.tailLoaded = true;
+        s.prevTime = time;
+        s.prevDelta = 0;
+        Arrays.fill(s.prevValues, 0);
+        s.tailUsed = 0;
+        s.tailCount = 0;
+    }
+    
+    private int allocateBlock() throws FileExportException {
+        if (nextBlock % blocksPerSegment == 0) {
+            // 每段第0块是段头
+            nextBlock++;
+        }
+        int segmentIndex = nextBlock / blocksPerSegment;
+        while (segments.size() <= segmentIndex) {
+            createSegment(segments.size());
+        }
+        return nextBlock++;
+    }
+    
+    /**
+     * 解码序列的尾块，恢复追加所需的上一个点
+     */
+    private void loadTail(Series s) {
+        if (s.tailLoaded) {
+            return;
+        }
+        int block = s.blocks[s.blockCount - 1];
+        MappedByteBuffer segment = segment(block);
+        int base = blockBase(block);
+        s.tailUsed = segment.getChar(base + USED_OFFSET);
+        s.tailCount = segment.getInt(base + COUNT_OFFSET);
+        s.prevTime = segment.getLong(base + FIRST_TIME_OFFSET);
+        s.prevDelta = 0;
+        Arrays.fill(s.prevValues, 0);
+        decodeBlock(block, Long.MIN_VALUE, Long.MAX_VALUE, (time, point) -> {
+            s.prevDelta = time - s.prevTime;
+            s.prevTime = time;
+            System.arraycopy(point, 0, s.prevValues, 0, point.length);
+        });
+        s.tailLoaded = true;
+    }
+    
+    /**
+     * 遍历序列在时间区间内的点，跳过指标缺失的点
+     */
+    private void scan(StatsMetric metric, String id, Instant from, Instant to, PointVisitor visitor) {
+        Series s = series.get(key(metric.getKind(), id));
+        if (s == null || closed) {
+            return;
+        }
+        long fromTime = from.getEpochSecond();
+        long toTime = to.getEpochSecond();
+        int slot = metric.getSlot();
+        // 块按时间顺序排列：二分找到起始时间不早于from的第一个块，再向前包含末尾时间不早于from的块
+        int start = Arrays.binarySearch(s.firstTimes, 0, s.blockCount, fromTime);
+        if (start < 0) {
+            start = -start - 1;
+        }
+        while (start > 0 && lastTime(s.blocks[start - 1]) >= fromTime) {
+            start--;
+        }
+        for (int i = start; i < s.blockCount && s.firstTimes[i] <= toTime; i++) {
+            decodeBlock(s.blocks[i], fromTime, toTime, (time, point) -> {
+                if (point[slot] != MISSING) {
+                    visitor.visit(time, point);
+                }
+            });
+        }
+    }
+    
+    private void decodeBlock(int block, long fromTime, long toTime, PointVisitor visitor) {
+        MappedByteBuffer segment = segment(block);
+        int base = blockBase(block);
+        int count = segment.getInt(base + COUNT_OFFSET);
+        int position = base + HEADER_BYTES;
+        long time = segment.getLong(base + FIRST_TIME_OFFSET);
+        long delta = 0;
+        long[] point = new long[StatsMetric.VALUES_PER_POINT];
+        for (int n = 0; n < count; n++) {
+            long raw = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = segment.get(position++);
+                raw |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            delta += unzigzag(raw);
+            time += delta;
+            for (int i = 0; i < point.length; i++) {
+                raw = 0;
+                shift = 0;
+                do {
+                    b = segment.get(position++);
+                    raw |= (long) (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                point[i] += unzigzag(raw);
+            }
+            if (time > toTime) {
+                return;
+            }
+            if (time >= fromTime) {
+                visitor.visit(time, point);
+            }
+        }
+    }
+    
+    /**
+     * 映射已有的段文件，由块头重建每条序列的块列表
+     */
+    private void load() throws IOException {
+        for (int index = 0; Files.exists(segmentPath(directory, index)); index++) {
+            mapSegment(index, false);
+        }
+        int totalBlocks = segments.size() * blocksPerSegment;
+        byte[] idBuffer = new byte[MAX_ID_LENGTH];
+        for (int block = 1; block < totalBlocks; block++) {
+            if (block % blocksPerSegment == 0) {
+                continue;
+            }
+            MappedByteBuffer segment = segment(block);
+            int base = blockBase(block);
+            if (segment.getInt(base + MARKER_OFFSET) != BLOCK_MARKER) {
+                continue;
+            }
+            StatsMetric.Kind kind = StatsMetric.Kind.values()[segment.get(base + KIND_OFFSET)];
+            int idLength = segment.get(base + ID_LENGTH_OFFSET);
+            for (int i = 0; i < idLength; i++) {
+                idBuffer[i] = segment.get(base + ID_OFFSET + i);
+            }
+            String id = new String(idBuffer, 0, idLength, StandardCharsets.US_ASCII);
+            String key = key(kind, id);
+            Series s = series.get(key);
+            if (s == null) {
+                s = new Series(kind, id, idBytes(id));
+                series.put(key, s);
+            }
+            s.addBlock(block, segment.getLong(base + FIRST_TIME_OFFSET));
+            pointCount += segment.getInt(base + COUNT_OFFSET);
+            nextBlock = block + 1;
+        }
+        if (!segments.isEmpty()) {
+            logger.info("Opened stats store {}: {} series, {} snapshots in {} blocks",
+                    directory, series.size(), pointCount, nextBlock);
+        }
+    }
+    
+    private void createSegment(int index) throws FileExportException {
+        try {
+            mapSegment(index, true);
+        } catch (IOException e) {
+            throw new FileExportException("Failed to create stats segment: " + e.getMessage(),
+                    segmentPath(directory, index).toString(), FORMAT, e);
+        }
+    }
+    
+    private void mapSegment(int index, boolean create) throws IOException {
+        Path path = segmentPath(directory, index);
+        long size = (long) blockSize * blocksPerSegment;
+        MappedByteBuffer segment;
+        try (FileChannel channel = create
+                ? FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+        if (create) {
+            segment.putInt(4, VERSION);
+            segment.putInt(8, blockSize);
+            segment.putInt(12, blocksPerSegment);
+            segment.putInt(16, index);
+            segment.putInt(0, MAGIC);
+        } else if (segment.getInt(0) != MAGIC || segment.getInt(8) != blockSize
+                || segment.getInt(12) != blocksPerSegment) {
+            throw new IOException("Corrupt or mismatched stats segment: " + path);
+        }
+        segments.add(segment);
+    }
+    
+    private long lastTime(int block) {
+        return segment(block).getLong(blockBase(block) + LAST_TIME_OFFSET);
+    }
+    
+    private MappedByteBuffer segment(int block) {
+        return segments.get(block / blocksPerSegment);
+    }
+    
+    private int blockBase(int block) {
+        return (block % blocksPerSegment) * blockSize;
+    }
+    
+    private static Path segmentPath(Path directory, int index) {
+        return directory.resolve(String.format("stats-%05d.%s", index, FORMAT));
+    }
+    
+    private static String key(StatsMetric.Kind kind, String id) {
+        return (kind == StatsMetric.Kind.VIDEO ? 'V' : 'C') + id;
+    }
+    
+    private static byte[] idBytes(String id) {
+        if (id.isEmpty() || id.length() > MAX_ID_LENGTH) {
+            throw new IllegalArgumentException("Series ID must be 1 to " + MAX_ID_LENGTH + " characters: " + id);
+        }
+        byte[] bytes = new byte[id.length()];
+        for (int i = 0; i < bytes.length; i++) {
+            char c = id.charAt(i);
+            if (c >= 0x80) {
+                throw new IllegalArgumentException("Series ID must be ASCII: " + id);
+            }
+            bytes[i] = (byte) c;
+        }
+        return bytes;
+    }
+    
+    private static int writeVarint(byte[] buffer, int position, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+        return position;
+    }
+    
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+    
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+    
+    /**
+     * 解码时的点回调，values数组在回调之间复用
+     */
+    private interface PointVisitor {
+        void visit(long epochSecond, long[] values);
+    }
+    
+    /**
+     * 一条序列的块列表和尾块的编码状态
+     */
+    private static final class Series {
+        final StatsMetric.Kind kind;
+        final String id;
+        final byte[] idBytes;
+        int[] blocks = new int[2];
+        long[] firstTimes = new long[2];
+        int blockCount;
+        boolean tailLoaded;
+        long prevTime;
+        long prevDelta;
+        final long[] prevValues = new long[StatsMetric.VALUES_PER_POINT];
+        int tailUsed;
+        int tailCount;
+        
+        Series(StatsMetric.Kind kind, String id, byte[] idBytes) {
+            this.kind = kind;
+            this.id = id;
+            this.idBytes = idBytes;
+        }
+        
+        void addBlock(int block, long firstTime) {
+            if (blockCount == blocks.length) {
+                blocks = Arrays.copyOf(blocks, blockCount * 2);
+                firstTimes = Arrays.copyOf(firstTimes, blockCount * 2);
+            }
+            blocks[blockCount] = block;
+            firstTimes[blockCount] = firstTime;
+            blockCount++;
+            tailLoaded = false;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.youtube.fetcher.timeseries;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * 单个指标在一段时间内的取值
+ * 时间（秒）和值存放在两个并列的基本类型数组中，按时间升序；该指标缺失的快照不包含在内
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public final class TimeSeries {
+    
+    private final StatsMetric metric;
+    private final String id;
+    private long[] epochSeconds;
+    private long[] values;
+    private int size;
+    
+    TimeSeries(StatsMetric metric, String id) {
+        this.metric = metric;
+        this.id = id;
+        this.epochSeconds = new long[16];
+        this.values = new long[16];
+    }
+    
+    void add(long epochSecond, long value) {
+        if (size == epochSeconds.length) {
+            epochSeconds = Arrays.copyOf(epochSeconds, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        epochSeconds[size] = epochSecond;
+        values[size] = value;
+        size++;
+    }
+    
+    public StatsMetric getMetric() {
+        return metric;
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public long getEpochSecond(int index) {
+        return epochSeconds[checkIndex(index)];
+    }
+    
+    public Instant getTime(int index) {
+        return Instant.ofEpochSecond(getEpochSecond(index));
+    }
+    
+    public long getValue(int index) {
+        return values[checkIndex(index)];
+    }
+    
+    /**
+     * 计算区间内的增长量
+     * @return 最后一个值减第一个值，少于两个点时返回0
+     */
+    public long getGrowth() {
+        return size < 2 ? 0 : values[size - 1] - values[0];
+    }
+    
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return index;
+    }
+    
+    @Override
+    public String toString() {
+        return "TimeSeries{" + metric + " " + id + ", points=" + size + ", growth=" + getGrowth() + "}";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,100 @@
+package com.youtube.fetcher.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 并发工具类
+ * 在Java 21+运行时优先使用虚拟线程，否则回退到有界的平台线程池
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public final class ConcurrencyUtil {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyUtil.class);
+    
+    /**
+     * 设置为false可强制禁用虚拟线程
+     */
+    public static final String VIRTUAL_THREADS_PROPERTY = "youtube.fetcher.virtualThreads";
+    
+    private static final Method VIRTUAL_EXECUTOR_FACTORY = lookupVirtualExecutorFactory();
+    
+    private ConcurrencyUtil() {
+    }
+    
+    /**
+     * 检查当前运行时是否可以使用虚拟线程
+     * @return 如果运行在Java 21+且未被禁用则返回true
+     */
+    public static boolean isVirtualThreadsAvailable() {
+        return VIRTUAL_EXECUTOR_FACTORY != null;
+    }
+    
+    /**
+     * 创建每任务一个虚拟线程的执行器，不可用时返回null
+     * @return 虚拟线程执行器或null
+     */
+    public static ExecutorService newVirtualThreadExecutor() {
+        if (VIRTUAL_EXECUTOR_FACTORY == null) {
+            return null;
+        }
+        try {
+            return (ExecutorService) VIRTUAL_EXECUTOR_FACTORY.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            logger.warn("Failed to create virtual thread executor, falling back to platform threads", e);
+            return null;
+        }
+    }
+    
+    /**
+     * 创建固定大小的守护线程池
+     * @param threads 线程数
+     * @param namePrefix 线程名前缀
+     * @return 线程池
+     */
+    public static ExecutorService newFixedDaemonPool(int threads, String namePrefix) {
+        return Executors.newFixedThreadPool(threads, daemonThreadFactory(namePrefix));
+    }
+    
+    /**
+     * 创建按需扩展的守护线程池
+     * @param namePrefix 线程名前缀
+     * @return 线程池
+     */
+    public static ExecutorService newCachedDaemonPool(String namePrefix) {
+        return Executors.newCachedThreadPool(daemonThreadFactory(namePrefix));
+    }
+    
+    /**
+     * 创建守护线程工厂
+     * @param namePrefix 线程名前缀
+     * @return 线程工厂
+     */
+    public static ThreadFactory daemonThreadFactory(String namePrefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+    
+    private static Method lookupVirtualExecutorFactory() {
+        if (!Boolean.parseBoolean(System.getProperty(VIRTUAL_THREADS_PROPERTY, "true"))) {
+            return null;
+        }
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
\ No newline at end of file
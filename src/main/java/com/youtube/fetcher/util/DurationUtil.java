@@ -0,0 +1,97 @@
+package com.youtube.fetcher.util;
+
+/**
+ * ISO-8601时长工具类
+ * YouTube以 PT#H#M#S 形式返回视频时长（直播中为P0D，超过一天时带天数如P1DT2H），
+ * 这里直接逐字符解析为秒数，不创建中间对象
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public final class DurationUtil {
+    
+    /**
+     * 无法解析时的返回值
+     */
+    public static final int INVALID = -1;
+    
+    private DurationUtil() {
+    }
+    
+    /**
+     * 解析ISO-8601时长为秒数
+     * 支持W、D、H、M、S单位，秒的小数部分被截断
+     * @param text 时长文本，如PT1H2M3S
+     * @return 秒数，为null、格式错误或超出int范围时返回 {@link #INVALID}
+     */
+    public static int parseSeconds(CharSequence text) {
+        if (text == null) {
+            return INVALID;
+        }
+        int length = text.length();
+        if (length < 3 || text.charAt(0) != 'P') {
+            return INVALID;
+        }
+        long total = 0;
+        long value = -1;
+        boolean time = false;
+        boolean fraction = false;
+        for (int i = 1; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (!fraction) {
+                    value = (value < 0 ? 0 : value * 10) + (c - '0');
+                    if (value > Integer.MAX_VALUE) {
+                        return INVALID;
+                    }
+                }
+                continue;
+            }
+            if (c == 'T' && !time && value < 0) {
+                time = true;
+                continue;
+            }
+            if ((c == '.' || c == ',') && time && value >= 0 && !fraction) {
+                fraction = true;
+                continue;
+            }
+            if (value < 0) {
+                return INVALID;
+            }
+            long unit = unitSeconds(c, time);
+            if (unit < 0 || (fraction && c != 'S')) {
+                return INVALID;
+            }
+            total += value * unit;
+            if (total > Integer.MAX_VALUE) {
+                return INVALID;
+            }
+            value = -1;
+            fraction = false;
+        }
+        return value < 0 ? (int) total : INVALID;
+    }
+    
+    private static long unitSeconds(char unit, boolean time) {
+        if (time) {
+            switch (unit) {
+                case 'H':
+                    return 3600;
+                case 'M':
+                    return 60;
+                case 'S':
+                    return 1;
+                default:
+                    return -1;
+            }
+        }
+        switch (unit) {
+            case 'W':
+                return 7 * 86400;
+            case 'D':
+                return 86400;
+            default:
+                return -1;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.youtube.fetcher.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 线程安全的字符串字典
+ * 把取值重复度高的字段（频道ID、时长、国家、语言等）映射到同一个规范实例，使大量对象共享一份字符串。
+ * 与 {@link String#intern()} 不同，字典有容量上限：写满后新值原样返回、不再收录，
+ * 因此即使误用于高基数字段也只会失去去重效果，不会无限增长。
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public final class StringDictionary {
+    
+    private final ConcurrentMap<String, String> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    
+    /**
+     * @param maxEntries 最多收录的不同字符串个数
+     */
+    public StringDictionary(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+    }
+    
+    /**
+     * 返回与参数相等的规范实例
+     * @param value 字符串，可以为null
+     * @return 字典中已有的相等实例；没有时收录并返回参数本身；字典已满时直接返回参数
+     */
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String canonical = entries.get(value);
+        if (canonical != null) {
+            hits.increment();
+            return canonical;
+        }
+        misses.increment();
+        if (entries.size() >= maxEntries) {
+            return value;
+        }
+        canonical = entries.putIfAbsent(value, value);
+        return canonical != null ? canonical : value;
+    }
+    
+    /**
+     * @return 已收录的字符串个数
+     */
+    public int size() {
+        return entries.size();
+    }
+    
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+    
+    /**
+     * @return 命中已有实例的次数
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+    
+    /**
+     * @return 未命中的次数，包括字典已满时未能收录的值
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+    
+    /**
+     * 清空字典，已返回的实例不受影响
+     */
+    public void clear() {
+        entries.clear();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,190 @@
+package com.youtube.fetcher.util;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * RFC 3339时间戳工具类
+ * YouTube API返回的时间戳形如 2024-01-02T03:04:05Z，偶尔带毫秒或时区偏移。
+ * 这里逐字符解析为UTC纪元秒，不经过 {@link java.time.format.DateTimeFormatter}，也不创建中间对象
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+public final class TimestampUtil {
+    
+    /**
+     * 无法解析时的返回值
+     */
+    public static final long INVALID = Long.MIN_VALUE;
+    
+    private static final int[] DAYS_IN_MONTH = {31, 29, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+    
+    private TimestampUtil() {
+    }
+    
+    /**
+     * 解析RFC 3339时间戳为UTC纪元秒
+     * 格式为 yyyy-MM-dd'T'HH:mm:ss[.SSS...](Z|±HH:mm)，秒的小数部分被截断；
+     * 省略时区时按UTC处理，以兼容VideoData序列化输出的格式
+     * @param text 时间戳文本
+     * @return 纪元秒，为null或格式错误时返回 {@link #INVALID}
+     */
+    public static long parseEpochSecond(CharSequence text) {
+        if (text == null) {
+            return INVALID;
+        }
+        return parse(text, 0, text.length());
+    }
+    
+    /**
+     * 解析字符数组中的RFC 3339时间戳，供流式JSON解析器直接传入其字符缓冲区
+     * @param chars 字符数组
+     * @param offset 起始位置
+     * @param length 长度
+     * @return 纪元秒，格式错误时返回 {@link #INVALID}
+     */
+    public static long parseEpochSecond(char[] chars, int offset, int length) {
+        return parse(new CharArraySequence(chars), offset, length);
+    }
+    
+    /**
+     * 解析RFC 3339时间戳为UTC的LocalDateTime
+     * @param text 时间戳文本
+     * @return UTC时间，为null或格式错误时返回null
+     */
+    public static LocalDateTime parseUtcDateTime(CharSequence text) {
+        long epochSecond = parseEpochSecond(text);
+        return epochSecond == INVALID ? null : LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+    
+    /**
+     * 将UTC的LocalDateTime转换为纪元秒
+     * @param dateTime UTC时间
+     * @return 纪元秒，为null时返回 {@link #INVALID}
+     */
+    public static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toEpochSecond(ZoneOffset.UTC) : INVALID;
+    }
+    
+    private static long parse(CharSequence s, int start, int length) {
+        if (length < 19) {
+            return INVALID;
+        }
+        int end = start + length;
+        int year = digits(s, start, 4);
+        int month = digits(s, start + 5, 2);
+        int day = digits(s, start + 8, 2);
+        int hour = digits(s, start + 11, 2);
+        int minute = digits(s, start + 14, 2);
+        int second = digits(s, start + 17, 2);
+        char separator = s.charAt(start + 10);
+        if ((year | month | day | hour | minute | second) < 0
+                || s.charAt(start + 4) != '-' || s.charAt(start + 7) != '-'
+                || (separator != 'T' && separator != 't' && separator != ' ')
+                || s.charAt(start + 13) != ':' || s.charAt(start + 16) != ':') {
+            return INVALID;
+        }
+        if (month < 1 || month > 12 || day < 1 || day > DAYS_IN_MONTH[month - 1]
+                || (month == 2 && day == 29 && !isLeapYear(year))
+                || hour > 23 || minute > 59 || second > 60) {
+            return INVALID;
+        }
+        
+        int pos = start + 19;
+        if (pos < end && s.charAt(pos) == '.') {
+            pos++;
+            int fractionStart = pos;
+            while (pos < end && s.charAt(pos) >= '0' && s.charAt(pos) <= '9') {
+                pos++;
+            }
+            if (pos == fractionStart) {
+                return INVALID;
+            }
+        }
+        
+        int offsetSeconds = 0;
+        if (pos < end) {
+            char zone = s.charAt(pos);
+            if ((zone == 'Z' || zone == 'z') && pos + 1 == end) {
+                offsetSeconds = 0;
+            } else if ((zone == '+' || zone == '-') && pos + 6 == end && s.charAt(pos + 3) == ':') {
+                int offsetHours = digits(s, pos + 1, 2);
+                int offsetMinutes = digits(s, pos + 4, 2);
+                if (offsetHours < 0 || offsetMinutes < 0 || offsetHours > 23 || offsetMinutes > 59) {
+                    return INVALID;
+                }
+                offsetSeconds = (offsetHours * 3600 + offsetMinutes * 60) * (zone == '-' ? -1 : 1);
+            } else {
+                return INVALID;
+            }
+        }
+        
+        // 闰秒按该分钟的最后一秒处理
+        long epochDay = epochDay(year, month, day);
+        return epochDay * 86_400 + hour * 3600 + minute * 60 + Math.min(second, 59) - offsetSeconds;
+    }
+    
+    /**
+     * 公历日期到纪元日（1970-01-01为0）的换算，不创建LocalDate
+     */
+    private static long epochDay(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = (y >= 0 ? y : y - 399) / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return (long) era * 146_097 + dayOfEra - 719_468;
+    }
+    
+    private static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+    
+    /**
+     * 读取定长十进制数字
+     * @return 数值，遇到非数字字符时返回-1
+     */
+    private static int digits(CharSequence s, int pos, int count) {
+        int value = 0;
+        for (int i = 0; i < count; i++) {
+            int digit = s.charAt(pos + i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+    
+    /**
+     * 字符数组的只读视图，只在解析期间存在，通常会被逃逸分析消除
+     */
+    private static final class CharArraySequence implements CharSequence {
+        private final char[] chars;
+        
+        CharArraySequence(char[] chars) {
+            this.chars = chars;
+        }
+        
+        @Override
+        public int length() {
+            return chars.length;
+        }
+        
+        @Override
+        public char charAt(int index) {
+            return chars[index];
+        }
+        
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new String(chars, start, end - start);
+        }
+        
+        @Override
+        public String toString() {
+            return new String(chars);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,121 @@
+package com.youtube.fetcher.analytics;
+
+import com.youtube.fetcher.exception.YouTubeApiException;
+import com.youtube.fetcher.model.ChannelInfo;
+import com.youtube.fetcher.model.VideoData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ChannelAnalyzer失败隔离测试
+ * 单个频道的视频源抛出任意异常时，其他频道仍然完成分析
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+class ChannelAnalyzerTest {
+    
+    private static final int VIDEOS_PER_CHANNEL = 25;
+    
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    
+    @AfterEach
+    void shutdown() {
+        pool.shutdownNow();
+    }
+    
+    @Test
+    void failingChannelsDoNotAbortOthers() {
+        List<ChannelInfo> channels = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            ChannelInfo channel = new ChannelInfo("UC" + i, "channel " + i);
+            channel.setSubscriberCount(1000L);
+            channels.add(channel);
+        }
+        IllegalStateException openFailure = new IllegalStateException("source broken");
+        YouTubeApiException apiFailure = new YouTubeApiException("quota", "quotaExceeded", 403);
+        AtomicInteger closed = new AtomicInteger();
+        ChannelAnalyzer.VideoSource source = channel -> {
+            switch (channel.getChannelId()) {
+                case "UC3":
+                    throw openFailure;
+                case "UC5":
+                    throw apiFailure;
+                case "UC8":
+                    // 读到一半时迭代器抛出非受检异常
+                    return new Videos(channel.getChannelId(), 10, closed);
+                default:
+                    return new Videos(channel.getChannelId(), -1, closed);
+            }
+        };
+        
+        AnalysisReport report = new ChannelAnalyzer(pool, 0.01, 1).analyzeAll(channels, source);
+        
+        assertEquals(9, report.getChannels().size());
+        assertEquals(3, report.getFailures().size());
+        for (ChannelSummary summary : report.getChannels()) {
+            assertEquals(VIDEOS_PER_CHANNEL, summary.getVideoCount());
+        }
+        assertEquals(9L * VIDEOS_PER_CHANNEL, report.getOverall().getVideoCount());
+        
+        assertSame(openFailure, report.getFailures().get("UC3").getCause());
+        assertSame(apiFailure, report.getFailures().get("UC5"));
+        assertInstanceOf(ArithmeticException.class, report.getFailures().get("UC8").getCause());
+        assertTrue(report.getFailures().get("UC8").getMessage().contains("UC8"));
+        // 成功和中途失败的迭代器都被关闭
+        assertEquals(10, closed.get());
+    }
+    
+    /**
+     * 生成固定数量视频的可关闭迭代器，可在指定位置抛出异常
+     */
+    private static final class Videos implements Iterator<VideoData>, AutoCloseable {
+        private final String channelId;
+        private final int failAt;
+        private final AtomicInteger closed;
+        private int next;
+        
+        Videos(String channelId, int failAt, AtomicInteger closed) {
+            this.channelId = channelId;
+            this.failAt = failAt;
+            this.closed = closed;
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return next < VIDEOS_PER_CHANNEL;
+        }
+        
+        @Override
+        public VideoData next() {
+            if (next == failAt) {
+                throw new ArithmeticException("bad statistics");
+            }
+            int i = next++;
+            VideoData video = new VideoData(channelId + "-" + i, "title",
+                    LocalDateTime.of(2024, 1, 1, 0, 0).plusDays(i));
+            video.setViewCount(100L * (i + 1));
+            video.setLikeCount(10L);
+            video.setCommentCount(1L);
+            video.setDuration("PT4M");
+            return video;
+        }
+        
+        @Override
+        public void close() {
+            closed.incrementAndGet();
+        }
+    }
+}
\ No newline at end of file
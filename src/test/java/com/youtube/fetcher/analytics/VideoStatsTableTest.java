@@ -0,0 +1,73 @@
+package com.youtube.fetcher.analytics;
+
+import com.youtube.fetcher.model.VideoData;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * VideoStatsTable发布时间列和时间分桶测试
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+class VideoStatsTableTest {
+    
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final long START_SECOND = START.toEpochSecond(ZoneOffset.UTC);
+    private static final long DAY = 86_400;
+    
+    private final VideoStatsTable table = VideoStatsTable.from(List.of(
+            video("a", START, 10),
+            video("b", START.plusHours(12), 20),
+            video("c", START.plusDays(1), 30),
+            video("d", START.plusDays(3).minusSeconds(1), 40),
+            video("e", null, 50)));
+    
+    @Test
+    void missingPublishTimeIsNull() {
+        assertEquals(START_SECOND, table.getPublishedAtEpochSecond(0));
+        assertEquals(VideoStatsTable.NULL_TIMESTAMP, table.getPublishedAtEpochSecond(4));
+    }
+    
+    @Test
+    void histogramBucketsByPublishTime() {
+        assertArrayEquals(new long[] {2, 1, 1}, table.uploadHistogram(START_SECOND, DAY, 3));
+        assertArrayEquals(new long[] {30, 30, 40},
+                table.timeHistogram(VideoStatsTable.Metric.VIEWS, START_SECOND, DAY, 3));
+        assertArrayEquals(new long[] {2, 0}, table.uploadHistogram(START_SECOND + DAY / 2, DAY, 2));
+        assertArrayEquals(new long[0], table.uploadHistogram(START_SECOND, DAY, 0));
+    }
+    
+    @Test
+    void histogramRangeMayExceedLong() {
+        // 结束时间溢出时截止到Long.MAX_VALUE，而不是回绕成负数丢掉所有视频
+        long[] histogram = table.uploadHistogram(START_SECOND, Long.MAX_VALUE / 2, 4);
+        assertEquals(4, histogram[0]);
+        assertEquals(4, Arrays.stream(histogram).sum());
+        // 起点取最小值时跨度超出long，缺失的发布时间也不能落进第一个桶
+        long[] all = table.uploadHistogram(Long.MIN_VALUE, Long.MAX_VALUE, 3);
+        assertEquals(4, Arrays.stream(all).sum());
+        assertEquals(4, all[1]);
+    }
+    
+    @Test
+    void invalidHistogramArgumentsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> table.uploadHistogram(START_SECOND, 0, 3));
+        assertThrows(IllegalArgumentException.class, () -> table.uploadHistogram(START_SECOND, DAY, -1));
+    }
+    
+    private static VideoData video(String id, LocalDateTime publishedAt, long views) {
+        VideoData video = new VideoData(id, "title " + id, publishedAt);
+        video.setViewCount(views);
+        video.setChannelId("UC1");
+        return video;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,104 @@
+package com.youtube.fetcher.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * CircuitBreaker状态转换测试，使用手动推进的时钟
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+class CircuitBreakerTest {
+    
+    private static final long OPEN_NANOS = 30_000_000_000L;
+    
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final CircuitBreaker breaker = new CircuitBreaker("test", 3, OPEN_NANOS, clock::get);
+    
+    @Test
+    void opensAfterConsecutiveFailures() {
+        breaker.onFailure();
+        breaker.onFailure();
+        // 成功重置连续失败计数
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0, breaker.tryAcquire());
+        
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(1, breaker.getOpenCount());
+        assertEquals(OPEN_NANOS, breaker.tryAcquire());
+        
+        clock.addAndGet(OPEN_NANOS - 1);
+        assertEquals(1, breaker.tryAcquire());
+        assertEquals(2, breaker.getRejectedCount());
+    }
+    
+    @Test
+    void halfOpenAllowsSingleProbe() {
+        open();
+        clock.addAndGet(OPEN_NANOS);
+        assertEquals(0, breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquire() > 0);
+        assertTrue(breaker.tryAcquire() > 0);
+        
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0, breaker.tryAcquire());
+        assertEquals(0, breaker.tryAcquire());
+    }
+    
+    @Test
+    void failedProbeReopens() {
+        open();
+        clock.addAndGet(OPEN_NANOS);
+        assertEquals(0, breaker.tryAcquire());
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(2, breaker.getOpenCount());
+        // 冷却时间从探测失败时重新计算
+        assertEquals(OPEN_NANOS, breaker.tryAcquire());
+        
+        clock.addAndGet(OPEN_NANOS);
+        assertEquals(0, breaker.tryAcquire());
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+    
+    @Test
+    void ignoredProbeReleasesSlot() {
+        open();
+        clock.addAndGet(OPEN_NANOS);
+        assertEquals(0, breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire() > 0);
+        
+        breaker.onIgnored();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertEquals(0, breaker.tryAcquire());
+    }
+    
+    @Test
+    void zeroThresholdNeverOpens() {
+        CircuitBreaker disabled = new CircuitBreaker("disabled", 0, OPEN_NANOS, clock::get);
+        for (int i = 0; i < 100; i++) {
+            disabled.onFailure();
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, disabled.getState());
+        assertEquals(0, disabled.tryAcquire());
+    }
+    
+    private void open() {
+        for (int i = 0; i < 3; i++) {
+            breaker.onFailure();
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,220 @@
+package com.youtube.fetcher.client;
+
+import com.youtube.fetcher.exception.UncheckedYouTubeApiException;
+import com.youtube.fetcher.exception.YouTubeApiException;
+import com.youtube.fetcher.model.ApiResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * PageIterator预取、异常传递和关闭测试
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+class PageIteratorTest {
+    
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+    
+    @Test
+    void synchronousModeFetchesOnDemand() {
+        CountingFetcher fetcher = new CountingFetcher(4);
+        PageIterator<Integer> pages = new PageIterator<>(fetcher);
+        assertEquals(0, fetcher.fetched.get());
+        assertEquals(List.of(0, 1, 2, 3), collect(pages));
+        assertEquals(4, fetcher.fetched.get());
+        assertThrows(NoSuchElementException.class, pages::next);
+    }
+    
+    @Test
+    void prefetchIsBoundedAndOrdered() throws Exception {
+        assertTimeoutPreemptively(TIMEOUT, () -> {
+            CountingFetcher fetcher = new CountingFetcher(20);
+            PageIterator<Integer> pages = new PageIterator<>(fetcher, 3, executor);
+            assertTrue(pages.hasNext());
+            // 消费者持有一页时，生产者最多再领先缓冲区容量加上正在阻塞写入的一页
+            awaitFetched(fetcher, 5);
+            assertEquals(0, pages.next().getData().get(0));
+            assertTrue(pages.hasNext());
+            awaitFetched(fetcher, 6);
+            
+            List<Integer> rest = new ArrayList<>();
+            while (pages.hasNext()) {
+                rest.add(pages.next().getData().get(0));
+            }
+            assertEquals(19, rest.size());
+            assertEquals(1, rest.get(0));
+            assertEquals(19, rest.get(18));
+            assertEquals(20, fetcher.fetched.get());
+        });
+    }
+    
+    @Test
+    void itemsAndStreamFlattenPages() {
+        List<Integer> items = PageIterator.stream(new CountingFetcher(5), 2).collect(Collectors.toList());
+        assertEquals(List.of(0, 1, 2, 3, 4), items);
+    }
+    
+    @Test
+    void apiFailureIsRethrownAfterEarlierPages() {
+        YouTubeApiException failure = new YouTubeApiException("quota", "quotaExceeded", 403);
+        for (int prefetch : new int[] {0, 2}) {
+            CountingFetcher fetcher = new CountingFetcher(10);
+            fetcher.failAt = 3;
+            fetcher.failure = failure;
+            PageIterator<Integer> pages = new PageIterator<>(fetcher, prefetch, executor);
+            for (int i = 0; i < 3; i++) {
+                assertEquals(i, pages.next().getData().get(0));
+            }
+            UncheckedYouTubeApiException thrown = assertThrows(UncheckedYouTubeApiException.class, pages::next);
+            assertSame(failure, thrown.getCause());
+            assertFalse(pages.hasNext());
+        }
+    }
+    
+    @Test
+    void uncheckedFailureIsRethrownAsIs() {
+        IllegalStateException failure = new IllegalStateException("parser bug");
+        CountingFetcher fetcher = new CountingFetcher(10);
+        fetcher.failAt = 1;
+        fetcher.unchecked = failure;
+        PageIterator<Integer> pages = new PageIterator<>(fetcher, 2, executor);
+        pages.next();
+        assertSame(failure, assertThrows(IllegalStateException.class, pages::next));
+        assertFalse(pages.hasNext());
+    }
+    
+    @Test
+    void errorPageBecomesApiException() {
+        PageIterator<Integer> pages = new PageIterator<>(token -> ApiResponse.error("boom", "backendError"), 1,
+                executor);
+        UncheckedYouTubeApiException thrown = assertThrows(UncheckedYouTubeApiException.class, pages::next);
+        assertEquals("backendError", thrown.getCause().getErrorCode());
+    }
+    
+    @Test
+    void closeWakesBlockedConsumer() throws Exception {
+        assertTimeoutPreemptively(TIMEOUT, () -> {
+            CountDownLatch fetching = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            PageIterator<Integer> pages = new PageIterator<>(token -> {
+                fetching.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new YouTubeApiException("Interrupted", e);
+                }
+                return page(0, null);
+            }, 2, executor);
+            CompletableFuture<Boolean> hasNext = CompletableFuture.supplyAsync(pages::hasNext, executor);
+            assertTrue(fetching.await(5, TimeUnit.SECONDS));
+            pages.close();
+            assertFalse(hasNext.get());
+            assertFalse(pages.hasNext());
+        });
+    }
+    
+    @Test
+    void interruptedProducerFailsConsumer() throws Exception {
+        assertTimeoutPreemptively(TIMEOUT, () -> {
+            ExecutorService prefetch = Executors.newSingleThreadExecutor();
+            CountingFetcher fetcher = new CountingFetcher(10);
+            PageIterator<Integer> pages = new PageIterator<>(fetcher, 1, prefetch);
+            assertTrue(pages.hasNext());
+            awaitFetched(fetcher, 3);
+            // 与ChannelFetchEngine.close()相同：外部关闭执行器，预取线程被中断
+            prefetch.shutdownNow();
+            assertTrue(prefetch.awaitTermination(5, TimeUnit.SECONDS));
+            
+            assertEquals(0, pages.next().getData().get(0));
+            UncheckedYouTubeApiException thrown = assertThrows(UncheckedYouTubeApiException.class, () -> {
+                while (pages.hasNext()) {
+                    pages.next();
+                }
+            });
+            assertInstanceOf(InterruptedException.class, thrown.getCause().getCause());
+        });
+    }
+    
+    private static List<Integer> collect(PageIterator<Integer> pages) {
+        List<Integer> values = new ArrayList<>();
+        while (pages.hasNext()) {
+            values.addAll(pages.next().getData());
+        }
+        return values;
+    }
+    
+    /**
+     * 等待生产者取到指定页数后阻塞在已满的缓冲区上，并确认它没有继续领先
+     */
+    private static void awaitFetched(CountingFetcher fetcher, int expected) throws InterruptedException {
+        while (fetcher.fetched.get() < expected || fetcher.thread.getState() != Thread.State.WAITING) {
+            Thread.sleep(5);
+        }
+        Thread.sleep(50);
+        assertEquals(expected, fetcher.fetched.get());
+    }
+    
+    private static ApiResponse<Integer> page(int value, String nextPageToken) {
+        return ApiResponse.success(Collections.singletonList(value), nextPageToken, null);
+    }
+    
+    /**
+     * 返回第n页数据为n的获取器，可在指定页抛出异常
+     */
+    private static final class CountingFetcher implements PageFetcher<Integer> {
+        private final int pageCount;
+        private final AtomicInteger fetched = new AtomicInteger();
+        private volatile Thread thread;
+        private int failAt = -1;
+        private YouTubeApiException failure;
+        private RuntimeException unchecked;
+        
+        CountingFetcher(int pageCount) {
+            this.pageCount = pageCount;
+        }
+        
+        @Override
+        public ApiResponse<Integer> fetchPage(String pageToken) throws YouTubeApiException {
+            thread = Thread.currentThread();
+            int index = pageToken == null ? 0 : Integer.parseInt(pageToken);
+            if (index == failAt) {
+                if (unchecked != null) {
+                    throw unchecked;
+                }
+                throw failure;
+            }
+            fetched.incrementAndGet();
+            return page(index, index + 1 < pageCount ? Integer.toString(index + 1) : null);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,180 @@
+package com.youtube.fetcher.client;
+
+import com.youtube.fetcher.exception.ErrorCategory;
+import com.youtube.fetcher.exception.YouTubeApiException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * RetryExecutor按分类重试、重试预算和熔断测试
+ * 退避时长设为0，熔断冷却使用手动推进的时钟
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+class RetryExecutorTest {
+    
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    
+    @Test
+    void transientErrorsAreRetried() throws Exception {
+        RetryExecutor executor = executor(new RetryPolicy());
+        AtomicInteger calls = new AtomicInteger();
+        String result = executor.execute(ApiOperation.VIDEOS_LIST, () -> {
+            if (calls.incrementAndGet() <= 2) {
+                throw new YouTubeApiException("unavailable", "backendError", 503);
+            }
+            return "ok";
+        });
+        assertEquals("ok", result);
+        assertEquals(3, calls.get());
+        assertEquals(2, executor.getRetryCount(ApiOperation.VIDEOS_LIST));
+        assertEquals(2, executor.getRetryCount(ErrorCategory.TRANSIENT));
+    }
+    
+    @Test
+    void retriesStopAtCategoryLimit() {
+        RetryExecutor executor = executor(new RetryPolicy().maxRetries(ErrorCategory.TRANSIENT, 3));
+        AtomicInteger calls = new AtomicInteger();
+        YouTubeApiException failure = new YouTubeApiException("timeout", null, 504);
+        assertSame(failure, assertThrows(YouTubeApiException.class,
+                () -> executor.execute(ApiOperation.VIDEOS_LIST, failing(calls, failure))));
+        assertEquals(4, calls.get());
+    }
+    
+    @Test
+    void permanentAndQuotaErrorsAreNotRetried() {
+        RetryExecutor executor = executor(new RetryPolicy().circuitBreaker(1, Duration.ofSeconds(30)));
+        AtomicInteger calls = new AtomicInteger();
+        YouTubeApiException forbidden = new YouTubeApiException("forbidden", "forbidden", 403);
+        assertSame(forbidden, assertThrows(YouTubeApiException.class,
+                () -> executor.execute(ApiOperation.CHANNELS_LIST, failing(calls, forbidden))));
+        YouTubeApiException quota = new YouTubeApiException("quota", "quotaExceeded", 403);
+        assertSame(quota, assertThrows(YouTubeApiException.class,
+                () -> executor.execute(ApiOperation.CHANNELS_LIST, failing(calls, quota))));
+        assertEquals(2, calls.get());
+        // 永久错误说明端点可用，配额耗尽不反映端点健康，都不会触发阈值为1的熔断
+        assertEquals(CircuitBreaker.State.CLOSED, executor.getCircuitBreaker(ApiOperation.CHANNELS_LIST).getState());
+    }
+    
+    @Test
+    void longRetryAfterFailsImmediately() {
+        RetryExecutor executor = executor(new RetryPolicy().maxRetryAfter(Duration.ofSeconds(10)));
+        AtomicInteger calls = new AtomicInteger();
+        YouTubeApiException slowDown = new YouTubeApiException("slow down", "rateLimitExceeded", 403,
+                Duration.ofMinutes(1));
+        assertSame(slowDown, assertThrows(YouTubeApiException.class,
+                () -> executor.execute(ApiOperation.SEARCH_LIST, failing(calls, slowDown))));
+        assertEquals(1, calls.get());
+        
+        YouTubeApiException retryNow = new YouTubeApiException("slow down", "rateLimitExceeded", 429,
+                Duration.ZERO);
+        calls.set(0);
+        assertThrows(YouTubeApiException.class,
+                () -> executor.execute(ApiOperation.SEARCH_LIST, failing(calls, retryNow)));
+        assertEquals(7, calls.get());
+    }
+    
+    @Test
+    void retryBudgetIsShared() {
+        // 不存入新令牌，预算只有初始的2次重试
+        RetryExecutor executor = executor(new RetryPolicy().retryBudget(0, 2));
+        AtomicInteger calls = new AtomicInteger();
+        YouTubeApiException failure = new YouTubeApiException("unavailable", "backendError", 503);
+        assertThrows(YouTubeApiException.class,
+                () -> executor.execute(ApiOperation.VIDEOS_LIST, failing(calls, failure)));
+        assertEquals(3, calls.get());
+        assertEquals(1, executor.getBudgetExhaustedCount());
+        
+        calls.set(0);
+        assertThrows(YouTubeApiException.class,
+                () -> executor.execute(ApiOperation.PLAYLIST_ITEMS_LIST, failing(calls, failure)));
+        assertEquals(1, calls.get());
+        assertEquals(2, executor.getBudgetExhaustedCount());
+        assertEquals(2, executor.getRetryCount(ErrorCategory.TRANSIENT));
+    }
+    
+    @Test
+    void budgetRefillsWithRequests() throws Exception {
+        // 每次请求存入0.5个令牌，最多1个
+        RetryExecutor executor = executor(new RetryPolicy().retryBudget(0.5, 1));
+        YouTubeApiException failure = new YouTubeApiException("unavailable", "backendError", 503);
+        AtomicInteger calls = new AtomicInteger();
+        assertThrows(YouTubeApiException.class,
+                () -> executor.execute(ApiOperation.VIDEOS_LIST, failing(calls, failure)));
+        assertEquals(2, calls.get());
+        for (int i = 0; i < 2; i++) {
+            executor.execute(ApiOperation.VIDEOS_LIST, () -> "ok");
+        }
+        calls.set(0);
+        assertThrows(YouTubeApiException.class,
+                () -> executor.execute(ApiOperation.VIDEOS_LIST, failing(calls, failure)));
+        assertEquals(2, calls.get());
+    }
+    
+    @Test
+    void circuitOpensAndRecovers() throws Exception {
+        RetryExecutor executor = executor(new RetryPolicy()
+                .maxRetries(ErrorCategory.TRANSIENT, 0)
+                .circuitBreaker(3, Duration.ofSeconds(30)));
+        AtomicInteger calls = new AtomicInteger();
+        YouTubeApiException failure = new YouTubeApiException("unavailable", "backendError", 503);
+        for (int i = 0; i < 3; i++) {
+            assertThrows(YouTubeApiException.class,
+                    () -> executor.execute(ApiOperation.VIDEOS_LIST, failing(calls, failure)));
+        }
+        YouTubeApiException open = assertThrows(YouTubeApiException.class,
+                () -> executor.execute(ApiOperation.VIDEOS_LIST, failing(calls, failure)));
+        assertEquals(RetryExecutor.CIRCUIT_OPEN, open.getErrorCode());
+        assertEquals(Duration.ofSeconds(30), open.getRetryAfter());
+        assertEquals(3, calls.get());
+        // 其他端点不受影响
+        assertEquals("ok", executor.execute(ApiOperation.CHANNELS_LIST, () -> "ok"));
+        
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertEquals("ok", executor.execute(ApiOperation.VIDEOS_LIST, () -> "ok"));
+        assertEquals(CircuitBreaker.State.CLOSED, executor.getCircuitBreaker(ApiOperation.VIDEOS_LIST).getState());
+    }
+    
+    @Test
+    void uncheckedProbeFailureReleasesProbe() throws Exception {
+        RetryExecutor executor = executor(new RetryPolicy()
+                .maxRetries(ErrorCategory.TRANSIENT, 0)
+                .circuitBreaker(1, Duration.ofSeconds(30)));
+        YouTubeApiException failure = new YouTubeApiException("unavailable", "backendError", 503);
+        assertThrows(YouTubeApiException.class,
+                () -> executor.execute(ApiOperation.VIDEOS_LIST, failing(new AtomicInteger(), failure)));
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+        
+        IllegalStateException bug = new IllegalStateException("parser bug");
+        assertSame(bug, assertThrows(IllegalStateException.class,
+                () -> executor.execute(ApiOperation.VIDEOS_LIST, () -> {
+                    throw bug;
+                })));
+        CircuitBreaker breaker = executor.getCircuitBreaker(ApiOperation.VIDEOS_LIST);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        
+        // 探测名额已释放，下一次调用可以作为新的探测
+        assertEquals("ok", executor.execute(ApiOperation.VIDEOS_LIST, () -> "ok"));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+    
+    private RetryExecutor executor(RetryPolicy policy) {
+        return new RetryExecutor(policy.backoff(Duration.ZERO, Duration.ZERO).rateLimitBackoff(Duration.ZERO),
+                clock::get);
+    }
+    
+    private static QuotaScheduler.ApiCall<String> failing(AtomicInteger calls, YouTubeApiException failure) {
+        return () -> {
+            calls.incrementAndGet();
+            throw failure;
+        };
+    }
+}
\ No newline at end of file
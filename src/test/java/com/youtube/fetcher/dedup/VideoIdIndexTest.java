@@ -0,0 +1,163 @@
+package com.youtube.fetcher.dedup;
+
+import com.youtube.fetcher.exception.FileExportException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * VideoIdIndex持久化测试
+ * 覆盖扩容重哈希、重新打开以及损坏文件的检测
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+class VideoIdIndexTest {
+    
+    private static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+    
+    @TempDir
+    Path dir;
+    
+    @Test
+    void rehashKeepsAllIdsAcrossReopen() throws Exception {
+        Path file = dir.resolve("videos.idx");
+        int count = 5000;
+        long initialCapacity;
+        try (VideoIdIndex index = VideoIdIndex.open(file, 1)) {
+            initialCapacity = index.capacity();
+            for (int i = 0; i < count; i++) {
+                assertTrue(index.add(videoId(i)));
+            }
+            assertFalse(index.add(videoId(0)));
+            assertThrows(IllegalArgumentException.class, () -> index.add("not-a-video-id"));
+            assertEquals(count, index.size());
+            assertTrue(index.capacity() > initialCapacity);
+        }
+        assertFalse(Files.exists(dir.resolve("videos.idx.tmp")));
+        
+        try (VideoIdIndex index = VideoIdIndex.open(file, 1)) {
+            assertEquals(count, index.size());
+            assertTrue(index.capacity() > initialCapacity);
+            for (int i = 0; i < count; i++) {
+                assertTrue(index.contains(videoId(i)), videoId(i));
+            }
+            assertFalse(index.contains(videoId(count)));
+            assertTrue(index.add(videoId(count)));
+        }
+        
+        try (VideoIdIndex index = VideoIdIndex.open(file)) {
+            assertEquals(count + 1, index.size());
+            assertTrue(index.contains(videoId(count)));
+        }
+    }
+    
+    @Test
+    void truncatedFileIsRejected() throws Exception {
+        Path file = dir.resolve("videos.idx");
+        try (VideoIdIndex index = VideoIdIndex.open(file, 1)) {
+            index.add(videoId(1));
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() / 2);
+        }
+        
+        FileExportException e = assertThrows(FileExportException.class, () -> VideoIdIndex.open(file));
+        assertTrue(e.getMessage().contains("Truncated"), e.getMessage());
+    }
+    
+    @Test
+    void foreignFileIsRejected() throws Exception {
+        Path file = dir.resolve("videos.idx");
+        try (VideoIdIndex index = VideoIdIndex.open(file, 1)) {
+            index.add(videoId(1));
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {'N', 'O', 'P', 'E'}), 0);
+        }
+        
+        assertThrows(FileExportException.class, () -> VideoIdIndex.open(file));
+    }
+    
+    @Test
+    void staleBloomFilterDoesNotDuplicateEntries() throws Exception {
+        Path file = dir.resolve("videos.idx");
+        long capacity;
+        try (VideoIdIndex index = VideoIdIndex.open(file, 1)) {
+            for (int i = 0; i < 500; i++) {
+                index.add(videoId(i));
+            }
+            capacity = index.capacity();
+        }
+        // 模拟非正常关闭：槽表页已落盘而布隆过滤器页没有
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate((int) capacity), 64);
+        }
+        
+        try (VideoIdIndex index = VideoIdIndex.open(file, 1)) {
+            assertEquals(500, index.size());
+            for (int i = 0; i < 500; i++) {
+                assertFalse(index.add(videoId(i)), videoId(i));
+            }
+            assertEquals(500, index.size());
+            // 布隆过滤器的位已补上
+            for (int i = 0; i < 500; i++) {
+                assertTrue(index.contains(videoId(i)), videoId(i));
+            }
+            assertTrue(index.add(videoId(500)));
+            assertEquals(501, index.size());
+        }
+    }
+    
+    @Test
+    void failedRehashKeepsIndexUsable() throws Exception {
+        Path file = dir.resolve("videos.idx");
+        Path temp = dir.resolve("videos.idx.tmp");
+        try (VideoIdIndex index = VideoIdIndex.open(file, 1)) {
+            long capacity = index.capacity();
+            int beforeGrow = (int) (capacity * 0.7);
+            for (int i = 0; i < beforeGrow; i++) {
+                index.add(videoId(i));
+            }
+            // 临时文件路径被目录占用，扩容时无法创建新文件
+            Files.createDirectory(temp);
+            assertThrows(FileExportException.class, () -> index.add(videoId(beforeGrow)));
+            assertFalse(Files.exists(temp));
+            assertEquals(capacity, index.capacity());
+            assertEquals(beforeGrow, index.size());
+            for (int i = 0; i < beforeGrow; i++) {
+                assertTrue(index.contains(videoId(i)), videoId(i));
+            }
+            
+            assertTrue(index.add(videoId(beforeGrow)));
+            assertTrue(index.capacity() > capacity);
+            assertEquals(beforeGrow + 1, index.size());
+        }
+        try (VideoIdIndex index = VideoIdIndex.open(file)) {
+            assertTrue(index.contains(videoId(0)));
+        }
+    }
+    
+    /**
+     * 由序号生成不重复的11位base64url视频ID
+     */
+    private static String videoId(int n) {
+        char[] id = new char[VideoIdIndex.VIDEO_ID_LENGTH];
+        long value = n * 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < id.length - 1; i++) {
+            id[i] = ALPHABET.charAt((int) (value >>> (i * 6)) & 63);
+        }
+        id[id.length - 1] = ALPHABET.charAt(n & 63);
+        return new String(id);
+    }
+}
\ No newline at end of file
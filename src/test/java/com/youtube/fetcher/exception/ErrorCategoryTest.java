@@ -0,0 +1,67 @@
+package com.youtube.fetcher.exception;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ErrorCategory分类测试：错误原因优先于状态码
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+class ErrorCategoryTest {
+    
+    @Test
+    void reasonTakesPrecedenceOverStatus() {
+        assertEquals(ErrorCategory.QUOTA_EXHAUSTED, ErrorCategory.classify(403, "quotaExceeded", null));
+        assertEquals(ErrorCategory.QUOTA_EXHAUSTED, ErrorCategory.classify(403, "dailyLimitExceeded", null));
+        assertEquals(ErrorCategory.RATE_LIMITED, ErrorCategory.classify(403, "rateLimitExceeded", null));
+        assertEquals(ErrorCategory.RATE_LIMITED, ErrorCategory.classify(403, "USERRATELIMITEXCEEDED", null));
+        assertEquals(ErrorCategory.TRANSIENT, ErrorCategory.classify(400, "backendError", null));
+        assertEquals(ErrorCategory.QUOTA_EXHAUSTED, ErrorCategory.classify(500, "quotaExceeded", null));
+        assertEquals(ErrorCategory.PERMANENT, ErrorCategory.classify(403, "forbidden", null));
+        assertEquals(ErrorCategory.PERMANENT, ErrorCategory.classify(404, "playlistNotFound", null));
+    }
+    
+    @Test
+    void statusDecidesWithoutKnownReason() {
+        assertEquals(ErrorCategory.RATE_LIMITED, ErrorCategory.classify(429, null, null));
+        for (int status : new int[] {408, 500, 502, 503, 504}) {
+            assertEquals(ErrorCategory.TRANSIENT, ErrorCategory.classify(status, "unknownReason", null), "" + status);
+        }
+        for (int status : new int[] {400, 401, 403, 404, 501, 505}) {
+            assertEquals(ErrorCategory.PERMANENT, ErrorCategory.classify(status, null, null), "" + status);
+        }
+    }
+    
+    @Test
+    void missingResponseDependsOnCause() {
+        assertEquals(ErrorCategory.TRANSIENT, ErrorCategory.classify(0, null, new SocketTimeoutException()));
+        assertEquals(ErrorCategory.TRANSIENT, ErrorCategory.classify(0, "truncatedResponse", null));
+        assertEquals(ErrorCategory.TRANSIENT, ErrorCategory.classify(0, "circuitOpen", null));
+        assertEquals(ErrorCategory.PERMANENT, ErrorCategory.classify(0, null, new InterruptedException()));
+        assertEquals(ErrorCategory.PERMANENT, ErrorCategory.classify(0, null, null));
+        assertEquals(ErrorCategory.QUOTA_EXHAUSTED, ErrorCategory.classify(0, "QUOTA_LIMIT", null));
+    }
+    
+    @Test
+    void exceptionExposesCategory() {
+        YouTubeApiException rateLimited = new YouTubeApiException("slow down", "rateLimitExceeded", 403,
+                Duration.ofSeconds(5));
+        assertEquals(ErrorCategory.RATE_LIMITED, rateLimited.getCategory());
+        assertEquals(Duration.ofSeconds(5), rateLimited.getRetryAfter());
+        assertTrue(rateLimited.isRetryable());
+        
+        YouTubeApiException io = new YouTubeApiException("connection reset", new IOException("reset"));
+        assertEquals(ErrorCategory.TRANSIENT, io.getCategory());
+        
+        assertFalse(new YouTubeApiException("bad key", "keyInvalid", 400).isRetryable());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,274 @@
+package com.youtube.fetcher.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.youtube.fetcher.exception.FileExportException;
+import com.youtube.fetcher.model.ApiResponse;
+import com.youtube.fetcher.model.VideoData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * FanOutExporter输出一致性、失败隔离和刷出测试
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+class FanOutExporterTest {
+    
+    private static final int VIDEO_COUNT = 5000;
+    
+    @TempDir
+    Path dir;
+    
+    @Test
+    void outputMatchesSingleExporters() throws Exception {
+        List<VideoData> videos = videos(VIDEO_COUNT);
+        Path single = Files.createDirectories(dir.resolve("single"));
+        for (StreamingExporter exporter : sinks(single)) {
+            try (exporter) {
+                for (VideoData video : videos) {
+                    exporter.write(video);
+                }
+            }
+        }
+        
+        Path fanOut = Files.createDirectories(dir.resolve("fan-out"));
+        // 小缓冲区让调用线程频繁等待写入线程，逐条和整页交付交替进行
+        try (FanOutExporter exporter = new FanOutExporter(sinks(fanOut), 16)) {
+            assertEquals("json+csv+txt", exporter.getFormat());
+            for (int i = 0; i < videos.size(); i += 50) {
+                List<VideoData> page = videos.subList(i, Math.min(videos.size(), i + 50));
+                if (i % 100 == 0) {
+                    exporter.writePage(ApiResponse.success(page, null, null));
+                } else {
+                    for (VideoData video : page) {
+                        exporter.write(video);
+                    }
+                }
+                if (i % 1000 == 0) {
+                    exporter.flush();
+                }
+            }
+        }
+        
+        for (String extension : new String[] {"json", "csv", "txt"}) {
+            assertArrayEquals(Files.readAllBytes(single.resolve("videos." + extension)),
+                    Files.readAllBytes(fanOut.resolve("videos." + extension)), extension);
+        }
+    }
+    
+    @Test
+    void failingSinkIsReportedAndOthersStayValid() throws Exception {
+        List<VideoData> videos = videos(VIDEO_COUNT);
+        FanOutExporter exporter = new FanOutExporter(List.of(
+                new JsonStreamingExporter(dir.resolve("videos.json")),
+                new FailingExporter(new CsvStreamingExporter(dir.resolve("videos.csv")), 1000, false),
+                new TxtStreamingExporter(dir.resolve("videos.txt"))), 64);
+        int delivered = 0;
+        FileExportException thrown = null;
+        try {
+            for (VideoData video : videos) {
+                exporter.write(video);
+                delivered++;
+            }
+            exporter.flush();
+        } catch (FileExportException e) {
+            thrown = e;
+        }
+        exporter.close();
+        
+        assertTrue(thrown != null, "failure was not reported");
+        assertEquals("csv", thrown.getExportFormat());
+        assertEquals(dir.resolve("videos.csv").toString(), thrown.getFilePath());
+        assertTrue(delivered >= 1000, "delivered " + delivered);
+        
+        JsonNode json = new ObjectMapper().readTree(dir.resolve("videos.json").toFile());
+        assertEquals(delivered, json.size());
+        String txt = new String(Files.readAllBytes(dir.resolve("videos.txt")), StandardCharsets.UTF_8);
+        assertTrue(txt.startsWith("[1] ") && txt.endsWith("\n\n"));
+        assertTrue(txt.contains("\n[" + delivered + "] ") && !txt.contains("\n[" + (delivered + 1) + "] "));
+    }
+    
+    @Test
+    void closeReportsLaterFailures() throws Exception {
+        FanOutExporter exporter = new FanOutExporter(List.of(
+                new FailingExporter(new CsvStreamingExporter(dir.resolve("videos.csv")), 10, false),
+                new FailingExporter(new TxtStreamingExporter(dir.resolve("videos.txt")), Integer.MAX_VALUE, true)),
+                16);
+        FileExportException writeFailure = assertThrows(FileExportException.class, () -> {
+            for (VideoData video : videos(VIDEO_COUNT)) {
+                exporter.write(video);
+            }
+        });
+        assertEquals("csv", writeFailure.getExportFormat());
+        
+        // CSV的失败已经报告过，TXT在关闭时的失败仍要抛出
+        FileExportException closeFailure = assertThrows(FileExportException.class, exporter::close);
+        assertEquals("txt", closeFailure.getExportFormat());
+        exporter.close();
+    }
+    
+    @Test
+    void flushWaitsForEverySink() throws Exception {
+        List<SlowFlushExporter> sinks = new ArrayList<>();
+        long[] delays = {0, 200, 50};
+        List<StreamingExporter> delegates = sinks(dir);
+        for (int i = 0; i < delegates.size(); i++) {
+            sinks.add(new SlowFlushExporter(delegates.get(i), delays[i]));
+        }
+        List<VideoData> videos = videos(500);
+        try (FanOutExporter exporter = new FanOutExporter(sinks)) {
+            for (VideoData video : videos) {
+                exporter.write(video);
+            }
+            exporter.flush();
+            for (SlowFlushExporter sink : sinks) {
+                assertEquals(1, sink.flushes.get(), sink.getFormat());
+                // 刷出完成后文件内容即已写出的全部字节
+                assertEquals(sink.getBytesWritten(), Files.size(sink.getFilePath()), sink.getFormat());
+            }
+            assertEquals(Files.size(dir.resolve("videos.json")) + Files.size(dir.resolve("videos.csv"))
+                    + Files.size(dir.resolve("videos.txt")), exporter.getBytesWritten());
+        }
+    }
+    
+    private static List<StreamingExporter> sinks(Path directory) throws FileExportException {
+        return List.of(new JsonStreamingExporter(directory.resolve("videos.json")),
+                new CsvStreamingExporter(directory.resolve("videos.csv")),
+                new TxtStreamingExporter(directory.resolve("videos.txt")));
+    }
+    
+    private static List<VideoData> videos(int count) {
+        Random random = new Random(1);
+        List<VideoData> videos = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            VideoData video = new VideoData(String.format("vid%08d", i), "Title " + i + " \"quoted\", with comma",
+                    LocalDateTime.of(2020, 1, 1, 0, 0).plusMinutes(i));
+            video.setDescription("Line one of the description\nline two " + random.nextInt());
+            video.setDuration("PT4M13S");
+            video.setViewCount((long) random.nextInt(1_000_000));
+            video.setLikeCount(i % 7 == 0 ? null : 12L);
+            video.setCommentCount(3L);
+            video.setChannelId("UCabcdefghijklmnopqrstuv");
+            videos.add(video);
+        }
+        return videos;
+    }
+    
+    /**
+     * 包装导出器：写入指定条数后失败，或在关闭时失败
+     */
+    private static final class FailingExporter implements StreamingExporter {
+        private final StreamingExporter delegate;
+        private final int failAfter;
+        private final boolean failOnClose;
+        private int written;
+        
+        FailingExporter(StreamingExporter delegate, int failAfter, boolean failOnClose) {
+            this.delegate = delegate;
+            this.failAfter = failAfter;
+            this.failOnClose = failOnClose;
+        }
+        
+        @Override
+        public void write(VideoData video) throws FileExportException {
+            if (++written > failAfter) {
+                throw new FileExportException("disk full", getFilePath().toString(), getFormat());
+            }
+            delegate.write(video);
+        }
+        
+        @Override
+        public void flush() throws FileExportException {
+            delegate.flush();
+        }
+        
+        @Override
+        public String getFormat() {
+            return delegate.getFormat();
+        }
+        
+        @Override
+        public Path getFilePath() {
+            return delegate.getFilePath();
+        }
+        
+        @Override
+        public long getBytesWritten() {
+            return delegate.getBytesWritten();
+        }
+        
+        @Override
+        public void close() throws FileExportException {
+            delegate.close();
+            if (failOnClose) {
+                throw new FileExportException("fsync failed", getFilePath().toString(), getFormat());
+            }
+        }
+    }
+    
+    /**
+     * 包装导出器：刷出后再等待一段时间才返回，并记录刷出次数
+     */
+    private static final class SlowFlushExporter implements StreamingExporter {
+        private final StreamingExporter delegate;
+        private final long delayMillis;
+        private final AtomicInteger flushes = new AtomicInteger();
+        
+        SlowFlushExporter(StreamingExporter delegate, long delayMillis) {
+            this.delegate = delegate;
+            this.delayMillis = delayMillis;
+        }
+        
+        @Override
+        public void write(VideoData video) throws FileExportException {
+            delegate.write(video);
+        }
+        
+        @Override
+        public void flush() throws FileExportException {
+            delegate.flush();
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            flushes.incrementAndGet();
+        }
+        
+        @Override
+        public String getFormat() {
+            return delegate.getFormat();
+        }
+        
+        @Override
+        public Path getFilePath() {
+            return delegate.getFilePath();
+        }
+        
+        @Override
+        public long getBytesWritten() {
+            return delegate.getBytesWritten();
+        }
+        
+        @Override
+        public void close() throws FileExportException {
+            delegate.close();
+        }
+    }
+}
\ No newline at end of file
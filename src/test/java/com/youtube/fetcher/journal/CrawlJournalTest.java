@@ -0,0 +1,220 @@
+package com.youtube.fetcher.journal;
+
+import com.youtube.fetcher.export.CsvStreamingExporter;
+import com.youtube.fetcher.model.ApiResponse;
+import com.youtube.fetcher.model.ChannelInfo;
+import com.youtube.fetcher.model.VideoData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * CrawlJournal崩溃恢复测试
+ * 写入日志后截断或破坏文件，重新打开并检查恢复出的任务状态
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+class CrawlJournalTest {
+    
+    @TempDir
+    Path dir;
+    
+    @Test
+    void reopenRestoresJobState() throws Exception {
+        Path file = dir.resolve("crawl.wal");
+        try (CrawlJournal journal = CrawlJournal.open(file)) {
+            journal.appendJobStarted("UC1", "UU1");
+            journal.appendPage("UC1", "token-1", 50, 1000, 50);
+            journal.appendPage("UC1", "token-2", 50, 2000, 100);
+            journal.appendJobStarted("UC2", "UU2");
+            journal.appendPage("UC2", null, 10, 2200, 110);
+            journal.appendJobCompleted("UC2");
+            journal.appendJobStarted("UC3", "UU3");
+            journal.appendJobFailed("UC3", "quotaExceeded");
+            journal.syncAll();
+        }
+        
+        try (CrawlJournal journal = CrawlJournal.open(file)) {
+            JobState running = journal.getJob("UC1");
+            assertEquals(JobState.Status.RUNNING, running.getStatus());
+            assertEquals("UU1", running.getPlaylistId());
+            assertEquals("token-2", running.getNextPageToken());
+            assertEquals(2, running.getPagesCompleted());
+            assertEquals(100, running.getVideosFetched());
+            
+            assertEquals(JobState.Status.COMPLETED, journal.getJob("UC2").getStatus());
+            assertEquals(JobState.Status.FAILED, journal.getJob("UC3").getStatus());
+            assertEquals("quotaExceeded", journal.getJob("UC3").getErrorCode());
+            assertEquals(2200, journal.getExportedBytes());
+            assertEquals(110, journal.getExportedRecords());
+            
+            List<ChannelInfo> pending = journal.pendingChannels(Arrays.asList(
+                    new ChannelInfo("UC1", "one"), new ChannelInfo("UC2", "two"), new ChannelInfo("UC4", "four")));
+            assertEquals(2, pending.size());
+            assertEquals("UC1", pending.get(0).getChannelId());
+            assertEquals("UU1", pending.get(0).getUploadsPlaylistId());
+            assertEquals("UC4", pending.get(1).getChannelId());
+        }
+    }
+    
+    @Test
+    void tornTailIsTruncated() throws Exception {
+        Path file = dir.resolve("crawl.wal");
+        try (CrawlJournal journal = CrawlJournal.open(file)) {
+            journal.appendJobStarted("UC1", "UU1");
+            journal.appendPage("UC1", "token-1", 50, 1000, 50);
+            journal.syncAll();
+        }
+        long validLength = Files.size(file);
+        // 模拟写入一半时崩溃：记录头声明的长度超过文件剩余内容
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0, 0, 0, 64, 1, 2, 3, 4, 2, 'U', 'C'}));
+        }
+        
+        try (CrawlJournal journal = CrawlJournal.open(file)) {
+            assertEquals(validLength, Files.size(file));
+            assertEquals("token-1", journal.getJob("UC1").getNextPageToken());
+            journal.appendPage("UC1", "token-2", 50, 2000, 100);
+            journal.syncAll();
+        }
+        
+        try (CrawlJournal journal = CrawlJournal.open(file)) {
+            assertEquals("token-2", journal.getJob("UC1").getNextPageToken());
+            assertEquals(2, journal.getJob("UC1").getPagesCompleted());
+            assertEquals(2000, journal.getExportedBytes());
+        }
+    }
+    
+    @Test
+    void corruptRecordIsDropped() throws Exception {
+        Path file = dir.resolve("crawl.wal");
+        try (CrawlJournal journal = CrawlJournal.open(file)) {
+            journal.appendJobStarted("UC1", "UU1");
+            journal.appendPage("UC1", "token-1", 50, 1000, 50);
+            journal.syncAll();
+        }
+        long beforeLastPage = Files.size(file);
+        try (CrawlJournal journal = CrawlJournal.open(file)) {
+            journal.appendPage("UC1", "token-2", 50, 2000, 100);
+            journal.syncAll();
+        }
+        // 翻转最后一条记录负载中的一个字节，CRC不再匹配
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 2] ^= 0x55;
+        Files.write(file, bytes);
+        
+        try (CrawlJournal journal = CrawlJournal.open(file)) {
+            assertEquals(beforeLastPage, Files.size(file));
+            JobState job = journal.getJob("UC1");
+            assertEquals("token-1", job.getNextPageToken());
+            assertEquals(1, job.getPagesCompleted());
+            assertEquals(1000, journal.getExportedBytes());
+            assertEquals(50, journal.getExportedRecords());
+        }
+    }
+    
+    @Test
+    void compactionKeepsStateAndIgnoresStaleTempFile() throws Exception {
+        Path file = dir.resolve("crawl.wal");
+        try (CrawlJournal journal = CrawlJournal.open(file, 512)) {
+            journal.appendJobStarted("UC1", "UU1");
+            journal.appendJobStarted("UC2", "UU2");
+            for (int page = 1; page <= 40; page++) {
+                journal.sync(journal.appendPage("UC1", "token-" + page, 50, page * 1000L, page * 50L));
+            }
+            journal.sync(journal.appendJobCompleted("UC2"));
+            assertTrue(journal.getCompactions() > 0);
+        }
+        assertTrue(Files.size(file) < 512);
+        
+        // 压缩写快照中途崩溃留下的临时文件不应影响原日志
+        Path tmp = dir.resolve("crawl.wal.tmp");
+        Files.write(tmp, "garbage".getBytes(StandardCharsets.US_ASCII));
+        
+        try (CrawlJournal journal = CrawlJournal.open(file, 512)) {
+            assertFalse(Files.exists(tmp));
+            JobState job = journal.getJob("UC1");
+            assertEquals("token-40", job.getNextPageToken());
+            assertEquals(40, job.getPagesCompleted());
+            assertEquals(2000, job.getVideosFetched());
+            assertEquals(JobState.Status.COMPLETED, journal.getJob("UC2").getStatus());
+            assertEquals(40_000, journal.getExportedBytes());
+            assertEquals(2000, journal.getExportedRecords());
+            
+            journal.compact();
+        }
+        
+        try (CrawlJournal journal = CrawlJournal.open(file)) {
+            assertEquals("token-40", journal.getJob("UC1").getNextPageToken());
+            assertEquals(2, journal.getJobs().size());
+        }
+    }
+    
+    @Test
+    void listenerResumesFromJournal() throws Exception {
+        Path file = dir.resolve("crawl.wal");
+        Path csv = dir.resolve("videos.csv");
+        ChannelInfo channel = new ChannelInfo("UC1", "one");
+        channel.setUploadsPlaylistId("UU1");
+        
+        long confirmedBytes;
+        try (CrawlJournal journal = CrawlJournal.open(file);
+             CsvStreamingExporter exporter = new CsvStreamingExporter(csv)) {
+            JournalingPageListener listener = new JournalingPageListener(journal, exporter);
+            assertNull(listener.resumePageToken(channel));
+            listener.onPage(channel, ApiResponse.success(videos("a", 2), "token-1", null));
+            confirmedBytes = exporter.getBytesWritten();
+            // 导出后、记日志前崩溃：这一页的数据行没有对应的日志记录
+            exporter.writePage(ApiResponse.success(videos("b", 3), "token-2", null));
+            exporter.flush();
+            listener.checkExport();
+        }
+        assertTrue(Files.size(csv) > confirmedBytes);
+        
+        try (CrawlJournal journal = CrawlJournal.open(file);
+             CsvStreamingExporter exporter = new CsvStreamingExporter(csv, journal.getExportedBytes())) {
+            assertEquals(confirmedBytes, journal.getExportedBytes());
+            JournalingPageListener listener = new JournalingPageListener(journal, exporter);
+            assertEquals(2, listener.getExportedRecords());
+            assertEquals("token-1", listener.resumePageToken(channel));
+            listener.onPage(channel, ApiResponse.success(videos("c", 3), null, null));
+            listener.onChannelComplete(channel);
+            listener.checkExport();
+            assertEquals(5, listener.getExportedRecords());
+        }
+        
+        List<String> lines = Files.readAllLines(csv, StandardCharsets.UTF_8);
+        assertEquals(6, lines.size());
+        assertFalse(lines.stream().anyMatch(line -> line.startsWith("b")));
+        try (CrawlJournal journal = CrawlJournal.open(file)) {
+            JobState job = journal.getJob("UC1");
+            assertNotNull(job);
+            assertTrue(job.isFinished());
+            assertEquals(Files.size(csv), journal.getExportedBytes());
+        }
+    }
+    
+    private static List<VideoData> videos(String prefix, int count) {
+        VideoData[] videos = new VideoData[count];
+        for (int i = 0; i < count; i++) {
+            videos[i] = new VideoData(prefix + "video00" + i, "title " + i, LocalDateTime.of(2024, 1, 1, 0, 0));
+        }
+        return Arrays.asList(videos);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,234 @@
+package com.youtube.fetcher.pipeline;
+
+import com.youtube.fetcher.client.YouTubeApiClient;
+import com.youtube.fetcher.dedup.VideoIdIndex;
+import com.youtube.fetcher.exception.FileExportException;
+import com.youtube.fetcher.export.StreamingExporter;
+import com.youtube.fetcher.model.ApiResponse;
+import com.youtube.fetcher.model.ChannelInfo;
+import com.youtube.fetcher.model.VideoData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ExportPipeline背压和失败取消测试
+ * 使用内存中的API客户端和导出器，统计已获取但尚未导出的页数
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+class ExportPipelineTest {
+    
+    private static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+    private static final int VIDEOS_PER_PAGE = 50;
+    private static final int FETCH_PARALLELISM = 8;
+    private static final int PREFETCH_PAGES = 1;
+    private static final int ENRICH_PARALLELISM = 4;
+    private static final int BUFFER_PAGES = 4;
+    
+    /**
+     * 类注释中的上限：每个频道3页，源头缓冲区，补全和去重各自的并行度加缓冲区，导出中的一页
+     */
+    private static final int MAX_IN_FLIGHT_PAGES = FETCH_PARALLELISM * (PREFETCH_PAGES + 2) + BUFFER_PAGES
+            + (ENRICH_PARALLELISM + BUFFER_PAGES) + (1 + BUFFER_PAGES) + 1;
+    
+    @TempDir
+    Path dir;
+    
+    private final AtomicLong fetchedPages = new AtomicLong();
+    private final AtomicLong exportedPages = new AtomicLong();
+    private final AtomicLong peakInFlight = new AtomicLong();
+    
+    @Test
+    void slowExporterBoundsPagesInFlight() throws Exception {
+        List<ChannelInfo> channels = channels(40);
+        // 频道0的每页只有25个不同的视频
+        RecordingExporter exporter = new RecordingExporter(2, -1, null);
+        PipelineResult result;
+        try (VideoIdIndex index = VideoIdIndex.open(dir.resolve("ids.ytvi"))) {
+            result = pipeline(new InMemoryClient(20), exporter).deduplicate(index).build().run(channels);
+        }
+        
+        assertEquals(800, result.getPagesFetched());
+        assertEquals(800L * VIDEOS_PER_PAGE, result.getVideosFetched());
+        assertEquals(20L * VIDEOS_PER_PAGE / 2, result.getDuplicatesDropped());
+        assertEquals(result.getVideosFetched() - result.getDuplicatesDropped(), result.getVideosExported());
+        assertEquals(result.getVideosExported(), exporter.videos);
+        assertEquals(0, exporter.unenriched);
+        assertTrue(result.getFailedChannels().isEmpty());
+        assertTrue(peakInFlight.get() <= MAX_IN_FLIGHT_PAGES,
+                "peak " + peakInFlight.get() + " > " + MAX_IN_FLIGHT_PAGES);
+    }
+    
+    @Test
+    void exportFailureCancelsFetching() throws Exception {
+        FileExportException failure = new FileExportException("disk full", "videos.csv", "csv");
+        RecordingExporter exporter = new RecordingExporter(1, 50, failure);
+        FileExportException thrown = assertThrows(FileExportException.class,
+                () -> pipeline(new InMemoryClient(1000), exporter).build().run(channels(40)));
+        assertSame(failure, thrown);
+        assertFetchingStopped();
+    }
+    
+    @Test
+    void uncheckedExporterFailureCancelsFetching() throws Exception {
+        IllegalStateException failure = new IllegalStateException("encoder bug");
+        RecordingExporter exporter = new RecordingExporter(1, 50, failure);
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> pipeline(new InMemoryClient(1000), exporter).build().run(channels(40)));
+        assertSame(failure, thrown);
+        assertFetchingStopped();
+    }
+    
+    private void assertFetchingStopped() throws InterruptedException {
+        assertEquals(50, exportedPages.get());
+        long fetched = fetchedPages.get();
+        assertTrue(fetched <= 50 + MAX_IN_FLIGHT_PAGES, "fetched " + fetched);
+        Thread.sleep(200);
+        assertEquals(fetched, fetchedPages.get());
+    }
+    
+    private static ExportPipeline.Builder pipeline(YouTubeApiClient client, StreamingExporter exporter) {
+        return ExportPipeline.builder(client, exporter)
+                .fetchParallelism(FETCH_PARALLELISM)
+                .prefetchPages(PREFETCH_PAGES)
+                .enrichParallelism(ENRICH_PARALLELISM)
+                .bufferPages(BUFFER_PAGES);
+    }
+    
+    private static List<ChannelInfo> channels(int count) {
+        List<ChannelInfo> channels = new ArrayList<>();
+        for (int c = 0; c < count; c++) {
+            channels.add(new ChannelInfo(Integer.toString(c), null));
+        }
+        return channels;
+    }
+    
+    private static String videoId(int channel, int page, int index) {
+        long value = ((long) channel << 20) | ((long) page << 6) | index;
+        char[] id = new char[VideoIdIndex.VIDEO_ID_LENGTH];
+        for (int i = 0; i < id.length; i++) {
+            id[i] = ALPHABET.charAt((int) (value >>> (i * 6)) & 63);
+        }
+        return new String(id);
+    }
+    
+    /**
+     * 按频道和页号生成视频的客户端，获取时记录已获取未导出页数的峰值
+     */
+    private final class InMemoryClient implements YouTubeApiClient {
+        private final int pagesPerChannel;
+        
+        InMemoryClient(int pagesPerChannel) {
+            this.pagesPerChannel = pagesPerChannel;
+        }
+        
+        @Override
+        public ChannelInfo getChannelInfo(String channelId) {
+            ChannelInfo channel = new ChannelInfo(channelId, "channel " + channelId);
+            channel.setUploadsPlaylistId("UU" + channelId);
+            return channel;
+        }
+        
+        @Override
+        public ApiResponse<VideoData> getPlaylistVideos(String playlistId, String pageToken) {
+            int channel = Integer.parseInt(playlistId.substring(2));
+            int page = pageToken == null ? 0 : Integer.parseInt(pageToken);
+            List<VideoData> videos = new ArrayList<>();
+            for (int i = 0; i < VIDEOS_PER_PAGE; i++) {
+                int index = channel == 0 ? i % (VIDEOS_PER_PAGE / 2) : i;
+                videos.add(new VideoData(videoId(channel, page, index), "video " + i, null));
+            }
+            long fetched = fetchedPages.incrementAndGet();
+            peakInFlight.accumulateAndGet(fetched - exportedPages.get(), Math::max);
+            return ApiResponse.success(videos, page + 1 < pagesPerChannel ? Integer.toString(page + 1) : null, null);
+        }
+        
+        @Override
+        public List<VideoData> getVideoDetails(List<String> videoIds) {
+            List<VideoData> details = new ArrayList<>();
+            for (String videoId : videoIds) {
+                VideoData video = new VideoData(videoId, null, null);
+                video.setViewCount(1L);
+                details.add(video);
+            }
+            return details;
+        }
+    }
+    
+    /**
+     * 每页耗时固定的导出器，可在导出指定页数后抛出异常
+     */
+    private final class RecordingExporter implements StreamingExporter {
+        private final long pageMillis;
+        private final long failAfter;
+        private final Exception failure;
+        private long videos;
+        private long unenriched;
+        
+        RecordingExporter(long pageMillis, long failAfter, Exception failure) {
+            this.pageMillis = pageMillis;
+            this.failAfter = failAfter;
+            this.failure = failure;
+        }
+        
+        @Override
+        public void write(VideoData video) {
+            videos++;
+            if (video.getViewCount() == null) {
+                unenriched++;
+            }
+        }
+        
+        @Override
+        public void writePage(ApiResponse<VideoData> page) throws FileExportException {
+            if (exportedPages.get() == failAfter) {
+                if (failure instanceof FileExportException) {
+                    throw (FileExportException) failure;
+                }
+                throw (RuntimeException) failure;
+            }
+            try {
+                Thread.sleep(pageMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            StreamingExporter.super.writePage(page);
+            exportedPages.incrementAndGet();
+        }
+        
+        @Override
+        public void flush() {
+        }
+        
+        @Override
+        public String getFormat() {
+            return "csv";
+        }
+        
+        @Override
+        public Path getFilePath() {
+            return Paths.get("videos.csv");
+        }
+        
+        @Override
+        public long getBytesWritten() {
+            return videos;
+        }
+        
+        @Override
+        public void close() {
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,350 @@
+package com.youtube.fetcher.search;
+
+import com.youtube.fetcher.dedup.VideoIdIndex;
+import com.youtube.fetcher.model.VideoData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+import static com.youtube.fetcher.search.VideoSearchIndex.B;
+import static com.youtube.fetcher.search.VideoSearchIndex.K1;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * VideoSearchIndex检索和持久化测试
+ * 用暴力计算的BM25得分校验剪枝后的检索结果，并覆盖写段后重新打开、强制合并和清单外段文件的清理
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+class VideoSearchIndexTest {
+    
+    private static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2020, 1, 1, 0, 0);
+    private static final int DOCS = 6000;
+    private static final int CHANNELS = 40;
+    
+    @TempDir
+    Path dir;
+    
+    private final SplittableRandom random = new SplittableRandom(22);
+    private String[] vocabulary;
+    private double[] cumulative;
+    private List<VideoData> videos;
+    
+    @BeforeEach
+    void generateVideos() {
+        // 词频近似Zipf分布，既有出现在大部分文档中的常见词，也有只出现几次的罕见词
+        vocabulary = new String[3000];
+        cumulative = new double[vocabulary.length];
+        double sum = 0;
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = "w" + Integer.toString(i, 36);
+            sum += 1.0 / (i + 1);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < cumulative.length; i++) {
+            cumulative[i] /= sum;
+        }
+        videos = new ArrayList<>(DOCS);
+        for (int i = 0; i < DOCS; i++) {
+            VideoData video = new VideoData();
+            video.setVideoId(videoId(i));
+            video.setTitle(text(4 + random.nextInt(6), 2));
+            video.setDescription(text(random.nextInt(60), 6));
+            video.setChannelId("UC" + random.nextInt(CHANNELS));
+            video.setPublishedAt(i % 53 == 0 ? null : EPOCH.plusMinutes(random.nextInt(2 * 365 * 24 * 60)));
+            videos.add(video);
+        }
+    }
+    
+    @Test
+    void matchesBruteForceScores() throws Exception {
+        try (VideoSearchIndex index = VideoSearchIndex.open(dir, 2000, 10)) {
+            assertEquals(DOCS, index.addAll(videos));
+            index.flush();
+            assertEquals(3, index.getSegmentCount());
+            assertEquals(0, index.getBufferedCount());
+            
+            BruteForce expected = new BruteForce(videos);
+            for (int q = 0; q < 300; q++) {
+                SearchQuery query = randomQuery();
+                expected.check(query, index.search(query));
+            }
+        }
+    }
+    
+    @Test
+    void duplicatesAreIgnoredAfterFlushAndReopen() throws Exception {
+        List<VideoData> first = videos.subList(0, 500);
+        try (VideoSearchIndex index = VideoSearchIndex.open(dir, 200, 10)) {
+            assertEquals(500, index.addAll(first));
+            assertEquals(0, index.addAll(first));
+            index.flush();
+            assertEquals(0, index.addAll(first));
+            assertEquals(500, index.getDocumentCount());
+            
+            VideoData malformed = new VideoData();
+            malformed.setVideoId("vid10");
+            malformed.setTitle("w0");
+            assertThrows(IllegalArgumentException.class, () -> index.add(malformed));
+            assertEquals(500, index.getDocumentCount());
+        }
+        
+        try (VideoSearchIndex index = VideoSearchIndex.open(dir, 200, 10)) {
+            assertEquals(500, index.getDocumentCount());
+            assertEquals(0, index.addAll(first));
+            assertEquals(100, index.addAll(videos.subList(400, 600)));
+        }
+    }
+    
+    @Test
+    void reopenAndForceMergeKeepResults() throws Exception {
+        List<SearchQuery> queries = new ArrayList<>();
+        for (int q = 0; q < 50; q++) {
+            queries.add(randomQuery());
+        }
+        List<List<SearchHit>> before = new ArrayList<>();
+        try (VideoSearchIndex index = VideoSearchIndex.open(dir, 1000, 10)) {
+            index.addAll(videos.subList(0, 4500));
+            // 关闭时写出缓冲中剩余的500个视频
+        }
+        
+        BruteForce expected = new BruteForce(videos.subList(0, 4500));
+        try (VideoSearchIndex index = VideoSearchIndex.open(dir, 1000, 10)) {
+            assertEquals(5, index.getSegmentCount());
+            assertEquals(4500, index.getDocumentCount());
+            for (SearchQuery query : queries) {
+                List<SearchHit> hits = index.search(query);
+                expected.check(query, hits);
+                before.add(hits);
+            }
+            
+            index.forceMerge();
+            assertEquals(1, index.getSegmentCount());
+            assertEquals(4500, index.getDocumentCount());
+            for (int q = 0; q < queries.size(); q++) {
+                assertSameScores(before.get(q), index.search(queries.get(q)));
+            }
+        }
+        
+        try (VideoSearchIndex index = VideoSearchIndex.open(dir, 1000, 10)) {
+            assertEquals(1, index.getSegmentCount());
+            for (int q = 0; q < queries.size(); q++) {
+                assertSameScores(before.get(q), index.search(queries.get(q)));
+            }
+        }
+    }
+    
+    @Test
+    void unreferencedSegmentIsDeletedOnOpen() throws Exception {
+        Path segment;
+        try (VideoSearchIndex index = VideoSearchIndex.open(dir, 1000, 10)) {
+            index.addAll(videos.subList(0, 1000));
+            assertEquals(1, index.getSegmentCount());
+            try (Stream<Path> files = Files.list(dir)) {
+                segment = files.filter(file -> file.getFileName().toString().startsWith("seg-"))
+                        .findFirst().orElseThrow();
+            }
+        }
+        // 写段或合并完成、清单替换之前崩溃留下的段文件
+        Path orphan = dir.resolve("seg-00000042.ytix");
+        Files.copy(segment, orphan);
+        Files.write(dir.resolve("segments.tmp"), new byte[] {'x'});
+        
+        try (VideoSearchIndex index = VideoSearchIndex.open(dir, 1000, 10)) {
+            assertFalse(Files.exists(orphan));
+            assertFalse(Files.exists(dir.resolve("segments.tmp")));
+            assertEquals(1, index.getSegmentCount());
+            assertEquals(1000, index.getDocumentCount());
+            
+            // 新段的编号不与被删除的段重复
+            index.addAll(videos.subList(1000, 2000));
+            index.flush();
+            assertTrue(Files.exists(dir.resolve("seg-00000043.ytix")));
+        }
+        
+        try (VideoSearchIndex index = VideoSearchIndex.open(dir, 1000, 10)) {
+            assertEquals(2, index.getSegmentCount());
+            new BruteForce(videos.subList(0, 2000)).check(new SearchQuery("w0 w1 w2").limit(100),
+                    index.search(new SearchQuery("w0 w1 w2").limit(100)));
+        }
+    }
+    
+    private SearchQuery randomQuery() {
+        StringBuilder text = new StringBuilder();
+        int words = 1 + random.nextInt(5);
+        for (int i = 0; i < words; i++) {
+            text.append(random.nextInt(4) == 0 ? vocabulary[random.nextInt(vocabulary.length)] : word()).append(' ');
+        }
+        if (random.nextInt(5) == 0) {
+            text.append(han(2));
+        }
+        SearchQuery query = new SearchQuery(text.toString()).limit(random.nextInt(4) == 0 ? 100 : 10);
+        switch (random.nextInt(5)) {
+            case 0:
+                query.channelId("UC" + random.nextInt(CHANNELS));
+                break;
+            case 1:
+                query.channelIds(Arrays.asList("UC" + random.nextInt(CHANNELS), "UC" + random.nextInt(CHANNELS),
+                        "UC" + random.nextInt(CHANNELS * 2)));
+                break;
+            case 2:
+                LocalDateTime from = EPOCH.plusDays(random.nextInt(700));
+                query.publishedBetween(from, from.plusDays(1 + random.nextInt(60)));
+                break;
+            case 3:
+                query.channelIds(Arrays.asList("UC" + random.nextInt(CHANNELS), "UC" + random.nextInt(CHANNELS)))
+                        .publishedBetween(EPOCH.plusDays(random.nextInt(700)), null);
+                break;
+            default:
+                break;
+        }
+        return query;
+    }
+    
+    private String text(int words, int han) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            text.append(word()).append(i % 7 == 6 ? ", " : " ");
+        }
+        return text.append(han(random.nextInt(han + 1))).toString();
+    }
+    
+    private String word() {
+        int i = Arrays.binarySearch(cumulative, random.nextDouble());
+        if (i < 0) {
+            i = -i - 1;
+        }
+        return vocabulary[Math.min(i, vocabulary.length - 1)];
+    }
+    
+    private String han(int length) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            text.appendCodePoint(0x4E00 + random.nextInt(30));
+        }
+        return text.toString();
+    }
+    
+    private static void assertSameScores(List<SearchHit> expected, List<SearchHit> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getScore(), actual.get(i).getScore(), 1e-9);
+        }
+    }
+    
+    /**
+     * 由序号生成不重复的11位base64url视频ID
+     */
+    private static String videoId(int n) {
+        char[] id = new char[VideoIdIndex.VIDEO_ID_LENGTH];
+        long value = n * 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < id.length - 1; i++) {
+            id[i] = ALPHABET.charAt((int) (value >>> (i * 6)) & 63);
+        }
+        id[id.length - 1] = ALPHABET.charAt(n & 63);
+        return new String(id);
+    }
+    
+    /**
+     * 逐个文档计算BM25得分的参照实现
+     */
+    private static final class BruteForce {
+        private final List<VideoData> videos;
+        private final List<Map<String, Integer>> termFreqs = new ArrayList<>();
+        private final Map<String, Integer> docFreqs = new HashMap<>();
+        private final int[] lengths;
+        private final double avgLength;
+        
+        BruteForce(List<VideoData> videos) {
+            this.videos = videos;
+            this.lengths = new int[videos.size()];
+            long total = 0;
+            for (int d = 0; d < videos.size(); d++) {
+                Map<String, Integer> freqs = new HashMap<>();
+                for (String term : Tokenizer.tokenize(videos.get(d).getTitle())) {
+                    freqs.merge(term, IndexBuffer.TITLE_WEIGHT, Integer::sum);
+                }
+                for (String term : Tokenizer.tokenize(videos.get(d).getDescription())) {
+                    freqs.merge(term, 1, Integer::sum);
+                }
+                for (Map.Entry<String, Integer> entry : freqs.entrySet()) {
+                    lengths[d] += entry.getValue();
+                    docFreqs.merge(entry.getKey(), 1, Integer::sum);
+                }
+                total += lengths[d];
+                termFreqs.add(freqs);
+            }
+            this.avgLength = Math.max(1.0, (double) total / videos.size());
+        }
+        
+        void check(SearchQuery query, List<SearchHit> hits) {
+            Set<String> terms = new LinkedHashSet<>(Tokenizer.tokenize(query.getText()));
+            Map<String, Double> scores = new HashMap<>();
+            List<Double> ranked = new ArrayList<>();
+            for (int d = 0; d < videos.size(); d++) {
+                VideoData video = videos.get(d);
+                if (!accept(query, video)) {
+                    continue;
+                }
+                double score = 0;
+                boolean matched = false;
+                for (String term : terms) {
+                    Integer tf = termFreqs.get(d).get(term);
+                    if (tf == null) {
+                        continue;
+                    }
+                    matched = true;
+                    int df = docFreqs.get(term);
+                    double idf = Math.log(1 + (videos.size() - df + 0.5) / (df + 0.5));
+                    double norm = K1 * (1 - B + B * lengths[d] / avgLength);
+                    score += idf * tf * (K1 + 1) / (tf + norm);
+                }
+                if (matched) {
+                    scores.put(video.getVideoId(), score);
+                    ranked.add(score);
+                }
+            }
+            ranked.sort((a, b) -> Double.compare(b, a));
+            
+            assertEquals(Math.min(query.getLimit(), ranked.size()), hits.size(), query.toString());
+            for (int i = 0; i < hits.size(); i++) {
+                SearchHit hit = hits.get(i);
+                assertEquals(ranked.get(i), hit.getScore(), 1e-9, query + " rank " + i);
+                Double score = scores.get(hit.getVideoId());
+                assertTrue(score != null, query + " returned filtered or unmatched " + hit);
+                assertEquals(score, hit.getScore(), 1e-9, query + " " + hit);
+            }
+        }
+        
+        private static boolean accept(SearchQuery query, VideoData video) {
+            if (!query.getChannelIds().isEmpty() && !query.getChannelIds().contains(video.getChannelId())) {
+                return false;
+            }
+            if (query.getPublishedFrom() == null && query.getPublishedTo() == null) {
+                return true;
+            }
+            LocalDateTime publishedAt = video.getPublishedAt();
+            return publishedAt != null
+                    && (query.getPublishedFrom() == null || !publishedAt.isBefore(query.getPublishedFrom()))
+                    && (query.getPublishedTo() == null || publishedAt.isBefore(query.getPublishedTo()));
+        }
+    }
+}
\ No newline at end of file
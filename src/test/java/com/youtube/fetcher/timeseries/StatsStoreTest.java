@@ -0,0 +1,139 @@
+package com.youtube.fetcher.timeseries;
+
+import com.youtube.fetcher.model.ChannelInfo;
+import com.youtube.fetcher.model.VideoData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * StatsStore持久化测试
+ * 写入快照后关闭并重新打开，检查查询结果以及尾块续写
+ * 
+ * @author YouTube Fetcher Team
+ * @version 1.0.0
+ */
+class StatsStoreTest {
+    
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+    private static final String VIDEO_ID = "dQw4w9WgXcQ";
+    private static final String CHANNEL_ID = "UCuAXFkgsw1L7xaCfnd5JJOw";
+    
+    @TempDir
+    Path dir;
+    
+    @Test
+    void reopenReturnsSamePoints() throws Exception {
+        // 小块小段，让序列跨越多个块和段文件
+        try (StatsStore store = StatsStore.open(dir, 128, 4)) {
+            for (int i = 0; i < 100; i++) {
+                store.append(video(i), time(i));
+                if (i % 10 == 0) {
+                    store.append(channel(i), time(i));
+                }
+            }
+        }
+        
+        try (StatsStore store = StatsStore.open(dir)) {
+            assertEquals(128, store.getBlockSize());
+            assertEquals(2, store.getSeriesCount());
+            assertEquals(110, store.getPointCount());
+            assertTrue(store.contains(StatsMetric.Kind.VIDEO, VIDEO_ID));
+            assertTrue(store.contains(StatsMetric.Kind.CHANNEL, CHANNEL_ID));
+            assertFalse(store.contains(StatsMetric.Kind.CHANNEL, VIDEO_ID));
+            
+            assertVideoSeries(store, 100);
+            
+            TimeSeries subscribers = store.range(StatsMetric.CHANNEL_SUBSCRIBERS, CHANNEL_ID, START, time(1000));
+            assertEquals(10, subscribers.size());
+            assertEquals(subscribers(90), subscribers.getValue(9));
+            
+            TimeSeries window = store.range(StatsMetric.VIDEO_VIEWS, VIDEO_ID, time(40), time(59));
+            assertEquals(20, window.size());
+            assertEquals(time(40), window.getTime(0));
+            assertEquals(views(59), window.getValue(19));
+            
+            RollupSeries rollup = store.rollup(StatsMetric.VIDEO_VIEWS, VIDEO_ID, START, time(1000),
+                    Duration.ofDays(1));
+            assertEquals(1, rollup.size());
+            assertEquals(100, rollup.getCount(0));
+            assertEquals(views(0), rollup.getMin(0));
+            assertEquals(views(99), rollup.getMax(0));
+        }
+    }
+    
+    @Test
+    void appendAfterReopenContinuesTailBlock() throws Exception {
+        try (StatsStore store = StatsStore.open(dir, 128, 4)) {
+            for (int i = 0; i < 37; i++) {
+                store.append(video(i), time(i));
+            }
+        }
+        
+        try (StatsStore store = StatsStore.open(dir, 128, 4)) {
+            assertThrows(IllegalArgumentException.class, () -> store.append(video(37), time(35)));
+            for (int i = 37; i < 80; i++) {
+                store.append(video(i), time(i));
+            }
+            assertVideoSeries(store, 80);
+        }
+        
+        try (StatsStore store = StatsStore.open(dir, 128, 4)) {
+            assertEquals(1, store.getSeriesCount());
+            assertEquals(80, store.getPointCount());
+            assertVideoSeries(store, 80);
+        }
+    }
+    
+    private static void assertVideoSeries(StatsStore store, int count) {
+        TimeSeries views = store.range(StatsMetric.VIDEO_VIEWS, VIDEO_ID, START, time(1000));
+        assertEquals(count, views.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(time(i), views.getTime(i));
+            assertEquals(views(i), views.getValue(i));
+        }
+        // 隐藏点赞数的快照不出现在点赞序列中
+        TimeSeries likes = store.range(StatsMetric.VIDEO_LIKES, VIDEO_ID, START, time(1000));
+        assertEquals(count - (count + 6) / 7, likes.size());
+    }
+    
+    /**
+     * 不等间隔的轮询时间，覆盖时间差的二阶差分编码
+     */
+    private static Instant time(int i) {
+        return START.plusSeconds(i * 600L + (i % 3) * 17L);
+    }
+    
+    private static long views(int i) {
+        return 1000L + i * (long) i * 31;
+    }
+    
+    private static long subscribers(int i) {
+        return 50_000L + i * 7L;
+    }
+    
+    private static VideoData video(int i) {
+        VideoData video = new VideoData(VIDEO_ID, "title", LocalDateTime.of(2023, 12, 31, 0, 0));
+        video.setViewCount(views(i));
+        video.setLikeCount(i % 7 == 0 ? null : 10L + i);
+        video.setCommentCount(3L + i / 5);
+        return video;
+    }
+    
+    private static ChannelInfo channel(int i) {
+        ChannelInfo channel = new ChannelInfo(CHANNEL_ID, "channel");
+        channel.setSubscriberCount(subscribers(i));
+        channel.setViewCount(views(i) * 10);
+        channel.setVideoCount(100L + i / 10);
+        return channel;
+    }
+}
\ No newline at end of file